@@ -0,0 +1,8 @@
+@echo off
+rem Starts Egg to Elite on the bundled runtime, with the application
+rem class-data-sharing archive when the build was able to record one.
+rem Extra JVM options can be passed in JAVA_OPTS.
+set HOME_DIR=%~dp0..
+set SHARE=
+if exist "%HOME_DIR%\lib\app.jsa" set SHARE=-XX:SharedArchiveFile="%HOME_DIR%\lib\app.jsa"
+"%HOME_DIR%\runtime\bin\java" %SHARE% -Xshare:auto %JAVA_OPTS% -cp "%HOME_DIR%\lib\app.jar" group44.App %*
@@ -6,6 +6,7 @@ package group44;
 
 import javafx.scene.control.ScrollPane;
 import javafx.application.Application;
+import javafx.scene.Group;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
@@ -26,6 +27,8 @@ import java.io.IOException;
 
 import group44.Screens.MainMenu;
 import group44.Screens.ScreenClass;
+import group44.Screens.ScreenNavigator;
+import group44.Screens.ThemeManager;
 
 /**
  * App is the entry point of the application. It sets up the main menu and handles
@@ -89,30 +92,39 @@ public class App extends Application {
         setPrimaryStage(stage);
         primaryStage.setTitle("Egg to Elite");
         
-        // Create main menu
-        MainMenu mainMenu = new MainMenu();
-
         // Set application icon
         Image icon = new Image("icon.jpg");
         primaryStage.getIcons().add(icon);
 
         Rectangle2D bounds = Screen.getPrimary().getBounds();
-        // Create scene and set it in the stage
-        scene = new Scene(mainMenu.getRoot(), bounds.getWidth() * 0.8, bounds.getHeight() * 0.8);
+        // Create scene and set it in the stage, then show the main menu in it
+        scene = new Scene(new Group(), bounds.getWidth() * 0.8, bounds.getHeight() * 0.8);
+        ThemeManager.apply(scene);
         setScene(scene);
+        ScreenNavigator.show(MainMenu.class, null, MainMenu::new);
         primaryStage.setResizable(true);
         primaryStage.setFullScreen(true);
         primaryStage.show();
+        StartupMode.begin(scene);
     }
 
     /**
-     * Displays the specified ScreenClass. Replaces the current root node in the Scene with that of the new screen.
+     * Displays the specified ScreenClass. Replaces the current root node in the Scene with that of the new screen,
+     * calling {@link ScreenClass#onHide()} on the outgoing screen and {@link ScreenClass#onShow()} on the new one.
+     * Screens should normally navigate through {@link ScreenNavigator}, which calls this.
      *
      * @param theScreen The new ScreenClass to display.
      */
     public static void setScreen(ScreenClass theScreen) {
+        if (theScreen == currentScreen) {
+            return;
+        }
+        if (currentScreen != null) {
+            currentScreen.onHide();
+        }
         scene.setRoot(theScreen.getRoot());
         currentScreen = theScreen;
+        theScreen.onShow();
     }
 
     /**
@@ -200,7 +212,7 @@ public class App extends Application {
             writer.newLine();
             writer.write(Integer.toString(sessionCount));
         } catch (IOException e) {
-            System.out.println("Error saving play time statistics: " + e.getMessage());
+            Log.error("Error saving play time statistics: {}", e.getMessage());
         }
     }
 
@@ -216,11 +228,11 @@ public class App extends Application {
                 sessionCount = Integer.parseInt(sessionCountLine);
             }
         } catch (FileNotFoundException e) {
-            System.out.println("No saved play time statistics found. Starting fresh.");
+            Log.info("No saved play time statistics found. Starting fresh.");
             totalPlayTime = 0;
             sessionCount = 0;
         } catch (IOException | NumberFormatException e) {
-            System.out.println("Error loading play time statistics: " + e.getMessage());
+            Log.error("Error loading play time statistics: {}", e.getMessage());
         }
     }
 
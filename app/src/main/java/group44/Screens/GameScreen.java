@@ -1,12 +1,12 @@
 package group44.Screens;
 
-import java.io.BufferedWriter;
-import java.io.FileWriter;
 import java.io.IOException;
 
 import group44.App;
 import group44.Food;
+import group44.Log;
 import group44.Pet;
+import group44.SaveFile;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.util.Duration;
@@ -61,24 +61,31 @@ public class GameScreen extends ScreenClass {
     private boolean isSpriteFlipped = false;
     private Label statusLabel; // Status label for displaying messages
 
-    private boolean timerStarted = false;
-
     Label scoreLabel;
     Timeline scoreTimer;
 
     private int currentSaveSlot = 0; // 0 indicates that the game has not been saved yet
 
     /**
-     * Constructs a new GameScreen with the specified pet.
+     * Shows the game screen for the given pet, reusing the cached instance if the
+     * pet has been shown before instead of rebuilding the whole scene graph.
+     *
+     * @param pet the pet whose game screen should be displayed
+     * @return the game screen now on display
+     */
+    public static GameScreen showFor(Pet pet) {
+        return ScreenNavigator.show(GameScreen.class, pet, () -> new GameScreen(pet));
+    }
+
+    /**
+     * Constructs a new GameScreen with the specified pet. Timers and music are
+     * started in {@link #onShow()}, so prefer {@link #showFor(Pet)} to display it.
      *
      * @param pet the pet whose state will be managed and displayed on this screen
      */
     public GameScreen(Pet pet) {
         this.pet = pet;
 
-        // Store the pet name for use by RunningTutorialScreen
-        App.setGameScreenPetName(pet.getName());
-        
         root.setPadding(new Insets(20));
         // Load the background image
         Image backgroundImage = new Image("sunny1.jpg"); // Replace with your image file path
@@ -107,10 +114,10 @@ public class GameScreen extends ScreenClass {
         root.setLeft(leftSideBox);
 
         // Center section: Pet display and customization
-        VBox petDisplayBox = createPetDisplayBox(pet.getName(), pet.getPetImage());
+        VBox petDisplayBox = createPetDisplayBox(pet.getName(), Sprites.pet(pet).get());
         root.setCenter(petDisplayBox);
 
-        // Right section: Actions only (skills moved to left)
+        // Right section: Actions, status message and score
         VBox actionsBox = createActionsBox();
         root.setRight(actionsBox);
         
@@ -120,17 +127,13 @@ public class GameScreen extends ScreenClass {
         statusLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
         actionsBox.getChildren().add(statusLabel);
         
-        // Score panel setup
-        VBox scoreBox = createActionsBox();
-        root.setRight(scoreBox);
+        // Score label setup
         scoreLabel = new Label("Score: " + pet.getScore());
         scoreLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
         scoreLabel.setTextFill(Color.BLACK);
-        scoreBox.getChildren().add(scoreLabel);    
+        actionsBox.getChildren().add(scoreLabel);
         
-        if (!timerStarted) {
-            initializeScoreTimer();
-        }
+        initializeScoreTimer();
 
         // Bottom section: Control and training buttons layout
         BorderPane bottomPane = new BorderPane();
@@ -140,21 +143,47 @@ public class GameScreen extends ScreenClass {
         bottomPane.setRight(controlButtonsBox);
 
         // Create the training buttons and center them in the bottom pane
-        HBox trainingBox = createTrainingBox(pet.getPetImage());
+        HBox trainingBox = createTrainingBox(Sprites.pet(pet).get());
         bottomPane.setCenter(trainingBox);
                 
         // Set the bottom pane as the bottom of the main layout
         root.setBottom(bottomPane);
         
-        // Update all UI elements with pet's current stats
-        updateStats();
-        
         // Initialize and start timers only once
         initializeTimers();
-        
+    }
+
+    /**
+     * Refreshes every label with the pet's current stats, which may have changed
+     * in a minigame, the shop or the vet, and restarts the idle animation and score timer.
+     */
+    @Override
+    public void onShow() {
+        // Store the pet name for use by RunningTutorialScreen
+        App.setGameScreenPetName(pet.getName());
+
+        // Update all UI elements with pet's current stats
+        updateStats();
+        coinCountLabel.setText("Coins: " + pet.getCoins());
+        scoreLabel.setText("Score: " + pet.getScore());
+
+        if (!isPetDead) {
+            spriteFlipTimer.play();
+        }
+        scoreTimer.play();
+
         ScreenClass.playMusic("game_screen.mp3");
     }
 
+    /**
+     * Pauses the idle animation and score timer while another screen is shown.
+     */
+    @Override
+    public void onHide() {
+        spriteFlipTimer.stop();
+        scoreTimer.stop();
+    }
+
     /**
      * Updates the pet's happiness by decrementing its value and applying effects
      * if the pet becomes too unhappy.
@@ -262,10 +291,13 @@ public class GameScreen extends ScreenClass {
 
     /**
      * Initializes the static timers for hunger, sleepiness, and happiness updates.
-     * This method ensures that the timers are only created once.
+     * This method ensures that the timers are only created once per pet; timers
+     * left over from a previous pet are stopped first.
      */
     private void initializeTimers() {
         if (!timersInitialized) {
+            stopAllTimers();
+
             // Initialize hunger timer
             hungerTimer = new Timeline(
                 new KeyFrame(Duration.seconds(5), e -> {
@@ -349,7 +381,7 @@ public class GameScreen extends ScreenClass {
         Label healthLabel = new Label("Health: " + pet.getStamina());
         healthBar = new ProgressBar(pet.getStamina() / 100.0);
         healthBar.setPrefWidth(150);
-        healthBar.setStyle("-fx-accent: #4CAF50;");
+        healthBar.getStyleClass().add("stat-bar");
         healthBox.getChildren().addAll(healthLabel, healthBar);
         
         // Sleep box with progress bar
@@ -357,7 +389,7 @@ public class GameScreen extends ScreenClass {
         Label sleepLabel = new Label("Sleep: " + pet.getSleepiness());
         sleepBar = new ProgressBar(pet.getSleepiness() / 100.0);
         sleepBar.setPrefWidth(150);
-        sleepBar.setStyle("-fx-accent: #4CAF50;");
+        sleepBar.getStyleClass().add("stat-bar");
         sleepBox.getChildren().addAll(sleepLabel, sleepBar);
         
         // Happiness box with progress bar
@@ -365,7 +397,7 @@ public class GameScreen extends ScreenClass {
         Label happinessLabel = new Label("Happiness: " + pet.getHappiness());
         happinessBar = new ProgressBar(pet.getHappiness() / 100.0);
         happinessBar.setPrefWidth(150);
-        happinessBar.setStyle("-fx-accent: #4CAF50;");
+        happinessBar.getStyleClass().add("stat-bar");
         happinessBox.getChildren().addAll(happinessLabel, happinessBar);
         
         // Fullness box with progress bar
@@ -373,7 +405,7 @@ public class GameScreen extends ScreenClass {
         Label fullnessLabel = new Label("Fullness: " + pet.getFullness());
         fullnessBar = new ProgressBar(pet.getFullness() / 100.0);
         fullnessBar.setPrefWidth(150);
-        fullnessBar.setStyle("-fx-accent: #4CAF50;");
+        fullnessBar.getStyleClass().add("stat-bar");
         fullnessBox.getChildren().addAll(fullnessLabel, fullnessBar);
 
         currentStateBox.getChildren().addAll(
@@ -405,8 +437,8 @@ public class GameScreen extends ScreenClass {
 
         petDisplayBox.getChildren().addAll(petNameLabel, petImageView);
         
-        // Start sprite flipping animation for idle effect
-        startSpriteFlipTimer();
+        // Sprite flipping animation for idle effect, played while the screen is shown
+        createSpriteFlipTimer();
         
         return petDisplayBox;
     }
@@ -415,7 +447,7 @@ public class GameScreen extends ScreenClass {
      * Creates a timer that flips the pet sprite horizontally every 5 seconds
      * for a simple idle animation effect.
      */
-    private void startSpriteFlipTimer() {
+    private void createSpriteFlipTimer() {
         spriteFlipTimer = new Timeline(
             new KeyFrame(Duration.seconds(5), e -> {
                 // Only flip sprite if the pet is awake
@@ -431,7 +463,6 @@ public class GameScreen extends ScreenClass {
         );
         
         spriteFlipTimer.setCycleCount(Timeline.INDEFINITE);
-        spriteFlipTimer.play();
     }
 
     /**
@@ -446,14 +477,13 @@ public class GameScreen extends ScreenClass {
         actionsBox.setAlignment(Pos.TOP_RIGHT);
 
         Button vetButton = createStyledButton("Take to Vet");
-        VetScreen vetScreen = new VetScreen(pet);
-        vetButton.setOnAction(e -> App.setScreen(vetScreen));
+        vetButton.setOnAction(e -> ScreenNavigator.show(VetScreen.class, pet, () -> new VetScreen(pet)));
 
         Button sleepButton = createStyledButton("Sleep");
         sleepButton.setOnAction(e -> putPetToSleep());
 
         Button shopButton = createStyledButton("Shop");
-        shopButton.setOnAction(e -> App.setScreen(new ShopScreen(pet)));
+        shopButton.setOnAction(e -> ScreenNavigator.show(ShopScreen.class, pet, () -> new ShopScreen(pet)));
         
         Button playButton = createStyledButton("Play");
         playButton.setOnAction(e -> petPlay());
@@ -490,7 +520,7 @@ public class GameScreen extends ScreenClass {
         runningLevelLabel = new Label("Running: Lvl " + pet.getRunLevel());
         runningExpBar = new ProgressBar((float)pet.getRunExperience() / (pet.getRunLevel() * pet.getRunLevel()));
         runningExpBar.setPrefWidth(150);
-        runningExpBar.setStyle("-fx-accent: #4CAF50;");
+        runningExpBar.getStyleClass().add("running-bar");
         runningBox.getChildren().addAll(runningLevelLabel, runningExpBar);
         
         // Swimming skill box
@@ -498,7 +528,7 @@ public class GameScreen extends ScreenClass {
         swimmingLevelLabel = new Label("Swimming: Lvl " + pet.getSwimLevel());
         swimmingExpBar = new ProgressBar((float)pet.getSwimExperience() / (pet.getSwimLevel() * pet.getSwimLevel()));
         swimmingExpBar.setPrefWidth(150);
-        swimmingExpBar.setStyle("-fx-accent: #2196F3;");
+        swimmingExpBar.getStyleClass().add("swimming-bar");
         swimmingBox.getChildren().addAll(swimmingLevelLabel, swimmingExpBar);
         
         // Flying skill box
@@ -506,7 +536,7 @@ public class GameScreen extends ScreenClass {
         flyingLevelLabel = new Label("Flying: Lvl " + pet.getFlyLevel());
         flyingExpBar = new ProgressBar((float)pet.getFlyExperience() / (pet.getFlyLevel() * pet.getFlyLevel()));
         flyingExpBar.setPrefWidth(150);
-        flyingExpBar.setStyle("-fx-accent: #FF9800;");
+        flyingExpBar.getStyleClass().add("flying-bar");
         flyingBox.getChildren().addAll(flyingLevelLabel, flyingExpBar);
         
         // Tooltip label encouraging training
@@ -544,7 +574,7 @@ public class GameScreen extends ScreenClass {
         trainFlyingButton.setOnAction(e -> trainFlying());
 
         Button runningTutorialButton = createStyledButton("Running Tutorial");
-        runningTutorialButton.setOnAction(e -> App.setScreen(new RunningTutorialScreen(pet, true)));
+        runningTutorialButton.setOnAction(e -> ScreenNavigator.show(new RunningTutorialScreen(pet, true)));
 
         Button swimmingTutorialButton = createStyledButton("Swimming Tutorial");
         swimmingTutorialButton.setOnAction(e -> showSwimmingTutorial());
@@ -591,12 +621,7 @@ public class GameScreen extends ScreenClass {
 
         // Quit to Menu Button
         Button quitButton = createStyledButton("Quit to Menu");
-        quitButton.setOnAction(e -> {
-            if (spriteFlipTimer != null) {
-                spriteFlipTimer.stop();
-            }
-            App.setScreen(new MainMenu());
-        });
+        quitButton.setOnAction(e -> ScreenNavigator.show(MainMenu.class, null, MainMenu::new));
 
         VBox saveBox = new VBox(5);
         saveBox.setAlignment(Pos.CENTER_RIGHT);
@@ -608,7 +633,7 @@ public class GameScreen extends ScreenClass {
     }
 
     /**
-     * Creates a styled button with predefined CSS styling for the GameScreen.
+     * Creates a small button for the GameScreen, styled by the "small-button" style class.
      *
      * @param text the text to display on the button
      * @return a styled Button instance
@@ -616,10 +641,7 @@ public class GameScreen extends ScreenClass {
     @Override
     protected Button createStyledButton(String text) {
         Button button = new Button(text);
-        button.setStyle(
-            "-fx-background-color: #4286f4; -fx-text-fill: white; -fx-font-size: 14px; " +
-            "-fx-background-radius: 10; -fx-padding: 10;"
-        );
+        button.getStyleClass().add("small-button");
         return button;
     }
 
@@ -639,30 +661,10 @@ public class GameScreen extends ScreenClass {
             return;
         }
         
-        String slotName = "LoadGameSlot" + nextSaveSlot;
-        String filePath = "GameSaves/" + slotName + ".csv";
-
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
-            writer.write(
-                pet.getSpriteFileNameBase() + "," +
-                pet.getName() + "," +
-                pet.getSleepiness() + "," +
-                pet.getHappiness() + "," +
-                pet.getFullness() + "," +
-                pet.getHealth() + "," +
-                pet.getStamina() + "," +
-                pet.getScore() + "," +
-                pet.getRunLevel() + "," +
-                pet.getRunExperience() + "," +
-                pet.getSwimLevel() + "," +
-                pet.getSwimExperience() + "," +
-                pet.getFlyLevel() + "," +
-                pet.getFlyExperience() + "," +
-                pet.getState() + "," +
-                pet.getCoins()
-            );
+        try {
+            SaveFile.write(pet, SaveFile.path(nextSaveSlot));
         } catch (IOException i) {
-            i.printStackTrace();
+            Log.error("Error saving game", i);
         }
     }
 
@@ -672,9 +674,8 @@ public class GameScreen extends ScreenClass {
      * @return the number of the next available save slot, or 0 if none are available
      */
     private int getNextAvailableSaveSlot() {
-        for (int i = 1; i < 4; i++) {
-            String filePath = "GameSaves/LoadGameSlot" + i + ".csv";
-            if (!new java.io.File(filePath).exists()) {
+        for (int i = 1; i <= SaveFile.SLOTS; i++) {
+            if (!new java.io.File(SaveFile.path(i)).exists()) {
                 return i;
             }
         }
@@ -689,7 +690,7 @@ public class GameScreen extends ScreenClass {
             return;
         }
         
-        ScreenClass.playSound("click.mp3");
+        ScreenClass.playSound(Sfx.CLICK);
         pet.setSleepiness(Math.min(100, pet.getSleepiness() + 20));
         updateStats();
         makePetSleep();
@@ -699,7 +700,7 @@ public class GameScreen extends ScreenClass {
      * Increases the pet's happiness when the pet plays and updates the UI.
      */
     private void petPlay() {
-        ScreenClass.playSound("click.mp3");
+        ScreenClass.playSound(Sfx.CLICK);
         pet.setHappiness(Math.min(100, pet.getHappiness() + 20));
         updateStats();
     }
@@ -709,7 +710,7 @@ public class GameScreen extends ScreenClass {
      */
     private void trainRunning() {
         TrainRunningScreen trainRunningScreen = new TrainRunningScreen(pet, false);
-        App.setScreen(trainRunningScreen);
+        ScreenNavigator.show(trainRunningScreen);
     }
 
     /**
@@ -717,7 +718,7 @@ public class GameScreen extends ScreenClass {
      */
     private void trainSwimming() {
         SwimmingScreen trainSwimmingScreen = new SwimmingScreen(pet, false);
-        App.setScreen(trainSwimmingScreen);
+        ScreenNavigator.show(trainSwimmingScreen);
     }
 
     /**
@@ -725,7 +726,7 @@ public class GameScreen extends ScreenClass {
      */
     private void trainFlying() {
         TrainFlyingScreen trainFlyingScreen = new TrainFlyingScreen(pet, false);
-        App.setScreen(trainFlyingScreen);
+        ScreenNavigator.show(trainFlyingScreen);
     }
 
     /**
@@ -733,7 +734,7 @@ public class GameScreen extends ScreenClass {
      */
     private void showRunningTutorial() {
         TrainRunningScreen runningTutorialScreen = new TrainRunningScreen(pet, true);
-        App.setScreen(runningTutorialScreen);
+        ScreenNavigator.show(runningTutorialScreen);
     }
 
     /**
@@ -741,7 +742,7 @@ public class GameScreen extends ScreenClass {
      */
     private void showSwimmingTutorial() {
         SwimmingTutorialScreen trainSwimmingScreenTutorial = new SwimmingTutorialScreen(pet, true);
-        App.setScreen(trainSwimmingScreenTutorial);
+        ScreenNavigator.show(trainSwimmingScreenTutorial);
     }
 
     /**
@@ -749,7 +750,7 @@ public class GameScreen extends ScreenClass {
      */
     private void showFlyingTutorial() {
         TrainFlyingScreen trainFlyingScreenTutorial = new TrainFlyingScreen(pet, true);
-        App.setScreen(trainFlyingScreenTutorial);
+        ScreenNavigator.show(trainFlyingScreenTutorial);
     }
     
     /**
@@ -767,38 +768,22 @@ public class GameScreen extends ScreenClass {
         // Update health progress bar and label
         healthBar.setProgress(pet.getHealth() / 100.0);
         ((Label)((VBox)healthBar.getParent()).getChildren().get(0)).setText("Health: " + pet.getHealth());
-        if (pet.getHealth() <= 25) {
-            healthBar.setStyle("-fx-accent: #FF0000;");
-        } else {
-            healthBar.setStyle("-fx-accent: #4CAF50;");
-        }
+        healthBar.pseudoClassStateChanged(LOW, pet.getHealth() <= 25);
 
         // Update sleep progress bar and label
         sleepBar.setProgress(pet.getSleepiness() / 100.0);
         ((Label)((VBox)sleepBar.getParent()).getChildren().get(0)).setText("Sleep: " + pet.getSleepiness());
-        if (pet.getSleepiness() <= 25) {
-            sleepBar.setStyle("-fx-accent: #FF0000;");
-        } else {
-            sleepBar.setStyle("-fx-accent: #4CAF50;");
-        }
+        sleepBar.pseudoClassStateChanged(LOW, pet.getSleepiness() <= 25);
 
         // Update happiness progress bar and label
         happinessBar.setProgress(pet.getHappiness() / 100.0);
         ((Label)((VBox)happinessBar.getParent()).getChildren().get(0)).setText("Happiness: " + pet.getHappiness());
-        if (pet.getHappiness() <= 25) {
-            happinessBar.setStyle("-fx-accent: #FF0000;");
-        } else {
-            happinessBar.setStyle("-fx-accent: #4CAF50;");
-        }
+        happinessBar.pseudoClassStateChanged(LOW, pet.getHappiness() <= 25);
 
         // Update fullness progress bar and label
         fullnessBar.setProgress(pet.getFullness() / 100.0);
         ((Label)((VBox)fullnessBar.getParent()).getChildren().get(0)).setText("Fullness: " + pet.getFullness());
-        if (pet.getFullness() <= 25) {
-            fullnessBar.setStyle("-fx-accent: #FF0000;");
-        } else {
-            fullnessBar.setStyle("-fx-accent: #4CAF50;");
-        }
+        fullnessBar.pseudoClassStateChanged(LOW, pet.getFullness() <= 25);
         
         // Update skill levels and experience progress bars
         runningLevelLabel.setText("Running: Lvl " + pet.getRunLevel());
@@ -863,7 +848,7 @@ public class GameScreen extends ScreenClass {
         isPetSleeping = false;
         
         // Restore normal sprite
-        Image normalImage = pet.getPetImage();
+        Image normalImage = Sprites.pet(pet).get();
         petImageView.setImage(normalImage);
         
         // Update UI to indicate pet is awake
@@ -908,7 +893,7 @@ public class GameScreen extends ScreenClass {
 
     /**
      * Initializes a timer that increments the pet's score every second
-     * and updates the score label accordingly.
+     * and updates the score label accordingly. It runs while the screen is shown.
      */
     private void initializeScoreTimer() {
         scoreTimer = new Timeline(new KeyFrame(Duration.seconds(1), e -> {
@@ -916,8 +901,6 @@ public class GameScreen extends ScreenClass {
             scoreLabel.setText("Score: " + pet.getScore());
         }));
         scoreTimer.setCycleCount(Timeline.INDEFINITE);
-        scoreTimer.play();
-        timerStarted = true;
     }
 
     /**
@@ -944,8 +927,7 @@ public class GameScreen extends ScreenClass {
         petNameLabel.setText(pet.getName() + " (Deceased)");
         petNameLabel.setTextFill(Color.BLACK);
         
-        ScreenClass.playMusic("sad_music.mp3");
-        ScreenClass.playSound("death.mp3");
+        ScreenClass.stopMusic();
         disableInteractionButtons(true, false, false);
         
         Platform.runLater(this::showGameOverDialog);
@@ -968,11 +950,7 @@ public class GameScreen extends ScreenClass {
         gameOverBox.setPadding(new Insets(30));
         gameOverBox.setMaxWidth(400);
         gameOverBox.setMaxHeight(300);
-        gameOverBox.setStyle(
-            "-fx-background-color: white;" +
-            "-fx-background-radius: 10;" +
-            "-fx-effect: dropshadow(gaussian, rgba(0, 0, 0, 0.4), 10, 0.5, 0.0, 0.0);"
-        );
+        gameOverBox.getStyleClass().add("dialog");
         
         Label gameOverLabel = new Label("GAME OVER");
         gameOverLabel.setFont(Font.font("Arial", FontWeight.BOLD, 28));
@@ -984,33 +962,19 @@ public class GameScreen extends ScreenClass {
         deathMessageLabel.setTextAlignment(javafx.scene.text.TextAlignment.CENTER);
         
         Button newGameButton = new Button("New Game");
-        newGameButton.setStyle(
-            "-fx-background-color: #4286f4; -fx-text-fill: white; -fx-font-size: 16px; " +
-            "-fx-background-radius: 5; -fx-padding: 10 20;"
-        );
+        newGameButton.getStyleClass().add("dialog-button");
         newGameButton.setPrefWidth(200);
-        newGameButton.setOnAction(e -> App.setScreen(new PetSelectionScreen()));
+        newGameButton.setOnAction(e -> ScreenNavigator.show(PetSelectionScreen.class, null, PetSelectionScreen::new));
         
         Button loadGameButton = new Button("Load Game");
-        loadGameButton.setStyle(
-            "-fx-background-color: #4286f4; -fx-text-fill: white; -fx-font-size: 16px; " +
-            "-fx-background-radius: 5; -fx-padding: 10 20;"
-        );
+        loadGameButton.getStyleClass().add("dialog-button");
         loadGameButton.setPrefWidth(200);
-        loadGameButton.setOnAction(e -> App.setScreen(new LoadGameScreen()));
+        loadGameButton.setOnAction(e -> ScreenNavigator.show(new LoadGameScreen()));
         
         Button quitButton = new Button("Quit Game");
-        quitButton.setStyle(
-            "-fx-background-color: #ff4c4c; -fx-text-fill: white; -fx-font-size: 16px; " +
-            "-fx-background-radius: 5; -fx-padding: 10 20;"
-        );
+        quitButton.getStyleClass().addAll("dialog-button", "danger");
         quitButton.setPrefWidth(200);
-        quitButton.setOnAction(e -> {
-            if (spriteFlipTimer != null) {
-                spriteFlipTimer.stop();
-            }
-            App.setScreen(new MainMenu());
-        });
+        quitButton.setOnAction(e -> ScreenNavigator.show(MainMenu.class, null, MainMenu::new));
         
         gameOverBox.getChildren().addAll(
             gameOverLabel,
@@ -1,6 +1,7 @@
 package group44.Screens;
 
-import group44.App;
+import group44.Log;
+
 import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -57,7 +58,7 @@ public class InstructionsScreen extends ScreenClass {
 
         // Create back button
         Button backButton = createStyledButton("Back to Menu");
-        backButton.setOnAction(e -> App.setScreen(new MainMenu()));
+        backButton.setOnAction(e -> ScreenNavigator.show(MainMenu.class, null, MainMenu::new));
 
         // Create main content box
         VBox contentBox = new VBox(25);
@@ -481,7 +482,7 @@ public class InstructionsScreen extends ScreenClass {
 
             return imageView;
         } catch (Exception e) {
-            System.out.println("Couldn't load image: " + imageName);
+            Log.warn("Couldn't load image: {}", imageName);
             return new ImageView();
         }
     }
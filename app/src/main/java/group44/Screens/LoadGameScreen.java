@@ -1,11 +1,11 @@
 package group44.Screens;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.File;
 import java.io.IOException;
 
-import group44.App;
+import group44.Log;
 import group44.Pet;
+import group44.SaveFile;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
@@ -78,17 +78,7 @@ public class LoadGameScreen extends ScreenClass {
 
         // Create return to main menu button
         Button backToMainMenu = new Button("Main Menu");
-        backToMainMenu.setStyle(
-            "-fx-background-color: linear-gradient(to right,#4286f4, #1a56c4);\r\n" +
-            "    -fx-text-fill: white;\r\n" +
-            "    -fx-font-weight: bold;\r\n" +
-            "    -fx-padding: 10 20 10 20;\r\n" +
-            "    -fx-background-radius: 15;\r\n" +
-            "    -fx-border-radius: 15;\r\n" +
-            "    -fx-border-color: #1e90ff;\r\n" +
-            "    -fx-border-width: 2;\r\n" +
-            "    -fx-alignment: center-left;"
-        );
+        backToMainMenu.getStyleClass().add("slot-button");
         backToMainMenu.setOnAction(e -> returnToMainMenu());
         StackPane.setAlignment(backToMainMenu, Pos.CENTER_LEFT);
 
@@ -107,13 +97,7 @@ public class LoadGameScreen extends ScreenClass {
         // Create VBox for the save slots
         VBox saveSlot = new VBox(85);
         saveSlot.setPadding(new Insets(20));
-        saveSlot.setStyle(
-            "-fx-background-color: rgba(255, 255, 255, 0.8);" +
-            "-fx-border-color: #000000;" +
-            "-fx-border-width: 2;" +
-            "-fx-border-radius: 10;" +
-            "-fx-background-radius: 10;"
-        );
+        saveSlot.getStyleClass().add("slot-list");
         saveSlot.setAlignment(Pos.CENTER);
         saveSlot.setPrefWidth(600);
         saveSlot.setPrefHeight(400);
@@ -145,13 +129,7 @@ public class LoadGameScreen extends ScreenClass {
     private HBox createSaveSlot(String slotName) {
         HBox saveSlot = new HBox(20);
         saveSlot.setPadding(new Insets(20));
-        saveSlot.setStyle(
-            "-fx-background-color: rgb(255, 255, 255);" +
-            "-fx-border-color: #000000;" +
-            "-fx-border-width: 2;" +
-            "-fx-border-radius: 10;" +
-            "-fx-background-radius: 10;"
-        );
+        saveSlot.getStyleClass().add("save-slot");
         saveSlot.setAlignment(Pos.CENTER_LEFT);
 
         // Define the file path for the save slot
@@ -171,18 +149,19 @@ public class LoadGameScreen extends ScreenClass {
 
             // Create load button
             Button loadButton = new Button("Load");
-            styleButton(loadButton, 20, 10);
+            styleButton(loadButton);
             loadButton.setOnAction(e -> loadGame(pet, slot));
 
             // Create delete button
             Button deleteButton = new Button("Delete");
-            styleDeleteButton(deleteButton, 20, 10);
+            styleDeleteButton(deleteButton);
             deleteButton.setOnAction(e -> {
                 if (saveFile.delete()) {
+                    deleteGhosts(slotName);
                     // Refresh the screen to reflect the deletion
-                    App.setScreen(new LoadGameScreen());
+                    ScreenNavigator.show(new LoadGameScreen());
                 } else {
-                    System.out.println("Failed to delete save file: " + filePath);
+                    Log.warn("Failed to delete save file: {}", filePath);
                 }
             });
 
@@ -191,9 +170,7 @@ public class LoadGameScreen extends ScreenClass {
 
             // Add an image to represent the pet
             if (!pet.getSpriteFileNameBase().isEmpty()) {
-                String imagePath = pet.getSpriteFileNameBase() + ".png";
-                Image petImage = new Image(imagePath);
-                ImageView petImageView = new ImageView(petImage);
+                ImageView petImageView = new ImageView(Sprites.pet(pet).get());
                 petImageView.setFitHeight(50);
                 petImageView.setPreserveRatio(true);
                 saveSlot.getChildren().add(petImageView);
@@ -249,47 +226,41 @@ public class LoadGameScreen extends ScreenClass {
     }
 
     /**
-     * Applies a styled look to the given button using a blue gradient background.
+     * Applies a styled look to the given button using a blue gradient background,
+     * from the "slot-button" style class.
      *
      * @param button The Button instance to style.
-     * @param paddingHorizontal The horizontal padding in pixels.
-     * @param paddingVertical The vertical padding in pixels.
      */
-    private void styleButton(Button button, int paddingHorizontal, int paddingVertical) {
-        button.setStyle(
-            "-fx-background-color: linear-gradient(to right,#4286f4, #1a56c4);\r\n" +
-            "    -fx-text-fill: white;\r\n" +
-            "    -fx-font-weight: bold;\r\n" +
-            "    -fx-padding: " + paddingVertical + " " + paddingHorizontal + " " +
-                               paddingVertical + " " + paddingHorizontal + ";\r\n" +
-            "    -fx-background-radius: 15;\r\n" +
-            "    -fx-border-radius: 15;\r\n" +
-            "    -fx-border-color: #1e90ff;\r\n" +
-            "    -fx-border-width: 2;\r\n" +
-            "    -fx-alignment: center-left;"
-        );
+    private void styleButton(Button button) {
+        button.getStyleClass().add("slot-button");
     }
 
     /**
-     * Applies a styled look to the given delete button using a red gradient background.
+     * Deletes the ghosts of the minigame runs belonging to a deleted save slot.
+     *
+     * @param slotName The name of the save slot (e.g., "LoadGameSlot1").
+     */
+    private void deleteGhosts(String slotName) {
+        File[] ghosts = new File("GameSaves").listFiles(
+            (folder, name) -> name.startsWith(slotName + "_") && name.contains(".ghost"));
+        if (ghosts == null) {
+            return;
+        }
+        for (File ghost : ghosts) {
+            if (!ghost.delete()) {
+                Log.warn("Failed to delete ghost file: {}", ghost.getPath());
+            }
+        }
+    }
+
+    /**
+     * Applies a styled look to the given delete button using a red gradient background,
+     * from the "slot-button" and "danger" style classes.
      *
      * @param button The Button instance to style.
-     * @param paddingHorizontal The horizontal padding in pixels.
-     * @param paddingVertical The vertical padding in pixels.
      */
-    private void styleDeleteButton(Button button, int paddingHorizontal, int paddingVertical) {
-        button.setStyle(
-            "-fx-background-color: linear-gradient(to right,#ff4d4d, #cc0000);\r\n" +
-            "    -fx-text-fill: white;\r\n" +
-            "    -fx-font-weight: bold;\r\n" +
-            "    -fx-padding: " + paddingVertical + " " + paddingHorizontal + " " +
-                               paddingVertical + " " + paddingHorizontal + ";\r\n" +
-            "    -fx-background-radius: 15;\r\n" +
-            "    -fx-border-radius: 15;\r\n" +
-            "    -fx-border-color: #cc0000;\r\n" +
-            "    -fx-border-width: 2;\r\n" +
-            "    -fx-alignment: center-left;"
-        );
+    private void styleDeleteButton(Button button) {
+        button.getStyleClass().addAll("slot-button", "danger");
     }
 
     /**
@@ -304,8 +275,7 @@ public class LoadGameScreen extends ScreenClass {
             loadedSlot = slot;
             // Reinitialize the stat timers for the new pet
             GameScreen.timersInitialized = false;
-            GameScreen gameScreen = new GameScreen(pet);
-            App.setScreen(gameScreen);
+            GameScreen.showFor(pet);
         }
     }
 
@@ -317,43 +287,18 @@ public class LoadGameScreen extends ScreenClass {
      * @return A Pet object if successful, or null if reading fails.
      */
     private Pet loadPetFromFile(String loadSlot) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(loadSlot))) {
-            String line = reader.readLine();
-            if (line != null) {
-                String[] attributes = line.split(",");
-                String spriteFileNameBase = attributes[0];
-                String name = attributes[1];
-                int sleepiness = Integer.parseInt(attributes[2]);
-                int happiness = Integer.parseInt(attributes[3]);
-                int fullness = Integer.parseInt(attributes[4]);
-                int health = Integer.parseInt(attributes[5]);
-                int stamina = Integer.parseInt(attributes[6]);
-                int score = Integer.parseInt(attributes[7]);
-                int runLevel = Integer.parseInt(attributes[8]);
-                int runExperience = Integer.parseInt(attributes[9]);
-                int swimLevel = Integer.parseInt(attributes[10]);
-                int swimExperience = Integer.parseInt(attributes[11]);
-                int flyLevel = Integer.parseInt(attributes[12]);
-                int flyExperience = Integer.parseInt(attributes[13]);
-                int state = Integer.parseInt(attributes[14]);
-                int coins = Integer.parseInt(attributes[15]);
-
-                return new Pet(spriteFileNameBase, name, sleepiness, happiness, fullness, health,
-                               stamina, score, runLevel, runExperience, swimLevel, swimExperience,
-                               flyLevel, flyExperience, state, coins);
-            }
+        try {
+            return SaveFile.read(loadSlot);
         } catch (IOException e) {
-            e.printStackTrace();
+            Log.error("Error loading save slot {}", loadSlot, e);
         }
         return null;
     }
 
     /**
-     * Returns the user to the main menu by creating a new MainMenu instance
-     * and setting it as the current screen.
+     * Returns the user to the main menu, reusing the cached MainMenu instance.
      */
     private void returnToMainMenu() {
-        MainMenu mainMenu = new MainMenu();
-        App.setScreen(mainMenu);
+        ScreenNavigator.show(MainMenu.class, null, MainMenu::new);
     }
 }
\ No newline at end of file
@@ -1,8 +1,8 @@
 package group44.Screens;
 
+import group44.SaveFile;
 import group44.Screens.ScreenClass;
 import group44.Screens.PetSelectionScreen;
-import group44.App;
 
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -177,7 +177,15 @@ public class MainMenu extends ScreenClass {
         
         // Add the credits box to the bottom of the root
         root.setBottom(creditsBox);
-        
+    }
+
+    /**
+     * Clears any leftover warning and starts the main menu theme each time the menu is shown.
+     */
+    @Override
+    public void onShow() {
+        saveSlotsFullMessageLabel.setVisible(false);
+
         // This will also play the main menu theme across the parental controls screen, so we do not need to
         // make this call in its constructor
         ScreenClass.playMusic("main.mp3");
@@ -196,8 +204,8 @@ public class MainMenu extends ScreenClass {
             return; // Prevent the game from starting
     }
         boolean allSlotsOccupied = true;
-        for (int i = 1; i <= 3; i++) {
-            String filePath = "GameSaves/LoadGameSlot" + i + ".csv";
+        for (int i = 1; i <= SaveFile.SLOTS; i++) {
+            String filePath = SaveFile.path(i);
             if (!new java.io.File(filePath).exists()) {
                 allSlotsOccupied = false;
                 break;
@@ -215,8 +223,7 @@ public class MainMenu extends ScreenClass {
         saveSlotsFullMessageLabel.setVisible(false);
 
         // Create Pet Selection Screen and change the app's displayed screen
-        PetSelectionScreen petSelectionScreen = new PetSelectionScreen();
-        App.setScreen(petSelectionScreen);
+        ScreenNavigator.show(PetSelectionScreen.class, null, PetSelectionScreen::new);
     }
 
     /**
@@ -251,15 +258,14 @@ public class MainMenu extends ScreenClass {
 
         // Create a button to submit the password
         Button submitButton = new Button("Submit");
-        submitButton.setStyle("-fx-background-color: #4286f4; -fx-text-fill: white; -fx-font-size: 14px; -fx-background-radius: 10;");
+        submitButton.getStyleClass().add("small-button");
         submitButton.setOnAction(e -> {
             if (passwordField.getText().equals("hello")) { 
                 // If the password is correct, close the password dialog
                 passwordStage.close();
 
                 // Open the Parental Controls screen
-                ParentControlsScreen parentControlsScreen = new ParentControlsScreen();
-                App.setScreen(parentControlsScreen);
+                ScreenNavigator.show(new ParentControlsScreen());
             } else {
                 // If the password is incorrect, show an error message
                 feedbackLabel.setText("Incorrect password. Please try again.");
@@ -273,7 +279,9 @@ public class MainMenu extends ScreenClass {
         passwordBox.getChildren().addAll(passwordLabel, passwordField, submitButton, feedbackLabel);
 
         // Set the scene for the passwordStage
-        passwordStage.setScene(new Scene(passwordBox, 300, 200));
+        Scene passwordScene = new Scene(passwordBox, 300, 200);
+        ThemeManager.style(passwordScene);
+        passwordStage.setScene(passwordScene);
         passwordStage.showAndWait();
     }
 
@@ -296,8 +304,7 @@ public class MainMenu extends ScreenClass {
         saveSlotsFullMessageLabel.setVisible(false);
         
         // Create Load Game Screen and change the app's displayed screen
-        LoadGameScreen loadGameScreen = new LoadGameScreen();
-        App.setScreen(loadGameScreen);
+        ScreenNavigator.show(new LoadGameScreen());
     }
 
     /**
@@ -308,7 +315,6 @@ public class MainMenu extends ScreenClass {
         saveSlotsFullMessageLabel.setVisible(false);
         
         // Show the instructions screen
-        InstructionsScreen instructionsScreen = new InstructionsScreen();
-        App.setScreen(instructionsScreen);
+        ScreenNavigator.show(InstructionsScreen.class, null, InstructionsScreen::new);
     }
 }
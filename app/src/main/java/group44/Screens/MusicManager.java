@@ -0,0 +1,250 @@
+package group44.Screens;
+
+import group44.Log;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.scene.media.Media;
+import javafx.scene.media.MediaPlayer;
+import javafx.util.Duration;
+
+import java.io.File;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Plays the background music, crossfading from one screen's track to the
+ * next. Players are kept ready for the tracks the player is likely to hear
+ * next, so switching screens starts the new track straight away instead of
+ * leaving a gap while a new player spins up.
+ * <p>
+ * Which tracks come next follows the way screens lead to each other, see
+ * {@link #NEXT_TRACKS}: after the main menu theme the main game screen's, after
+ * that the minigames' and so on. Once a track starts, players for those are
+ * created on a later pulse so the screen being built is not held up. Players
+ * are kept in least-recently-used order and the oldest is disposed of once
+ * more than {@link #MAX_PLAYERS} are kept, so the cache stays bounded however
+ * long the session is. Everything here runs on the JavaFX thread.
+ * </p>
+ */
+public final class MusicManager {
+
+    /** The volume music is played at. */
+    private static final double VOLUME = 0.1;
+
+    /** How long a crossfade between two tracks lasts. */
+    private static final Duration FADE = Duration.millis(800);
+
+    /** The most players kept, counting the one playing. */
+    private static final int MAX_PLAYERS = 5;
+
+    /** The tracks each track is usually followed by, from the navigation between screens. */
+    private static final Map<String, String[]> NEXT_TRACKS = Map.of(
+        "main.mp3", new String[] {"game_screen.mp3"},
+        "game_screen.mp3", new String[] {"running.mp3", "flying.mp3", "swimming.mp3", "main.mp3"},
+        "running.mp3", new String[] {"game_screen.mp3"},
+        "flying.mp3", new String[] {"game_screen.mp3"},
+        "swimming.mp3", new String[] {"game_screen.mp3"}
+    );
+
+    /** Ready players by track, in least-recently-used order. */
+    private static final Map<String, MediaPlayer> players = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The track playing, or null. */
+    private static String currentTrack;
+
+    /** The player of the track playing, or null. */
+    private static MediaPlayer current;
+
+    /** The player fading out, or null. */
+    private static MediaPlayer fadingOut;
+
+    /** The crossfade in progress, or null. */
+    private static Timeline fade;
+
+    /** Utility class; not instantiable. */
+    private MusicManager() {
+    }
+
+    /**
+     * Crossfades from the track playing to a looping track. Keeps playing
+     * without a restart if the track is already playing.
+     *
+     * @param filename The name of the file inside resources/audio/music/.
+     */
+    public static void play(String filename) {
+        if (filename.equals(currentTrack) && current != null) {
+            current.play();
+            return;
+        }
+        MediaPlayer next = player(filename);
+        if (next == null) {
+            return;
+        }
+        finishFade();
+        fadingOut = current;
+        current = next;
+        currentTrack = filename;
+
+        next.setVolume(fadingOut == null ? VOLUME : 0);
+        next.play();
+        if (fadingOut != null) {
+            MediaPlayer old = fadingOut;
+            fade = new Timeline(
+                new KeyFrame(Duration.ZERO,
+                    new KeyValue(next.volumeProperty(), 0),
+                    new KeyValue(old.volumeProperty(), old.getVolume())),
+                new KeyFrame(FADE,
+                    new KeyValue(next.volumeProperty(), VOLUME),
+                    new KeyValue(old.volumeProperty(), 0)));
+            fade.setOnFinished(e -> finishFade());
+            fade.play();
+        }
+        Log.info("Now playing: {}", filename);
+
+        // Get the likely next tracks ready once this screen has been built
+        Platform.runLater(() -> prefetch(filename));
+    }
+
+    /**
+     * Stops the music straight away. The players are kept for later.
+     */
+    public static void stop() {
+        finishFade();
+        if (current != null) {
+            current.stop();
+        }
+        current = null;
+        currentTrack = null;
+    }
+
+    /**
+     * Pauses or resumes the track playing, for when audio is switched off and on.
+     *
+     * @param paused True to pause, false to resume.
+     */
+    public static void setPaused(boolean paused) {
+        if (paused) {
+            finishFade();
+        }
+        if (current != null) {
+            if (paused) {
+                current.pause();
+            } else {
+                current.play();
+            }
+        }
+    }
+
+    /**
+     * Creates players for the tracks usually heard after a track, if they
+     * are not ready already.
+     *
+     * @param track The track that just started.
+     */
+    private static void prefetch(String track) {
+        if (!track.equals(currentTrack)) {
+            return; // Moved on since
+        }
+        for (String next : NEXT_TRACKS.getOrDefault(track, new String[0])) {
+            if (!players.containsKey(next)) {
+                player(next);
+            }
+        }
+        // Keep the playing track the most recently used
+        players.get(track);
+    }
+
+    /**
+     * Returns the ready player for a track, creating it if needed and
+     * disposing of the least recently used ones past the limit.
+     *
+     * @param filename The name of the file inside resources/audio/music/.
+     * @return The player, or null if the track cannot be loaded.
+     */
+    private static MediaPlayer player(String filename) {
+        MediaPlayer player = players.get(filename);
+        if (player != null) {
+            return player;
+        }
+        URL resource = findTrack(filename);
+        if (resource == null) {
+            Log.warn("Could not find audio file: music/{}", filename);
+            return null;
+        }
+        try {
+            player = new MediaPlayer(new Media(resource.toString()));
+            player.setCycleCount(MediaPlayer.INDEFINITE);
+            final MediaPlayer failed = player;
+            player.setOnError(() -> {
+                Log.error("Error playing music {}: {}", filename, failed.getError());
+                players.remove(filename, failed);
+            });
+        } catch (Exception e) {
+            Log.error("Error loading audio file: music/{} - {}", filename, e.getMessage());
+            return null;
+        }
+        players.put(filename, player);
+        trim();
+        return player;
+    }
+
+    /**
+     * Disposes of the least recently used players until no more than
+     * {@link #MAX_PLAYERS} are kept, never the ones playing or fading out.
+     */
+    private static void trim() {
+        Iterator<MediaPlayer> oldest = players.values().iterator();
+        while (players.size() > MAX_PLAYERS && oldest.hasNext()) {
+            MediaPlayer player = oldest.next();
+            if (player != current && player != fadingOut) {
+                oldest.remove();
+                player.dispose();
+            }
+        }
+    }
+
+    /**
+     * Ends the crossfade in progress at once: the old track stops and the new
+     * one plays at full volume.
+     */
+    private static void finishFade() {
+        if (fade != null) {
+            fade.stop();
+            fade = null;
+        }
+        if (fadingOut != null) {
+            fadingOut.stop();
+            fadingOut = null;
+        }
+        if (current != null) {
+            current.setVolume(VOLUME);
+        }
+    }
+
+    /**
+     * Finds a music file on the class path, or in the source folder when
+     * running from an IDE.
+     *
+     * @param filename The name of the file inside resources/audio/music/.
+     * @return The file's URL, or null if it cannot be found.
+     */
+    private static URL findTrack(String filename) {
+        URL resource = MusicManager.class.getClassLoader().getResource("audio/music/" + filename);
+        if (resource == null) {
+            File audioFile = new File("src/main/resources/audio/music/" + filename);
+            try {
+                if (audioFile.exists()) {
+                    resource = audioFile.toURI().toURL();
+                }
+            } catch (Exception e) {
+                Log.error("Error loading audio file: music/{} - {}", filename, e.getMessage());
+            }
+        }
+        return resource;
+    }
+}
@@ -1,9 +1,11 @@
 package group44.Screens;
 
 import group44.App;
+import group44.Log;
+import group44.Pet;
+import group44.SaveFile;
 
 import java.io.FileReader;
-import java.util.List;
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
@@ -26,6 +28,7 @@ import javafx.scene.effect.DropShadow;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
 import javafx.scene.control.TextField;
 import javafx.animation.Timeline;
 import javafx.util.Duration;
@@ -138,7 +141,7 @@ public class ParentControlsScreen extends ScreenClass {
         quitButton = createStyledButton("Quit");
         quitButton.setOnAction(e -> {
             saveTimesAllowedToFile(); // Save the updated times to the file
-            App.setScreen(new MainMenu()); // Navigate back to the main menu
+            ScreenNavigator.show(MainMenu.class, null, MainMenu::new); // Navigate back to the main menu
         });
 
         // Layout for the top bar
@@ -201,12 +204,8 @@ public class ParentControlsScreen extends ScreenClass {
 
         // Button to add the time permission
         Button addPermissionButton = new Button("Add");
-        addPermissionButton.setStyle(
-            "-fx-font-size: " + (25 * ratio) + "px;" +
-            "-fx-background-color: #4CAF50;" +
-            "-fx-text-fill: white;" +
-            "-fx-background-radius: 10;"
-        );
+        addPermissionButton.getStyleClass().add("confirm-button");
+        addPermissionButton.setFont(Font.font(25 * ratio));
 
         addPermissionButton.setOnAction(e -> {
             try {
@@ -228,9 +227,9 @@ public class ParentControlsScreen extends ScreenClass {
                 // Refresh the allowed times box
                 setupAllowedTimesBox();
             } catch (NumberFormatException ex) {
-                System.out.println("Invalid input. Please enter numeric values.");
+                Log.warn("Invalid input. Please enter numeric values.");
             } catch (IllegalArgumentException ex) {
-                System.out.println(ex.getMessage());
+                Log.warn(ex.getMessage());
             }
         });
 
@@ -242,15 +241,8 @@ public class ParentControlsScreen extends ScreenClass {
         revivePetBox.setSpacing(10 * ratio);
 
         Button revivePetButton = new Button("Revive Pet");
-        revivePetButton.setStyle(
-            "-fx-font-size: " + (30 * ratio) + "px;" +
-            "-fx-background-color: #4CAF50;" +
-            "-fx-text-fill: white;" +
-            "-fx-background-radius: 15;" +
-            "-fx-border-color: #000000;" +
-            "-fx-border-width: 2;" +
-            "-fx-border-radius: 15;"
-        );
+        revivePetButton.getStyleClass().addAll("confirm-button", "outlined");
+        revivePetButton.setFont(Font.font(30 * ratio));
         revivePetButton.setPrefWidth(200 * ratio);
         revivePetButton.setPrefHeight(50 * ratio);
         
@@ -262,7 +254,7 @@ public class ParentControlsScreen extends ScreenClass {
             boolean petRevived = false;
             int i;
             for (i=1;i<=3;i++) {
-                if (getPetHealth("GameSaves/LoadGameSlot" + String.valueOf(i) + ".csv") == 0) {
+                if (getPetHealth(SaveFile.path(i)) == 0) {
                     petRevived = true;
                     revivePet(i); // Call the revivePet method with the slot number
                 }
@@ -331,12 +323,8 @@ public class ParentControlsScreen extends ScreenClass {
             Label timeLabel = new Label(timeRange);
             timeLabel.setStyle("-fx-font-size: " + (25 * ratio) + "px;");
             Button deleteButton = new Button("Delete");
-            deleteButton.setStyle(
-                "-fx-font-size: " + (20 * ratio) + "px;" +
-                "-fx-background-color: #FF4C4C;" +
-                "-fx-text-fill: white;" +
-                "-fx-background-radius: 10;"
-            );
+            deleteButton.getStyleClass().add("delete-button");
+            deleteButton.setFont(Font.font(20 * ratio));
 
             // Handle deletion of the time range
             int index = i; // Capture the current index for the lambda
@@ -373,7 +361,8 @@ public class ParentControlsScreen extends ScreenClass {
 
     /**
      * Creates and returns a styled button with hover effects. 
-     * Overrides the base createStyledButton method from ScreenClass.
+     * Overrides the base createStyledButton method from ScreenClass
+     * with the smaller "compact-button" style class.
      *
      * @param text The button text label.
      * @return A styled Button instance.
@@ -387,41 +376,7 @@ public class ParentControlsScreen extends ScreenClass {
         button.setPrefWidth(80);
         button.setPrefHeight(50); 
 
-        button.setStyle(
-            "-fx-background-color: linear-gradient(#4286f4, #1a56c4);" +
-            "-fx-background-radius: 35;" + // Increased roundness for larger buttons
-            "-fx-text-fill: white;" +
-            "-fx-padding: 10;" + // Increased padding
-            "-fx-border-color: #0a3b8c;" +
-            "-fx-border-width: 2;" + // Increased border width
-            "-fx-border-radius: 35;" // Increased roundness to match background
-        );
-
-        // Hover effect
-        button.setOnMouseEntered(e -> 
-            button.setStyle(
-                "-fx-background-color: linear-gradient(#5296ff, #2666d4);" +
-                "-fx-background-radius: 35;" +
-                "-fx-text-fill: white;" +
-                "-fx-padding: 10;" +
-                "-fx-border-color: #0a3b8c;" +
-                "-fx-border-width: 2;" +
-                "-fx-border-radius: 35;"
-            )
-        );
-
-        // Return to normal when mouse exits
-        button.setOnMouseExited(e -> 
-            button.setStyle(
-                "-fx-background-color: linear-gradient(#4286f4, #1a56c4);" +
-                "-fx-background-radius: 35;" +
-                "-fx-text-fill: white;" +
-                "-fx-padding: 10;" +
-                "-fx-border-color: #0a3b8c;" +
-                "-fx-border-width: 2;" +
-                "-fx-border-radius: 35;"
-            )
-        );
+        button.getStyleClass().add("compact-button");
 
         return button;
     }
@@ -475,7 +430,7 @@ public class ParentControlsScreen extends ScreenClass {
                 writer.newLine();
             }
         } catch (IOException e) {
-            System.out.println("Error saving timesAllowed: " + e.getMessage());
+            Log.error("Error saving timesAllowed: {}", e.getMessage());
         }
     }
 
@@ -504,10 +459,10 @@ public class ParentControlsScreen extends ScreenClass {
                 }
             }
         } catch (FileNotFoundException e) {
-            System.out.println("No saved timesAllowed file found. Starting fresh.");
+            Log.info("No saved timesAllowed file found. Starting fresh.");
             timeLimitEnabled = false; // Default to false if the file doesn't exist
         } catch (IOException | NumberFormatException e) {
-            System.out.println("Error loading timesAllowed: " + e.getMessage());
+            Log.error("Error loading timesAllowed: {}", e.getMessage());
         }
     }
 
@@ -559,22 +514,15 @@ public class ParentControlsScreen extends ScreenClass {
      */
     private int getPetHealth(String loadSlot) {
         int health = -1; // Default value if not found
-        try (BufferedReader reader = new BufferedReader(new FileReader(loadSlot))) {
-            String line = reader.readLine(); // Read the data line
-            if (line != null) {
-                String[] attributes = line.split(",");
-                if (attributes.length > 5) { // Ensure there are enough fields
-                    health = Integer.parseInt(attributes[5]);
-                } else {
-                    System.out.println("Invalid file format: " + loadSlot);
-                }
+        try {
+            Pet pet = SaveFile.read(loadSlot);
+            if (pet != null) {
+                health = pet.getHealth();
             }
         } catch (FileNotFoundException e) {
-            System.out.println("File not found: " + loadSlot);
+            Log.warn("File not found: {}", loadSlot);
         } catch (IOException e) {
-            System.out.println("Error reading file: " + loadSlot);
-        } catch (NumberFormatException e) {
-            System.out.println("Invalid health value in file: " + loadSlot);
+            Log.warn("Invalid save file {}: {}", loadSlot, e.getMessage());
         }
         return health;
     }
@@ -586,39 +534,21 @@ public class ParentControlsScreen extends ScreenClass {
      * @param slotNum The save slot number (1-3) to revive.
      */
     private void revivePet(int slotNum) {
-        String fileName = "GameSaves/LoadGameSlot" + slotNum + ".csv"; // Construct the file name
+        String fileName = SaveFile.path(slotNum); // Construct the file name
         try {
-            // Read the file contents
-            List<String> lines = new ArrayList<>();
-            try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    lines.add(line);
-                }
-            }
-
-            // Modify the health value
-            if (!lines.isEmpty()) {
-                String[] attributes = lines.get(0).split(","); // Assuming the first line contains pet data
-                attributes[2] = "100"; // Set sleepiness to 100 
-                attributes[3] = "100"; // Set happiness to 100 
-                attributes[4] = "100"; // Set fullness to 100 
-                attributes[5] = "100"; // Set health to 100 
-                attributes[6] = "100"; // Set stamina to 100
-                lines.set(0, String.join(",", attributes)); // Update the first line
-            }
-
-            // Write the updated content back to the file
-            try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
-                for (String line : lines) {
-                    writer.write(line);
-                    writer.newLine();
-                }
+            Pet pet = SaveFile.read(fileName);
+            if (pet != null) {
+                pet.setSleepiness(100);
+                pet.setHappiness(100);
+                pet.setFullness(100);
+                pet.setHealth(100);
+                pet.setStamina(100);
+                SaveFile.write(pet, fileName);
             }
 
-            System.out.println("Pet health updated successfully in " + fileName);
+            Log.info("Pet health updated successfully in {}", fileName);
         } catch (IOException ex) {
-            System.out.println("Error updating pet health: " + ex.getMessage());
+            Log.error("Error updating pet health: {}", ex.getMessage());
         }        
     }
 }
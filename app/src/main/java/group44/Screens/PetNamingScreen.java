@@ -1,6 +1,5 @@
 package group44.Screens;
 
-import group44.App;
 import group44.Pet;
 import group44.PetInfo;
 
@@ -109,7 +108,7 @@ public class PetNamingScreen extends ScreenClass {
         Label petTypeLabel = new Label(selectedPet.getName());
         petTypeLabel.setFont(Font.font("Arial", FontWeight.BOLD, 20));
 
-        ImageView petImage = new ImageView(selectedPet.getImage());
+        ImageView petImage = new ImageView(Sprites.get(selectedPet.getImageId()));
         petImage.setFitHeight(200);
         petImage.setFitWidth(200);
         petImage.setPreserveRatio(true);
@@ -177,10 +176,7 @@ public class PetNamingScreen extends ScreenClass {
         buttonsContainer.setPadding(new Insets(20, 0, 0, 0));
 
         Button backButton = createStyledButton("Back");
-        backButton.setOnAction(e -> {
-            PetSelectionScreen selectionScreen = new PetSelectionScreen();
-            App.setScreen(selectionScreen);
-        });
+        backButton.setOnAction(e -> ScreenNavigator.show(PetSelectionScreen.class, null, PetSelectionScreen::new));
 
         Button confirmButton = createStyledButton("Start Adventure!");
         confirmButton.setOnAction(e -> {
@@ -209,8 +205,7 @@ public class PetNamingScreen extends ScreenClass {
             );
 
             GameScreen.timersInitialized = false;
-            GameScreen gameScreen = new GameScreen(pet);
-            App.setScreen(gameScreen);
+            GameScreen.showFor(pet);
         });
 
         buttonsContainer.getChildren().addAll(backButton, confirmButton);
@@ -1,6 +1,6 @@
 package group44.Screens;
 
-import group44.App;
+import group44.Log;
 import group44.PetInfo;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
@@ -199,8 +199,13 @@ public class PetSelectionScreen extends ScreenClass {
 
         buttonBox.getChildren().addAll(backButton, selectButton);
         root.setBottom(buttonBox);
+    }
 
-        // Play the main menu music
+    /**
+     * Plays the main menu music each time the selection screen is shown.
+     */
+    @Override
+    public void onShow() {
         ScreenClass.playMusic("main.mp3");
     }
 
@@ -222,7 +227,7 @@ public class PetSelectionScreen extends ScreenClass {
     private void updatePetDisplay() {
         if (!availablePets.isEmpty()) {
             PetInfo pet = availablePets.get(currentPetIndex);
-            petImageView.setImage(pet.getImage());
+            petImageView.setImage(Sprites.get(pet.getImageId()));
             petNameLabel.setText(pet.getName());
             petInfoText.getChildren().clear();
 
@@ -239,11 +244,10 @@ public class PetSelectionScreen extends ScreenClass {
     private void selectCurrentPet() {
         if (!availablePets.isEmpty()) {
             PetInfo selectedPet = availablePets.get(currentPetIndex);
-            System.out.println("Selected pet: " + selectedPet.getName());
+            Log.info("Selected pet: {}", selectedPet.getName());
 
             // Navigate to the naming screen with the selected pet info
-            PetNamingScreen namingScreen = new PetNamingScreen(selectedPet);
-            App.setScreen(namingScreen);
+            ScreenNavigator.show(PetNamingScreen.class, selectedPet, () -> new PetNamingScreen(selectedPet));
         }
     }
 
@@ -251,8 +255,7 @@ public class PetSelectionScreen extends ScreenClass {
      * Returns user to the main menu screen.
      */
     private void returnToMainMenu() {
-        MainMenu mainMenu = new MainMenu();
-        App.setScreen(mainMenu);
+        ScreenNavigator.show(MainMenu.class, null, MainMenu::new);
     }
 
     /**
@@ -262,42 +265,42 @@ public class PetSelectionScreen extends ScreenClass {
     private void initializePets() {
         availablePets.add(new PetInfo(
             "Yellow Duck",
-            new Image("yellow.png"),
+            "yellow.png",
             "The Yellow Duck is lighter and doesn't require feeding as often as the other ducks.",
             "yellow"
         ));
 
         availablePets.add(new PetInfo(
             "Green Duck",
-            new Image("green.png"),
+            "green.png",
             "The Green Duck is a natural runner and will level up their running faster than other ducks.",
             "green"
         ));
 
         availablePets.add(new PetInfo(
             "Red Duck",
-            new Image("red.png"),
+            "red.png",
             "The Red Duck is known for its flying capabilities. It will level up its flying faster than other ducks.",
             "red"
         ));
 
         availablePets.add(new PetInfo(
             "Teal Duck",
-            new Image("gray.png"),
+            "gray.png",
             "The Teal Duck is stoic and calm. It doesn't require as much to make it happy.",
             "gray"
         ));
 
         availablePets.add(new PetInfo(
             "Pink Duck",
-            new Image("pink.png"),
+            "pink.png",
             "The Pink Duck is a jack of all trades. It will level up all of its skills at a slightly faster rate.",
             "pink"
         ));
 
         availablePets.add(new PetInfo(
             "Blue Duck",
-            new Image("blue.png"),
+            "blue.png",
             "The Blue Duck is a friendly pet that loves to swim. They will level up their swimming faster than other ducks",
             "blue"
         ));
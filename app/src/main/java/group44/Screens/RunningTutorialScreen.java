@@ -1,10 +1,10 @@
 package group44.Screens;
 
+import group44.Log;
 import group44.Screens.TrainingScreen;
-import group44.App;
 import group44.Pet;
+import group44.Minigames.EntityBuffer;
 
-import javafx.animation.AnimationTimer;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.canvas.Canvas;
@@ -18,9 +18,6 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 import java.util.Random;
 
 /**
@@ -54,8 +51,8 @@ public class RunningTutorialScreen extends TrainingScreen {
     /** The vertical velocity of the pet. Positive values move downward. */
     private double petVelocity;
 
-    /** A list to store and manage active obstacles. */
-    private List<Obstacle> obstacles;
+    /** The active obstacles, in spawn order. */
+    private EntityBuffer obstacles;
 
     /** The current obstacle speed, which can increase as the game progresses. */
     private double obstacleSpeed;
@@ -115,9 +112,9 @@ public class RunningTutorialScreen extends TrainingScreen {
      */
     private void loadResources() {
         try {
-            runningImage = pet.getPetImage();
+            runningImage = Sprites.pet(pet).get();
         } catch (Exception e) {
-            System.err.println("Error loading running image: " + e.getMessage());
+            Log.error("Error loading running image: {}", e.getMessage());
             runningImage = null;
         }
     }
@@ -129,7 +126,7 @@ public class RunningTutorialScreen extends TrainingScreen {
     @Override
     protected void setupGameVariables() {
         super.setupGameVariables();
-        obstacles = new ArrayList<>();
+        obstacles = new EntityBuffer();
         obstacleSpeed = initialObstacleSpeed;
     }
 
@@ -144,30 +141,22 @@ public class RunningTutorialScreen extends TrainingScreen {
                 if (isGameOver) {
                     restartGame();
                 } else if (isGameRunning) {
-                    // Jump if on (or near) the ground
-                    if (petY >= groundLevel - petHeight / 2 - 1) {
-                        petVelocity = jumpForce;
-                    }
+                    queueInput(INPUT_PRIMARY);
                 }
             }
         });
     }
 
     /**
-     * Creates and starts an animation loop. The handle() method is called up to 60 times 
-     * per second, updating and rendering the game until it is over.
+     * Makes the pet jump if it is on (or near) the ground.
+     *
+     * @param action The queued input action.
      */
     @Override
-    protected void setupGameLoop() {
-        gameLoop = new AnimationTimer() {
-            @Override
-            public void handle(long now) {
-                if (!isGameOver) {
-                    updateGame();
-                }
-                renderGame();
-            }
-        };
+    protected void applyInput(int action) {
+        if (action == INPUT_PRIMARY && petY >= groundLevel - petHeight / 2 - 1) {
+            petVelocity = jumpForce;
+        }
     }
 
     /**
@@ -176,6 +165,8 @@ public class RunningTutorialScreen extends TrainingScreen {
      */
     @Override
     protected void startGame() {
+        beginRun();
+
         petY = groundLevel - petHeight / 2;
         petVelocity = 0;
         obstacles.clear();
@@ -208,27 +199,22 @@ public class RunningTutorialScreen extends TrainingScreen {
             petVelocity = 0;
         }
 
-        Iterator<Obstacle> it = obstacles.iterator();
-        while (it.hasNext()) {
-            Obstacle obstacle = it.next();
-            obstacle.x -= obstacleSpeed;
-
+        obstacles.translateX(-obstacleSpeed);
+        for (int i = 0; i < obstacles.size(); i++) {
             // Score if pet passes center of obstacle
-            if (!obstacle.isPassed && obstacle.x + (obstacleWidth / 2.0) < petX) {
-                obstacle.isPassed = true;
+            if (!obstacles.hasFlag(i, EntityBuffer.PASSED) && obstacles.x(i) + (obstacleWidth / 2.0) < petX) {
+                obstacles.setFlag(i, EntityBuffer.PASSED);
                 score++;
                 scoreLabel.setText(String.valueOf(score));
             }
-
-            // Remove obstacles off-screen
-            if (obstacle.x + obstacleWidth < 0) {
-                it.remove();
-            }
         }
 
+        // Remove obstacles off-screen
+        obstacles.removeLeading(0, 0);
+
         // Add new obstacle if needed
         if (obstacles.isEmpty() 
-         || obstacles.get(obstacles.size() - 1).x < canvasWidth - 300 * ratio) {
+         || obstacles.x(obstacles.size() - 1) < canvasWidth - 300 * ratio) {
             addObstacle(canvasWidth);
         }
 
@@ -249,13 +235,15 @@ public class RunningTutorialScreen extends TrainingScreen {
         gc.setFill(Color.rgb(124, 252, 0));
         gc.fillRect(0, groundLevel, canvasWidth, 10 * ratio);
 
-        // Obstacles
+        // Obstacles, held back by the part of a tick not yet simulated
+        double lag = scrollLag(obstacleSpeed);
         gc.setFill(Color.rgb(50, 50, 50));
-        for (Obstacle obstacle : obstacles) {
-            gc.fillRect(obstacle.x, obstacle.y, obstacleWidth, obstacleHeight);
+        for (int i = 0; i < obstacles.size(); i++) {
+            gc.fillRect(obstacles.x(i) + lag, obstacles.y(i), obstacleWidth, obstacleHeight);
         }
 
         // Pet
+        double petY = interpolate(prevPetY, this.petY);
         if (runningImage != null) {
             double desiredHeight = 45;
             double imageWidth = runningImage.getWidth();
@@ -292,26 +280,25 @@ public class RunningTutorialScreen extends TrainingScreen {
      * @param startX The x-coordinate where the new obstacle appears.
      */
     private void addObstacle(double startX) {
-        obstacles.add(new Obstacle(startX));
+        obstacles.add(startX, groundLevel - obstacleHeight, obstacleWidth, obstacleHeight);
     }
 
     /**
-     * Checks if the pet intersects with any obstacle, and ends the game if a collision is detected.
+     * Checks if the pet touched any obstacle during the latest tick, sweeping it
+     * from its start-of-tick position, and ends the game if a collision is detected.
      */
     private void checkCollisions() {
-        double petLeft = petX - petWidth / 2;
-        double petRight = petX + petWidth / 2;
-        double petTop = petY - petHeight / 2;
-        double petBottom = petY + petHeight / 2;
-
-        for (Obstacle obstacle : obstacles) {
-            double obsLeft = obstacle.x;
-            double obsRight = obstacle.x + obstacleWidth;
-            double obsTop = obstacle.y;
-            double obsBottom = obstacle.y + obstacleHeight;
-
-            if (petRight > obsLeft && petLeft < obsRight
-                && petBottom > obsTop && petTop < obsBottom) {
+        // Where the pet started the tick, in the obstacles' current frame
+        double petLeft = petX - petWidth / 2 - obstacleSpeed;
+        double petRight = petX + petWidth / 2 - obstacleSpeed;
+        double petTop = prevPetY - petHeight / 2;
+        double petBottom = prevPetY + petHeight / 2;
+        double dy = petY - prevPetY;
+
+        int nearby = broadphase.query(obstacles, petLeft, petRight + obstacleSpeed, 0);
+        for (int k = 0; k < nearby; k++) {
+            if (broadphase.sweptIntersects(obstacles, broadphase.candidate(k), petLeft, petTop, petRight, petBottom,
+                                           obstacleSpeed, dy)) {
                 endGame();
                 break;
             }
@@ -336,35 +323,4 @@ public class RunningTutorialScreen extends TrainingScreen {
             startGame();
         }
     }
-
-    /**
-     * Stops the animation loop and transitions the user back to the main GameScreen.
-     * Typically called if the user wants to exit this tutorial.
-     */
-    @Override
-    protected void returnToGame() {
-        gameLoop.stop();
-        App.setScreen(new GameScreen(pet));
-    }
-
-    /**
-     * Represents a simple obstacle for the pet to jump over.
-     * Holds x/y position, and a flag indicating if it's already been counted for score.
-     */
-    private class Obstacle {
-        double x;
-        double y;
-        boolean isPassed;
-
-        /**
-         * Creates a new obstacle at the specified x-coordinate just above the ground.
-         *
-         * @param startX The initial horizontal position of the obstacle.
-         */
-        Obstacle(double startX) {
-            this.x = startX;
-            this.y = groundLevel - obstacleHeight;
-            this.isPassed = false;
-        }
-    }
-}
\ No newline at end of file
+}
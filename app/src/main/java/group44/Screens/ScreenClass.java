@@ -1,23 +1,16 @@
 package group44.Screens;
 
+import group44.Log;
 import group44.Pet;
+import javafx.css.PseudoClass;
 import javafx.stage.Screen;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.control.Button;
 import javafx.scene.layout.BorderPane;
-import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
-import javafx.scene.media.Media;
-import javafx.scene.media.MediaPlayer;
-import javafx.scene.media.AudioClip;
 import javafx.application.Platform;
 
-import java.io.File;
-import java.net.URL;
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Serves as a base class for all application screens, offering shared fields
  * for layout, screen dimensions, pet data, and static methods for handling audio.
@@ -45,11 +38,11 @@ public class ScreenClass {
     /** Holds the number of the currently loaded game slot, if any. */
     static protected int loadedSlot;
 
-    /** A MediaPlayer for background music playback. */
-    private static MediaPlayer backgroundMusicPlayer;
+    /** Marks a stat bar whose stat is low, so the stylesheet shows it in the warning colour. */
+    protected static final PseudoClass LOW = PseudoClass.getPseudoClass("low");
 
-    /** Caches audio files already loaded, to avoid reloading them each time. */
-    private static Map<String, Media> soundCache = new HashMap<>();
+    /** The sound effects, decoded once when audio is first used. */
+    private static SfxBank sfxBank;
 
     /** Controls whether audio playback is enabled throughout the application. */
     private static boolean audioEnabled = true;
@@ -63,7 +56,7 @@ public class ScreenClass {
         try {
             Class.forName("javafx.scene.media.Media");
         } catch (ClassNotFoundException e) {
-            System.err.println("JavaFX Media module not found. Audio features will be disabled.");
+            Log.warn("JavaFX Media module not found. Audio features will be disabled.");
             mediaAvailable = false;
         }
         MEDIA_AVAILABLE = mediaAvailable;
@@ -93,60 +86,72 @@ public class ScreenClass {
     }
 
     /**
-     * Plays a looping music track. Only works if MEDIA_AVAILABLE and audio is enabled.
+     * Called after this screen has become the visible screen. Screens that are
+     * reused by the {@link ScreenNavigator} refresh their labels and start their
+     * timers here. Does nothing by default.
+     */
+    public void onShow() {
+    }
+
+    /**
+     * Called when this screen stops being the visible screen. Screens stop their
+     * timers and animation loops here so nothing keeps running off-screen.
+     * Does nothing by default.
+     */
+    public void onHide() {
+    }
+
+    /**
+     * Plays a looping music track, crossfading from the one playing through the
+     * {@link MusicManager}. Only works if MEDIA_AVAILABLE and audio is enabled.
      *
      * @param filename The name of the file inside resources/audio/music/.
      */
     public static void playMusic(String filename) {
         if (!MEDIA_AVAILABLE || !audioEnabled) return;
         try {
-            stopMusic(); // Stop any currently playing music
-            Media music = getAudioMedia("music/" + filename);
-            if (music != null) {
-                backgroundMusicPlayer = new MediaPlayer(music);
-                backgroundMusicPlayer.setCycleCount(MediaPlayer.INDEFINITE);
-                backgroundMusicPlayer.setVolume(0.1);
-                backgroundMusicPlayer.play();
-                System.out.println("Now playing: " + filename);
-            }
+            MusicManager.play(filename);
         } catch (Exception e) {
-            System.err.println("Error playing music: " + e.getMessage());
+            Log.error("Error playing music: {}", e.getMessage());
         }
     }
 
     /**
      * Plays a short sound effect once. Only works if MEDIA_AVAILABLE and audio is enabled.
+     * Effects come from the {@link SfxBank} loaded at startup, so this is
+     * cheap enough to call from a minigame's frame loop.
      *
-     * @param filename The name of the file inside resources/audio/sfx/.
+     * @param sound The effect, one of the {@link Sfx} constants.
      */
-    public static void playSound(String filename) {
+    public static void playSound(int sound) {
         if (!MEDIA_AVAILABLE || !audioEnabled) {
             return;
         }
         try {
-            URL resource = ScreenClass.class.getClassLoader().getResource("audio/sfx/" + filename);
-            if (resource == null) {
-                System.err.println("Could not find sound file: " + filename);
-                return;
-            }
-            AudioClip clip = new AudioClip(resource.toString());
-            clip.setVolume(0.7);
-            clip.play();
-            System.out.println("Playing sound with AudioClip: " + filename);
+            getSfxBank().play(sound);
         } catch (Exception e) {
-            System.err.println("Error playing sound with AudioClip: " + e.getMessage());
-            e.printStackTrace();
+            Log.error("Error playing sound: {}", e.getMessage());
         }
     }
 
     /**
-     * Stops and disposes of any currently playing background music.
+     * Returns the sound effects, loading them all if that has not happened yet.
+     *
+     * @return The bank of effects in resources/audio/sfx/.
+     */
+    private static SfxBank getSfxBank() {
+        if (sfxBank == null) {
+            sfxBank = SfxBank.load("audio/sfx");
+        }
+        return sfxBank;
+    }
+
+    /**
+     * Stops any currently playing background music.
      */
     public static void stopMusic() {
-        if (backgroundMusicPlayer != null) {
-            backgroundMusicPlayer.stop();
-            backgroundMusicPlayer.dispose();
-            backgroundMusicPlayer = null;
+        if (MEDIA_AVAILABLE) {
+            MusicManager.stop();
         }
     }
 
@@ -158,62 +163,31 @@ public class ScreenClass {
      */
     public static void setAudioEnabled(boolean enabled) {
         audioEnabled = enabled;
-        if (!enabled) {
-            if (backgroundMusicPlayer != null) {
-                backgroundMusicPlayer.pause();
-            }
-        } else if (backgroundMusicPlayer != null) {
-            backgroundMusicPlayer.play();
-        }
-    }
-
-    /**
-     * Retrieves a Media object for the specified audio file, caching it for later use.
-     *
-     * @param path Relative path to the audio file inside resources/audio/.
-     * @return A Media object if found, otherwise null.
-     */
-    private static Media getAudioMedia(String path) {
-        if (!MEDIA_AVAILABLE) return null;
-        if (soundCache.containsKey(path)) {
-            return soundCache.get(path);
+        if (!MEDIA_AVAILABLE) {
+            return;
         }
-        try {
-            URL resource = ScreenClass.class.getClassLoader().getResource("audio/" + path);
-            if (resource == null) {
-                File audioFile = new File("src/main/resources/audio/" + path);
-                if (audioFile.exists()) {
-                    resource = audioFile.toURI().toURL();
-                }
-            }
-            if (resource == null) {
-                System.err.println("Could not find audio file: " + path);
-                return null;
-            }
-            Media media = new Media(resource.toString());
-            soundCache.put(path, media);
-            return media;
-        } catch (Exception e) {
-            System.err.println("Error loading audio file: " + path + " - " + e.getMessage());
-            e.printStackTrace();
-            return null;
+        MusicManager.setPaused(!enabled);
+        if (!enabled && sfxBank != null) {
+            sfxBank.stopAll();
         }
     }
 
     /**
      * Initializes the audio system and verifies if JavaFX Media is available.
-     * If not, disables audio-related features.
+     * If not, disables audio-related features. Otherwise decodes every sound
+     * effect up front, so none is loaded in the middle of a game.
      */
     public static void initializeAudioSystem() {
         if (!MEDIA_AVAILABLE) {
-            System.out.println("JavaFX Media module not available - audio features disabled");
+            Log.info("JavaFX Media module not available - audio features disabled");
             return;
         }
-        System.out.println("Audio system initialized successfully");
+        Log.info("Audio system initialized successfully with {} sound effects", getSfxBank().size());
     }
 
     /**
      * Creates a large, styled button with a gradient background and hover effects.
+     * Its look comes from the "primary-button" style class.
      *
      * @param text The button label.
      * @return A styled Button object.
@@ -223,37 +197,7 @@ public class ScreenClass {
         button.setPrefWidth(280);
         button.setPrefHeight(80);
         button.setFont(Font.font("Arial", FontWeight.BOLD, 20));
-        button.setStyle(
-            "-fx-background-color: linear-gradient(#4286f4, #1a56c4);" +
-            "-fx-background-radius: 35;" +
-            "-fx-text-fill: white;" +
-            "-fx-padding: 15;" +
-            "-fx-border-color: #0a3b8c;" +
-            "-fx-border-width: 3;" +
-            "-fx-border-radius: 35;"
-        );
-        button.setOnMouseEntered(e ->
-            button.setStyle(
-                "-fx-background-color: linear-gradient(#5296ff, #2666d4);" +
-                "-fx-background-radius: 35;" +
-                "-fx-text-fill: white;" +
-                "-fx-padding: 15;" +
-                "-fx-border-color: #0a3b8c;" +
-                "-fx-border-width: 3;" +
-                "-fx-border-radius: 35;"
-            )
-        );
-        button.setOnMouseExited(e ->
-            button.setStyle(
-                "-fx-background-color: linear-gradient(#4286f4, #1a56c4);" +
-                "-fx-background-radius: 35;" +
-                "-fx-text-fill: white;" +
-                "-fx-padding: 15;" +
-                "-fx-border-color: #0a3b8c;" +
-                "-fx-border-width: 3;" +
-                "-fx-border-radius: 35;"
-            )
-        );
+        button.getStyleClass().add("primary-button");
         return button;
     }
 
@@ -271,34 +215,10 @@ public class ScreenClass {
         } else {
             arrow.getPoints().addAll(10.0, 10.0, 20.0, 20.0, 10.0, 30.0);
         }
-        arrow.setFill(Color.WHITE);
+        arrow.getStyleClass().add("arrow");
         button.setGraphic(arrow);
         button.setPrefSize(80, 80);
-        button.setStyle(
-            "-fx-background-radius: 40;" +
-            "-fx-background-color: linear-gradient(#4286f4, #1a56c4);" +
-            "-fx-border-color: #0a3b8c;" +
-            "-fx-border-width: 2;" +
-            "-fx-border-radius: 40;"
-        );
-        button.setOnMouseEntered(e ->
-            button.setStyle(
-                "-fx-background-radius: 40;" +
-                "-fx-background-color: linear-gradient(#5296ff, #2666d4);" +
-                "-fx-border-color: #0a3b8c;" +
-                "-fx-border-width: 2;" +
-                "-fx-border-radius: 40;"
-            )
-        );
-        button.setOnMouseExited(e ->
-            button.setStyle(
-                "-fx-background-radius: 40;" +
-                "-fx-background-color: linear-gradient(#4286f4, #1a56c4);" +
-                "-fx-border-color: #0a3b8c;" +
-                "-fx-border-width: 2;" +
-                "-fx-border-radius: 40;"
-            )
-        );
+        button.getStyleClass().add("arrow-button");
         return button;
     }
 }
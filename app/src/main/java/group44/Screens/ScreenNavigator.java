@@ -0,0 +1,227 @@
+package group44.Screens;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import group44.App;
+
+/**
+ * Central place for moving between screens. Screens that are cheap to keep
+ * around (menus, the main game screen, the vet and the shop) are built once
+ * through a lazy factory and reused on later visits, so transitions only swap
+ * the scene root instead of rebuilding a whole scene graph. Screens are told
+ * when they appear and disappear through {@link ScreenClass#onShow()} and
+ * {@link ScreenClass#onHide()}, which is where they start and stop their timers.
+ * <p>
+ * Each cached screen belongs to an owner, usually the {@link group44.Pet} it
+ * displays; asking for the same screen type with a different owner builds a
+ * fresh instance. Cached screens are held through soft references and the
+ * cache is trimmed when the heap runs low, so a long session never pins more
+ * than a handful of scene graphs. A back stack records the cached screens
+ * visited so far; evicted entries are simply rebuilt from their factory.
+ * </p>
+ */
+public final class ScreenNavigator {
+
+    /** The maximum number of screens kept in the cache. */
+    private static final int MAX_CACHED_SCREENS = 8;
+
+    /** The maximum number of entries remembered on the back stack. */
+    private static final int MAX_BACK_STACK = 16;
+
+    /** Below this fraction of free heap, every cached screen except the visible one is dropped. */
+    private static final double LOW_MEMORY_FRACTION = 0.15;
+
+    /** Cached screens by type, in least-recently-used order. */
+    private static final Map<Class<?>, CachedScreen> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Previously visited cached screens, most recent first. */
+    private static final Deque<Destination<?>> backStack = new ArrayDeque<>();
+
+    /** The destination currently on screen, or null if it is not a cached screen. */
+    private static Destination<?> current;
+
+    /** Utility class; not instantiable. */
+    private ScreenNavigator() {
+    }
+
+    /**
+     * Shows the cached screen of the given type for the given owner, building
+     * it with the factory if it has never been shown, was evicted, or belongs
+     * to a different owner.
+     *
+     * @param <T>     The screen type.
+     * @param type    The screen class, used as the cache key.
+     * @param owner   The object the screen displays (for example a pet), or null.
+     * @param factory Builds the screen when no cached instance can be reused.
+     * @return The screen now being displayed.
+     */
+    public static <T extends ScreenClass> T show(Class<T> type, Object owner, Supplier<T> factory) {
+        T screen = resolve(type, owner, factory);
+        if (screen == App.getCurrentScreen()) {
+            return screen;
+        }
+        pushCurrent();
+        current = new Destination<>(type, owner, factory);
+        display(screen);
+        return screen;
+    }
+
+    /**
+     * Shows a one-off screen that is not cached, such as a minigame run.
+     * It is not recorded on the back stack.
+     *
+     * @param screen The screen to display.
+     */
+    public static void show(ScreenClass screen) {
+        pushCurrent();
+        current = null;
+        display(screen);
+    }
+
+    /**
+     * Returns to the most recently visited cached screen.
+     *
+     * @return True if there was a screen to go back to, false otherwise.
+     */
+    public static boolean back() {
+        Destination<?> previous = backStack.pollFirst();
+        if (previous == null) {
+            return false;
+        }
+        current = previous;
+        display(previous.resolve());
+        return true;
+    }
+
+    /**
+     * Drops every cached screen that belongs to the given owner, for example
+     * when a pet is replaced by a newly loaded one.
+     *
+     * @param owner The owner whose screens should be discarded.
+     */
+    public static void forget(Object owner) {
+        cache.values().removeIf(cached -> cached.owner == owner);
+        backStack.removeIf(destination -> destination.owner == owner);
+    }
+
+    /**
+     * Drops all cached screens and clears the back stack.
+     */
+    public static void clear() {
+        cache.clear();
+        backStack.clear();
+        current = null;
+    }
+
+    /**
+     * Looks up a reusable instance or builds a new one and caches it.
+     *
+     * @param <T>     The screen type.
+     * @param type    The screen class.
+     * @param owner   The owner the screen must belong to.
+     * @param factory Builds the screen if needed.
+     * @return A screen of the requested type for the requested owner.
+     */
+    private static <T extends ScreenClass> T resolve(Class<T> type, Object owner, Supplier<? extends T> factory) {
+        CachedScreen cached = cache.get(type);
+        if (cached != null && cached.owner == owner) {
+            ScreenClass screen = cached.screen.get();
+            if (screen != null) {
+                return type.cast(screen);
+            }
+        }
+        T screen = factory.get();
+        cache.put(type, new CachedScreen(owner, screen));
+        trimCache(type);
+        return screen;
+    }
+
+    /**
+     * Swaps the visible screen, firing the lifecycle hooks.
+     *
+     * @param screen The screen to display.
+     */
+    private static void display(ScreenClass screen) {
+        App.setScreen(screen);
+        if (isLowOnMemory()) {
+            cache.keySet().removeIf(type -> current == null || type != current.type);
+        }
+    }
+
+    /**
+     * Records the current cached screen on the back stack before leaving it.
+     */
+    private static void pushCurrent() {
+        if (current == null) {
+            return;
+        }
+        backStack.addFirst(current);
+        while (backStack.size() > MAX_BACK_STACK) {
+            backStack.removeLast();
+        }
+    }
+
+    /**
+     * Evicts least-recently-used screens until the cache fits its size limit.
+     *
+     * @param keep The screen type that was just added and must survive.
+     */
+    private static void trimCache(Class<?> keep) {
+        Iterator<Class<?>> it = cache.keySet().iterator();
+        while (cache.size() > MAX_CACHED_SCREENS && it.hasNext()) {
+            if (it.next() != keep) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Checks whether free heap has dropped below {@link #LOW_MEMORY_FRACTION}.
+     *
+     * @return True if cached screens should be released.
+     */
+    private static boolean isLowOnMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        long free = runtime.maxMemory() - used;
+        return free < runtime.maxMemory() * LOW_MEMORY_FRACTION;
+    }
+
+    /**
+     * A cached screen together with the owner it was built for.
+     */
+    private static class CachedScreen {
+        final Object owner;
+        final SoftReference<ScreenClass> screen;
+
+        CachedScreen(Object owner, ScreenClass screen) {
+            this.owner = owner;
+            this.screen = new SoftReference<>(screen);
+        }
+    }
+
+    /**
+     * An entry on the back stack: enough to find or rebuild a cached screen.
+     */
+    private static class Destination<T extends ScreenClass> {
+        final Class<T> type;
+        final Object owner;
+        final Supplier<? extends T> factory;
+
+        Destination(Class<T> type, Object owner, Supplier<? extends T> factory) {
+            this.type = type;
+            this.owner = owner;
+            this.factory = factory;
+        }
+
+        T resolve() {
+            return ScreenNavigator.resolve(type, owner, factory);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package group44.Screens;
+
+import group44.Audio.VoicePool;
+import group44.Log;
+import javafx.scene.media.AudioClip;
+
+import java.net.URL;
+
+/**
+ * Every sound effect listed in the generated {@link Sfx} class, decoded once
+ * up front so that playing one is only a matter of starting a clip that is
+ * already loaded.
+ * <p>
+ * Each effect is decoded into a single clip, which overlaps itself when it is
+ * played again before it ends, and a {@link VoicePool} keeps it to
+ * {@link #VOICES} plays at once; further plays are dropped until the oldest
+ * ends. Playing looks the effect up by its
+ * {@link Sfx} constant in an array and allocates nothing itself, so effects
+ * can be played every frame of a minigame. Effects are played from the
+ * JavaFX thread only.
+ * </p>
+ */
+public final class SfxBank {
+
+    /** The number of times each effect can play at once. */
+    public static final int VOICES = 4;
+    /**
+     * The shortest time between two plays of the same effect, in nanoseconds.
+     * Plays closer together than this, such as several coins collected on the
+     * same frame, are heard as one.
+     */
+    public static final long MIN_INTERVAL_NANOS = 30_000_000L;
+    /**
+     * How long a play of an effect counts against {@link #VOICES}, in
+     * nanoseconds. Clips do not report their length, and every effect is a
+     * short click or chime, so one length covers them all.
+     */
+    public static final long VOICE_NANOS = 500_000_000L;
+    /** The volume effects are played at. */
+    private static final double VOLUME = 0.7;
+
+    /**
+     * One effect and the plays of it still sounding.
+     */
+    private static final class Sound {
+
+        /** The decoded effect, shared by every play of it. */
+        private final AudioClip clip;
+        /** Decides which plays go ahead. */
+        private final VoicePool pool;
+
+        /**
+         * Loads an effect.
+         *
+         * @param url The effect's file.
+         */
+        private Sound(String url) {
+            clip = new AudioClip(url);
+            clip.setVolume(VOLUME);
+            pool = new VoicePool(VOICES, MIN_INTERVAL_NANOS, VOICE_NANOS);
+        }
+    }
+
+    /** The effects by {@link Sfx} constant; null where one could not be loaded. */
+    private final Sound[] sounds = new Sound[Sfx.count()];
+
+    /**
+     * Loads every effect listed in {@link Sfx} from a resource folder.
+     * Effects that cannot be found or decoded are reported and left out.
+     *
+     * @param folder The folder on the class path, such as "audio/sfx".
+     * @return The bank.
+     */
+    public static SfxBank load(String folder) {
+        SfxBank bank = new SfxBank();
+        for (int i = 0; i < bank.sounds.length; i++) {
+            String name = Sfx.file(i);
+            URL resource = SfxBank.class.getClassLoader().getResource(folder + "/" + name);
+            if (resource == null) {
+                Log.warn("Could not find sound file: {}", name);
+                continue;
+            }
+            try {
+                bank.sounds[i] = new Sound(resource.toString());
+            } catch (RuntimeException e) {
+                Log.error("Error loading sound {}: {}", name, e.getMessage());
+            }
+        }
+        return bank;
+    }
+
+    /**
+     * Plays an effect, unless it already plays {@link #VOICES} times at once
+     * or was played very recently.
+     *
+     * @param sound The effect, such as {@link Sfx#COIN}.
+     * @return False if the effect could not be loaded.
+     */
+    public boolean play(int sound) {
+        Sound effect = sounds[sound];
+        if (effect == null) {
+            return false;
+        }
+        if (effect.pool.trigger(System.nanoTime())) {
+            effect.clip.play();
+        }
+        return true;
+    }
+
+    /**
+     * Stops every play of every effect.
+     */
+    public void stopAll() {
+        for (Sound sound : sounds) {
+            if (sound == null) {
+                continue;
+            }
+            sound.clip.stop();
+            sound.pool.clear();
+        }
+    }
+
+    /**
+     * Returns the number of effects loaded.
+     *
+     * @return The effect count.
+     */
+    public int size() {
+        int loaded = 0;
+        for (Sound sound : sounds) {
+            if (sound != null) {
+                loaded++;
+            }
+        }
+        return loaded;
+    }
+}
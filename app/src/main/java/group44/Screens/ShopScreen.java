@@ -1,12 +1,12 @@
 package group44.Screens;
 
 import java.net.URL;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
-import group44.App;
-import group44.Inventory;
+import group44.Log;
 import group44.Pet;
+import group44.Shop;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Button;
@@ -34,17 +34,8 @@ import javafx.scene.layout.BackgroundSize;
  * - A "Buy" button: purchases one unit (if the pet has enough coins) and increments quantity.
  * - A "Gift" button: uses one unit (if available) and applies its effect to the pet.
  *
- * Effects:
- * Food Items:
- *   - Apple: +5 fullness
- *   - Orange: +7 fullness
- *   - Banana: +10 fullness
- * Gift Items:
- *   - Ball: +10 happiness
- *   - Teddy Bear: +15 happiness
- *   - Pirate Hat: +30 happiness
- *   - Lollipop: +5 happiness
- *   - Balloon: +12 happiness
+ * Prices, stock and item effects are the {@link Shop}'s; this screen only
+ * shows them and passes on the player's choices.
  *
  * The pet's current state is also displayed in the middle.
  */
@@ -65,54 +56,8 @@ public class ShopScreen extends ScreenClass {
     /** Label for the pet's happiness stat. */
     private Label happinessLabel;
 
-    /** Food items available in the shop. */
-    private static final String[] foodItems = {"Apple", "Banana", "Orange"};
-    /** Gift items available in the shop. */
-    private static final String[] giftItems = {"Ball", "Teddy Bear", "Pirate Hat", "Lollipop", "Balloon"};
-
-    /** A map of item names to their prices. */
-    private static final Map<String, Integer> shopPrices = new HashMap<>();
-    static {
-        shopPrices.put("Apple", 10);
-        shopPrices.put("Banana", 15);
-        shopPrices.put("Orange", 12);
-        shopPrices.put("Ball", 20);
-        shopPrices.put("Teddy Bear", 25);
-        shopPrices.put("Pirate Hat", 30);
-        shopPrices.put("Lollipop", 5);
-        shopPrices.put("Balloon", 7);
-    }
-
-    /** A map of item names to resource paths for their icons. */
-    private static final Map<String, String> itemIcons = new HashMap<>();
-    static {
-        itemIcons.put("Apple", "/images/apple.png");
-        itemIcons.put("Banana", "/images/banana.png");
-        itemIcons.put("Orange", "/images/orange.png");
-        itemIcons.put("Ball", "/images/ball.png");
-        itemIcons.put("Teddy Bear", "/images/teddybear.png");
-        itemIcons.put("Pirate Hat", "/images/piratehat.png");
-        itemIcons.put("Lollipop", "/images/lollipop.png");
-        itemIcons.put("Balloon", "/images/balloon.png");
-    }
-
-    /** A map mapping food items to their fullness increase value. */
-    private static final Map<String, Integer> foodEffects = new HashMap<>();
-    static {
-        foodEffects.put("Apple", 5);
-        foodEffects.put("Orange", 7);
-        foodEffects.put("Banana", 10);
-    }
-
-    /** A map mapping gift items to their happiness increase value. */
-    private static final Map<String, Integer> giftEffects = new HashMap<>();
-    static {
-        giftEffects.put("Ball", 10);
-        giftEffects.put("Teddy Bear", 15);
-        giftEffects.put("Pirate Hat", 30);
-        giftEffects.put("Lollipop", 5);
-        giftEffects.put("Balloon", 12);
-    }
+    /** Refreshes the quantity shown on each item row. */
+    private final List<Runnable> itemLabelUpdaters = new ArrayList<>();
 
     /**
      * Constructs a ShopScreen for the given pet, initializing inventory items to ensure
@@ -122,19 +67,7 @@ public class ShopScreen extends ScreenClass {
      */
     public ShopScreen(Pet pet) {
         this.pet = pet;
-        Inventory inv = pet.getInventory();
-
-        // Initialize each shop item in the pet's inventory to 1 if not present
-        for (String food : foodItems) {
-            if (!inv.getFoodItems().containsKey(food)) {
-                inv.addFood(food, 1);
-            }
-        }
-        for (String gift : giftItems) {
-            if (!inv.getGiftItems().containsKey(gift)) {
-                inv.addGift(gift, 1);
-            }
-        }
+        Shop.stock(pet.getInventory());
 
         setupUI();
     }
@@ -164,7 +97,11 @@ public class ShopScreen extends ScreenClass {
         titleLabel.setTextFill(Color.rgb(30, 100, 200));
 
         Button backButton = createStyledButton("Back to Game");
-        backButton.setOnAction(e -> App.setScreen(new GameScreen(pet)));
+        backButton.setOnAction(e -> {
+            if (!ScreenNavigator.back()) {
+                GameScreen.showFor(pet);
+            }
+        });
 
         coinCountLabel = new Label("Coins: " + pet.getCoins());
         coinCountLabel.setFont(Font.font("Arial", FontWeight.BOLD, 20));
@@ -183,8 +120,8 @@ public class ShopScreen extends ScreenClass {
         foodSectionLabel.setFont(Font.font("Arial", FontWeight.BOLD, 24));
         VBox foodItemsBox = new VBox(10);
         foodItemsBox.setPadding(new Insets(10, 0, 10, 20));
-        for (String foodName : foodItems) {
-            HBox rowBox = createShopItemRow(foodName, "food");
+        for (String foodName : Shop.getFoodItems()) {
+            HBox rowBox = createShopItemRow(foodName, Shop.FOOD);
             foodItemsBox.getChildren().add(rowBox);
         }
 
@@ -192,8 +129,8 @@ public class ShopScreen extends ScreenClass {
         giftSectionLabel.setFont(Font.font("Arial", FontWeight.BOLD, 24));
         VBox giftItemsBox = new VBox(10);
         giftItemsBox.setPadding(new Insets(10, 0, 10, 20));
-        for (String giftName : giftItems) {
-            HBox rowBox = createShopItemRow(giftName, "gift");
+        for (String giftName : Shop.getGiftItems()) {
+            HBox rowBox = createShopItemRow(giftName, Shop.GIFT);
             giftItemsBox.getChildren().add(rowBox);
         }
 
@@ -230,13 +167,26 @@ public class ShopScreen extends ScreenClass {
         happinessLabel.setText("Happiness: " + pet.getHappiness());
     }
 
+    /**
+     * Refreshes the coin count, state and quantity labels, since the shop is reused
+     * between visits and the pet's stats change in the meantime.
+     */
+    @Override
+    public void onShow() {
+        coinCountLabel.setText("Coins: " + pet.getCoins());
+        updateStateLabels();
+        for (Runnable updater : itemLabelUpdaters) {
+            updater.run();
+        }
+    }
+
     /**
      * Creates a row for a shop item with both "Buy" and "Gift" buttons and an icon (if available).
      * Buying reduces pet coins and increases item quantity. Gifting uses one item, 
      * applying its effect to fullness or happiness.
      *
      * @param itemName the name of the item
-     * @param category either "food" or "gift"
+     * @param category either {@link Shop#FOOD} or {@link Shop#GIFT}
      * @return an HBox representing the row for this shop item
      */
     private HBox createShopItemRow(String itemName, String category) {
@@ -244,7 +194,7 @@ public class ShopScreen extends ScreenClass {
         rowBox.setAlignment(Pos.CENTER_LEFT);
 
         // Load icon for the item if available
-        String iconPath = itemIcons.get(itemName);
+        String iconPath = Shop.getIcon(itemName);
         if (iconPath != null) {
             URL resource = getClass().getResource(iconPath);
             if (resource != null) {
@@ -255,63 +205,46 @@ public class ShopScreen extends ScreenClass {
                     iconView.setPreserveRatio(true);
                     rowBox.getChildren().add(iconView);
                 } catch (Exception ex) {
-                    System.out.println("Could not load image for " + itemName + ": " + ex.getMessage());
+                    Log.warn("Could not load image for {}: {}", itemName, ex.getMessage());
                 }
             } else {
-                System.out.println("Resource not found for " + itemName + " at " + iconPath);
+                Log.warn("Resource not found for {} at {}", itemName, iconPath);
             }
         }
 
-        int price = shopPrices.getOrDefault(itemName, 0);
+        int price = Shop.getPrice(itemName);
         Label itemLabel = new Label();
         itemLabel.setFont(Font.font("Arial", 16));
 
         Runnable updateLabel = () -> {
-            int currentQty;
-            if ("food".equals(category)) {
-                currentQty = pet.getInventory().getFoodItems().getOrDefault(itemName, 0);
-            } else {
-                currentQty = pet.getInventory().getGiftItems().getOrDefault(itemName, 0);
-            }
+            int currentQty = Shop.getQuantity(pet, itemName, category);
             itemLabel.setText(itemName + " - " + price + " coins (Qty: " + currentQty + ")");
         };
         updateLabel.run();
+        itemLabelUpdaters.add(updateLabel);
 
         Button buyButton = createStyledButton("Buy");
         buyButton.setOnAction(e -> {
-            if (pet.getCoins() >= price) {
-                pet.setCoins(pet.getCoins() - price);
-                if ("food".equals(category)) {
-                    pet.getInventory().addFood(itemName, 1);
-                } else {
-                    pet.getInventory().addGift(itemName, 1);
-                }
+            if (Shop.buy(pet, itemName, category)) {
                 coinCountLabel.setText("Coins: " + pet.getCoins());
                 updateLabel.run();
-                System.out.println("Purchased 1 " + itemName);
+                Log.info("Purchased 1 {}", itemName);
             } else {
-                System.out.println("Not enough coins to buy " + itemName);
+                Log.info("Not enough coins to buy {}", itemName);
             }
         });
 
         Button giftButton = createStyledButton("Gift");
         giftButton.setOnAction(e -> {
-            if ("food".equals(category)) {
-                if (pet.getInventory().useFood(itemName, 1)) {
-                    int effect = foodEffects.getOrDefault(itemName, 0);
-                    pet.setFullness(Math.min(100, pet.getFullness() + effect));
-                    System.out.println("Gifted " + itemName + ", + " + effect + " fullness");
+            if (Shop.gift(pet, itemName, category)) {
+                int effect = Shop.getEffect(itemName, category);
+                if (Shop.FOOD.equals(category)) {
+                    Log.info("Gifted {}, + {} fullness", itemName, effect);
                 } else {
-                    System.out.println("No " + itemName + " available to gift.");
+                    Log.info("Gifted {}, + {} happiness", itemName, effect);
                 }
             } else {
-                if (pet.getInventory().useGift(itemName, 1)) {
-                    int effect = giftEffects.getOrDefault(itemName, 0);
-                    pet.setHappiness(Math.min(100, pet.getHappiness() + effect));
-                    System.out.println("Gifted " + itemName + ", + " + effect + " happiness");
-                } else {
-                    System.out.println("No " + itemName + " available to gift.");
-                }
+                Log.info("No {} available to gift.", itemName);
             }
             updateLabel.run();
             updateStateLabels();
@@ -322,8 +255,8 @@ public class ShopScreen extends ScreenClass {
     }
 
     /**
-     * Creates a basic styled button specific to ShopScreen
-     * with updated font size and color settings.
+     * Creates a basic styled button specific to ShopScreen,
+     * using the smaller "small-button" style class.
      *
      * @param text The text for the button.
      * @return A customized Button instance.
@@ -331,10 +264,7 @@ public class ShopScreen extends ScreenClass {
     @Override
     protected Button createStyledButton(String text) {
         Button button = new Button(text);
-        button.setStyle(
-            "-fx-background-color: #4286f4; -fx-text-fill: white; -fx-font-size: 14px; " +
-            "-fx-background-radius: 10; -fx-padding: 10;"
-        );
+        button.getStyleClass().add("small-button");
         return button;
     }
 }
@@ -0,0 +1,171 @@
+package group44.Screens;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import group44.Minigames.SpriteMask;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.stage.Screen;
+
+/**
+ * Rasterises simple vector sprites (coins, clouds, overlays) into images once,
+ * so the minigames can blit a finished bitmap instead of re-issuing fill and
+ * stroke calls every frame. Baked sprites are cached by name, logical size and
+ * display output scale, which keeps them crisp on HiDPI screens.
+ * <p>
+ * All methods must be called on the JavaFX application thread.
+ * </p>
+ */
+public final class SpriteBaker {
+
+    /** Transparent border around a baked coin, wide enough for its 2px rim. */
+    public static final double COIN_MARGIN = 1;
+
+    /** Baked sprites keyed by name, logical size and output scale. */
+    private static final Map<String, WritableImage> cache = new HashMap<>();
+
+    /** Utility class; not instantiable. */
+    private SpriteBaker() {
+    }
+
+    /**
+     * Returns the output scale of the primary display (1.0 on standard displays,
+     * 2.0 on most HiDPI ones).
+     *
+     * @return The horizontal output scale of the primary screen.
+     */
+    public static double getOutputScale() {
+        return Screen.getPrimary().getOutputScaleX();
+    }
+
+    /**
+     * Returns a gold coin with an orange rim, matching the look the minigames
+     * previously drew by hand each frame. The image includes a margin of
+     * {@link #COIN_MARGIN} pixels on every side so the rim is not clipped.
+     *
+     * @param size The coin's logical diameter in pixels.
+     * @return A cached image of the coin.
+     */
+    public static WritableImage coin(double size) {
+        double side = size + 2 * COIN_MARGIN;
+        return cached("coin", side, side, gc -> {
+            gc.setFill(Color.GOLD);
+            gc.fillOval(COIN_MARGIN, COIN_MARGIN, size, size);
+            gc.setStroke(Color.ORANGE);
+            gc.setLineWidth(2);
+            gc.strokeOval(COIN_MARGIN, COIN_MARGIN, size, size);
+        });
+    }
+
+    /**
+     * Returns a filled oval, used for background clouds. The image may be drawn
+     * at any size; ovals stay ovals when stretched.
+     *
+     * @param width  The oval's logical width in pixels.
+     * @param height The oval's logical height in pixels.
+     * @param fill   The fill colour.
+     * @return A cached image of the oval.
+     */
+    public static WritableImage oval(double width, double height, Color fill) {
+        return cached("oval" + fill, width, height, gc -> {
+            gc.setFill(fill);
+            gc.fillOval(0, 0, width, height);
+        });
+    }
+
+    /**
+     * Returns a loaded sprite resampled once to the size it is drawn at, so
+     * drawing it every frame, and drawing it again for a ghost, is a plain
+     * copy instead of a rescale.
+     *
+     * @param image  The sprite; must be fully loaded.
+     * @param width  The logical width it is drawn at.
+     * @param height The logical height it is drawn at.
+     * @return A cached image of the scaled sprite.
+     */
+    public static WritableImage scaled(Image image, double width, double height) {
+        return cached("image" + System.identityHashCode(image), width, height,
+                      gc -> gc.drawImage(image, 0, 0, width, height));
+    }
+
+    /**
+     * Rasterises the given drawing commands into a new, uncached image. Use this
+     * for content that changes between bakes, such as a score panel.
+     *
+     * @param width   The logical width of the image in pixels.
+     * @param height  The logical height of the image in pixels.
+     * @param painter Draws the sprite in logical coordinates.
+     * @return The baked image, sized in physical pixels for the current display.
+     */
+    public static WritableImage bake(double width, double height, Consumer<GraphicsContext> painter) {
+        double scale = getOutputScale();
+        Canvas canvas = new Canvas(Math.ceil(width * scale), Math.ceil(height * scale));
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.scale(scale, scale);
+        painter.accept(gc);
+
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        return canvas.snapshot(params, null);
+    }
+
+    /**
+     * Reads which pixels of a loaded sprite are solid, for pixel-accurate
+     * collisions, at the size the sprite is drawn at.
+     *
+     * @param image  The sprite.
+     * @param width  The width the sprite is drawn at, in logical pixels.
+     * @param height The height the sprite is drawn at, in logical pixels.
+     * @return The sprite's mask, or null if the image is missing, failed to
+     *         load or cannot be read.
+     */
+    public static SpriteMask mask(Image image, int width, int height) {
+        if (image == null || image.isError() || width <= 0 || height <= 0) {
+            return null;
+        }
+        PixelReader reader = image.getPixelReader();
+        if (reader == null) {
+            return null;
+        }
+        int sourceWidth = (int) image.getWidth();
+        int sourceHeight = (int) image.getHeight();
+        int[] argb = new int[sourceWidth * sourceHeight];
+        reader.getPixels(0, 0, sourceWidth, sourceHeight, PixelFormat.getIntArgbInstance(), argb, 0, sourceWidth);
+        return SpriteMask.fromArgb(argb, sourceWidth, sourceHeight, width, height);
+    }
+
+    /**
+     * Drops every cached sprite, for example after the display scale has changed.
+     */
+    public static void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * Looks up a baked sprite, baking and caching it on first use.
+     *
+     * @param name    A name identifying what the painter draws.
+     * @param width   The logical width in pixels.
+     * @param height  The logical height in pixels.
+     * @param painter Draws the sprite in logical coordinates.
+     * @return The cached image.
+     */
+    private static WritableImage cached(String name, double width, double height,
+                                        Consumer<GraphicsContext> painter) {
+        String key = name + "@" + width + "x" + height + "@" + getOutputScale();
+        WritableImage image = cache.get(key);
+        if (image == null) {
+            image = bake(width, height, painter);
+            cache.put(key, image);
+        }
+        return image;
+    }
+}
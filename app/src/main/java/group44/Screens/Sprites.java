@@ -0,0 +1,145 @@
+package group44.Screens;
+
+import group44.Log;
+import group44.Pet;
+import group44.SpriteRegistry;
+import javafx.scene.image.Image;
+
+import java.lang.ref.Cleaner;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Loads the images the game model refers to by id, such as
+ * {@link Pet#getImageId()}. An id is the image's resource path.
+ * <p>
+ * Pet sprites are handed out as {@link SpriteRegistry.Handle handles} shared
+ * by every pet of the same colour. A pet's handles are acquired the first
+ * time a screen asks for them, the image is decoded the first time it is
+ * drawn, and the handles are released once the pet itself is garbage
+ * collected, so pets that are never drawn, such as those read only to fill
+ * in a save slot, cost no image memory, and a colour nobody uses any more is
+ * dropped. Images that are always needed, such as those on the pet selection
+ * screen, are pinned instead and kept for the whole session.
+ * </p>
+ * <p>
+ * Only the JavaFX application thread may ask for sprites.
+ * </p>
+ */
+public final class Sprites {
+
+    /** The shared images in use. */
+    private static final SpriteRegistry<Image> REGISTRY = new SpriteRegistry<>(Sprites::load);
+    /** Releases a pet's handles once the pet is gone. */
+    private static final Cleaner CLEANER = Cleaner.create();
+    /** The handles acquired for each pet still in use. */
+    private static final Map<Pet, PetSprites> PETS = new WeakHashMap<>();
+    /** The pinned images' handles, by id. */
+    private static final Map<String, SpriteRegistry.Handle<Image>> PINNED = new HashMap<>();
+
+    /**
+     * The handles acquired for one pet. Holds no reference to the pet, so it
+     * can release them after the pet has been collected.
+     */
+    private static final class PetSprites implements Runnable {
+
+        /** The pet's default sprite, or null until asked for. */
+        private SpriteRegistry.Handle<Image> normal;
+        /** The pet's flying sprite, or null until asked for. */
+        private SpriteRegistry.Handle<Image> flying;
+
+        /**
+         * Releases the handles; run by the cleaner once the pet is unreachable.
+         */
+        @Override
+        public synchronized void run() {
+            if (normal != null) {
+                normal.release();
+            }
+            if (flying != null) {
+                flying.release();
+            }
+        }
+    }
+
+    /** Utility class; not instantiable. */
+    private Sprites() {
+    }
+
+    /**
+     * Returns the handle of a pet's default sprite. Call {@link SpriteRegistry.Handle#get()}
+     * when drawing it.
+     *
+     * @param pet The pet.
+     * @return The handle, shared with every pet of the same colour.
+     */
+    public static SpriteRegistry.Handle<Image> pet(Pet pet) {
+        PetSprites sprites = sprites(pet);
+        synchronized (sprites) {
+            if (sprites.normal == null) {
+                sprites.normal = REGISTRY.acquire(pet.getImageId());
+            }
+            return sprites.normal;
+        }
+    }
+
+    /**
+     * Returns the handle of a pet's flying sprite. Call {@link SpriteRegistry.Handle#get()}
+     * when drawing it.
+     *
+     * @param pet The pet.
+     * @return The handle, shared with every pet of the same colour.
+     */
+    public static SpriteRegistry.Handle<Image> petFlying(Pet pet) {
+        PetSprites sprites = sprites(pet);
+        synchronized (sprites) {
+            if (sprites.flying == null) {
+                sprites.flying = REGISTRY.acquire(pet.getFlyingImageId());
+            }
+            return sprites.flying;
+        }
+    }
+
+    /**
+     * Returns an image that stays loaded for the rest of the session,
+     * loading it the first time.
+     *
+     * @param id The image's resource path, such as "blue.png".
+     * @return The image, or null if there is no such image.
+     */
+    public static Image get(String id) {
+        return PINNED.computeIfAbsent(id, REGISTRY::acquire).get();
+    }
+
+    /**
+     * Returns the handles acquired for a pet, registering the pet the first time.
+     *
+     * @param pet The pet.
+     * @return The pet's handles.
+     */
+    private static PetSprites sprites(Pet pet) {
+        PetSprites sprites = PETS.get(pet);
+        if (sprites == null) {
+            sprites = new PetSprites();
+            PETS.put(pet, sprites);
+            CLEANER.register(pet, sprites);
+        }
+        return sprites;
+    }
+
+    /**
+     * Decodes an image.
+     *
+     * @param id The image's resource path.
+     * @return The image, or null if there is no such image.
+     */
+    private static Image load(String id) {
+        try {
+            return new Image(id);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            Log.warn("Error loading image {}: {}", id, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -1,11 +1,7 @@
 package group44.Screens;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Random;
-
 import group44.Pet;
+import group44.Minigames.EntityBuffer;
 import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.scene.paint.Color;
@@ -44,8 +40,8 @@ public class SwimmingTutorialScreen extends TrainingScreen {
 
     /** The pet's vertical velocity while jumping or diving. */
     private double swimVelocity;
-    /** List of green obstacles to dodge. */
-    private List<Obstacle> obstacles;
+    /** Green obstacles to dodge; each one's y is the top of the obstacle below its gap. */
+    private EntityBuffer obstacles;
     /** Current obstacle speed, which can vary over time. */
     private double obstacleSpeed;
 
@@ -56,8 +52,6 @@ public class SwimmingTutorialScreen extends TrainingScreen {
      * typically larger for tutorials.
      */
     private int distanceBetweenObstacles;
-    /** Random number generator for obstacle positioning. */
-    private Random random;
 
     /**
      * Constructor for SwimmingTutorialScreen.
@@ -71,8 +65,6 @@ public class SwimmingTutorialScreen extends TrainingScreen {
         petHeight = 30;
 
         distanceBetweenObstacles = isTutorialScreen ? 600 : 300;
-        random = new Random();
-
         setupUI();
         loadResources();
         setupGameVariables();
@@ -96,7 +88,7 @@ public class SwimmingTutorialScreen extends TrainingScreen {
      * Loads character or pet-related resources, such as images or audio.
      */
     private void loadResources() {
-        petImage = pet.getPetImage();
+        petImage = Sprites.pet(pet).get();
     }
 
     /**
@@ -105,7 +97,7 @@ public class SwimmingTutorialScreen extends TrainingScreen {
     @Override
     protected void setupGameVariables() {
         super.setupGameVariables();
-        obstacles = new ArrayList<>();
+        obstacles = new EntityBuffer();
         obstacleSpeed = INITIAL_OBSTACLE_SPEED;
     }
 
@@ -117,15 +109,11 @@ public class SwimmingTutorialScreen extends TrainingScreen {
         gameCanvas.setFocusTraversable(true);
 
         gameCanvas.setOnKeyPressed(e -> {
-            if (!jumping && isGameRunning && !isGameOver && (petY + petHeight >= canvasHeight / 2)) {
+            if (isGameRunning && !isGameOver) {
                 if (e.getCode() == KeyCode.UP) {
-                    jumping = true;
-                    jumpMode = -1;
-                    swimVelocity = UP_JUMP_FORCE;
+                    queueInput(INPUT_PRIMARY);
                 } else if (e.getCode() == KeyCode.DOWN) {
-                    jumping = true;
-                    jumpMode = 1;
-                    swimVelocity = DOWN_JUMP_FORCE;
+                    queueInput(INPUT_SECONDARY);
                 }
             } else if (e.getCode() == KeyCode.ENTER && isGameOver) {
                 restartGame();
@@ -133,14 +121,40 @@ public class SwimmingTutorialScreen extends TrainingScreen {
         });
     }
 
+    /**
+     * Starts a jump (UP) or a dive (DOWN)
+     * if the pet is at the water's surface.
+     *
+     * @param action The queued input action.
+     */
+    @Override
+    protected void applyInput(int action) {
+        if (jumping || petY + petHeight < canvasHeight / 2) {
+            return;
+        }
+        if (action == INPUT_PRIMARY) {
+            jumping = true;
+            jumpMode = -1;
+            swimVelocity = UP_JUMP_FORCE;
+        } else if (action == INPUT_SECONDARY) {
+            jumping = true;
+            jumpMode = 1;
+            swimVelocity = DOWN_JUMP_FORCE;
+        }
+    }
+
     /**
      * Begins the tutorial run, placing initial obstacles and resetting stats.
      */
     @Override
     protected void startGame() {
+        beginRun();
+
         petX = canvasWidth / 3.0; 
         petY = canvasHeight / 2 - petHeight;
         swimVelocity = 0;
+        jumping = false;
+        jumpMode = 0;
         obstacles.clear();
         coins.clear();
         score = 0;
@@ -197,40 +211,19 @@ public class SwimmingTutorialScreen extends TrainingScreen {
             swimVelocity = 0;
         }
 
-        Iterator<Obstacle> obsIterator = obstacles.iterator();
-        while (obsIterator.hasNext()) {
-            Obstacle obs = obsIterator.next();
-            obs.x -= obstacleSpeed;
-
-            if (!obs.passed && obs.x + OBSTACLE_WIDTH < (canvasWidth / 3)) {
-                obs.passed = true;
+        obstacles.translateX(-obstacleSpeed);
+        for (int i = 0; i < obstacles.size(); i++) {
+            if (!obstacles.hasFlag(i, EntityBuffer.PASSED) && obstacles.right(i) < (canvasWidth / 3)) {
+                obstacles.setFlag(i, EntityBuffer.PASSED);
                 score++;
                 scoreLabel.setText(String.valueOf(score));
             }
-
-            if (obs.x + OBSTACLE_WIDTH < 0) {
-                obsIterator.remove();
-            }
         }
+        obstacles.removeLeading(0, 0);
 
-        Iterator<Coin> coinIterator = coins.iterator();
-        while (coinIterator.hasNext()) {
-            Coin coin = coinIterator.next();
-            coin.x -= obstacleSpeed;
+        updateCoins(obstacleSpeed, Sfx.COIN);
 
-            if (!coin.collected && checkCoinCollision(coin)) {
-                coin.collected = true;
-                coinsCollected++;
-                coinCountLabel.setText(String.valueOf(coinsCollected));
-                ScreenClass.playSound("coin.mp3");
-            }
-
-            if (coin.x + coinSize < 0 || coin.collected) {
-                coinIterator.remove();
-            }
-        }
-
-        if (obstacles.isEmpty() || obstacles.get(obstacles.size() - 1).x < canvasWidth - distanceBetweenObstacles) {
+        if (obstacles.isEmpty() || obstacles.x(obstacles.size() - 1) < canvasWidth - distanceBetweenObstacles) {
             addObstacle(canvasWidth);
         }
 
@@ -249,21 +242,24 @@ public class SwimmingTutorialScreen extends TrainingScreen {
         gc.setFill(Color.rgb(0, 105, 148));
         gc.fillRect(0, canvasHeight / 2, canvasWidth, canvasHeight / 2);
 
-        // Draw obstacles
-        for (Obstacle obs : obstacles) {
-            gc.setFill(Color.FORESTGREEN);
-            double obstacleHeight = canvasHeight - obs.gapY;
-            gc.fillRect(obs.x, obs.gapY, OBSTACLE_WIDTH, obstacleHeight);
+        // Draw obstacles and coins, held back by the part of a tick not yet simulated
+        gc.save();
+        gc.translate(scrollLag(obstacleSpeed), 0);
+        gc.setFill(Color.FORESTGREEN);
+        for (int i = 0; i < obstacles.size(); i++) {
+            double obstacleTop = obstacles.y(i);
+            gc.fillRect(obstacles.x(i), obstacleTop, OBSTACLE_WIDTH, canvasHeight - obstacleTop);
         }
 
         // Draw coins (inherited from TrainingScreen)
         drawCoins();
+        gc.restore();
 
         // Draw pet image with slight rotation
         if (petImage != null) {
             double rotation = Math.min(Math.max(swimVelocity * 5, -20), 20);
             gc.save();
-            gc.translate(canvasWidth / 3, petY + petHeight / 2);
+            gc.translate(canvasWidth / 3, interpolate(prevPetY, petY) + petHeight / 2);
             gc.rotate(rotation);
             gc.drawImage(petImage, -petWidth / 2, -petHeight / 2, petWidth, petHeight);
             gc.restore();
@@ -289,32 +285,35 @@ public class SwimmingTutorialScreen extends TrainingScreen {
         int gapY = random.nextInt(maxGapY - minGapY + 1) + minGapY;
 
         int obstacleTopY = gapY - OBSTACLE_GAP;
-        obstacles.add(new Obstacle(x, obstacleTopY));
+        obstacles.add(x, obstacleTopY, OBSTACLE_WIDTH, canvasHeight - obstacleTopY);
 
         coinCounter++;
         if (coinCounter >= 3 + random.nextInt(3)) {
             coinCounter = 0;
             int coinY = gapY - coinSize / 2 + random.nextInt(60) - 30;
-            coins.add(new Coin(x + OBSTACLE_WIDTH + 50 + random.nextInt(100), coinY));
+            addCoin(x + OBSTACLE_WIDTH + 50 + random.nextInt(100), coinY);
         }
     }
 
     /**
-     * Checks for collisions between the pet and any standard obstacles, ending
+     * Checks for collisions between the pet and any standard obstacles during the
+     * latest tick, sweeping the pet from its start-of-tick position, and ends
      * the tutorial if one occurs.
      */
     private void checkCollisions() {
-        double petLeft = canvasWidth / 3 - petWidth / 2 + 5;
-        double petRight = canvasWidth / 3 + petWidth / 2 - 5;
-        double petTop = petY + 5;
-        double petBottom = petY + petHeight - 5;
-
-        for (Obstacle obs : obstacles) {
-            if (petRight > obs.x && petLeft < obs.x + OBSTACLE_WIDTH) {
-                if (petBottom > obs.gapY) {
-                    endGame();
-                    return;
-                }
+        // Where the pet started the tick, in the obstacles' current frame
+        double petLeft = canvasWidth / 3 - petWidth / 2 + 5 - obstacleSpeed;
+        double petRight = canvasWidth / 3 + petWidth / 2 - 5 - obstacleSpeed;
+        double petBottom = prevPetY + petHeight - 5;
+        double dy = petY - prevPetY;
+
+        int nearby = broadphase.query(obstacles, petLeft, petRight + obstacleSpeed, 0);
+        for (int k = 0; k < nearby; k++) {
+            int i = broadphase.candidate(k);
+            if (broadphase.sweptIntersects(petLeft, Double.NEGATIVE_INFINITY, petRight, petBottom, obstacleSpeed, dy,
+                                           obstacles.x(i), obstacles.y(i), obstacles.right(i), Double.POSITIVE_INFINITY)) {
+                endGame();
+                return;
             }
         }
     }
@@ -331,26 +330,4 @@ public class SwimmingTutorialScreen extends TrainingScreen {
             pet.setCoins(pet.getCoins() + coinsCollected);
         }
     }
-
-    // --------------------- INNER CLASSES ---------------------
-    /**
-     * A static inner class representing a single green obstacle in the tutorial.
-     */
-    private static class Obstacle {
-        double x;
-        int gapY;
-        boolean passed;
-
-        /**
-         * Constructs an Obstacle with a given x-position and gap starting point.
-         *
-         * @param x The left edge of the obstacle.
-         * @param gapY The vertical position of the gap, measured from the top.
-         */
-        Obstacle(double x, int gapY) {
-            this.x = x;
-            this.gapY = gapY;
-            this.passed = false;
-        }
-    }
 }
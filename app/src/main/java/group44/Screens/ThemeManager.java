@@ -0,0 +1,133 @@
+package group44.Screens;
+
+import group44.Log;
+import javafx.scene.Scene;
+
+import java.net.URL;
+
+/**
+ * Installs the game's stylesheets on its scene and swaps themes at runtime.
+ * <p>
+ * Screens give their nodes style classes, such as {@code primary-button},
+ * instead of inline styles; the shapes of those classes are in
+ * {@value #BASE_STYLESHEET} and their colours in a theme stylesheet in
+ * {@value #THEME_FOLDER}. JavaFX parses each stylesheet once, and hover and
+ * warning looks are pseudo-classes, so nothing is parsed again while the game
+ * runs. Swapping the theme only replaces the theme stylesheet; every screen
+ * shares the one scene, so all of them pick it up, including cached ones the
+ * next time they are shown.
+ * </p>
+ * <p>
+ * The starting theme is read from the {@value #PROPERTY} system property,
+ * for example {@code -Dui.theme=high-contrast}.
+ * </p>
+ */
+public final class ThemeManager {
+
+    /** The system property choosing the starting theme. */
+    public static final String PROPERTY = "ui.theme";
+
+    /** The theme used when none is chosen or the chosen one cannot be found. */
+    public static final String DEFAULT_THEME = "default";
+
+    /** The stylesheet with the shapes of every style class, on the class path. */
+    private static final String BASE_STYLESHEET = "styles/app.css";
+
+    /** The folder holding one stylesheet per theme, on the class path. */
+    private static final String THEME_FOLDER = "styles/themes/";
+
+    /** The scene the stylesheets are installed on, or null before {@link #apply(Scene)}. */
+    private static Scene scene;
+
+    /** The name of the theme in use. */
+    private static String theme = DEFAULT_THEME;
+
+    /** The URL of the theme stylesheet in use, or null if none is installed. */
+    private static String themeSheet;
+
+    /** Utility class; not instantiable. */
+    private ThemeManager() {
+    }
+
+    /**
+     * Installs the base stylesheet and the starting theme on the game's scene.
+     * Call once, when the scene is created.
+     *
+     * @param target The game's scene.
+     */
+    public static void apply(Scene target) {
+        scene = target;
+        String base = find(BASE_STYLESHEET);
+        if (base != null) {
+            scene.getStylesheets().add(base);
+        }
+        String name = System.getProperty(PROPERTY, DEFAULT_THEME);
+        if (!setTheme(name) && !name.equals(DEFAULT_THEME)) {
+            setTheme(DEFAULT_THEME);
+        }
+    }
+
+    /**
+     * Installs the base stylesheet and the theme in use on a short-lived
+     * scene of its own, such as a dialog's. The scene keeps that theme even
+     * if the theme is switched while it is open.
+     *
+     * @param dialog The dialog's scene.
+     */
+    public static void style(Scene dialog) {
+        String base = find(BASE_STYLESHEET);
+        if (base != null) {
+            dialog.getStylesheets().add(base);
+        }
+        if (themeSheet != null) {
+            dialog.getStylesheets().add(themeSheet);
+        }
+    }
+
+    /**
+     * Switches to another theme. Does nothing if the theme cannot be found.
+     *
+     * @param name The theme's name, the file name in {@value #THEME_FOLDER}
+     *             without ".css", such as "high-contrast".
+     * @return True if the theme is now in use.
+     */
+    public static boolean setTheme(String name) {
+        String sheet = find(THEME_FOLDER + name + ".css");
+        if (sheet == null) {
+            return false;
+        }
+        theme = name;
+        if (scene != null && !sheet.equals(themeSheet)) {
+            if (themeSheet != null) {
+                scene.getStylesheets().remove(themeSheet);
+            }
+            scene.getStylesheets().add(sheet);
+        }
+        themeSheet = sheet;
+        return true;
+    }
+
+    /**
+     * Returns the name of the theme in use.
+     *
+     * @return The theme's name.
+     */
+    public static String getTheme() {
+        return theme;
+    }
+
+    /**
+     * Finds a stylesheet on the class path.
+     *
+     * @param path The stylesheet's path on the class path.
+     * @return The stylesheet's URL as a string, or null if it cannot be found.
+     */
+    private static String find(String path) {
+        URL resource = ThemeManager.class.getClassLoader().getResource(path);
+        if (resource == null) {
+            Log.warn("Could not find stylesheet: {}", path);
+            return null;
+        }
+        return resource.toExternalForm();
+    }
+}
@@ -4,15 +4,14 @@ import group44.App;
 import group44.Screens.GameScreen;
 import group44.Screens.TrainingScreen;
 import group44.Pet;
+import group44.Minigames.EntityBuffer;
+import group44.Minigames.FlyingSimulation;
+import group44.Minigames.SimulationLoop;
 
 import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.scene.paint.Color;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-
 /**
  * Training screen for the flying minigame where the pet must navigate through pipes.
  * Flappy Bird-inspired gameplay that improves the pet's flying skill.
@@ -20,58 +19,19 @@ import java.util.List;
 public class TrainFlyingScreen extends TrainingScreen {
 
     /**
-     * The constant force of gravity that pulls the pet downward each frame.
-     */
-    private static final double GRAVITY = 0.1;
-    
-    /**
-     * The upward force applied when the player jumps/flaps.
-     * Negative value indicates upward movement in the coordinate system.
-     */
-    private static final double JUMP_FORCE = -3.0;
-    
-    /**
-     * The width of pipe obstacles in pixels.
-     */
-    private static final int PIPE_WIDTH = 80;
-    
-    /**
-     * The vertical gap between top and bottom pipes in pixels.
-     * Determines the space available for the pet to fly through.
+     * The rules and state of the run, ticked on a thread of its own; this screen only handles input, sound and drawing.
      */
-    private static final int PIPE_GAP = 180;
-    
-    /**
-     * The initial horizontal speed of pipes moving from right to left.
-     * Measured in pixels per frame.
-     */
-    private static final int INITIAL_PIPE_SPEED = 3;
-    
-    /**
-     * The current vertical velocity of the pet (bird). Positive means downward movement.
-     */
-    private double birdVelocity;
-    
-    /**
-     * Collection of all active pipe obstacles in the game.
-     */
-    private List<Pipe> pipes;
-    
-    /**
-     * The current horizontal speed of pipe movement.
-     */
-    private double pipeSpeed;
+    private final FlyingSimulation simulation;
     
     /**
      * The image used to render the pet in flying mode.
      */
     private Image birdImage;
-    
+
     /**
-     * Describes the distance between pipes in pixels. 
-     * This value may differ if the screen is a tutorial.
+     * The flying image scaled once to the size it is drawn at, for the pet and its ghost.
      */
-    private int distanceBetweenPipes;
+    private Image birdSprite;
 
     /**
      * Constructor for the flying training screen.
@@ -81,14 +41,13 @@ public class TrainFlyingScreen extends TrainingScreen {
      */
     public TrainFlyingScreen(Pet pet, boolean isTutorialScreen) {
         super(pet, isTutorialScreen);
-        petWidth = 60;
-        petHeight = 45;
 
-        if (isTutorialScreen) {
-            distanceBetweenPipes = 600;
-        } else {
-            distanceBetweenPipes = 300;
-        }
+        // The tutorial spaces pipes further apart
+        int distance = isTutorialScreen ? 600 : 300;
+        simulation = new FlyingSimulation(canvasWidth, canvasHeight, distance);
+        runOnSimulationThread(new SimulationLoop<>(simulation,
+                                                   () -> new FlyingSimulation(canvasWidth, canvasHeight, distance)),
+                              Sfx.COIN);
 
         // Initialize the game
         setupUI();
@@ -115,21 +74,18 @@ public class TrainFlyingScreen extends TrainingScreen {
     }
             
     /**
-     * Loads the pet's flying image from the pet object.
+     * Loads the pet's flying image from the pet object and gives the
+     * simulation its outline for collisions.
      */
     private void loadResources() {
-        birdImage = pet.getPetFlyingImage();            
-    }
-    
-    /**
-     * Sets up the game variables specific to the flying minigame.
-     * Initializes the pipes collection and pipe movement speed.
-     */
-    @Override
-    protected void setupGameVariables() {
-        super.setupGameVariables();
-        pipes = new ArrayList<>();
-        pipeSpeed = INITIAL_PIPE_SPEED;
+        birdImage = Sprites.petFlying(pet).get();
+        if (birdImage != null && !birdImage.isError()) {
+            birdSprite = SpriteBaker.scaled(birdImage, simulation.getPetWidth(), simulation.getPetHeight());
+        }
+
+        // Hit the pipes with the bird's outline rather than its box
+        simulation.setPetSprite(SpriteBaker.mask(birdImage, (int) simulation.getPetWidth(),
+                                                 (int) simulation.getPetHeight()));
     }
     
     /**
@@ -145,7 +101,7 @@ public class TrainFlyingScreen extends TrainingScreen {
         // Space key to flap
         gameCanvas.setOnKeyPressed(e -> {
             if (e.getCode() == KeyCode.SPACE && isGameRunning && !isGameOver) {
-                birdVelocity = JUMP_FORCE;
+                queueInput(INPUT_PRIMARY);
             } else if (e.getCode() == KeyCode.ENTER && isGameOver) {
                 restartGame();
             }
@@ -154,35 +110,24 @@ public class TrainFlyingScreen extends TrainingScreen {
         // Mouse click to flap
         gameCanvas.setOnMouseClicked(e -> {
             if (isGameRunning && !isGameOver) {
-                birdVelocity = JUMP_FORCE;
+                queueInput(INPUT_PRIMARY);
             } else if (isGameOver) {
                 restartGame();
             }
         });
     }
-    
+
     /**
-     * Starts or restarts the game with initial values.
-     * Resets pet position, clears obstacles, and sets up initial game state.
+     * Starts or restarts the game with a new run of the simulation
+     * from this run's seed, and resets the HUD.
      */
     @Override
     protected void startGame() {
-        // Reset game state
-        petY = canvasHeight / 2 - petHeight / 2;
-        birdVelocity = 0;
-        pipes.clear();
-        coins.clear(); // Clear coins
+        beginRun();
         score = 0;
         coinsCollected = 0; // Reset coins collected
-        coinCounter = 0;
-        pipeSpeed = INITIAL_PIPE_SPEED;
         isGameOver = false;
         
-        // Add initial pipes
-        addPipe(canvasWidth);
-        addPipe(canvasWidth + distanceBetweenPipes);
-        addPipe(canvasWidth + distanceBetweenPipes * 2);
-        
         // Update labels
         scoreLabel.setText("0");
         coinCountLabel.setText("0"); // Reset coin label
@@ -196,72 +141,15 @@ public class TrainFlyingScreen extends TrainingScreen {
     }
     
     /**
-     * Updates the game state each frame.
-     * Handles physics (gravity), collisions, obstacle movement, and score tracking.
+     * Returns the simulation's name, so replays can be re-run headlessly.
+     *
+     * @return The simulation's name.
      */
     @Override
-    protected void updateGame() {
-        // Apply gravity to bird
-        birdVelocity += GRAVITY;
-        petY += birdVelocity;
-        
-        // Check if bird hit the ceiling or ground
-        if (petY <= 0) {
-            petY = 0;
-            birdVelocity = 0;
-        } else if (petY >= canvasHeight - petHeight) {
-            endGame(); // Hit the ground
-            return;
-        }
-                
-        // Move pipes, check pass, and remove off-screen
-        Iterator<Pipe> pipeIterator = pipes.iterator();
-        while (pipeIterator.hasNext()) {
-            Pipe pipe = pipeIterator.next();
-            pipe.x -= pipeSpeed;
-            
-            // Check if bird passed pipe
-            if (!pipe.passed && pipe.x + PIPE_WIDTH < (canvasWidth / 3)) {
-                pipe.passed = true;
-                score++;
-                scoreLabel.setText(String.valueOf(score));
-            }
-            
-            // Remove pipes that are fully off-screen
-            if (pipe.x + PIPE_WIDTH < 0) {
-                pipeIterator.remove();
-            }
-        }
-        
-        // Move coins, check for collection
-        Iterator<Coin> coinIterator = coins.iterator();
-        while (coinIterator.hasNext()) {
-            Coin coin = coinIterator.next();
-            coin.x -= pipeSpeed;
-            
-            // Check if bird collected coin
-            if (!coin.collected && checkCoinCollision(coin)) {
-                coin.collected = true;
-                coinsCollected++;
-                coinCountLabel.setText(String.valueOf(coinsCollected));
-                ScreenClass.playSound("coin.wav");
-            }
-            
-            // Remove coins that are off-screen or collected
-            if (coin.x + coinSize < 0 || coin.collected) {
-                coinIterator.remove();
-            }
-        }
-
-        // Add new pipe when needed
-        if (pipes.isEmpty() || pipes.get(pipes.size() - 1).x < canvasWidth - distanceBetweenPipes) {
-            addPipe(canvasWidth);
-        }
-        
-        // Check for collisions with pipes
-        checkCollisions();
+    protected String getGameName() {
+        return simulation.getName();
     }
-    
+
     /**
      * Renders the current game state to the canvas.
      * Draws the background, pipes, pet character, coins, etc.
@@ -269,6 +157,7 @@ public class TrainFlyingScreen extends TrainingScreen {
      */
     @Override
     protected void renderGame() {
+        FlyingSimulation world = (FlyingSimulation) getWorld();
         setupBackground();
         
         // Ground
@@ -279,34 +168,47 @@ public class TrainFlyingScreen extends TrainingScreen {
         gc.setFill(Color.rgb(124, 252, 0));
         gc.fillRect(0, canvasHeight - 50, canvasWidth, 10);
         
-        // Draw pipes
-        for (Pipe pipe : pipes) {
+        // Draw pipes and coins, held back by the part of a tick not yet simulated
+        EntityBuffer pipes = world.getPipes();
+        int pipeWidth = FlyingSimulation.PIPE_WIDTH;
+        int pipeGap = FlyingSimulation.PIPE_GAP;
+        gc.save();
+        gc.translate(scrollLag(world.getScrollSpeed()), 0);
+        for (int i = 0; i < pipes.size(); i++) {
+            double pipeX = pipes.x(i);
+            double gapY = pipes.y(i);
+
             // Top pipe
             gc.setFill(Color.rgb(0, 128, 0)); // green color for pipes
-            gc.fillRect(pipe.x, 0, PIPE_WIDTH, pipe.gapY);
+            gc.fillRect(pipeX, 0, pipeWidth, gapY);
             
             // Bottom pipe
-            gc.fillRect(pipe.x, pipe.gapY + PIPE_GAP, 
-                        PIPE_WIDTH, canvasHeight - pipe.gapY - PIPE_GAP);
+            gc.fillRect(pipeX, gapY + pipeGap, 
+                        pipeWidth, canvasHeight - gapY - pipeGap);
             
             // Pipe caps
             gc.setFill(Color.rgb(0, 150, 0)); // slightly different shade
-            gc.fillRect(pipe.x - 5, pipe.gapY - 15, PIPE_WIDTH + 10, 15);
-            gc.fillRect(pipe.x - 5, pipe.gapY + PIPE_GAP, PIPE_WIDTH + 10, 15);
+            gc.fillRect(pipeX - 5, gapY - 15, pipeWidth + 10, 15);
+            gc.fillRect(pipeX - 5, gapY + pipeGap, pipeWidth + 10, 15);
         }
 
         // Draw coins (from TrainingScreen)
         drawCoins();
-        
-        // Draw bird (pet)
-        if (birdImage != null) {
-            // Calculate rotation based on velocity
-            double rotation = Math.min(Math.max(birdVelocity * 7, -30), 45);
-            
+        gc.restore();
+        
+        // Draw the ghost of the best run, then the bird (pet)
+        if (birdSprite != null) {
+            // Tilt with velocity, at the angle the simulation tests hits at
+            double rotation = world.getPetRotation();
+            double petWidth = world.getPetWidth();
+            double petHeight = world.getPetHeight();
+            drawGhost(birdSprite, petWidth, petHeight, petHeight / 2);
+                        
             gc.save();
-            gc.translate(canvasWidth / 3, petY + petHeight / 2);
+            gc.translate(world.getPetX(),
+                         interpolate(world.getPrevPetY(), world.getPetY()) + petHeight / 2);
             gc.rotate(rotation);
-            gc.drawImage(birdImage, -petWidth / 2, -petHeight / 2, petWidth, petHeight);
+            gc.drawImage(birdSprite, -petWidth / 2, -petHeight / 2, petWidth, petHeight);
             gc.restore();
         }
         
@@ -317,68 +219,11 @@ public class TrainFlyingScreen extends TrainingScreen {
     }
     
     /**
-     * Adds a new pipe obstacle at the specified X position.
-     * Randomly determines the gap position and occasionally adds a coin.
-     *
-     * @param x The x-coordinate where the pipe is placed
-     */
-    private void addPipe(double x) {
-        // Random gap position
-        int minGapY = 100;
-        int maxGapY = (int)(canvasHeight - PIPE_GAP - 100);
-        int gapY = random.nextInt(maxGapY - minGapY) + minGapY;
-        
-        pipes.add(new Pipe(x, gapY));
-        
-        // Add a coin every 3-5 pipes
-        coinCounter++;
-        if (coinCounter >= 3 + random.nextInt(3)) { // 3, 4, or 5
-            coinCounter = 0;
-            
-            // Place coin in the center of the gap
-            int coinY = gapY + PIPE_GAP / 2 - coinSize / 2;
-            coinY += random.nextInt(60) - 30; // random vertical offset
-            
-            // Place the coin a bit after the pipe
-            coins.add(new Coin(x + PIPE_WIDTH + 50 + random.nextInt(100), coinY));
-        }
-    }
-    
-    /**
-     * Checks if the pet has collided with any pipes.
-     * Uses rectangular collision detection for simplicity.
-     */
-    private void checkCollisions() {
-        // Bird (pet) hitbox
-        double birdLeft = canvasWidth / 3 - petWidth / 2 + 5;
-        double birdRight = canvasWidth / 3 + petWidth / 2 - 5;
-        double birdTop = petY + 5;
-        double birdBottom = petY + petHeight - 5;
-        
-        // Collision with each pipe
-        for (Pipe pipe : pipes) {
-            if (birdRight > pipe.x && birdLeft < pipe.x + PIPE_WIDTH) {
-                // Check top pipe
-                if (birdTop < pipe.gapY) {
-                    endGame();
-                    return;
-                }
-                // Check bottom pipe
-                if (birdBottom > pipe.gapY + PIPE_GAP) {
-                    endGame();
-                    return;
-                }
-            }
-        }
-    }
-    
-    /**
-     * Ends the game and calculates skill gain.
+     * Calculates skill gain.
      * If not a tutorial, updates pet stats and coins.
      */
-    private void endGame() {
-        isGameOver = true;
-        
+    @Override
+    protected void onGameOver() {
         // Calculate skill gain based on score
         skillGain = Math.max(0, score * 2);
 
@@ -388,51 +233,4 @@ public class TrainFlyingScreen extends TrainingScreen {
             pet.setCoins(pet.getCoins() + coinsCollected);
         }
     }
-    
-    /**
-     * Checks for collision between the pet and a coin.
-     * This overrides the parent class method to ensure 
-     * the bird's bounding box is used for detection.
-     *
-     * @param coin The coin to check collision for
-     * @return true if pet collides with the coin, false otherwise
-     */
-    @Override
-    protected boolean checkCoinCollision(Coin coin) {
-        double birdLeft = canvasWidth / 3 - petWidth / 2 + 5;
-        double birdRight = canvasWidth / 3 + petWidth / 2 - 5;
-        double birdTop = petY + 5;
-        double birdBottom = petY + petHeight - 5;
-        
-        double coinLeft = coin.x;
-        double coinRight = coin.x + coinSize;
-        double coinTop = coin.y;
-        double coinBottom = coin.y + coinSize;
-        
-        return (birdRight > coinLeft && birdLeft < coinRight &&
-                birdBottom > coinTop && birdTop < coinBottom);
-    }
-
-    /**
-     * Inner class representing a pipe obstacle.
-     * Tracks position, gap placement, and whether 
-     * the pet has already passed it.
-     */
-    private static class Pipe {
-        double x;      // x position
-        int gapY;      // y position of top of gap
-        boolean passed; // whether bird has passed this pipe
-        
-        /**
-         * Creates a new Pipe with a specified position and gap.
-         *
-         * @param x   The x position of the pipe
-         * @param gapY The y position where the pipe gap starts
-         */
-        Pipe(double x, int gapY) {
-            this.x = x;
-            this.gapY = gapY;
-            this.passed = false;
-        }
-    }
 }
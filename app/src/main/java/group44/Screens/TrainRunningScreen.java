@@ -1,16 +1,14 @@
 package group44.Screens;
 
-import group44.App;
+import group44.Log;
 import group44.Pet;
+import group44.Minigames.EntityBuffer;
+import group44.Minigames.RunningSimulation;
+import group44.Minigames.SimulationLoop;
 import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.scene.paint.Color;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Random;
-
 /**
  * A running minigame similar to the "dinosaur runner" where the pet must jump over obstacles.
  * Optionally, coins can be collected along the way. When {@code isTutorialScreen} is false,
@@ -18,31 +16,15 @@ import java.util.Random;
  */
 public class TrainRunningScreen extends TrainingScreen {
 
-    // Gameplay constants
-    private static final double GRAVITY = 0.18;
-    private static final double JUMP_FORCE = -7.0;
-    private static final double GROUND_OFFSET = 65;
-    private static final double OBSTACLE_WIDTH = 40;
-    private static final double OBSTACLE_HEIGHT = 60;
-    private static final double INITIAL_OBSTACLE_SPEED = 3.0;
-    private static final double OBSTACLE_GAP_DISTANCE = 300;
-
-    // Pet parameters
-    private final double petX = 100;
-    private final double petWidth = 60;
-    private final double petHeight = 45;
+    /** The rules and state of the run, ticked on a thread of its own; this screen only handles input, sound and drawing. */
+    private final RunningSimulation simulation;
 
-    // Game variables
-    private double petY;
-    private double petVelocity;
-    private double obstacleSpeed;
-    private int coinCounter;
-    
-    // Obstacles
-    private List<Obstacle> obstacles;
-    
     // Images
     private Image runningImage;
+    /** The running image scaled once to the size it is drawn at, for the pet and its ghost. */
+    private Image runningSprite;
+    /** The width the running image is drawn at, 45 pixels tall at its own aspect ratio. */
+    private double spriteWidth;
 
     /**
      * Constructor for the TrainRunningScreen.
@@ -57,6 +39,9 @@ public class TrainRunningScreen extends TrainingScreen {
         // Canvas dimensions
         this.canvasWidth = 800;
         this.canvasHeight = 600;
+        simulation = new RunningSimulation(canvasWidth, canvasHeight);
+        runOnSimulationThread(new SimulationLoop<>(simulation, () -> new RunningSimulation(canvasWidth, canvasHeight)),
+                              Sfx.COIN);
 
         // Initialize the game
         setupUI();
@@ -84,30 +69,26 @@ public class TrainRunningScreen extends TrainingScreen {
     }
     
     /**
-     * Loads required resources such as the pet's running image.
+     * Loads required resources such as the pet's running image, and gives the
+     * simulation its outline for collisions.
      */
     private void loadResources() {
         try {
-            runningImage = pet.getPetImage();
-            System.out.println("Running image loaded");
+            runningImage = Sprites.pet(pet).get();
+            Log.debug("Running image loaded");
+
+            // Hit obstacles with the pet's outline, drawn 45 pixels tall at its own aspect ratio
+            if (runningImage != null && !runningImage.isError()) {
+                spriteWidth = Math.round(45 * runningImage.getWidth() / runningImage.getHeight());
+                runningSprite = SpriteBaker.scaled(runningImage, spriteWidth, 45);
+                simulation.setPetSprite(SpriteBaker.mask(runningImage, (int) spriteWidth, 45));
+            }
         } catch (Exception e) {
-            System.err.println("Error loading running image: " + e.getMessage());
+            Log.error("Error loading running image: {}", e.getMessage());
             runningImage = null;
         }
     }
 
-    /**
-     * Sets up game variables specific to the running minigame.
-     * Initializes the obstacles list, obstacle speed, and resets the coin counter.
-     */
-    @Override
-    protected void setupGameVariables() {
-        super.setupGameVariables();
-        obstacles = new ArrayList<>();
-        obstacleSpeed = INITIAL_OBSTACLE_SPEED;
-        coinCounter = 0;
-    }
-
     /**
      * Configures keyboard and mouse controls.
      * SPACE key or mouse click triggers a jump if near the ground; if the game is over, triggers a restart.
@@ -122,10 +103,7 @@ public class TrainRunningScreen extends TrainingScreen {
                 if (isGameOver) {
                     restartGame();
                 } else if (isGameRunning) {
-                    // Jump if near the ground
-                    if (petY >= (canvasHeight - GROUND_OFFSET) - petHeight / 2 - 1) {
-                        petVelocity = JUMP_FORCE;
-                    }
+                    queueInput(INPUT_PRIMARY);
                 }
             }
         });
@@ -135,38 +113,26 @@ public class TrainRunningScreen extends TrainingScreen {
             if (isGameOver) {
                 restartGame();
             } else if (isGameRunning) {
-                if (petY >= (canvasHeight - GROUND_OFFSET) - petHeight / 2 - 1) {
-                    petVelocity = JUMP_FORCE;
-                }
+                queueInput(INPUT_PRIMARY);
             }
         });
     }
 
     /**
-     * Starts the running game by resetting game state variables, clearing previous obstacles and coins,
-     * and adding initial obstacles to the scene.
+     * Starts the running game by starting a new run of the simulation on its
+     * thread and resetting the HUD.
      */
     @Override
     protected void startGame() {
-        // Reset game state
-        petY = (canvasHeight - GROUND_OFFSET) - petHeight / 2;
-        petVelocity = 0;
-        obstacles.clear();
-        coins.clear();
+        beginRun();
         score = 0;
         coinsCollected = 0;
-        coinCounter = 0;
-        obstacleSpeed = INITIAL_OBSTACLE_SPEED;
         isGameOver = false;
         
         // Reset HUD labels
         scoreLabel.setText("0");
         coinCountLabel.setText("0");
         
-        // Add initial obstacles
-        addObstacle(canvasWidth + 200);
-        addObstacle(canvasWidth + 200 + OBSTACLE_GAP_DISTANCE);
-        
         // Start animations and focus canvas for events
         isGameRunning = true;
         gameLoop.start();
@@ -174,112 +140,64 @@ public class TrainRunningScreen extends TrainingScreen {
     }
 
     /**
-     * Updates the game state each frame:
-     * - Applies gravity to the pet.
-     * - Moves obstacles and coins.
-     * - Checks scoring conditions and collisions.
+     * Returns the simulation's name, so replays can be re-run headlessly.
+     *
+     * @return The simulation's name.
      */
     @Override
-    protected void updateGame() {
-        // Apply gravity to pet
-        petVelocity += GRAVITY;
-        petY += petVelocity;
-        
-        // Reset pet position if it hits the ground
-        if (petY > (canvasHeight - GROUND_OFFSET) - petHeight / 2) {
-            petY = (canvasHeight - GROUND_OFFSET) - petHeight / 2;
-            petVelocity = 0;
-        }
-                
-        // Move obstacles and update score
-        Iterator<Obstacle> obsIterator = obstacles.iterator();
-        while (obsIterator.hasNext()) {
-            Obstacle obstacle = obsIterator.next();
-            obstacle.x -= obstacleSpeed;
-            
-            // Check if pet passed obstacle for scoring
-            if (!obstacle.passed && obstacle.x + OBSTACLE_WIDTH / 2 < petX) {
-                obstacle.passed = true;
-                score++;
-                scoreLabel.setText(String.valueOf(score));
-            }
-            
-            // Remove obstacles off-screen
-            if (obstacle.x + OBSTACLE_WIDTH < 0) {
-                obsIterator.remove();
-            }
-        }
-        
-        // Move coins and check for collection
-        Iterator<Coin> coinIterator = coins.iterator();
-        while (coinIterator.hasNext()) {
-            Coin coin = coinIterator.next();
-            coin.x -= obstacleSpeed;
-            
-            // Check if pet collects coin
-            if (!coin.collected && checkCoinCollision(coin)) {
-                coin.collected = true;
-                coinsCollected++;
-                coinCountLabel.setText(String.valueOf(coinsCollected));
-                ScreenClass.playSound("coin.mp3");
-            }
-            
-            // Remove coins that are off-screen or collected
-            if (coin.x + coinSize < 0 || coin.collected) {
-                coinIterator.remove();
-            }
-        }
-
-        // Add new obstacle when needed
-        if (obstacles.isEmpty() || obstacles.get(obstacles.size() - 1).x < canvasWidth - OBSTACLE_GAP_DISTANCE) {
-            addObstacle(canvasWidth);
-        }
-        
-        // Check for collisions
-        checkCollisions();
+    protected String getGameName() {
+        return simulation.getName();
     }
 
     /**
-     * Renders the game by drawing the background, obstacles, coins, pet, and game over overlay as needed.
+     * Renders the game by drawing the background, obstacles, coins, pet, and game over overlay as needed,
+     * all from the newest snapshot of the simulation.
      */
     @Override
     protected void renderGame() {
+        RunningSimulation world = (RunningSimulation) getWorld();
+        double groundY = world.groundY();
         setupBackground();
         
         // Draw ground
         gc.setFill(Color.rgb(83, 54, 10));
-        gc.fillRect(0, canvasHeight - GROUND_OFFSET, canvasWidth, 50);
+        gc.fillRect(0, groundY, canvasWidth, 50);
         
         // Draw grass
         gc.setFill(Color.rgb(124, 252, 0));
-        gc.fillRect(0, canvasHeight - GROUND_OFFSET, canvasWidth, 10);
+        gc.fillRect(0, groundY, canvasWidth, 10);
         
-        // Draw obstacles
+        // Draw obstacles and coins, held back by the part of a tick not yet simulated
+        EntityBuffer obstacles = world.getObstacles();
+        gc.save();
+        gc.translate(scrollLag(world.getScrollSpeed()), 0);
         gc.setFill(Color.DARKGRAY);
-        for (Obstacle obstacle : obstacles) {
-            gc.fillRect(obstacle.x, obstacle.y, OBSTACLE_WIDTH, OBSTACLE_HEIGHT);
+        for (int i = 0; i < obstacles.size(); i++) {
+            gc.fillRect(obstacles.x(i), obstacles.y(i), obstacles.width(i), obstacles.height(i));
         }
 
         // Draw coins using parent's drawCoins method
         drawCoins();
+        gc.restore();
         
-        // Draw pet image, preserving aspect ratio
-        if (runningImage != null) {
+        // Draw the ghost of the best run, then the pet, preserving aspect ratio
+        double petX = world.getPetX();
+        double petY = interpolate(world.getPrevPetY(), world.getPetY());
+        if (runningSprite != null) {
             double desiredHeight = 45;
-            double imageWidth = runningImage.getWidth();
-            double imageHeight = runningImage.getHeight();
-            double aspectRatio = imageWidth / imageHeight;
-            double scaledWidth = desiredHeight * aspectRatio;
+            drawGhost(runningSprite, spriteWidth, desiredHeight, 0);
 
             gc.drawImage(
-                runningImage,
-                petX - scaledWidth / 2,
+                runningSprite,
+                petX - spriteWidth / 2,
                 petY - desiredHeight / 2,
-                scaledWidth,
+                spriteWidth,
                 desiredHeight
             );
         } else {
             // Fallback if image is missing
+            double petWidth = world.getPetWidth();
+            double petHeight = world.getPetHeight();
             gc.setFill(Color.RED);
             gc.fillRect(petX - petWidth / 2,
                         petY - petHeight / 2,
@@ -292,83 +210,13 @@ public class TrainRunningScreen extends TrainingScreen {
             drawGameoverOverlay();
         }
     }
-    
-    /**
-     * Adds a new obstacle at the specified x-coordinate.
-     * Also, based on a coin counter, occasionally adds a coin near the jump peak.
-     *
-     * @param x the x-coordinate where the obstacle is added.
-     */
-    private void addObstacle(double x) {
-        // Create a new obstacle at the appropriate y-coordinate
-        double obsY = (canvasHeight - GROUND_OFFSET) - OBSTACLE_HEIGHT;
-        obstacles.add(new Obstacle(x, obsY));
-        
-        // Add a coin every few obstacles
-        coinCounter++;
-        if (coinCounter >= 2 + random.nextInt(3)) { // 2-4 obstacles
-            coinCounter = 0;
-            
-            // Position coins higher to match the pet's jump arc peak
-            double groundY = canvasHeight - GROUND_OFFSET;
-            double jumpPeakHeight = 150; // Approximate jump peak height
-            double coinY = groundY - jumpPeakHeight + random.nextInt(30); 
-            
-            // Add the coin centered horizontally relative to the obstacle
-            coins.add(new Coin(x + OBSTACLE_WIDTH / 2 - coinSize / 2, coinY));
-        }
-    }
-
-    /**
-     * Checks if the pet's bounding box collides with the given coin.
-     * The collision detection uses a simple rectangular overlap test.
-     *
-     * @param coin the coin to check for collision.
-     * @return true if a collision is detected, false otherwise.
-     */
-    @Override
-    protected boolean checkCoinCollision(Coin coin) {
-        double petLeft = petX - petWidth / 2 + 5;
-        double petRight = petX + petWidth / 2 - 5;
-        double petTop = petY + 5;
-        double petBottom = petY + petHeight - 5;
-        
-        double coinLeft = coin.x;
-        double coinRight = coin.x + coinSize;
-        double coinTop = coin.y;
-        double coinBottom = coin.y + coinSize;
-        
-        return !(coinRight < petLeft || coinLeft > petRight ||
-                 coinBottom < petTop || coinTop > petBottom);
-    }
-    
-    /**
-     * Checks for collisions between the pet and any obstacles.
-     * If a collision is detected, the game ends.
-     */
-    private void checkCollisions() {
-        double petLeft = petX - petWidth / 2 + 5;
-        double petRight = petX + petWidth / 2 - 5;
-        double petTop = petY + 5;
-        double petBottom = petY + petHeight - 5;
-        
-        for (Obstacle obstacle : obstacles) {
-            if (petRight > obstacle.x && petLeft < obstacle.x + OBSTACLE_WIDTH) {
-                if (petBottom > obstacle.y && petTop < obstacle.y + OBSTACLE_HEIGHT) {
-                    endGame();
-                    return;
-                }
-            }
-        }
-    }
         
     /**
-     * Ends the game, calculates the skill gain based on the score, and updates the pet's running experience and coins.
+     * Calculates the skill gain based on the score and updates the pet's running experience and coins.
      * In tutorial mode, no rewards are given.
      */
-    private void endGame() {
-        isGameOver = true;
-        
+    @Override
+    protected void onGameOver() {
         // Calculate skill gain based on score
         skillGain = Math.max(0, score * 2);
 
@@ -387,38 +235,4 @@ public class TrainRunningScreen extends TrainingScreen {
             startGame();
         }
     }
-
-    /**
-     * Stops the game loop and returns control to the main game screen,
-     * updating the game statistics before transitioning.
-     */
-    @Override
-    protected void returnToGame() {
-        gameLoop.stop();
-        GameScreen gameScreen = new GameScreen(pet);
-        gameScreen.updateStats();  // Updates level/exp bars with new stats
-        App.setScreen(gameScreen);
-    }
-        
-    /**
-     * Inner class representing an obstacle in the running minigame.
-     * Each obstacle has an x and y position and tracks whether the pet has passed it.
-     */
-    private static class Obstacle {
-        double x;         // x position
-        double y;         // y position
-        boolean passed;   // whether the pet has passed this obstacle
-        
-        /**
-         * Constructs a new Obstacle.
-         *
-         * @param x the x-coordinate of the obstacle.
-         * @param y the y-coordinate of the obstacle.
-         */
-        Obstacle(double x, double y) {
-            this.x = x;
-            this.y = y;
-            this.passed = false;
-        }
-    }
-}
\ No newline at end of file
+}
@@ -1,12 +1,21 @@
 package group44.Screens;
 
+import group44.Log;
 import group44.Pet;
-
-import java.util.ArrayList;
-import java.util.List;
+import group44.Minigames.Broadphase;
+import group44.Minigames.EntityBuffer;
+import group44.Minigames.FrameStats;
+import group44.Minigames.GhostTrack;
+import group44.Minigames.MinigameSimulation;
+import group44.Minigames.ReplayReader;
+import group44.Minigames.ReplayRecorder;
+import group44.Minigames.SimulationLoop;
+import group44.Minigames.StressMode;
+
+import java.io.File;
+import java.io.IOException;
 import java.util.Random;
 
-import group44.App;
 import javafx.animation.AnimationTimer;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -15,6 +24,8 @@ import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.effect.DropShadow;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
@@ -61,10 +72,16 @@ public class TrainingScreen extends ScreenClass {
     protected int score;
     /** The amount of skill the {@link group44.Pet} gains on this screen. */
     protected int skillGain;
-    /** A list holding all uncollected {@link Coin} objects in the game. */
-    protected List<Coin> coins;
-    /** A shared random generator for spawn positions and events. */
+    /** The coins in play, in spawn order; collected coins are flagged {@link EntityBuffer#COLLECTED}. */
+    protected EntityBuffer coins;
+    /**
+     * A shared random generator for spawn positions and events. It is reseeded at the
+     * start of every run, so a run is fully determined by its seed and its inputs.
+     * Purely cosmetic randomness should use a separate generator.
+     */
     protected Random random;
+    /** Finds the coins and obstacles near the pet before exact collision tests. */
+    protected final Broadphase broadphase = new Broadphase();
 
     /** The Y-position of the pet on the canvas. */
     protected double petY;
@@ -75,14 +92,110 @@ public class TrainingScreen extends ScreenClass {
     /** The height of the pet's bounding box for collision. */
     protected double petHeight;
 
+    /** The Y-position of the pet at the start of the latest simulation tick, for interpolation. */
+    protected double prevPetY;
+
+    /**
+     * Simulation ticks per second. Gravity, jump forces and scroll speeds in every
+     * minigame are per-tick values tuned for this rate, and the loop runs exactly this
+     * many ticks per second whatever the display's refresh rate is.
+     */
+    public static final int SIMULATION_RATE = SimulationLoop.TICKS_PER_SECOND;
+    /** The length of one simulation tick in nanoseconds. */
+    private static final long TICK_NANOS = SimulationLoop.TICK_NANOS;
+    /**
+     * The most ticks simulated for a single frame. After a long stall the remaining
+     * backlog is dropped instead of being caught up, so a slow frame cannot cause an
+     * even slower one.
+     */
+    private static final int MAX_TICKS_PER_FRAME = 5;
+
     /** The main animation loop driving the mini-game's updates and rendering. */
     protected AnimationTimer gameLoop;
+    /** The timestamp of the previous frame, or -1 before the first frame after starting. */
+    private long lastFrameTime = -1;
+    /** Elapsed time not yet consumed by simulation ticks, in nanoseconds. */
+    private long accumulatedNanos;
+    /**
+     * How far the current frame lies between the latest tick and the next one, from 0 to 1.
+     * Renderers blend previous and current positions by this factor.
+     */
+    protected double interpolation = 1;
+
+    /** Input action for the main control: jump, flap or swim up. */
+    protected static final int INPUT_PRIMARY = MinigameSimulation.INPUT_PRIMARY;
+    /** Input action for the secondary control, such as diving. */
+    protected static final int INPUT_SECONDARY = MinigameSimulation.INPUT_SECONDARY;
+
+    /** The folder each minigame's latest run is saved to. */
+    private static final String REPLAY_FOLDER = "Replays";
+    /** The folder ghosts are kept in, next to the save slot they belong to. */
+    private static final String GHOST_FOLDER = "GameSaves";
+    /** How opaque the ghost of the best run is drawn, from 0 to 1. */
+    protected static final double GHOST_ALPHA = 0.35;
+    /** Picks the seed for each new run. */
+    private static final Random seedSource = new Random();
+
+    /** The seed {@link #random} was started from for the current run. */
+    private long runSeed;
+    /** The number of simulation ticks run so far in the current run. */
+    private int tick;
+    /** Inputs received since the last tick, applied in order at the start of the next one. */
+    private final int[] pendingInputs = new int[16];
+    /** The number of valid entries in {@link #pendingInputs}. */
+    private int pendingInputCount;
+    /** Records the current run's inputs, or null while a replay is playing. */
+    private ReplayRecorder recorder;
+    /** The replay supplying the current run's inputs, or null for a live run. */
+    private ReplayReader replay;
+
+    /**
+     * Runs the minigame on its own thread, for screens whose rules live in a
+     * {@link MinigameSimulation}; null for screens that tick on the JavaFX thread.
+     */
+    private SimulationLoop<?> simulationLoop;
+    /** The sound effect played when the simulation reports a collected coin. */
+    private int coinSound;
+    /** The snapshot of the simulation being drawn this frame. */
+    private MinigameSimulation world;
+    /** The stress run settings from {@link StressMode#PROPERTY}, or null for normal play. */
+    private final StressMode stressMode;
+    /** Times the current stress run's ticks and frames, or null outside stress runs. */
+    private FrameStats frameStats;
+    /** The timestamp of the previous frame of the current stress run, or -1 before its first. */
+    private long lastStressFrame = -1;
+    /** The ghost of the best run of the current minigame, or null if there is none. */
+    private GhostTrack ghost;
+    /** The path {@link #ghost} was opened from, or null. */
+    private String ghostFile;
+    /** When {@link #ghostFile} was last changed as of opening it. */
+    private long ghostModified;
+    /** Whether the ghost's run lasted up to the tick being drawn. */
+    private boolean ghostVisible;
 
     /** Whether the mini-game is actively running. */
     protected boolean isGameRunning;
     /** Whether the mini-game has ended. */
     protected boolean isGameOver;
 
+    /** The pre-rendered coin sprite used by {@link #drawCoins()}. */
+    private WritableImage coinSprite;
+    /** The coin size {@link #coinSprite} was baked for. */
+    private int coinSpriteSize;
+    /** The game-over panel, baked once per game over and cleared while a run is in progress. */
+    private WritableImage gameoverOverlay;
+
+    /** Font for the "GAME OVER" title. */
+    private static final Font GAMEOVER_TITLE_FONT = Font.font("Arial", FontWeight.BOLD, 48);
+    /** Font for the score and coin lines of the game-over panel. */
+    private static final Font GAMEOVER_STATS_FONT = Font.font("Arial", FontWeight.BOLD, 30);
+    /** Font for the experience line of the game-over panel. */
+    private static final Font GAMEOVER_EXP_FONT = Font.font("Arial", FontWeight.BOLD, 24);
+    /** Font for the tutorial notice of the game-over panel. */
+    private static final Font GAMEOVER_TUTORIAL_FONT = Font.font("Arial", FontWeight.BOLD, 16);
+    /** Font for the restart hint of the game-over panel. */
+    private static final Font GAMEOVER_RESTART_FONT = Font.font("Arial", FontWeight.BOLD, 20);
+
     /**
      * Constructs a TrainingScreen.
      * 
@@ -92,6 +205,7 @@ public class TrainingScreen extends ScreenClass {
     public TrainingScreen(Pet pet, boolean isTutorialScreen) {
         this.pet = pet;
         this.isTutorialScreen = isTutorialScreen;
+        this.stressMode = isTutorialScreen ? null : StressMode.fromSystemProperty();
         
         // Modify the pet's stats if this is not a tutorial screen
         if (!isTutorialScreen) {
@@ -102,60 +216,166 @@ public class TrainingScreen extends ScreenClass {
     }
 
     /**
-     * Checks whether the given coin intersects with the pet's bounding box.
+     * Checks whether the pet's bounding box touched the given coin at any point
+     * during the latest tick. The pet's box is swept from where it started the
+     * tick, so fast coins or a fast-falling pet cannot skip past each other.
      * 
-     * @param coin The coin to check collision for.
-     * @return true if the pet's bounding box overlaps the coin, false otherwise.
+     * @param coin  The index of the coin in {@link #coins}.
+     * @param speed The distance the coin moved left this tick.
+     * @return true if the pet's bounding box overlapped the coin, false otherwise.
      */
-    protected boolean checkCoinCollision(Coin coin) {
+    protected boolean checkCoinCollision(int coin, double speed) {
         double petLeft = petX - petWidth / 2 + 5;
         double petRight = petX + petWidth / 2 - 5;
-        double petTop = petY + 5;
-        double petBottom = petY + petHeight - 5;
+        double petTop = prevPetY + 5;
+        double petBottom = prevPetY + petHeight - 5;
+
+        // Relative to the coin the pet moved right by speed and down by its own fall
+        return broadphase.sweptIntersects(coins, coin, petLeft - speed, petTop, petRight - speed, petBottom,
+            speed, petY - prevPetY);
+    }
+
+    /**
+     * Returns the left edge of the pet's full bounding box, used to find nearby
+     * coins and obstacles. Screens that place the pet somewhere other than
+     * {@link #petX} override this together with {@link #getPetRight()}.
+     *
+     * @return The pet's left edge on the canvas.
+     */
+    protected double getPetLeft() {
+        return petX - petWidth / 2;
+    }
+
+    /**
+     * Returns the right edge of the pet's full bounding box.
+     *
+     * @return The pet's right edge on the canvas.
+     */
+    protected double getPetRight() {
+        return petX + petWidth / 2;
+    }
+
+    /**
+     * Adds a coin with its top-left corner at the given position.
+     *
+     * @param x The x-coordinate of the coin.
+     * @param y The y-coordinate of the coin.
+     */
+    protected void addCoin(double x, double y) {
+        coins.add(x, y, coinSize, coinSize);
+    }
+
+    /**
+     * Scrolls the coins left by one tick, collects any the pet touches and drops
+     * coins that are collected or off-screen. Allocates nothing.
+     *
+     * @param speed The distance coins move this tick.
+     * @param sound The sound effect played when a coin is collected.
+     */
+    protected void updateCoins(double speed, int sound) {
+        coins.translateX(-speed);
+        int nearby = broadphase.query(coins, getPetLeft() - speed, getPetRight(), EntityBuffer.COLLECTED);
+        for (int k = 0; k < nearby; k++) {
+            int i = broadphase.candidate(k);
+            if (checkCoinCollision(i, speed)) {
+                coins.setFlag(i, EntityBuffer.COLLECTED);
+                coinsCollected++;
+                coinCountLabel.setText(String.valueOf(coinsCollected));
+                ScreenClass.playSound(sound);
+            }
+        }
+        coins.removeLeading(0, EntityBuffer.COLLECTED);
+    }
 
-        double coinLeft = coin.x;
-        double coinRight = coin.x + coinSize;
-        double coinTop = coin.y;
-        double coinBottom = coin.y + coinSize;
+    /**
+     * Makes this screen run a {@link MinigameSimulation} on its own thread
+     * instead of ticking on the JavaFX thread. {@link #beginRun()} then starts
+     * each run on the loop, inputs go to it through {@link #queueInput(int)},
+     * and every frame takes the newest snapshot, updates the HUD and plays the
+     * coin sound from it, and leaves it in {@link #getWorld()} for
+     * {@link #renderGame()} to draw. {@link #updateGame()} and
+     * {@link #applyInput(int)} are not used. Call this from the constructor,
+     * before the first run starts.
+     *
+     * @param loop      The loop running the screen's simulation.
+     * @param coinSound The sound effect played when a coin is collected.
+     */
+    protected void runOnSimulationThread(SimulationLoop<?> loop, int coinSound) {
+        this.simulationLoop = loop;
+        this.coinSound = coinSound;
+    }
 
-        return (petRight > coinLeft && petLeft < coinRight &&
-                petBottom > coinTop && petTop < coinBottom);
+    /**
+     * Returns the snapshot of the simulation to draw this frame, for screens
+     * that {@link #runOnSimulationThread run on a simulation thread}. It must
+     * not be modified and is only valid until the frame is drawn.
+     *
+     * @return The simulation as of the newest tick.
+     */
+    protected MinigameSimulation getWorld() {
+        return world;
     }
 
     /**
-     * Ends the mini-game, stops the game loop, and returns control to the main game screen.
+     * Returns the stress run settings every run of this screen uses, so
+     * screens can add the extra decorations it asks for.
+     *
+     * @return The settings, or null for normal play.
+     */
+    protected StressMode getStressMode() {
+        return stressMode;
+    }
+
+    /**
+     * Called on the JavaFX thread in the first frame that shows a run has
+     * ended, after {@link #isGameOver} is set. Minigames override this to
+     * hand out rewards.
+     */
+    protected void onGameOver() {
+        // Overridden by subclass implementations
+    }
+
+    /**
+     * Returns the broadphase whose per-frame counters this screen resets.
+     * Screens driven by a {@link MinigameSimulation} return the simulation's.
+     *
+     * @return The broadphase used for this screen's collision checks.
+     */
+    protected Broadphase getBroadphase() {
+        return broadphase;
+    }
+
+    /**
+     * Ends the mini-game, stops the game loop, and returns control to the main game screen,
+     * which refreshes its stats as it is shown.
      */
     protected void returnToGame() {
         gameLoop.stop();
-        GameScreen gameScreen = new GameScreen(pet);
-        App.setScreen(gameScreen);
-    }
-
-    /**
-     * A static inner class representing a coin placed on the game canvas.
-     * The coin can be collected if the pet collides with it.
-     */
-    protected static class Coin {
-        /** The coin's X-position. */
-        double x;
-        /** The coin's Y-position. */
-        double y;
-        /** Whether the coin has been collected by the pet. */
-        boolean collected;
-
-        /**
-         * Creates a Coin with the specified coordinates.
-         *
-         * @param x The x-coordinate of the coin.
-         * @param y The y-coordinate of the coin.
-         */
-        Coin(double x, double y) {
-            this.x = x;
-            this.y = y;
-            this.collected = false;
+        stopSimulation();
+        GameScreen.showFor(pet);
+    }
+
+    /**
+     * Stops the simulation thread, if this screen has one, and waits for it.
+     */
+    protected void stopSimulation() {
+        if (simulationLoop != null) {
+            simulationLoop.stop();
         }
     }
 
+    /**
+     * Stops the game loop whenever the minigame leaves the screen, so a run that
+     * is abandoned does not keep ticking in the background.
+     */
+    @Override
+    public void onHide() {
+        if (gameLoop != null) {
+            gameLoop.stop();
+        }
+        stopSimulation();
+    }
+
     /**
      * Sets up the top HUD, including instructions and stats such as score and coins.
      *
@@ -202,7 +422,8 @@ public class TrainingScreen extends ScreenClass {
 
     /**
      * Adds a bottom row of buttons, including a restart button and a button 
-     * to return to the main game screen.
+     * to return to the main game screen. Minigames running on a simulation
+     * thread also get a button switching endless mode on and off.
      */
     protected void setupBottomButtons() {
         Button restartButton = createStyledButton("Restart");
@@ -219,9 +440,31 @@ public class TrainingScreen extends ScreenClass {
         buttonBox.setPadding(new Insets(15 * ratio, 0, 0, 0));
         buttonBox.getChildren().addAll(backButton, restartButton);
 
+        if (simulationLoop != null && !isTutorialScreen) {
+            Button endlessButton = createStyledButton("Endless: Off");
+            endlessButton.setFocusTraversable(false);
+            endlessButton.setOnAction(e -> toggleEndless(endlessButton));
+            buttonBox.getChildren().add(endlessButton);
+        }
+
         root.setBottom(buttonBox);
     }
 
+    /**
+     * Switches endless mode on or off and starts a new run in the new mode.
+     * Endless runs never run out of course and speed up every fifteen seconds.
+     *
+     * @param endlessButton The button to relabel.
+     */
+    private void toggleEndless(Button endlessButton) {
+        // The simulation may only be changed while its thread is stopped
+        stopSimulation();
+        MinigameSimulation simulation = simulationLoop.getSimulation();
+        simulation.setEndless(!simulation.isEndless());
+        endlessButton.setText(simulation.isEndless() ? "Endless: On" : "Endless: Off");
+        startGame();
+    }
+
     /**
      * Restarts the mini-game from a game-over state by calling {@link #startGame()}.
      */
@@ -234,11 +477,106 @@ public class TrainingScreen extends ScreenClass {
     /**
      * A placeholder method to be overridden by subclasses. 
      * Begins or restarts the mini-game's initial state.
+     * Implementations call {@link #beginRun()} before spawning anything.
      */
     protected void startGame() {
         // Overridden by subclass implementations
     }
 
+    /**
+     * Starts a new run: picks its seed (or takes it from the replay being played),
+     * reseeds {@link #random}, resets the tick counter and starts recording inputs.
+     * Screens that {@link #runOnSimulationThread run on a simulation thread}
+     * start the run on the loop instead, which records or plays back from here on.
+     * With {@link StressMode#PROPERTY} set those runs are stress runs, which
+     * are timed and not saved as replays. Otherwise the ghost of the best run
+     * is loaded, and replaced by this run if it scores higher.
+     */
+    protected void beginRun() {
+        runSeed = replay != null ? replay.getSeed() : seedSource.nextLong();
+        tick = 0;
+        pendingInputCount = 0;
+        if (simulationLoop != null) {
+            // The simulation may only be changed while its thread is stopped, and
+            // the last run may still be saving a new best over the ghost until then
+            simulationLoop.stop();
+            if (stressMode != null) {
+                simulationLoop.getSimulation().setStress(stressMode);
+                frameStats = new FrameStats(stressMode.getTicks() * 4);
+                lastStressFrame = -1;
+                simulationLoop.setFrameStats(frameStats);
+            }
+            String ghostPath = stressMode == null && !isTutorialScreen ? getGhostPath() : null;
+            openGhost(ghostPath);
+            simulationLoop.start(runSeed, replay, stressMode != null ? null : getReplayPath(), ghostPath);
+            world = simulationLoop.latest().getWorld();
+            replay = null;
+            recorder = null;
+            return;
+        }
+        if (replay != null) {
+            replay.seek(0);
+            recorder = null;
+        } else {
+            recorder = new ReplayRecorder(getGameName(), runSeed);
+        }
+        random.setSeed(runSeed);
+    }
+
+    /**
+     * Plays back a recorded run of this minigame instead of taking the player's input.
+     * Once the replayed run ends, the next restart is a normal run again.
+     *
+     * @param reader The replay to play.
+     */
+    public void startReplay(ReplayReader reader) {
+        replay = reader;
+        startGame();
+    }
+
+    /**
+     * Returns the seed of the current run.
+     *
+     * @return The seed {@link #random} was started from.
+     */
+    public long getRunSeed() {
+        return runSeed;
+    }
+
+    /**
+     * Returns the name replays of this minigame are saved under.
+     *
+     * @return The minigame's name.
+     */
+    protected String getGameName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Queues an input from the player. Input handlers call this instead of changing
+     * the game state directly, so the input takes effect at the start of the next
+     * tick and can be recorded and replayed exactly. Ignored while a replay plays.
+     *
+     * @param action The action, such as {@link #INPUT_PRIMARY}.
+     */
+    protected void queueInput(int action) {
+        if (simulationLoop != null) {
+            simulationLoop.queueInput(action);
+        } else if (replay == null && pendingInputCount < pendingInputs.length) {
+            pendingInputs[pendingInputCount++] = action;
+        }
+    }
+
+    /**
+     * Applies one input at the start of a tick. Overridden by minigames;
+     * does nothing by default.
+     *
+     * @param action The action, such as {@link #INPUT_PRIMARY}.
+     */
+    protected void applyInput(int action) {
+        // Overridden by subclass implementations
+    }
+
     /**
      * Prepares the backdrop of the canvas with a default clear and fill color.
      * Subclasses can further draw backgrounds or decorations on top.
@@ -250,16 +588,19 @@ public class TrainingScreen extends ScreenClass {
     }
 
     /**
-     * Draws any uncollected coins on the canvas as yellow/gold circles.
+     * Draws any uncollected coins on the canvas by blitting the pre-rendered
+     * coin sprite from {@link SpriteBaker}.
      */
     protected void drawCoins() {
-        for (Coin coin : coins) {
-            if (!coin.collected) {
-                gc.setFill(Color.GOLD);
-                gc.fillOval(coin.x, coin.y, coinSize, coinSize);
-                gc.setStroke(Color.ORANGE);
-                gc.setLineWidth(2);
-                gc.strokeOval(coin.x, coin.y, coinSize, coinSize);
+        if (coinSprite == null || coinSpriteSize != coinSize) {
+            coinSprite = SpriteBaker.coin(coinSize);
+            coinSpriteSize = coinSize;
+        }
+        double margin = SpriteBaker.COIN_MARGIN;
+        double side = coinSize + 2 * margin;
+        for (int i = 0; i < coins.size(); i++) {
+            if (!coins.hasFlag(i, EntityBuffer.COLLECTED)) {
+                gc.drawImage(coinSprite, coins.x(i) - margin, coins.y(i) - margin, side, side);
             }
         }
     }
@@ -267,62 +608,349 @@ public class TrainingScreen extends ScreenClass {
     /**
      * Draws a game-over overlay, including game stats, skill gained, 
      * and a tutorial notice if {@link #isTutorialScreen} is true.
+     * The overlay is baked into an image the first time it is drawn after
+     * a game over and then simply blitted on every following frame.
      */
     protected void drawGameoverOverlay() {
-        gc.setFill(new Color(0, 0, 0, 0.7));
-        gc.fillRect(0, 0, canvasWidth, canvasHeight);
+        if (gameoverOverlay == null) {
+            gameoverOverlay = SpriteBaker.bake(canvasWidth, canvasHeight, this::paintGameoverOverlay);
+        }
+        gc.drawImage(gameoverOverlay, 0, 0, canvasWidth, canvasHeight);
+    }
+
+    /**
+     * Paints the game-over panel onto the given graphics context.
+     * Used by {@link #drawGameoverOverlay()} when baking the overlay.
+     *
+     * @param g The graphics context to paint on.
+     */
+    private void paintGameoverOverlay(GraphicsContext g) {
+        g.setFill(new Color(0, 0, 0, 0.7));
+        g.fillRect(0, 0, canvasWidth, canvasHeight);
 
-        gc.setFill(Color.WHITE);
-        gc.setFont(Font.font("Arial", FontWeight.BOLD, 48));
-        gc.fillText("GAME OVER", canvasWidth / 2 - 140, canvasHeight / 2 - 50);
+        g.setFill(Color.WHITE);
+        g.setFont(GAMEOVER_TITLE_FONT);
+        g.fillText("GAME OVER", canvasWidth / 2 - 140, canvasHeight / 2 - 50);
 
-        gc.setFont(Font.font("Arial", FontWeight.BOLD, 30));
+        g.setFont(GAMEOVER_STATS_FONT);
         String scoreText = "Score: " + score;
-        double scoreWidth = gc.getFont().getSize() * scoreText.length() * 0.6;
-        gc.fillText(scoreText, canvasWidth / 2 - scoreWidth / 2, canvasHeight / 2 + 20);
+        double scoreWidth = g.getFont().getSize() * scoreText.length() * 0.6;
+        g.fillText(scoreText, canvasWidth / 2 - scoreWidth / 2, canvasHeight / 2 + 20);
 
         String coinsText = "Coins: " + coinsCollected;
-        double coinsWidth = gc.getFont().getSize() * coinsText.length() * 0.6;
-        gc.fillText(coinsText, canvasWidth / 2 - coinsWidth / 2, canvasHeight / 2 + 70);
+        double coinsWidth = g.getFont().getSize() * coinsText.length() * 0.6;
+        g.fillText(coinsText, canvasWidth / 2 - coinsWidth / 2, canvasHeight / 2 + 70);
 
-        gc.setFont(Font.font("Arial", FontWeight.BOLD, 24));
+        g.setFont(GAMEOVER_EXP_FONT);
         String expText = "Experience gain: " + skillGain;
-        double expWidth = gc.getFont().getSize() * expText.length() * 0.5;
-        gc.fillText(expText, canvasWidth / 2 - expWidth / 2, canvasHeight / 2 + 120);
+        double expWidth = g.getFont().getSize() * expText.length() * 0.5;
+        g.fillText(expText, canvasWidth / 2 - expWidth / 2, canvasHeight / 2 + 120);
 
         if (isTutorialScreen) {
-            gc.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-            gc.setFill(Color.YELLOW);
+            g.setFont(GAMEOVER_TUTORIAL_FONT);
+            g.setFill(Color.YELLOW);
             String tutorialText = "Experience and coins not gained because this minigame was a tutorial";
-            double tutorialWidth = gc.getFont().getSize() * tutorialText.length() * 0.5;
-            gc.fillText(tutorialText, canvasWidth / 2 - tutorialWidth / 2, canvasHeight / 2 + 200);
+            double tutorialWidth = g.getFont().getSize() * tutorialText.length() * 0.5;
+            g.fillText(tutorialText, canvasWidth / 2 - tutorialWidth / 2, canvasHeight / 2 + 200);
         }
 
-        gc.setFont(Font.font("Arial", FontWeight.BOLD, 20));
+        g.setFont(GAMEOVER_RESTART_FONT);
         String restartText = "Click or press ENTER to restart";
-        double restartWidth = gc.getFont().getSize() * restartText.length() * 0.5;
-        gc.fillText(restartText, canvasWidth / 2 - restartWidth / 2, canvasHeight / 2 + 170);
+        double restartWidth = g.getFont().getSize() * restartText.length() * 0.5;
+        g.fillText(restartText, canvasWidth / 2 - restartWidth / 2, canvasHeight / 2 + 170);
     }
 
     /**
-     * Sets up the main {@link #gameLoop} that performs game logic updates
-     * and rendering calls during the minigame.
+     * Sets up the main {@link #gameLoop}. Each frame, the time since the previous frame is
+     * added to an accumulator and {@link #updateGame()} runs once for every whole tick of
+     * {@link #SIMULATION_RATE} it contains, so gameplay speed no longer depends on the
+     * monitor's refresh rate. {@link #renderGame()} then draws once, with
+     * {@link #interpolation} set to the leftover fraction of a tick.
      */
     protected void setupGameLoop() {
         gameLoop = new AnimationTimer() {
+            @Override
+            public void start() {
+                // Restart timing so time spent stopped is not simulated
+                lastFrameTime = -1;
+                accumulatedNanos = 0;
+                super.start();
+            }
+
             @Override
             public void handle(long now) {
-                if (!isGameOver) {
-                    updateGame();
+                long start = System.nanoTime();
+                if (simulationLoop != null) {
+                    present(now);
+                } else {
+                    advance(now);
                 }
                 renderGame();
+                if (frameStats != null) {
+                    timeStressFrame(now, System.nanoTime() - start);
+                }
             }
         };
     }
 
+    /**
+     * Adds a frame of the current stress run to its stats, and prints the
+     * report once the run has ended. The render time only covers building the
+     * frame on the JavaFX thread; the time between frames also shows how long
+     * the rendering pipeline took to put it on screen.
+     *
+     * @param now         The frame's timestamp in nanoseconds.
+     * @param renderNanos How long updating from the snapshot and drawing took.
+     */
+    private void timeStressFrame(long now, long renderNanos) {
+        if (isGameOver) {
+            Log.info("Stress run of {}:\n{}", world.getName() + " with " + stressMode, frameStats.report());
+            simulationLoop.setFrameStats(null);
+            frameStats = null;
+            return;
+        }
+        frameStats.record(FrameStats.RENDER, renderNanos);
+        if (lastStressFrame >= 0) {
+            frameStats.record(FrameStats.FRAME, now - lastStressFrame);
+        }
+        lastStressFrame = now;
+        frameStats.sampleGc();
+    }
+
+    /**
+     * Takes the newest snapshot from the simulation thread for this frame:
+     * updates the HUD and plays the coin sound for whatever changed since the
+     * last frame, calls {@link #onGameOver()} once a run other than a stress
+     * run has ended, and sets
+     * {@link #interpolation} from how long ago the snapshot's tick was due.
+     * Only comparing totals means nothing is missed when a frame skips ticks.
+     *
+     * @param now The current frame's timestamp in nanoseconds.
+     */
+    private void present(long now) {
+        SimulationLoop.Snapshot<?> snapshot = simulationLoop.latest();
+        world = snapshot.getWorld();
+        coins = world.getCoins();
+        ghostVisible = ghost != null && ghost.seek(world.getTick());
+
+        if (world.getScore() != score) {
+            score = world.getScore();
+            scoreLabel.setText(String.valueOf(score));
+        }
+        if (world.getCoinsCollected() != coinsCollected) {
+            if (world.getCoinsCollected() > coinsCollected) {
+                ScreenClass.playSound(coinSound);
+            }
+            coinsCollected = world.getCoinsCollected();
+            coinCountLabel.setText(String.valueOf(coinsCollected));
+        }
+        if (world.isGameOver()) {
+            if (!isGameOver) {
+                isGameOver = true;
+                // Stress runs are measurements, not play, so they earn nothing
+                if (stressMode == null) {
+                    onGameOver();
+                }
+            }
+            interpolation = 1;
+            return;
+        }
+        // A run is in progress, so the next game over needs a fresh overlay
+        gameoverOverlay = null;
+        interpolation = Math.max(0, Math.min(1, (double) (now - snapshot.getTime()) / TICK_NANOS));
+    }
+
+    /**
+     * Runs as many fixed simulation ticks as the time since the last frame allows,
+     * capped at {@link #MAX_TICKS_PER_FRAME}, and updates {@link #interpolation}.
+     *
+     * @param now The current frame's timestamp in nanoseconds.
+     */
+    private void advance(long now) {
+        getBroadphase().beginFrame();
+        if (lastFrameTime < 0) {
+            // First frame after (re)starting: nothing to simulate yet, draw the current state
+            lastFrameTime = now;
+            interpolation = 1;
+            return;
+        }
+        accumulatedNanos += now - lastFrameTime;
+        lastFrameTime = now;
+
+        int ticks = 0;
+        while (accumulatedNanos >= TICK_NANOS && ticks < MAX_TICKS_PER_FRAME) {
+            if (!isGameOver) {
+                // A run is in progress, so the next game over needs a fresh overlay
+                gameoverOverlay = null;
+                savePreviousPositions();
+                applyInputs();
+                updateGame();
+                tick++;
+                if (isGameOver) {
+                    finishRun();
+                }
+            }
+            accumulatedNanos -= TICK_NANOS;
+            ticks++;
+        }
+        if (accumulatedNanos >= TICK_NANOS) {
+            // Too far behind to catch up; drop the backlog
+            accumulatedNanos %= TICK_NANOS;
+        }
+        interpolation = isGameOver ? 1 : (double) accumulatedNanos / TICK_NANOS;
+    }
+
+    /**
+     * Applies the inputs for the current tick, either those queued by the player
+     * (recording them) or those stored in the replay being played.
+     */
+    private void applyInputs() {
+        if (replay != null) {
+            while (replay.hasNext() && replay.nextTick() == tick) {
+                applyInput(replay.nextAction());
+                replay.advance();
+            }
+            return;
+        }
+        for (int i = 0; i < pendingInputCount; i++) {
+            if (recorder != null) {
+                recorder.record(tick, pendingInputs[i]);
+            }
+            applyInput(pendingInputs[i]);
+        }
+        pendingInputCount = 0;
+    }
+
+    /**
+     * Saves the run that just ended as this minigame's latest replay, overwriting
+     * the previous one, so a reported problem can be reproduced exactly.
+     */
+    private void finishRun() {
+        if (recorder != null) {
+            try {
+                new File(REPLAY_FOLDER).mkdirs();
+                recorder.save(getReplayPath(), tick);
+            } catch (IOException e) {
+                Log.error("Error saving replay: {}", e.getMessage());
+            }
+            recorder = null;
+        }
+        replay = null;
+    }
+
+    /**
+     * Returns the file the ghost of this minigame's best run is kept in, next
+     * to the save slot of the game, or of the new game if it was not loaded.
+     * Endless and normal runs have separate ghosts.
+     *
+     * @return The ghost's path, relative to the working directory.
+     */
+    private String getGhostPath() {
+        String save = isLoadedGame ? "LoadGameSlot" + loadedSlot : "NewGame";
+        return GHOST_FOLDER + "/" + save + "_" + simulationLoop.getSimulation().getName() + ".ghost";
+    }
+
+    /**
+     * Gets the ghost at a path ready for a new run. The file is mapped again
+     * only if it is a different ghost or a new best was saved since. Call only
+     * once the last run's thread has stopped, as it may still be saving.
+     *
+     * @param path The ghost's path, or null for no ghost.
+     */
+    private void openGhost(String path) {
+        ghostVisible = false;
+        if (path == null) {
+            ghost = null;
+            ghostFile = null;
+            return;
+        }
+        File file = new File(path);
+        boolean changed = !path.equals(ghostFile) || file.lastModified() != ghostModified
+            || new File(GhostTrack.pendingPath(path)).exists();
+        if (!changed) {
+            if (ghost != null) {
+                ghost.rewind();
+            }
+            return;
+        }
+        try {
+            ghost = simulationLoop.openGhost(path);
+        } catch (IOException e) {
+            Log.error("Error loading ghost: {}", e.getMessage());
+            ghost = null;
+        }
+        ghostFile = path;
+        ghostModified = file.lastModified();
+    }
+
+    /**
+     * Draws the ghost of the best run, if it is still going at the tick being
+     * drawn, faded and tilted the way the pet was. Minigames call this just
+     * before drawing the pet, with the pet's own pre-scaled sprite.
+     *
+     * @param sprite        The pet's sprite, already scaled to the drawn size.
+     * @param width         The drawn width.
+     * @param height        The drawn height.
+     * @param centerOffsetY How far below {@link MinigameSimulation#getPetY()} the
+     *                      middle of the sprite is.
+     */
+    protected void drawGhost(Image sprite, double width, double height, double centerOffsetY) {
+        if (!ghostVisible || sprite == null) {
+            return;
+        }
+        double velocity = ghost.getY() - ghost.getPreviousY();
+        gc.save();
+        gc.setGlobalAlpha(GHOST_ALPHA);
+        gc.translate(world.getPetX(), interpolate(ghost.getPreviousY(), ghost.getY()) + centerOffsetY);
+        gc.rotate(world.rotationAt(velocity));
+        gc.drawImage(sprite, -width / 2, -height / 2, width, height);
+        gc.restore();
+    }
+
+    /**
+     * Returns the file this minigame's latest run is saved to.
+     *
+     * @return The replay's path, relative to the working directory.
+     */
+    private String getReplayPath() {
+        return REPLAY_FOLDER + "/" + getGameName() + ".replay";
+    }
+
+    /**
+     * Records positions at the start of a tick so that frames drawn between ticks can
+     * blend towards the new ones. Subclasses that track other moving state override
+     * this and call the super method.
+     */
+    protected void savePreviousPositions() {
+        prevPetY = petY;
+    }
+
+    /**
+     * Blends a value from the previous tick towards its current value by {@link #interpolation}.
+     *
+     * @param previous The value at the start of the latest tick.
+     * @param current  The value after the latest tick.
+     * @return The value to draw this frame.
+     */
+    protected double interpolate(double previous, double current) {
+        return previous + (current - previous) * interpolation;
+    }
+
+    /**
+     * Returns how far behind its simulated position an object that moves by
+     * {@code -speed} every tick should be drawn this frame. World objects that all scroll
+     * at the same speed can be drawn through a single canvas translation by this amount.
+     *
+     * @param speed The object's movement per tick, in pixels.
+     * @return The offset to add to the object's drawn position.
+     */
+    protected double scrollLag(double speed) {
+        return speed * (1 - interpolation);
+    }
+
     /**
      * A placeholder update method to be overridden by minigames.
-     * Contains the game logic for each frame (movement, collisions, etc.).
+     * Contains the game logic for one simulation tick (movement, collisions, etc.).
      */
     protected void updateGame() {
         // Overridden by subclass implementations
@@ -342,7 +970,7 @@ public class TrainingScreen extends ScreenClass {
      */
     protected void setupGameVariables() {
         random = new Random();
-        coins = new ArrayList<>();
+        coins = new EntityBuffer();
         score = 0;
         skillGain = 0;
         coinCounter = 0;
@@ -36,6 +36,12 @@ public class VetScreen extends ScreenClass {
      */
     private int lastHealTime = -HEAL_COOLDOWN_SECONDS;
 
+    /** Bar showing the pet's current health. */
+    private ProgressBar healthBar;
+
+    /** Label for cooldown messages. */
+    private Label statusLabel;
+
     /**
      * Constructs a VetScreen with the specified pet.
      *
@@ -71,14 +77,14 @@ public class VetScreen extends ScreenClass {
         crossImage.setLayoutY(100 * ratio);
 
         // Display pet image at the clinic
-        ImageView petImageView = new ImageView(pet.getPetImage());
+        ImageView petImageView = new ImageView(Sprites.pet(pet).get());
         petImageView.setFitWidth(400 * ratio);
         petImageView.setFitHeight(400 * ratio);
         petImageView.setLayoutX(screenWidth / 2 - (200 * ratio));
         petImageView.setLayoutY(screenHeight - (700 * ratio));
 
         // Heal Pet Button and status label
-        Label statusLabel = new Label("");
+        statusLabel = new Label("");
         statusLabel.setTextFill(Color.RED);
         statusLabel.setFont(Font.font("Arial", FontWeight.BOLD, 20 * ratio));
         Button healButton = createStyledButton("Heal Pet");
@@ -88,7 +94,8 @@ public class VetScreen extends ScreenClass {
                 // Heal the pet and update the last heal time
                 pet.heal();
                 lastHealTime = currentTime;
-                setupUI(); // Refresh the UI to update health information
+                statusLabel.setText("");
+                updateHealthBar(); // Refresh the health information
             } else {
                 int remainingCooldown = HEAL_COOLDOWN_SECONDS - (currentTime - lastHealTime);
                 statusLabel.setText("Heal on cooldown! Wait " + remainingCooldown + " seconds.");
@@ -96,13 +103,10 @@ public class VetScreen extends ScreenClass {
         });
 
         // Health bar displaying pet's current health percentage
-        ProgressBar healthBar = new ProgressBar(pet.getHealth() / 100.0);
+        healthBar = new ProgressBar();
         healthBar.setPrefWidth(350 * ratio);
-        if (pet.getHealth() <= 25) {
-            healthBar.setStyle("-fx-accent: #FF0000;"); // Red for low health
-        } else {
-            healthBar.setStyle("-fx-accent: #4CAF50;"); // Green for good health
-        }
+        healthBar.getStyleClass().add("stat-bar");
+        updateHealthBar();
         healthBar.setLayoutX(screenWidth / 2 - (75 * ratio));
         healthBar.setLayoutY(400 * ratio);
         healthBar.setVisible(true);
@@ -116,8 +120,9 @@ public class VetScreen extends ScreenClass {
         // "Go Back" button to return to main game screen
         Button backButton = createStyledButton("Back to Game Screen");
         backButton.setOnAction(e -> {
-            GameScreen gameScreen = new GameScreen(pet); // Create new GameScreen instance
-            App.setScreen(gameScreen); // Navigate back to the main game screen
+            if (!ScreenNavigator.back()) {
+                GameScreen.showFor(pet); // Navigate back to the main game screen
+            }
         });
 
         // VBox to hold the back button, positioned at the bottom-right
@@ -131,4 +136,21 @@ public class VetScreen extends ScreenClass {
         root.setCenter(buttonBox);      // Heal button and health bar centered
         root.getChildren().addAll(floor, crossImage, petImageView);
     }
+
+    /**
+     * Refreshes the health bar, since the clinic is reused between visits.
+     */
+    @Override
+    public void onShow() {
+        statusLabel.setText("");
+        updateHealthBar();
+    }
+
+    /**
+     * Sets the health bar's progress and colour from the pet's current health.
+     */
+    private void updateHealthBar() {
+        healthBar.setProgress(pet.getHealth() / 100.0);
+        healthBar.pseudoClassStateChanged(LOW, pet.getHealth() <= 25); // Red for low health
+    }
 }
@@ -0,0 +1,100 @@
+package group44;
+
+import group44.Screens.GameScreen;
+import group44.Screens.ScreenNavigator;
+import group44.Screens.SwimmingScreen;
+import group44.Screens.TrainFlyingScreen;
+import group44.Screens.TrainRunningScreen;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.util.Duration;
+
+/**
+ * Special ways of starting the game for the fast-start distribution, chosen
+ * with the {@value #PROPERTY} system property.
+ * <ul>
+ *   <li>{@value #PROBE} prints the wall-clock time of the first frame as
+ *       "first-frame &lt;epoch millis&gt;" and quits, so the startup-time
+ *       script can time launches.</li>
+ *   <li>{@value #TRAIN} walks from the main menu to the game screen and
+ *       through every minigame, then quits. The build runs it to record
+ *       which classes the game loads at startup into its class-data-sharing
+ *       archive.</li>
+ * </ul>
+ * Without the property the game starts normally.
+ */
+public final class StartupMode {
+
+    /** The system property choosing the startup mode. */
+    public static final String PROPERTY = "app.startup";
+    /** Quit after the first frame, printing when it was drawn. */
+    public static final String PROBE = "probe";
+    /** Visit every main screen once, then quit. */
+    public static final String TRAIN = "train";
+
+    /** How long the training run stays on each screen, long enough for it to draw and animate. */
+    private static final Duration STEP = Duration.seconds(2);
+
+    /** Utility class; not instantiable. */
+    private StartupMode() {
+    }
+
+    /**
+     * Starts the chosen mode, if any. Call once the main menu is on screen.
+     *
+     * @param scene The game's scene.
+     */
+    static void begin(Scene scene) {
+        String mode = System.getProperty(PROPERTY);
+        if (PROBE.equals(mode)) {
+            probe(scene);
+        } else if (TRAIN.equals(mode)) {
+            train();
+        } else if (mode != null) {
+            Log.warn("Ignoring unknown {}: {}", PROPERTY, mode);
+        }
+    }
+
+    /**
+     * Prints the time of the first frame and quits. The first pulse's layout
+     * is the last step before the frame is drawn.
+     *
+     * @param scene The game's scene.
+     */
+    private static void probe(Scene scene) {
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+                // Read by the startup-time script, so printed as is rather than logged
+                System.out.println("first-frame " + System.currentTimeMillis());
+                Platform.runLater(Platform::exit);
+            }
+        });
+    }
+
+    /**
+     * Shows the game screen and each minigame in turn with a throwaway pet,
+     * then quits.
+     */
+    private static void train() {
+        Pet pet = new Pet("blue", "Trainer", 100, 100, 100, 100, 100, 0, 1, 0, 1, 0, 1, 0, 0, 0);
+        GameScreen.timersInitialized = false;
+        Runnable[] steps = {
+            () -> GameScreen.showFor(pet),
+            () -> ScreenNavigator.show(new TrainRunningScreen(pet, false)),
+            () -> ScreenNavigator.show(new SwimmingScreen(pet, false)),
+            () -> ScreenNavigator.show(new TrainFlyingScreen(pet, false)),
+            () -> GameScreen.showFor(pet),
+            Platform::exit
+        };
+        Timeline tour = new Timeline();
+        for (int i = 0; i < steps.length; i++) {
+            Runnable step = steps[i];
+            tour.getKeyFrames().add(new KeyFrame(STEP.multiply(i + 1), e -> step.run()));
+        }
+        tour.play();
+    }
+}
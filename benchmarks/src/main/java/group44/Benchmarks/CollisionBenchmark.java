@@ -0,0 +1,87 @@
+package group44.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import group44.Minigames.Broadphase;
+import group44.Minigames.EntityBuffer;
+import group44.Minigames.MinigameSimulation;
+
+/**
+ * Times one tick's collision check on its own: a broadphase query over the
+ * pet's swept extent and an exact swept test of each candidate, against
+ * obstacles spread over two widths of the play area as in a stress run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollisionBenchmark {
+
+    /** The pet's left edge, as in the minigames. */
+    private static final double PET_X = 100;
+    /** The pet's width and height. */
+    private static final double PET_SIZE = 50;
+    /** How far the obstacles move towards the pet each tick. */
+    private static final double SPEED = 5;
+
+    /** The number of obstacles in play. */
+    @Param({"10", "100", "1000", "10000"})
+    public int obstacles;
+
+    /** The obstacles, in spawn order. */
+    private EntityBuffer buffer;
+    /** The broadphase searching them. */
+    private Broadphase broadphase;
+    /** The pet's top edge, moved every call so the hits vary. */
+    private double petY;
+
+    /**
+     * Lays out the obstacles at even spacing with varied heights, standing on
+     * the bottom of the play area.
+     */
+    @Setup
+    public void setUp() {
+        double height = MinigameSimulation.DEFAULT_HEIGHT;
+        double spacing = 2 * MinigameSimulation.DEFAULT_WIDTH / obstacles;
+        buffer = new EntityBuffer(obstacles);
+        for (int i = 0; i < obstacles; i++) {
+            double obstacleHeight = 40 + (i * 37) % 120;
+            buffer.add(i * spacing, height - obstacleHeight, 30, obstacleHeight);
+        }
+        broadphase = new Broadphase();
+    }
+
+    /**
+     * Checks the pet against the obstacles.
+     *
+     * @return The number of obstacles hit.
+     */
+    @Benchmark
+    public int collide() {
+        petY = (petY + 7) % (MinigameSimulation.DEFAULT_HEIGHT - PET_SIZE);
+        double right = PET_X + PET_SIZE;
+        int hits = 0;
+        int nearby = broadphase.query(buffer, PET_X, right + SPEED, 0);
+        for (int k = 0; k < nearby; k++) {
+            int i = broadphase.candidate(k);
+            if (broadphase.sweptIntersects(buffer, i, PET_X, petY, right, petY + PET_SIZE, SPEED, 0)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
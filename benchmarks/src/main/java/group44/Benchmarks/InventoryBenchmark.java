@@ -0,0 +1,76 @@
+package group44.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import group44.Inventory;
+
+/**
+ * Times writing and reading an inventory's CSV form, for inventories from the
+ * shop's eight items up to far larger ones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class InventoryBenchmark {
+
+    /** The number of distinct items of each kind held. */
+    @Param({"4", "64", "1024"})
+    public int items;
+
+    /** The inventory written out. */
+    private Inventory inventory;
+    /** The inventory read into, reused between calls. */
+    private Inventory target;
+    /** The inventory's CSV form, read back in. */
+    private String csv;
+
+    /**
+     * Fills the inventory with the requested number of foods and gifts.
+     */
+    @Setup
+    public void setUp() {
+        inventory = new Inventory();
+        for (int i = 0; i < items; i++) {
+            inventory.addFood("Food " + i, i + 1);
+            inventory.addGift("Gift " + i, i + 1);
+        }
+        csv = inventory.toCSV();
+        target = new Inventory();
+    }
+
+    /**
+     * Writes the inventory as CSV.
+     *
+     * @return The CSV line.
+     */
+    @Benchmark
+    public String toCSV() {
+        return inventory.toCSV();
+    }
+
+    /**
+     * Reads the inventory back from CSV.
+     *
+     * @return The inventory read into.
+     */
+    @Benchmark
+    public Inventory fromCSV() {
+        target.fromCSV(csv);
+        return target;
+    }
+}
@@ -0,0 +1,68 @@
+package group44.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import group44.Minigames.HeadlessRunner;
+import group44.Minigames.MinigameSimulation;
+import group44.Minigames.StressMode;
+
+/**
+ * Times the minigames' update loop headlessly, with the course kept packed by
+ * a {@link StressMode} at a range of entity counts. One call is one tick, so
+ * the results read as time per frame.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MinigameBenchmark {
+
+    /** The minigame, by its {@link MinigameSimulation#getName()}. */
+    @Param({"running", "swimming-300", "flying-300"})
+    public String game;
+
+    /** The number of obstacles and of coins kept in play. */
+    @Param({"10", "100", "1000"})
+    public int entities;
+
+    /** The stress run being stepped. */
+    private MinigameSimulation simulation;
+
+    /**
+     * Starts a stress run that never ends on its own.
+     */
+    @Setup
+    public void setUp() {
+        simulation = HeadlessRunner.create(game);
+        simulation.setStress(new StressMode(entities, entities, 0, Integer.MAX_VALUE));
+        simulation.reset(1);
+    }
+
+    /**
+     * Advances the stress run by one tick, starting it again if it ends.
+     *
+     * @return The tick reached.
+     */
+    @Benchmark
+    public int step() {
+        if (simulation.isGameOver()) {
+            simulation.reset(simulation.getSeed() + 1);
+        }
+        simulation.step();
+        return simulation.getTick();
+    }
+}
@@ -0,0 +1,108 @@
+package group44.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import group44.Pet;
+
+/**
+ * Times the pet's stat updates, as the game screen makes them every few
+ * seconds, and the levelling done when a training minigame pays out
+ * experience.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PetBenchmark {
+
+    /** The pet being updated. */
+    private Pet pet;
+
+    /**
+     * Starts every iteration from a fresh level-one pet, so levelling costs do
+     * not drift as the levels climb.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        pet = new Pet("blue", "Bubbles", 80, 80, 80, 100, 100, 0, 1, 0, 1, 0, 1, 0, 0, 0);
+    }
+
+    /**
+     * The experience paid out per levelling call, kept apart from the pet so
+     * the stat update is not repeated for every payout size.
+     */
+    @State(Scope.Benchmark)
+    public static class Payout {
+
+        /** The experience paid out per call; larger payouts climb more levels at once. */
+        @Param({"1", "50", "5000"})
+        public int experience;
+    }
+
+    /**
+     * One game screen stat tick: decay, then the clamped setters refilling the stats.
+     *
+     * @return The pet, so the work is not optimised away.
+     */
+    @Benchmark
+    public Pet statUpdate() {
+        pet.decrementStats();
+        pet.setSleepiness(pet.getSleepiness() + 3);
+        pet.setFullness(pet.getFullness() + 2);
+        pet.setHappiness(pet.getHappiness() + 1);
+        pet.setHealth(pet.getHealth() - 1);
+        pet.setStamina(pet.getStamina() + 5);
+        return pet;
+    }
+
+    /**
+     * Pays out running experience.
+     *
+     * @param payout The experience to pay out.
+     * @return The run level reached.
+     */
+    @Benchmark
+    public int addRunExperience(Payout payout) {
+        pet.addRunExperience(payout.experience);
+        return pet.getRunLevel();
+    }
+
+    /**
+     * Pays out swimming experience.
+     *
+     * @param payout The experience to pay out.
+     * @return The swim level reached.
+     */
+    @Benchmark
+    public int addSwimExperience(Payout payout) {
+        pet.addSwimExperience(payout.experience);
+        return pet.getSwimLevel();
+    }
+
+    /**
+     * Pays out flying experience.
+     *
+     * @param payout The experience to pay out.
+     * @return The fly level reached.
+     */
+    @Benchmark
+    public int addFlyExperience(Payout payout) {
+        pet.addFlyExperience(payout.experience);
+        return pet.getFlyLevel();
+    }
+}
@@ -0,0 +1,66 @@
+package group44.Benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import group44.Pet;
+import group44.SaveFile;
+
+/**
+ * Times formatting and parsing a save slot's line, leaving out the disk so
+ * the numbers show the parsing itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SaveFileBenchmark {
+
+    /** The pet saved. */
+    private Pet pet;
+    /** The pet's save line. */
+    private String line;
+
+    /**
+     * Creates a mid-game pet and its save line.
+     */
+    @Setup
+    public void setUp() {
+        pet = new Pet("green", "Quackers", 80, 70, 60, 50, 40, 12345, 7, 21, 5, 9, 6, 30, 1, 987);
+        line = SaveFile.format(pet);
+    }
+
+    /**
+     * Formats the pet as a save line.
+     *
+     * @return The line.
+     */
+    @Benchmark
+    public String format() {
+        return SaveFile.format(pet);
+    }
+
+    /**
+     * Parses the save line back into a pet.
+     *
+     * @return The pet.
+     * @throws IOException never, as the line is valid.
+     */
+    @Benchmark
+    public Pet parse() throws IOException {
+        return SaveFile.parse(line);
+    }
+}
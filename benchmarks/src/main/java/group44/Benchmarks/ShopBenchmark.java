@@ -0,0 +1,84 @@
+package group44.Benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import group44.Pet;
+import group44.Shop;
+
+/**
+ * Times the shop screen's purchase flows without the screen: stocking a new
+ * pet's inventory, buying an item and gifting it straight away, and a failed
+ * purchase.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ShopBenchmark {
+
+    /** A pet with coins to spend. */
+    private Pet rich;
+    /** A pet that cannot afford anything. */
+    private Pet broke;
+
+    /**
+     * Creates the two shoppers.
+     */
+    @Setup
+    public void setUp() {
+        rich = new Pet("blue", "Bubbles", 50, 50, 50, 100, 100, 0, 1, 0, 1, 0, 1, 0, 0, 0);
+        broke = new Pet("red", "Ember", 50, 50, 50, 100, 100, 0, 1, 0, 1, 0, 1, 0, 0, 0);
+        Shop.stock(rich.getInventory());
+    }
+
+    /**
+     * Stocks an empty inventory, as the shop does for a pet's first visit.
+     *
+     * @return The stocked pet.
+     */
+    @Benchmark
+    public Pet stock() {
+        Pet pet = new Pet("blue", "Bubbles", 50, 50, 50, 100, 100, 0, 1, 0, 1, 0, 1, 0, 0, 0);
+        Shop.stock(pet.getInventory());
+        return pet;
+    }
+
+    /**
+     * Buys a food and a gift and gifts both, keeping the pet's coins topped up
+     * so every purchase succeeds.
+     *
+     * @return The pet's happiness, so the work is not optimised away.
+     */
+    @Benchmark
+    public int buyAndGift() {
+        rich.setCoins(1000);
+        Shop.buy(rich, "Banana", Shop.FOOD);
+        Shop.gift(rich, "Banana", Shop.FOOD);
+        Shop.buy(rich, "Teddy Bear", Shop.GIFT);
+        Shop.gift(rich, "Teddy Bear", Shop.GIFT);
+        return rich.getHappiness();
+    }
+
+    /**
+     * Tries to buy an item the pet cannot afford.
+     *
+     * @return Whether the purchase went through, which it never does.
+     */
+    @Benchmark
+    public boolean buyRefused() {
+        return Shop.buy(broke, "Pirate Hat", Shop.GIFT);
+    }
+}
@@ -0,0 +1,93 @@
+package group44.Audio;
+
+/**
+ * Decides whether a trigger of a sound effect plays, keeping the sound to a
+ * few overlapping plays at once. The sound itself is a single clip that can
+ * overlap itself; the pool only counts the plays. It keeps when each of the
+ * last few plays started in a ring, so a play counts as still sounding for a
+ * fixed length after it starts, and once every voice is sounding further
+ * triggers are dropped until the oldest play ends. Deciding takes constant
+ * time and allocates nothing.
+ * <p>
+ * A sound triggered again very soon after the last time is dropped as well,
+ * so that several coins collected on the same frame make one sound rather
+ * than a burst of identical ones played on top of each other.
+ * </p>
+ * <p>
+ * A pool is only used from one thread.
+ * </p>
+ */
+public final class VoicePool {
+
+    /** The shortest time between two triggers that both play, in nanoseconds. */
+    private final long minInterval;
+    /** How long a play counts as sounding after it starts, in nanoseconds. */
+    private final long voiceLength;
+    /** When each of the latest plays started, on the {@link System#nanoTime()} clock; a ring. */
+    private final long[] starts;
+    /** The index in {@link #starts} of the oldest play, which the next play replaces. */
+    private int next;
+    /** The number of plays so far, up to the number of voices. */
+    private int played;
+
+    /**
+     * Creates a pool.
+     *
+     * @param voices      The most times the sound can play at once.
+     * @param minInterval The shortest time between two triggers that both play,
+     *                    in nanoseconds; 0 to play every trigger.
+     * @param voiceLength How long a play counts as sounding after it starts,
+     *                    in nanoseconds; the length of the sound or a little more.
+     * @throws IllegalArgumentException if there is no voice or a time is negative.
+     */
+    public VoicePool(int voices, long minInterval, long voiceLength) {
+        if (voices < 1 || minInterval < 0 || voiceLength < 0) {
+            throw new IllegalArgumentException("A voice pool needs a voice and non-negative times");
+        }
+        this.minInterval = minInterval;
+        this.voiceLength = voiceLength;
+        starts = new long[voices];
+    }
+
+    /**
+     * Decides whether a trigger of the sound plays, counting it as a play if it does.
+     *
+     * @param now The current time on the {@link System#nanoTime()} clock.
+     * @return True if the sound should be played; false if the trigger came
+     *         too soon after the last play or every voice is still sounding.
+     */
+    public boolean trigger(long now) {
+        if (played > 0) {
+            int latest = next == 0 ? starts.length - 1 : next - 1;
+            if (now - starts[latest] < minInterval) {
+                return false;
+            }
+        }
+        if (played == starts.length && now - starts[next] < voiceLength) {
+            return false;
+        }
+        starts[next] = now;
+        next = next + 1 == starts.length ? 0 : next + 1;
+        if (played < starts.length) {
+            played++;
+        }
+        return true;
+    }
+
+    /**
+     * Forgets every play, as when the sound has been stopped.
+     */
+    public void clear() {
+        played = 0;
+        next = 0;
+    }
+
+    /**
+     * Returns the number of voices.
+     *
+     * @return The most times the sound can play at once.
+     */
+    public int getVoices() {
+        return starts.length;
+    }
+}
@@ -4,8 +4,6 @@
  */
 package group44;
 
-import javafx.scene.image.Image;
-
 public class Food {
     /**
      * The name of the food item.
@@ -28,9 +26,9 @@ public class Food {
     private int cost;
 
     /**
-     * The icon image representing this food.
+     * The id of the icon image representing this food, its resource path.
      */
-    private Image icon;
+    private String iconId;
 
     /**
      * Constructs a Food object with the given properties.
@@ -39,18 +37,14 @@ public class Food {
      * @param nutrition The amount of fullness the food restores.
      * @param tastyBonus The happiness bonus the food provides.
      * @param cost The food's price in coins.
-     * @param iconPath The image path for the food's icon.
+     * @param iconId The image path for the food's icon.
      */
-    public Food(String name, int nutrition, int tastyBonus, int cost, String iconPath) {
+    public Food(String name, int nutrition, int tastyBonus, int cost, String iconId) {
         this.name = name;
         this.nutrition = nutrition;
         this.tastyBonus = tastyBonus;
         this.cost = cost;
-        try {
-            this.icon = new Image(iconPath);
-        } catch (Exception e) {
-            // Default icon or placeholder
-        }
+        this.iconId = iconId;
     }
 
     /**
@@ -118,18 +112,18 @@ public class Food {
     }
 
     /**
-     * Gets the icon image for the food.
-     * @return The food's icon
+     * Gets the id of the icon image for the food.
+     * @return The icon's resource path
      */
-    public Image getIcon() {
-        return icon;
+    public String getIconId() {
+        return iconId;
     }
 
     /**
-     * Sets the icon image for the food.
-     * @param icon The icon to set
+     * Sets the id of the icon image for the food.
+     * @param iconId The icon's resource path
      */
-    public void setIcon(Image icon) {
-        this.icon = icon;
+    public void setIconId(String iconId) {
+        this.iconId = iconId;
     }
 }
\ No newline at end of file
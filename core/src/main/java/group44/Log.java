@@ -0,0 +1,679 @@
+package group44;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The game's logger. Logging a message only copies its template and arguments
+ * into a slot of a fixed ring buffer; a background thread formats queued
+ * messages and writes them to the sinks in batches, so the JavaFX and
+ * simulation threads never wait for the console or a file.
+ * <p>
+ * Messages are templates with {@code {}} placeholders filled from the
+ * arguments in order, for example {@code Log.info("Now playing: {}", file)}.
+ * Nothing is formatted on the calling thread and a message whose arguments
+ * are already objects, or a single {@code long}, allocates nothing. A
+ * {@link Throwable} left over after the placeholders are filled has its stack
+ * trace written after the message.
+ * </p>
+ * <p>
+ * Any number of threads may log at once. Slots are claimed with a
+ * compare-and-set and handed to the writer with ordered stores, so logging
+ * never locks. If the writer falls a whole buffer behind, new messages are
+ * dropped rather than waited on, and the number dropped is reported.
+ * </p>
+ * <p>
+ * The shared logger writes to the console and, if the {@value #FILE_PROPERTY}
+ * system property names a file, appends to that file too. The lowest level
+ * written is set with the {@value #LEVEL_PROPERTY} property, for example
+ * {@code -Dlog.level=debug}; it is {@link #INFO} by default.
+ * </p>
+ */
+public final class Log {
+
+    /** The level of detail only useful while tracking down a problem. */
+    public static final int DEBUG = 0;
+    /** The level of normal events, such as a track starting. */
+    public static final int INFO = 1;
+    /** The level of problems the game works around, such as a missing image. */
+    public static final int WARN = 2;
+    /** The level of failures, such as a save that could not be written. */
+    public static final int ERROR = 3;
+
+    /** The system property setting the lowest level the shared logger writes. */
+    public static final String LEVEL_PROPERTY = "log.level";
+    /** The system property naming a file the shared logger also appends to. */
+    public static final String FILE_PROPERTY = "log.file";
+    /** The number of messages the shared logger can hold before dropping them. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /** The names of the levels, padded to the same width, by level. */
+    private static final String[] LEVEL_NAMES = {"DEBUG", "INFO ", "WARN ", "ERROR"};
+    /** How long the writer sleeps when there is nothing to write. */
+    private static final long IDLE_NANOS = 2_000_000L;
+    /** Marks the argument that was given as a {@code long}, kept in {@link #numbers}. */
+    private static final Object NUMBER = new Object();
+
+    /**
+     * Somewhere formatted messages are written to. Sinks are only called from
+     * the logger's writer thread.
+     */
+    public interface Sink {
+
+        /**
+         * Writes one formatted message. It may be held back until {@link #flush()}.
+         *
+         * @param level The message's level.
+         * @param line  The message without a line break; only valid during the call.
+         * @throws IOException if the message cannot be written.
+         */
+        void write(int level, CharSequence line) throws IOException;
+
+        /**
+         * Writes out everything held back, at the end of each batch.
+         *
+         * @throws IOException if the messages cannot be written.
+         */
+        void flush() throws IOException;
+    }
+
+    /**
+     * Writes messages to standard output, and warnings and errors to standard
+     * error, one print per stream per batch.
+     */
+    public static final class ConsoleSink implements Sink {
+
+        /** The batch for standard output. */
+        private final StringBuilder out = new StringBuilder();
+        /** The batch for standard error. */
+        private final StringBuilder err = new StringBuilder();
+
+        @Override
+        public void write(int level, CharSequence line) {
+            (level >= WARN ? err : out).append(line).append(System.lineSeparator());
+        }
+
+        @Override
+        public void flush() {
+            if (out.length() > 0) {
+                System.out.append(out).flush();
+                out.setLength(0);
+            }
+            if (err.length() > 0) {
+                System.err.append(err).flush();
+                err.setLength(0);
+            }
+        }
+    }
+
+    /**
+     * Appends messages to a file, creating it if needed.
+     */
+    public static final class FileSink implements Sink {
+
+        /** The open file. */
+        private final BufferedWriter writer;
+
+        /**
+         * Opens a file to append to.
+         *
+         * @param path The file.
+         * @throws IOException if the file cannot be opened.
+         */
+        public FileSink(Path path) throws IOException {
+            Path folder = path.toAbsolutePath().getParent();
+            if (folder != null) {
+                Files.createDirectories(folder);
+            }
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                                             StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+
+        @Override
+        public void write(int level, CharSequence line) throws IOException {
+            writer.append(line).append(System.lineSeparator());
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /** Holds the shared logger, created the first time it is used. */
+    private static final class Shared {
+
+        /** The shared logger. */
+        private static final Log LOG = createShared();
+    }
+
+    /** Masks a position down to a slot index; the capacity is a power of two. */
+    private final int mask;
+    /**
+     * The state of each slot: equal to the position that may claim it while
+     * free, one more once that position's message is published.
+     */
+    private final AtomicLongArray sequences;
+    /** The level of the message in each slot. */
+    private final int[] levels;
+    /** When the message in each slot was logged, in milliseconds since the epoch. */
+    private final long[] times;
+    /** The thread that logged the message in each slot. */
+    private final String[] threads;
+    /** The template of the message in each slot. */
+    private final String[] templates;
+    /** The first argument of the message in each slot, or null. */
+    private final Object[] firsts;
+    /** The second argument of the message in each slot, or null. */
+    private final Object[] seconds;
+    /** The {@code long} argument of the message in each slot, if it has one. */
+    private final long[] numbers;
+
+    /** The next position to claim; written by every logging thread. */
+    private final AtomicLong tail = new AtomicLong();
+    /** The next position to write out; only used by the writer thread. */
+    private long head;
+    /** The position up to which messages have been written and flushed. */
+    private volatile long flushed;
+    /** The number of messages dropped because the buffer was full. */
+    private final AtomicLong dropped = new AtomicLong();
+    /** The number of dropped messages already reported. */
+    private long reportedDropped;
+
+    /** Where messages are written. */
+    private final Sink[] sinks;
+    /** The lowest level written. */
+    private volatile int level;
+    /** Cleared to stop the writer once everything queued is written. */
+    private volatile boolean running = true;
+    /** The thread formatting and writing messages. */
+    private final Thread writer;
+    /** The line being formatted; only used by the writer thread. */
+    private final StringBuilder line = new StringBuilder(256);
+    /** The time zone times are written in. */
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    /**
+     * Creates a logger and starts its writer thread.
+     *
+     * @param capacity The number of messages that can wait to be written;
+     *                 rounded up to a power of two.
+     * @param level    The lowest level written, such as {@link #INFO}.
+     * @param sinks    Where messages are written.
+     */
+    public Log(int capacity, int level, Sink... sinks) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        mask = size - 1;
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        levels = new int[size];
+        times = new long[size];
+        threads = new String[size];
+        templates = new String[size];
+        firsts = new Object[size];
+        seconds = new Object[size];
+        numbers = new long[size];
+        this.sinks = sinks.clone();
+        this.level = level;
+        writer = new Thread(this::run, "log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Returns the logger shared by the whole game.
+     *
+     * @return The shared logger.
+     */
+    public static Log get() {
+        return Shared.LOG;
+    }
+
+    /**
+     * Creates the shared logger from the system properties and makes sure
+     * it is written out when the game exits.
+     *
+     * @return The shared logger.
+     */
+    private static Log createShared() {
+        int level = parseLevel(System.getProperty(LEVEL_PROPERTY));
+        String file = System.getProperty(FILE_PROPERTY);
+        Sink[] sinks = {new ConsoleSink()};
+        if (file != null && !file.isBlank()) {
+            try {
+                sinks = new Sink[] {sinks[0], new FileSink(Paths.get(file))};
+            } catch (IOException e) {
+                System.err.println("Could not open log file " + file + ": " + e.getMessage());
+            }
+        }
+        Log log = new Log(DEFAULT_CAPACITY, level, sinks);
+        Runtime.getRuntime().addShutdownHook(new Thread(log::close, "log-shutdown"));
+        return log;
+    }
+
+    /**
+     * Reads a level name, ignoring case.
+     *
+     * @param name The name, such as "debug", or null.
+     * @return The level, or {@link #INFO} if the name is not a level.
+     */
+    static int parseLevel(String name) {
+        if (name != null) {
+            for (int i = 0; i < LEVEL_NAMES.length; i++) {
+                if (LEVEL_NAMES[i].trim().equalsIgnoreCase(name.trim())) {
+                    return i;
+                }
+            }
+        }
+        return INFO;
+    }
+
+    /**
+     * Logs a message at {@link #DEBUG} level to the shared logger.
+     *
+     * @param message The message.
+     */
+    public static void debug(String message) {
+        get().log(DEBUG, message, null, null);
+    }
+
+    /**
+     * Logs a message at {@link #DEBUG} level to the shared logger.
+     *
+     * @param template The message, with a {@code {}} for the argument.
+     * @param first    The argument.
+     */
+    public static void debug(String template, Object first) {
+        get().log(DEBUG, template, first, null);
+    }
+
+    /**
+     * Logs a message at {@link #DEBUG} level to the shared logger.
+     *
+     * @param template The message, with a {@code {}} for each argument.
+     * @param first    The first argument.
+     * @param second   The second argument.
+     */
+    public static void debug(String template, Object first, Object second) {
+        get().log(DEBUG, template, first, second);
+    }
+
+    /**
+     * Logs a message at {@link #INFO} level to the shared logger.
+     *
+     * @param message The message.
+     */
+    public static void info(String message) {
+        get().log(INFO, message, null, null);
+    }
+
+    /**
+     * Logs a message at {@link #INFO} level to the shared logger.
+     *
+     * @param template The message, with a {@code {}} for the argument.
+     * @param first    The argument.
+     */
+    public static void info(String template, Object first) {
+        get().log(INFO, template, first, null);
+    }
+
+    /**
+     * Logs a message at {@link #INFO} level to the shared logger.
+     *
+     * @param template The message, with a {@code {}} for each argument.
+     * @param first    The first argument.
+     * @param second   The second argument.
+     */
+    public static void info(String template, Object first, Object second) {
+        get().log(INFO, template, first, second);
+    }
+
+    /**
+     * Logs a message with a number at {@link #INFO} level to the shared logger.
+     *
+     * @param template The message, with a {@code {}} for the number.
+     * @param number   The number.
+     */
+    public static void info(String template, long number) {
+        get().log(INFO, template, number);
+    }
+
+    /**
+     * Logs a message at {@link #WARN} level to the shared logger.
+     *
+     * @param message The message.
+     */
+    public static void warn(String message) {
+        get().log(WARN, message, null, null);
+    }
+
+    /**
+     * Logs a message at {@link #WARN} level to the shared logger.
+     *
+     * @param template The message, with a {@code {}} for the argument.
+     * @param first    The argument.
+     */
+    public static void warn(String template, Object first) {
+        get().log(WARN, template, first, null);
+    }
+
+    /**
+     * Logs a message at {@link #WARN} level to the shared logger.
+     *
+     * @param template The message, with a {@code {}} for each argument.
+     * @param first    The first argument.
+     * @param second   The second argument.
+     */
+    public static void warn(String template, Object first, Object second) {
+        get().log(WARN, template, first, second);
+    }
+
+    /**
+     * Logs a message at {@link #ERROR} level to the shared logger.
+     *
+     * @param message The message.
+     */
+    public static void error(String message) {
+        get().log(ERROR, message, null, null);
+    }
+
+    /**
+     * Logs a message at {@link #ERROR} level to the shared logger. If the
+     * argument is a {@link Throwable} with no placeholder for it, its stack
+     * trace is written.
+     *
+     * @param template The message, with a {@code {}} for the argument.
+     * @param first    The argument.
+     */
+    public static void error(String template, Object first) {
+        get().log(ERROR, template, first, null);
+    }
+
+    /**
+     * Logs a message at {@link #ERROR} level to the shared logger. If the
+     * second argument is a {@link Throwable} with no placeholder for it, its
+     * stack trace is written.
+     *
+     * @param template The message, with a {@code {}} for each argument.
+     * @param first    The first argument.
+     * @param second   The second argument.
+     */
+    public static void error(String template, Object first, Object second) {
+        get().log(ERROR, template, first, second);
+    }
+
+    /**
+     * Queues a message with up to two arguments.
+     *
+     * @param level    The message's level.
+     * @param template The message, with a {@code {}} for each argument.
+     * @param first    The first argument, or null.
+     * @param second   The second argument, or null.
+     * @return False if the message was below the level written or was dropped.
+     */
+    public boolean log(int level, String template, Object first, Object second) {
+        return level >= this.level && enqueue(level, template, first, second, 0);
+    }
+
+    /**
+     * Queues a message with a number.
+     *
+     * @param level    The message's level.
+     * @param template The message, with a {@code {}} for the number.
+     * @param number   The number.
+     * @return False if the message was below the level written or was dropped.
+     */
+    public boolean log(int level, String template, long number) {
+        return level >= this.level && enqueue(level, template, NUMBER, null, number);
+    }
+
+    /**
+     * Claims a slot, fills it and publishes it to the writer.
+     *
+     * @param level    The message's level.
+     * @param template The message.
+     * @param first    The first argument, {@link #NUMBER} or null.
+     * @param second   The second argument, or null.
+     * @param number   The number argument, if first is {@link #NUMBER}.
+     * @return False if the buffer was full and the message was dropped.
+     */
+    private boolean enqueue(int level, String template, Object first, Object second, long number) {
+        long position;
+        while (true) {
+            position = tail.get();
+            long free = sequences.get((int) position & mask) - position;
+            if (free == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (free < 0) {
+                dropped.incrementAndGet();
+                return false;
+            }
+            // Otherwise another thread claimed this position first; try the next one
+        }
+        int slot = (int) position & mask;
+        levels[slot] = level;
+        times[slot] = System.currentTimeMillis();
+        threads[slot] = Thread.currentThread().getName();
+        templates[slot] = template;
+        firsts[slot] = first;
+        seconds[slot] = second;
+        numbers[slot] = number;
+        sequences.set(slot, position + 1);
+        return true;
+    }
+
+    /**
+     * Sets the lowest level written from now on.
+     *
+     * @param level The level, such as {@link #DEBUG}.
+     */
+    public void setLevel(int level) {
+        this.level = level;
+    }
+
+    /**
+     * Returns the number of messages dropped so far because the writer could
+     * not keep up.
+     *
+     * @return The dropped message count.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Waits until every message queued before the call has been written and
+     * the sinks flushed, or the logger has been closed.
+     */
+    public void flush() {
+        long target = tail.get();
+        while (flushed < target && writer.isAlive()) {
+            LockSupport.parkNanos(100_000L);
+        }
+    }
+
+    /**
+     * Writes out everything queued and stops the writer thread. Messages
+     * logged afterwards are never written.
+     */
+    public void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes batches of messages until the logger is closed and nothing is left.
+     */
+    private void run() {
+        while (true) {
+            // Read the flag first so nothing published before close() is missed
+            boolean stopping = !running;
+            if (drain() > 0) {
+                flushSinks();
+                flushed = head;
+            } else if (stopping) {
+                return;
+            } else {
+                LockSupport.parkNanos(IDLE_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Formats and writes every published message.
+     *
+     * @return The number of messages written, counting a dropped-message report.
+     */
+    private int drain() {
+        int written = 0;
+        long position = head;
+        while (true) {
+            int slot = (int) position & mask;
+            if (sequences.get(slot) != position + 1) {
+                break;
+            }
+            int level = levels[slot];
+            format(level, times[slot], threads[slot], templates[slot], firsts[slot], seconds[slot], numbers[slot]);
+            templates[slot] = null;
+            firsts[slot] = null;
+            seconds[slot] = null;
+            threads[slot] = null;
+            // Free the slot before writing, so a slow sink holds up logging as little as possible
+            sequences.set(slot, position + mask + 1);
+            position++;
+            write(level);
+            written++;
+        }
+        long lost = dropped.get();
+        if (lost != reportedDropped) {
+            prefix(WARN, System.currentTimeMillis(), writer.getName());
+            line.append(lost - reportedDropped).append(" log messages were dropped because the log fell behind");
+            reportedDropped = lost;
+            write(WARN);
+            written++;
+        }
+        head = position;
+        return written;
+    }
+
+    /**
+     * Formats a message into {@link #line}.
+     *
+     * @param level    The level.
+     * @param time     When it was logged, in milliseconds since the epoch.
+     * @param thread   The thread that logged it.
+     * @param template The template.
+     * @param first    The first argument, {@link #NUMBER} or null.
+     * @param second   The second argument, or null.
+     * @param number   The number argument, if first is {@link #NUMBER}.
+     */
+    private void format(int level, long time, String thread, String template,
+                        Object first, Object second, long number) {
+        prefix(level, time, thread);
+
+        int used = 0;
+        int start = 0;
+        for (int i = template.indexOf("{}"); i >= 0 && used < 2; i = template.indexOf("{}", start)) {
+            line.append(template, start, i);
+            Object argument = used == 0 ? first : second;
+            if (argument == NUMBER) {
+                line.append(number);
+            } else {
+                line.append(argument);
+            }
+            used++;
+            start = i + 2;
+        }
+        line.append(template, start, template.length());
+
+        Object rest = used == 0 ? (first != null ? first : second) : used == 1 ? second : null;
+        if (rest instanceof Throwable) {
+            StringWriter trace = new StringWriter();
+            ((Throwable) rest).printStackTrace(new PrintWriter(trace));
+            line.append(System.lineSeparator()).append(trace.toString().stripTrailing());
+        }
+    }
+
+    /**
+     * Starts {@link #line} with a message's time, level and thread.
+     *
+     * @param level  The level.
+     * @param time   When it was logged, in milliseconds since the epoch.
+     * @param thread The thread that logged it.
+     */
+    private void prefix(int level, long time, String thread) {
+        line.setLength(0);
+        LocalTime clock = LocalTime.ofInstant(Instant.ofEpochMilli(time), zone);
+        pad(clock.getHour(), 2).append(':');
+        pad(clock.getMinute(), 2).append(':');
+        pad(clock.getSecond(), 2).append('.');
+        pad(clock.getNano() / 1_000_000, 3).append(' ');
+        line.append(LEVEL_NAMES[level]).append(" [").append(thread).append("] ");
+    }
+
+    /**
+     * Appends a number to {@link #line} padded with zeros.
+     *
+     * @param value  The number.
+     * @param digits The width to pad to.
+     * @return The line.
+     */
+    private StringBuilder pad(int value, int digits) {
+        for (int limit = 10; --digits > 0; limit *= 10) {
+            if (value < limit) {
+                line.append('0');
+            }
+        }
+        return line.append(value);
+    }
+
+    /**
+     * Writes {@link #line} to every sink.
+     *
+     * @param level The message's level.
+     */
+    private void write(int level) {
+        for (Sink sink : sinks) {
+            try {
+                sink.write(level, line);
+            } catch (IOException e) {
+                System.err.println("Could not write log message: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Flushes every sink at the end of a batch.
+     */
+    private void flushSinks() {
+        for (Sink sink : sinks) {
+            try {
+                sink.flush();
+            } catch (IOException e) {
+                System.err.println("Could not write log messages: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,373 @@
+package group44.Minigames;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ * Plays a minigame course by searching over the player's inputs, to find out
+ * whether the course generated from a seed can be survived at all and how far
+ * a perfect player gets.
+ * <p>
+ * The search is a beam search over decision points a few ticks apart. At each
+ * one, every surviving candidate is branched once for doing nothing and once
+ * for each input that would have an effect, using
+ * {@link MinigameSimulation#copyFrom(MinigameSimulation)}, and each branch is
+ * stepped to the next decision point. Branches that crashed are dropped,
+ * branches that ended up in the same place moving at the same speed are merged,
+ * and if more remain than the beam holds, the ones most different in height
+ * and speed are kept so the beam does not collapse onto one line.
+ * If every branch crashes before the horizon, the course is counted as
+ * impossible. Finer decision points or a wider beam find more escapes at a
+ * higher cost, so "impossible" means impossible at that resolution.
+ * </p>
+ * <p>
+ * An AutoPlayer reuses its simulations between seeds and is not thread-safe;
+ * {@link #survey} gives every worker thread its own.
+ * </p>
+ */
+public class AutoPlayer {
+
+    /** The number of candidates kept between decision points by default. */
+    public static final int DEFAULT_BEAM_WIDTH = 12;
+    /** The number of ticks between two decision points by default. */
+    public static final int DEFAULT_DECISION_TICKS = 6;
+    /** How many ticks a course must be survived for by default: 30 seconds of play. */
+    public static final int DEFAULT_HORIZON = 30 * 60;
+
+    /** How many pixels of height one pixel per tick of vertical speed counts as when comparing branches. */
+    private static final double VELOCITY_WEIGHT = 10;
+
+    /** The number of seeds each task of a {@link #survey} plays before it stops splitting. */
+    private static final int SEEDS_PER_TASK = 64;
+
+    /** The number of candidates kept between decision points. */
+    private final int beamWidth;
+    /** The number of ticks between two decision points. */
+    private final int decisionTicks;
+    /** The tick a course must be survived until to count as passable. */
+    private final int horizon;
+    /** The inputs tried at each decision point; 0 means doing nothing. */
+    private final int[] actions;
+
+    /** The candidates surviving at the current decision point. */
+    private final MinigameSimulation[] beam;
+    /** The number of valid entries in {@link #beam}. */
+    private int beamSize;
+    /** The branches grown from the beam for the next decision point. */
+    private final MinigameSimulation[] children;
+    /** The merge key of each surviving branch in {@link #children}. */
+    private final long[] keys;
+    /** Indices into {@link #children}, sorted by {@link #keys}, then with the picks first. */
+    private final int[] order;
+    /** The distance from each unpicked branch in {@link #order} to the nearest pick. */
+    private final double[] distances;
+
+    /**
+     * The outcome of playing one course.
+     */
+    public static final class Outcome {
+
+        /** Whether some sequence of inputs survives to the horizon. */
+        private final boolean passable;
+        /** The highest score any explored branch reached. */
+        private final int bestScore;
+        /** The furthest tick any branch reached. */
+        private final int ticks;
+
+        /**
+         * Creates an outcome.
+         *
+         * @param passable  Whether the course can be survived to the horizon.
+         * @param bestScore The highest score reached.
+         * @param ticks     The furthest tick reached.
+         */
+        private Outcome(boolean passable, int bestScore, int ticks) {
+            this.passable = passable;
+            this.bestScore = bestScore;
+            this.ticks = ticks;
+        }
+
+        /**
+         * Returns whether some sequence of inputs survives to the horizon.
+         *
+         * @return False if the search found the course impossible.
+         */
+        public boolean isPassable() {
+            return passable;
+        }
+
+        /**
+         * Returns the highest score any explored branch reached.
+         *
+         * @return The best score.
+         */
+        public int getBestScore() {
+            return bestScore;
+        }
+
+        /**
+         * Returns the furthest tick any branch reached.
+         *
+         * @return The tick count.
+         */
+        public int getTicks() {
+            return ticks;
+        }
+    }
+
+    /**
+     * Creates an autoplayer for a minigame with the default search settings.
+     *
+     * @param game The simulation's name, such as "flying-300".
+     * @throws IllegalArgumentException if the name is not a known minigame.
+     */
+    public AutoPlayer(String game) {
+        this(() -> HeadlessRunner.create(game), DEFAULT_BEAM_WIDTH, DEFAULT_DECISION_TICKS, DEFAULT_HORIZON);
+    }
+
+    /**
+     * Creates an autoplayer.
+     *
+     * @param factory       Creates the simulations to search with; all must have the same settings.
+     * @param beamWidth     The number of candidates kept between decision points.
+     * @param decisionTicks The number of ticks between two decision points.
+     * @param horizon       The tick a course must be survived until to count as passable.
+     * @throws IllegalArgumentException if a setting is not positive.
+     */
+    public AutoPlayer(Supplier<MinigameSimulation> factory, int beamWidth, int decisionTicks, int horizon) {
+        if (beamWidth < 1 || decisionTicks < 1 || horizon < 1) {
+            throw new IllegalArgumentException("Search settings must be positive");
+        }
+        this.beamWidth = beamWidth;
+        this.decisionTicks = decisionTicks;
+        this.horizon = horizon;
+
+        MinigameSimulation first = factory.get();
+        int[] inputs = first.getInputActions();
+        actions = new int[inputs.length + 1];
+        System.arraycopy(inputs, 0, actions, 1, inputs.length);
+
+        beam = new MinigameSimulation[beamWidth];
+        beam[0] = first;
+        for (int i = 1; i < beamWidth; i++) {
+            beam[i] = factory.get();
+        }
+        int maxChildren = beamWidth * actions.length;
+        children = new MinigameSimulation[maxChildren];
+        for (int i = 0; i < maxChildren; i++) {
+            children[i] = factory.get();
+        }
+        keys = new long[maxChildren];
+        order = new int[maxChildren];
+        distances = new double[maxChildren];
+    }
+
+    /**
+     * Searches the course generated from a seed.
+     *
+     * @param seed The seed of the course.
+     * @return Whether the course is passable and the best score found.
+     */
+    public Outcome play(long seed) {
+        beam[0].reset(seed);
+        beamSize = 1;
+        int bestScore = 0;
+        int furthest = 0;
+
+        while (beamSize > 0) {
+            if (beam[0].getTick() >= horizon) {
+                return new Outcome(true, bestScore, beam[0].getTick());
+            }
+
+            // Branch every candidate once per input and run each branch to the next decision point
+            int survivors = 0;
+            for (int b = 0; b < beamSize; b++) {
+                for (int action : actions) {
+                    if (action != 0 && !beam[b].acceptsInput(action)) {
+                        // Would play out exactly like doing nothing
+                        continue;
+                    }
+                    MinigameSimulation child = children[survivors];
+                    child.copyFrom(beam[b]);
+                    if (action != 0) {
+                        child.applyInput(action);
+                    }
+                    for (int t = 0; t < decisionTicks && !child.isGameOver(); t++) {
+                        child.step();
+                    }
+                    bestScore = Math.max(bestScore, child.getScore());
+                    furthest = Math.max(furthest, child.getTick());
+                    if (!child.isGameOver()) {
+                        keys[survivors] = mergeKey(child);
+                        survivors++;
+                    }
+                }
+            }
+            beamSize = selectBeam(survivors);
+        }
+        return new Outcome(false, bestScore, furthest);
+    }
+
+    /**
+     * Merges branches in the same state and moves up to {@link #beamWidth} of
+     * them into the beam. When there are more, they are picked one at a time,
+     * each time taking the branch furthest from every branch already picked,
+     * so the beam stays spread over heights and speeds instead of filling up
+     * with near-identical arcs.
+     *
+     * @param survivors The number of surviving branches in {@link #children}.
+     * @return The new beam size.
+     */
+    private int selectBeam(int survivors) {
+        // Insertion sort; there are only a few dozen branches
+        for (int i = 0; i < survivors; i++) {
+            int j = i - 1;
+            while (j >= 0 && keys[order[j]] > keys[i]) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = i;
+        }
+        int unique = 0;
+        for (int i = 0; i < survivors; i++) {
+            if (i == 0 || keys[order[i]] != keys[order[unique - 1]]) {
+                order[unique++] = order[i];
+            }
+        }
+
+        int kept = Math.min(unique, beamWidth);
+        if (unique > beamWidth) {
+            // Start from the lowest branch, which is usually the one resting on the ground or surface
+            pick(unique - 1, 0);
+            for (int u = 1; u < unique; u++) {
+                distances[u] = distance(children[order[u]], children[order[0]]);
+            }
+            for (int picked = 1; picked < kept; picked++) {
+                int furthest = picked;
+                for (int u = picked + 1; u < unique; u++) {
+                    if (distances[u] > distances[furthest]) {
+                        furthest = u;
+                    }
+                }
+                pick(furthest, picked);
+                MinigameSimulation latest = children[order[picked]];
+                for (int u = picked + 1; u < unique; u++) {
+                    distances[u] = Math.min(distances[u], distance(children[order[u]], latest));
+                }
+            }
+        }
+
+        for (int i = 0; i < kept; i++) {
+            // Each pick is a different child, so swapping never disturbs a later one
+            int child = order[i];
+            MinigameSimulation chosen = children[child];
+            children[child] = beam[i];
+            beam[i] = chosen;
+        }
+        return kept;
+    }
+
+    /**
+     * Moves a branch to the front part of {@link #order} holding the picks.
+     *
+     * @param from The branch's position in {@link #order}.
+     * @param to   The position of the next pick.
+     */
+    private void pick(int from, int to) {
+        int child = order[from];
+        order[from] = order[to];
+        order[to] = child;
+        double distance = distances[from];
+        distances[from] = distances[to];
+        distances[to] = distance;
+    }
+
+    /**
+     * Returns how different two branches are, in pixels of height plus
+     * {@link #VELOCITY_WEIGHT} pixels per pixel-per-tick of vertical speed.
+     *
+     * @param a One branch.
+     * @param b The other branch.
+     * @return The distance between them.
+     */
+    private static double distance(MinigameSimulation a, MinigameSimulation b) {
+        return Math.abs(a.getPetY() - b.getPetY())
+            + VELOCITY_WEIGHT * Math.abs(a.getPetVelocity() - b.getPetVelocity());
+    }
+
+    /**
+     * Returns a key that is equal for branches close enough in height and
+     * vertical speed to count as the same state.
+     *
+     * @param simulation The branch.
+     * @return The merge key.
+     */
+    private static long mergeKey(MinigameSimulation simulation) {
+        long height = Math.round(simulation.getPetY() * 2);
+        long velocity = Math.round(simulation.getPetVelocity() * 8);
+        return (height << 20) + velocity;
+    }
+
+    /**
+     * Searches many consecutive seeds in parallel.
+     *
+     * @param game      The simulation's name, such as "flying-300".
+     * @param firstSeed The first seed.
+     * @param count     The number of seeds.
+     * @param pool      The pool to run on.
+     * @return The outcome for every seed.
+     * @throws IllegalArgumentException if the name is not a known minigame.
+     */
+    public static CourseSurvey survey(String game, long firstSeed, int count, ForkJoinPool pool) {
+        HeadlessRunner.create(game); // fail fast on an unknown name, before any worker starts
+        CourseSurvey survey = new CourseSurvey(game, firstSeed, count);
+        pool.invoke(new SurveyTask(survey, 0, count));
+        return survey;
+    }
+
+    /**
+     * Plays a range of a survey's seeds, splitting it in half while it is large.
+     */
+    private static final class SurveyTask extends RecursiveAction {
+
+        /** Version of the serialized form inherited from {@link RecursiveAction}. */
+        private static final long serialVersionUID = 1L;
+
+        /** The survey the results go into. */
+        private final CourseSurvey survey;
+        /** The first index of the range. */
+        private final int from;
+        /** One past the last index of the range. */
+        private final int to;
+
+        /**
+         * Creates a task for a range of seeds.
+         *
+         * @param survey The survey the results go into.
+         * @param from   The first index of the range.
+         * @param to     One past the last index of the range.
+         */
+        SurveyTask(CourseSurvey survey, int from, int to) {
+            this.survey = survey;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Plays the range, or splits it and plays both halves in parallel.
+         */
+        @Override
+        protected void compute() {
+            if (to - from <= SEEDS_PER_TASK) {
+                AutoPlayer player = new AutoPlayer(survey.getGame());
+                for (int i = from; i < to; i++) {
+                    survey.record(i, player.play(survey.getFirstSeed() + i));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SurveyTask(survey, from, middle), new SurveyTask(survey, middle, to));
+        }
+    }
+}
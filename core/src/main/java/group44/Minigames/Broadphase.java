@@ -0,0 +1,246 @@
+package group44.Minigames;
+
+/**
+ * Narrows down which minigame entities could be touching the pet before any
+ * exact box test is done. Every minigame scrolls its world horizontally, so the
+ * only entities worth testing are the ones overlapping the pet's x range. While
+ * an {@link EntityBuffer} is in left-to-right order (the normal case) those are
+ * found with a binary search followed by a short scan; otherwise every entity
+ * is checked against the x range as a fallback.
+ * <p>
+ * Query results go into a reused index array, so a query allocates nothing
+ * once the array has grown to the largest result seen. The class also counts
+ * queries, candidates and exact tests per frame, so the cost of collision
+ * checks can be watched as a course gets busier.
+ * </p>
+ */
+public class Broadphase {
+
+    /** Indices of the entities found by the last query. */
+    private int[] candidates = new int[16];
+
+    /** The number of valid entries in {@link #candidates}. */
+    private int candidateCount;
+
+    /** Queries run since the current frame began. */
+    private int queries;
+    /** Candidates returned since the current frame began. */
+    private int candidatesFound;
+    /** Exact box tests run since the current frame began. */
+    private int narrowphaseTests;
+    /** Exact box tests that found an overlap since the current frame began. */
+    private int hits;
+
+    /** Queries run during the last completed frame. */
+    private int lastQueries;
+    /** Candidates returned during the last completed frame. */
+    private int lastCandidates;
+    /** Exact box tests run during the last completed frame. */
+    private int lastNarrowphaseTests;
+    /** Exact box tests that found an overlap during the last completed frame. */
+    private int lastHits;
+
+    /**
+     * Finds every entity whose horizontal extent overlaps {@code [left, right]}.
+     * Retrieve the results with {@link #candidate(int)}; they are replaced by
+     * the next query.
+     *
+     * @param buffer    The entities to search.
+     * @param left      The left edge of the range, usually the pet's left edge.
+     * @param right     The right edge of the range, usually the pet's right edge.
+     * @param skipFlags Entities with any of these flags set are left out, for
+     *                  example {@link EntityBuffer#COLLECTED} coins.
+     * @return The number of candidates found.
+     */
+    public int query(EntityBuffer buffer, double left, double right, int skipFlags) {
+        queries++;
+        candidateCount = 0;
+        int size = buffer.size();
+        if (buffer.isSortedByX()) {
+            // Nothing that starts further left than this can reach the range
+            int i = buffer.firstIndexAtOrRightOf(left - buffer.maxWidth());
+            for (; i < size && buffer.x(i) <= right; i++) {
+                if (buffer.right(i) >= left && !buffer.hasAnyFlag(i, skipFlags)) {
+                    addCandidate(i);
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                if (buffer.x(i) <= right && buffer.right(i) >= left && !buffer.hasAnyFlag(i, skipFlags)) {
+                    addCandidate(i);
+                }
+            }
+        }
+        candidatesFound += candidateCount;
+        return candidateCount;
+    }
+
+    /**
+     * Returns one result of the last query.
+     *
+     * @param k The result number, from 0 to the count returned by {@link #query}.
+     * @return The entity's index in its buffer.
+     * @throws IndexOutOfBoundsException if {@code k} is not a valid result number.
+     */
+    public int candidate(int k) {
+        if (k < 0 || k >= candidateCount) {
+            throw new IndexOutOfBoundsException("Candidate " + k + " out of bounds for count " + candidateCount);
+        }
+        return candidates[k];
+    }
+
+    /**
+     * Checks whether two boxes overlap. Boxes that only touch along an edge
+     * do not count, matching the checks the minigames used before.
+     *
+     * @param left1   The first box's left edge.
+     * @param top1    The first box's top edge.
+     * @param right1  The first box's right edge.
+     * @param bottom1 The first box's bottom edge.
+     * @param left2   The second box's left edge.
+     * @param top2    The second box's top edge.
+     * @param right2  The second box's right edge.
+     * @param bottom2 The second box's bottom edge.
+     * @return True if the boxes overlap.
+     */
+    public boolean intersects(double left1, double top1, double right1, double bottom1,
+                              double left2, double top2, double right2, double bottom2) {
+        narrowphaseTests++;
+        boolean hit = left1 < right2 && right1 > left2 && top1 < bottom2 && bottom1 > top2;
+        if (hit) {
+            hits++;
+        }
+        return hit;
+    }
+
+    /**
+     * Checks whether an entity's box overlaps the given box.
+     *
+     * @param buffer The buffer holding the entity.
+     * @param index  The entity's index in spawn order.
+     * @param left   The box's left edge.
+     * @param top    The box's top edge.
+     * @param right  The box's right edge.
+     * @param bottom The box's bottom edge.
+     * @return True if they overlap.
+     */
+    public boolean intersects(EntityBuffer buffer, int index, double left, double top, double right, double bottom) {
+        double y = buffer.y(index);
+        return intersects(buffer.x(index), y, buffer.right(index), y + buffer.height(index),
+            left, top, right, bottom);
+    }
+
+    /**
+     * Checks whether a box moving in a straight line overlaps an entity at any
+     * point of its move, using {@link Sweep#timeOfImpact}. The motion should be
+     * relative to the entity, so a pet falling past an obstacle that scrolls left
+     * moves right and down.
+     *
+     * @param buffer The buffer holding the entity.
+     * @param index  The entity's index in spawn order.
+     * @param left   The moving box's left edge at the start of the move.
+     * @param top    The moving box's top edge at the start of the move.
+     * @param right  The moving box's right edge at the start of the move.
+     * @param bottom The moving box's bottom edge at the start of the move.
+     * @param dx     How far the box moves horizontally, relative to the entity.
+     * @param dy     How far the box moves vertically, relative to the entity.
+     * @return True if they overlap at some point during the move.
+     */
+    public boolean sweptIntersects(EntityBuffer buffer, int index, double left, double top, double right, double bottom,
+                                   double dx, double dy) {
+        double y = buffer.y(index);
+        return sweptIntersects(left, top, right, bottom, dx, dy,
+            buffer.x(index), y, buffer.right(index), y + buffer.height(index));
+    }
+
+    /**
+     * Checks whether a moving box overlaps a still box at any point of its move.
+     *
+     * @param left        The moving box's left edge at the start of the move.
+     * @param top         The moving box's top edge at the start of the move.
+     * @param right       The moving box's right edge at the start of the move.
+     * @param bottom      The moving box's bottom edge at the start of the move.
+     * @param dx          How far the box moves horizontally.
+     * @param dy          How far the box moves vertically.
+     * @param otherLeft   The still box's left edge.
+     * @param otherTop    The still box's top edge.
+     * @param otherRight  The still box's right edge.
+     * @param otherBottom The still box's bottom edge.
+     * @return True if they overlap at some point during the move.
+     */
+    public boolean sweptIntersects(double left, double top, double right, double bottom, double dx, double dy,
+                                   double otherLeft, double otherTop, double otherRight, double otherBottom) {
+        narrowphaseTests++;
+        boolean hit = Sweep.timeOfImpact(left, top, right, bottom, dx, dy,
+            otherLeft, otherTop, otherRight, otherBottom) != Sweep.NO_HIT;
+        if (hit) {
+            hits++;
+        }
+        return hit;
+    }
+
+    /**
+     * Starts counting a new frame. The counts gathered so far become the
+     * last-frame values returned by the getters.
+     */
+    public void beginFrame() {
+        lastQueries = queries;
+        lastCandidates = candidatesFound;
+        lastNarrowphaseTests = narrowphaseTests;
+        lastHits = hits;
+        queries = 0;
+        candidatesFound = 0;
+        narrowphaseTests = 0;
+        hits = 0;
+    }
+
+    /**
+     * Returns how many queries ran during the last completed frame.
+     *
+     * @return The query count.
+     */
+    public int getQueries() {
+        return lastQueries;
+    }
+
+    /**
+     * Returns how many candidates queries returned during the last completed frame.
+     *
+     * @return The candidate count.
+     */
+    public int getCandidates() {
+        return lastCandidates;
+    }
+
+    /**
+     * Returns how many exact box tests ran during the last completed frame.
+     *
+     * @return The narrowphase test count.
+     */
+    public int getNarrowphaseTests() {
+        return lastNarrowphaseTests;
+    }
+
+    /**
+     * Returns how many exact box tests found an overlap during the last completed frame.
+     *
+     * @return The hit count.
+     */
+    public int getHits() {
+        return lastHits;
+    }
+
+    /**
+     * Appends an index to the result array, growing it if needed.
+     *
+     * @param index The entity's index in spawn order.
+     */
+    private void addCandidate(int index) {
+        if (candidateCount == candidates.length) {
+            int[] larger = new int[candidates.length << 1];
+            System.arraycopy(candidates, 0, larger, 0, candidateCount);
+            candidates = larger;
+        }
+        candidates[candidateCount++] = index;
+    }
+}
@@ -0,0 +1,161 @@
+package group44.Minigames;
+
+import java.util.Arrays;
+
+/**
+ * A stretch of an endless course: every entity spawned during a fixed run of
+ * ticks, with where it appeared and on which tick. Chunks are made ahead of
+ * time by a {@link CourseGenerator} and replayed into a simulation by
+ * {@link MinigameSimulation} as its ticks come round, so the simulation ends
+ * up with exactly the entities it would have spawned itself.
+ * <p>
+ * A chunk is immutable once made and can be handed between threads freely.
+ * </p>
+ */
+public final class CourseChunk {
+
+    /** The position of this chunk in its course, counted from 0. */
+    private final int index;
+    /** The first spawn time the chunk covers. */
+    private final int startTime;
+    /** One past the last spawn time the chunk covers. */
+    private final int endTime;
+    /** The tick after which each entity appears, in spawn order. */
+    private final int[] times;
+    /** The layer each entity belongs to, such as {@link MinigameSimulation#LAYER_COINS}. */
+    private final int[] layers;
+    /** The left edge of each entity when it appeared. */
+    private final double[] xs;
+    /** The top edge or game-specific y value of each entity. */
+    private final double[] ys;
+    /** The width of each entity. */
+    private final double[] widths;
+    /** The height of each entity. */
+    private final double[] heights;
+
+    /**
+     * Creates a chunk from the first {@code count} entries of the given arrays,
+     * which are copied.
+     *
+     * @param index     The position of this chunk in its course.
+     * @param startTime The first spawn time the chunk covers.
+     * @param endTime   One past the last spawn time the chunk covers.
+     * @param count     The number of entities.
+     * @param times     The spawn time of each entity.
+     * @param layers    The layer of each entity.
+     * @param xs        The left edge of each entity.
+     * @param ys        The y value of each entity.
+     * @param widths    The width of each entity.
+     * @param heights   The height of each entity.
+     */
+    CourseChunk(int index, int startTime, int endTime, int count, int[] times, int[] layers,
+                double[] xs, double[] ys, double[] widths, double[] heights) {
+        this.index = index;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.times = Arrays.copyOf(times, count);
+        this.layers = Arrays.copyOf(layers, count);
+        this.xs = Arrays.copyOf(xs, count);
+        this.ys = Arrays.copyOf(ys, count);
+        this.widths = Arrays.copyOf(widths, count);
+        this.heights = Arrays.copyOf(heights, count);
+    }
+
+    /**
+     * Returns the position of this chunk in its course.
+     *
+     * @return The chunk index, counted from 0.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the first spawn time the chunk covers. Entities spawned while a
+     * run starts have time 0; those spawned during a tick have the tick count
+     * that tick ends on.
+     *
+     * @return The first spawn time.
+     */
+    public int getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Returns one past the last spawn time the chunk covers; the next chunk starts here.
+     *
+     * @return The end time.
+     */
+    public int getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * Returns the number of entities in the chunk.
+     *
+     * @return The entity count.
+     */
+    public int size() {
+        return times.length;
+    }
+
+    /**
+     * Returns the spawn time of an entity.
+     *
+     * @param index The entity's index in spawn order.
+     * @return The tick count after which it appears.
+     */
+    public int time(int index) {
+        return times[index];
+    }
+
+    /**
+     * Returns the layer an entity belongs to.
+     *
+     * @param index The entity's index in spawn order.
+     * @return A layer such as {@link MinigameSimulation#LAYER_OBSTACLES}.
+     */
+    public int layer(int index) {
+        return layers[index];
+    }
+
+    /**
+     * Returns the left edge of an entity when it appeared.
+     *
+     * @param index The entity's index in spawn order.
+     * @return The entity's x.
+     */
+    public double x(int index) {
+        return xs[index];
+    }
+
+    /**
+     * Returns the top edge, or game-specific y value, of an entity.
+     *
+     * @param index The entity's index in spawn order.
+     * @return The entity's y.
+     */
+    public double y(int index) {
+        return ys[index];
+    }
+
+    /**
+     * Returns the width of an entity.
+     *
+     * @param index The entity's index in spawn order.
+     * @return The entity's width.
+     */
+    public double width(int index) {
+        return widths[index];
+    }
+
+    /**
+     * Returns the height of an entity.
+     *
+     * @param index The entity's index in spawn order.
+     * @return The entity's height.
+     */
+    public double height(int index) {
+        return heights[index];
+    }
+}
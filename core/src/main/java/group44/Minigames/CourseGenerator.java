@@ -0,0 +1,175 @@
+package group44.Minigames;
+
+import group44.Log;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Generates an endless course one {@link CourseChunk} at a time, by running a
+ * simulation of the same minigame with no pet in it: only its entities scroll
+ * and spawn, and every spawn is recorded. A minigame's spawns depend only on
+ * its seed and on the entities already in play, never on the pet, so the
+ * chunks hold exactly what a full simulation from the same seed would spawn.
+ * <p>
+ * Before a chunk is handed out, every spawn in it is checked against the
+ * minigame's {@link ReachEnvelope} at the chunk's speed through
+ * {@link MinigameSimulation#isPassable(int)}. A chunk that fails the check is
+ * rolled back and generated again from a seed of its own, up to
+ * {@link #MAX_ATTEMPTS} times. The spawning rules are meant to make this
+ * never happen, so a rejected chunk is logged as a bug in them.
+ * </p>
+ * <p>
+ * A generator is not thread-safe; a {@link CourseStreamer} runs one on a
+ * thread of its own.
+ * </p>
+ */
+public final class CourseGenerator {
+
+    /** The number of spawn times each chunk covers: two seconds of play. */
+    public static final int CHUNK_TICKS = 120;
+    /** The most times a chunk is generated before it is kept even if it fails the check. */
+    public static final int MAX_ATTEMPTS = 4;
+
+    /** The simulation whose spawns are recorded. */
+    private final MinigameSimulation course;
+    /** A copy of {@link #course} from the start of the chunk being generated, to roll back to. */
+    private final MinigameSimulation checkpoint;
+
+    /** The index of the next chunk. */
+    private int index;
+    /** The number of entities recorded for the next chunk so far. */
+    private int count;
+    /** Whether every spawn of the chunk being generated has passed the check so far. */
+    private boolean passable;
+    /** The number of times a chunk failed the check since the course started. */
+    private int rejected;
+    /** The spawn time of each recorded entity. */
+    private int[] times = new int[16];
+    /** The layer of each recorded entity. */
+    private int[] layers = new int[16];
+    /** The left edge of each recorded entity. */
+    private double[] xs = new double[16];
+    /** The y value of each recorded entity. */
+    private double[] ys = new double[16];
+    /** The width of each recorded entity. */
+    private double[] widths = new double[16];
+    /** The height of each recorded entity. */
+    private double[] heights = new double[16];
+
+    /**
+     * Creates a generator for a minigame. It takes two simulations from the
+     * factory: one whose spawns are recorded, switched to endless mode, and
+     * one to roll back to.
+     *
+     * @param factory Creates simulations of the minigame and settings to generate for.
+     */
+    public CourseGenerator(Supplier<? extends MinigameSimulation> factory) {
+        course = factory.get();
+        checkpoint = factory.get();
+        course.setEndless(true);
+        course.recordSpawns(this);
+    }
+
+    /**
+     * Starts generating the course for a seed from its first chunk.
+     *
+     * @param seed The seed of the run the course is for.
+     */
+    public void start(long seed) {
+        index = 0;
+        count = 0;
+        rejected = 0;
+        course.reset(seed); // records the opening spawns at time 0
+    }
+
+    /**
+     * Generates the next chunk of the course, generating it again if any of
+     * its spawns cannot be passed.
+     *
+     * @return The chunk.
+     */
+    public CourseChunk next() {
+        int startTime = index * CHUNK_TICKS;
+        int endTime = startTime + CHUNK_TICKS;
+        // The opening spawns are recorded by start() and belong to the first chunk
+        int opening = count;
+        checkpoint.copyFrom(course);
+        for (int attempt = 1; ; attempt++) {
+            passable = true;
+            while (course.getTick() + 1 < endTime) {
+                course.advanceCourse();
+            }
+            if (passable) {
+                break;
+            }
+            rejected++;
+            if (attempt == MAX_ATTEMPTS) {
+                Log.warn("Kept an impassable chunk of the {} course at tick {}", course.getName(), startTime);
+                break;
+            }
+            Log.warn("Generating chunk {} of the {} course again", index, course.getName());
+            course.copyFrom(checkpoint);
+            course.random.setSeed(course.getSeed() + (index * (long) MAX_ATTEMPTS + attempt) * 0x9E3779B97F4A7C15L);
+            count = opening;
+        }
+        CourseChunk chunk = new CourseChunk(index, startTime, endTime, count,
+                                            times, layers, xs, ys, widths, heights);
+        index++;
+        count = 0;
+        return chunk;
+    }
+
+    /**
+     * Returns how many times a chunk failed the passability check and was
+     * generated again, or kept after {@link #MAX_ATTEMPTS}, since the course
+     * started.
+     *
+     * @return The number of rejected chunks.
+     */
+    public int getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Returns the name of the simulation the course is generated for.
+     *
+     * @return The simulation's name.
+     */
+    public String getName() {
+        return course.getName();
+    }
+
+    /**
+     * Records a spawn and checks that it can be passed. Called by the
+     * simulation as it spawns each entity.
+     *
+     * @param time   The tick count after which the entity appears.
+     * @param layer  The entity's layer.
+     * @param x      The entity's left edge.
+     * @param y      The entity's y value.
+     * @param width  The entity's width.
+     * @param height The entity's height.
+     */
+    void record(int time, int layer, double x, double y, double width, double height) {
+        if (count == times.length) {
+            int capacity = count * 2;
+            times = Arrays.copyOf(times, capacity);
+            layers = Arrays.copyOf(layers, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            widths = Arrays.copyOf(widths, capacity);
+            heights = Arrays.copyOf(heights, capacity);
+        }
+        times[count] = time;
+        layers[count] = layer;
+        xs[count] = x;
+        ys[count] = y;
+        widths[count] = width;
+        heights[count] = height;
+        count++;
+        if (!course.isPassable(layer)) {
+            passable = false;
+        }
+    }
+}
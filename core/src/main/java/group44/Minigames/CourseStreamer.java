@@ -0,0 +1,133 @@
+package group44.Minigames;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.function.Supplier;
+
+/**
+ * Generates an endless course on a background thread, keeping a bounded
+ * number of {@link CourseChunk chunks} ready ahead of the run. The simulation
+ * takes chunks as its ticks reach them, so spawning costs the simulation
+ * thread nothing but copying a few entities, and however long a run lasts
+ * only the chunks in the queue are held in memory: once the queue is full
+ * the generator waits for the run to catch up.
+ * <p>
+ * Only one thread may take chunks at a time, and {@link #start(long)} and
+ * {@link #stop()} must not run while it does.
+ * </p>
+ */
+public final class CourseStreamer {
+
+    /** The number of chunks kept ready by default: sixteen seconds of play. */
+    public static final int DEFAULT_CAPACITY = 8;
+
+    /** Generates the chunks. */
+    private final CourseGenerator generator;
+    /** The chunks generated but not taken yet. */
+    private final ArrayBlockingQueue<CourseChunk> ready;
+
+    /** The thread generating the current course, or null when stopped. */
+    private Thread thread;
+    /** The number of times a chunk was needed before it was ready. */
+    private int stalls;
+
+    /**
+     * Creates a streamer that generates courses for a minigame.
+     *
+     * @param factory  Creates simulations of the minigame and settings to generate for.
+     * @param capacity The number of chunks to keep ready.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public CourseStreamer(Supplier<? extends MinigameSimulation> factory, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        generator = new CourseGenerator(factory);
+        ready = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Starts generating the course for a seed, stopping any course in
+     * progress and dropping its chunks first. Returns straight away: the
+     * course is set up and generated on the streamer's own thread.
+     *
+     * @param seed The seed of the run the course is for.
+     */
+    public void start(long seed) {
+        stop();
+        ready.clear();
+        stalls = 0;
+        thread = new Thread(() -> generate(seed), "course-" + generator.getName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops generating and waits for the thread to finish.
+     */
+    public void stop() {
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    /**
+     * Takes the next chunk of the course, waiting for it if it is not ready yet.
+     *
+     * @return The chunk.
+     * @throws IllegalStateException if no course is being generated.
+     */
+    public CourseChunk next() {
+        CourseChunk chunk = ready.poll();
+        if (chunk != null) {
+            return chunk;
+        }
+        if (thread == null) {
+            throw new IllegalStateException("No course is being generated");
+        }
+        stalls++;
+        try {
+            return ready.take();
+        } catch (InterruptedException e) {
+            // Stopping a run interrupts its thread; finish the tick with an empty chunk
+            Thread.currentThread().interrupt();
+            return new CourseChunk(-1, 0, Integer.MAX_VALUE, 0, new int[0], new int[0],
+                                   new double[0], new double[0], new double[0], new double[0]);
+        }
+    }
+
+    /**
+     * Returns how many times the run needed a chunk before it was ready since
+     * the course started. The first chunk of a course may stall, as the run's
+     * first tick usually comes before it is ready; anything more means the
+     * generator is falling behind.
+     *
+     * @return The number of stalls.
+     */
+    public int getStalls() {
+        return stalls;
+    }
+
+    /**
+     * Starts the course and fills the queue with chunks until stopped,
+     * waiting whenever it is full.
+     *
+     * @param seed The seed of the run the course is for.
+     */
+    private void generate(long seed) {
+        generator.start(seed);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                ready.put(generator.next());
+            }
+        } catch (InterruptedException e) {
+            // Stopped
+        }
+    }
+}
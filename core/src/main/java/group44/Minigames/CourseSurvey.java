@@ -0,0 +1,144 @@
+package group44.Minigames;
+
+/**
+ * The results of searching a run of consecutive seeds with {@link AutoPlayer},
+ * used to measure how often course generation produces an impossible course
+ * and how far a perfect player gets on each one.
+ */
+public class CourseSurvey {
+
+    /** The minigame surveyed. */
+    private final String game;
+    /** The first seed surveyed. */
+    private final long firstSeed;
+    /** Whether the course of each seed is passable, indexed from {@link #firstSeed}. */
+    private final boolean[] passable;
+    /** The best score found on each seed's course, indexed from {@link #firstSeed}. */
+    private final int[] bestScores;
+
+    /**
+     * Creates an empty survey.
+     *
+     * @param game      The simulation's name.
+     * @param firstSeed The first seed.
+     * @param count     The number of seeds.
+     */
+    CourseSurvey(String game, long firstSeed, int count) {
+        this.game = game;
+        this.firstSeed = firstSeed;
+        this.passable = new boolean[count];
+        this.bestScores = new int[count];
+    }
+
+    /**
+     * Stores the outcome for one seed. Each index is written by one task only.
+     *
+     * @param index   The seed's index from the first seed.
+     * @param outcome The outcome of searching that seed's course.
+     */
+    void record(int index, AutoPlayer.Outcome outcome) {
+        passable[index] = outcome.isPassable();
+        bestScores[index] = outcome.getBestScore();
+    }
+
+    /**
+     * Returns the minigame surveyed.
+     *
+     * @return The simulation's name.
+     */
+    public String getGame() {
+        return game;
+    }
+
+    /**
+     * Returns the first seed surveyed.
+     *
+     * @return The first seed.
+     */
+    public long getFirstSeed() {
+        return firstSeed;
+    }
+
+    /**
+     * Returns the number of seeds surveyed.
+     *
+     * @return The seed count.
+     */
+    public int getSeedCount() {
+        return passable.length;
+    }
+
+    /**
+     * Returns whether a seed's course is passable.
+     *
+     * @param index The seed's index from the first seed.
+     * @return True if the search survived the course to its horizon.
+     */
+    public boolean isPassable(int index) {
+        return passable[index];
+    }
+
+    /**
+     * Returns the best score found on a seed's course.
+     *
+     * @param index The seed's index from the first seed.
+     * @return The best score.
+     */
+    public int getBestScore(int index) {
+        return bestScores[index];
+    }
+
+    /**
+     * Returns the number of seeds whose course the search could not survive.
+     *
+     * @return The impossible course count.
+     */
+    public int getImpossibleCount() {
+        int count = 0;
+        for (boolean p : passable) {
+            if (!p) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the share of seeds whose course the search could not survive.
+     *
+     * @return The impossible course rate, from 0 to 1.
+     */
+    public double getImpossibleRate() {
+        return passable.length == 0 ? 0 : (double) getImpossibleCount() / passable.length;
+    }
+
+    /**
+     * Returns the mean of the best scores over all seeds.
+     *
+     * @return The mean best score.
+     */
+    public double getMeanBestScore() {
+        long total = 0;
+        for (int score : bestScores) {
+            total += score;
+        }
+        return bestScores.length == 0 ? 0 : (double) total / bestScores.length;
+    }
+
+    /**
+     * Returns the seeds whose course the search could not survive, so they can
+     * be played or replayed by hand.
+     *
+     * @return The impossible seeds in increasing order.
+     */
+    public long[] getImpossibleSeeds() {
+        long[] seeds = new long[getImpossibleCount()];
+        int n = 0;
+        for (int i = 0; i < passable.length; i++) {
+            if (!passable[i]) {
+                seeds[n++] = firstSeed + i;
+            }
+        }
+        return seeds;
+    }
+}
@@ -0,0 +1,450 @@
+package group44.Minigames;
+
+/**
+ * Stores the moving objects of a minigame (obstacles, pipes, coins, clouds) as
+ * parallel primitive arrays instead of one object per entity. Minigame objects
+ * spawn at the right edge and leave at the left edge in the same order, so the
+ * buffer is a ring: new entities are appended at the back and old ones are
+ * removed from the front in constant time. Slots are reused, so once the buffer
+ * has grown to the largest number of entities on screen at once, spawning,
+ * moving and removing entities allocate nothing.
+ * <p>
+ * Entities are addressed by their position in spawn order: index 0 is the
+ * oldest live entity and {@code size() - 1} the newest. Indices shift down by
+ * one whenever {@link #removeFirst()} is called.
+ * </p>
+ * <p>
+ * Because everything scrolls together, spawn order is usually also left-to-right
+ * order. The buffer keeps track of whether that holds so that {@link Broadphase}
+ * can find the entities near a given x by binary search.
+ * </p>
+ */
+public class EntityBuffer {
+
+    /** Flag set once the pet has passed an obstacle and it has been scored. */
+    public static final int PASSED = 1;
+
+    /** Flag set once a coin has been collected; it is skipped until it is removed. */
+    public static final int COLLECTED = 1 << 1;
+
+    /**
+     * Flag for an entity that has left the play area some other way than off the
+     * left edge, such as a rising obstacle leaving through the top. It is skipped
+     * until it is removed.
+     */
+    public static final int DESPAWNED = 1 << 2;
+
+    /** The default number of slots allocated up front. */
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /** The left edge of each entity. */
+    private double[] x;
+    /** The top edge of each entity, or another game-specific y value such as a gap position. */
+    private double[] y;
+    /** The width of each entity. */
+    private double[] w;
+    /** The height of each entity. */
+    private double[] h;
+    /** Bit flags of each entity. */
+    private int[] flags;
+
+    /** The slot holding the oldest entity. */
+    private int head;
+    /** The number of live entities. */
+    private int size;
+    /** Capacity minus one; the capacity is always a power of two. */
+    private int mask;
+
+    /** The number of neighbouring pairs whose later entity starts left of the earlier one. */
+    private int inversions;
+    /** The widest entity added since the buffer was last cleared. */
+    private double maxWidth;
+
+    /**
+     * Creates an empty buffer with the default capacity.
+     */
+    public EntityBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty buffer with room for at least the given number of entities
+     * before it needs to grow.
+     *
+     * @param initialCapacity The expected maximum number of live entities.
+     */
+    public EntityBuffer(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, initialCapacity - 1)) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Returns the number of live entities.
+     *
+     * @return The entity count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the buffer holds no entities.
+     *
+     * @return True if there are no live entities.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of entities the buffer can hold without growing.
+     *
+     * @return The current capacity.
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Appends a new entity with no flags set, growing the buffer if it is full.
+     *
+     * @param x      The entity's left edge.
+     * @param y      The entity's top edge.
+     * @param width  The entity's width.
+     * @param height The entity's height.
+     * @return The index of the new entity, which is always {@code size() - 1}.
+     */
+    public int add(double x, double y, double width, double height) {
+        if (size > mask) {
+            grow();
+        }
+        int slot = (head + size) & mask;
+        if (size > 0 && x < this.x[(slot - 1) & mask]) {
+            inversions++;
+        }
+        maxWidth = Math.max(maxWidth, width);
+        this.x[slot] = x;
+        this.y[slot] = y;
+        this.w[slot] = width;
+        this.h[slot] = height;
+        this.flags[slot] = 0;
+        return size++;
+    }
+
+    /**
+     * Removes the oldest entity.
+     *
+     * @throws IllegalStateException if the buffer is empty.
+     */
+    public void removeFirst() {
+        if (size == 0) {
+            throw new IllegalStateException("No entities to remove");
+        }
+        dropHead();
+    }
+
+    /**
+     * Removes entities from the front for as long as they have scrolled fully past
+     * the left edge or carry one of the given flags. Entities that are finished
+     * but not at the front stay in place (and should be skipped) until everything
+     * spawned before them has gone.
+     *
+     * @param leftEdge  Entities whose right edge is less than this are removed.
+     * @param deadFlags Entities with any of these flags set are removed.
+     */
+    public void removeLeading(double leftEdge, int deadFlags) {
+        while (size > 0) {
+            int slot = head;
+            if (x[slot] + w[slot] >= leftEdge && (flags[slot] & deadFlags) == 0) {
+                return;
+            }
+            dropHead();
+        }
+    }
+
+    /**
+     * Removes every entity, keeping the allocated arrays for reuse.
+     */
+    public void clear() {
+        head = 0;
+        size = 0;
+        inversions = 0;
+        maxWidth = 0;
+    }
+
+    /**
+     * Replaces this buffer's contents with a copy of another buffer's, reusing
+     * this buffer's arrays unless they are too small. Used to branch a
+     * simulation without allocating.
+     *
+     * @param other The buffer to copy.
+     */
+    public void copyFrom(EntityBuffer other) {
+        int capacity = capacity();
+        while (capacity < other.size) {
+            capacity <<= 1;
+        }
+        if (capacity != capacity()) {
+            allocate(capacity);
+        }
+        for (int i = 0; i < other.size; i++) {
+            int from = (other.head + i) & other.mask;
+            x[i] = other.x[from];
+            y[i] = other.y[from];
+            w[i] = other.w[from];
+            h[i] = other.h[from];
+            flags[i] = other.flags[from];
+        }
+        head = 0;
+        size = other.size;
+        inversions = other.inversions;
+        maxWidth = other.maxWidth;
+    }
+
+    /**
+     * Returns whether the entities are ordered by their left edge, so that spawn
+     * order can be searched as x order.
+     *
+     * @return True if every entity starts at or right of the one before it.
+     */
+    public boolean isSortedByX() {
+        return inversions == 0;
+    }
+
+    /**
+     * Returns the width of the widest entity added since the buffer was last cleared.
+     *
+     * @return The maximum entity width.
+     */
+    public double maxWidth() {
+        return maxWidth;
+    }
+
+    /**
+     * Finds the first entity whose left edge is at least the given x, by binary
+     * search. Only meaningful while {@link #isSortedByX()} is true.
+     *
+     * @param minX The smallest left edge of interest.
+     * @return The index of the first such entity, or {@code size()} if there is none.
+     */
+    public int firstIndexAtOrRightOf(double minX) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (x[(head + mid) & mask] < minX) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Moves every entity horizontally, as when the world scrolls.
+     *
+     * @param dx The distance to move; negative values move entities left.
+     */
+    public void translateX(double dx) {
+        for (int i = 0; i < size; i++) {
+            x[(head + i) & mask] += dx;
+        }
+    }
+
+    /**
+     * Moves every entity vertically.
+     *
+     * @param dy The distance to move; negative values move entities up.
+     */
+    public void translateY(double dy) {
+        for (int i = 0; i < size; i++) {
+            y[(head + i) & mask] += dy;
+        }
+    }
+
+    /**
+     * Returns the left edge of an entity.
+     *
+     * @param index The entity's index in spawn order.
+     * @return The x value.
+     */
+    public double x(int index) {
+        return x[slot(index)];
+    }
+
+    /**
+     * Returns the top edge of an entity.
+     *
+     * @param index The entity's index in spawn order.
+     * @return The y value.
+     */
+    public double y(int index) {
+        return y[slot(index)];
+    }
+
+    /**
+     * Returns the width of an entity.
+     *
+     * @param index The entity's index in spawn order.
+     * @return The width.
+     */
+    public double width(int index) {
+        return w[slot(index)];
+    }
+
+    /**
+     * Returns the height of an entity.
+     *
+     * @param index The entity's index in spawn order.
+     * @return The height.
+     */
+    public double height(int index) {
+        return h[slot(index)];
+    }
+
+    /**
+     * Returns the right edge of an entity.
+     *
+     * @param index The entity's index in spawn order.
+     * @return The entity's x plus its width.
+     */
+    public double right(int index) {
+        int slot = slot(index);
+        return x[slot] + w[slot];
+    }
+
+    /**
+     * Sets the left edge of an entity.
+     *
+     * @param index The entity's index in spawn order.
+     * @param value The new x value.
+     */
+    public void setX(int index, double value) {
+        int slot = slot(index);
+        inversions -= inversionsAround(index);
+        x[slot] = value;
+        inversions += inversionsAround(index);
+    }
+
+    /**
+     * Sets the top edge of an entity.
+     *
+     * @param index The entity's index in spawn order.
+     * @param value The new y value.
+     */
+    public void setY(int index, double value) {
+        y[slot(index)] = value;
+    }
+
+    /**
+     * Checks whether an entity has all of the given flags set.
+     *
+     * @param index The entity's index in spawn order.
+     * @param flag  One or more flags, such as {@link #PASSED}.
+     * @return True if every given flag is set.
+     */
+    public boolean hasFlag(int index, int flag) {
+        return (flags[slot(index)] & flag) == flag;
+    }
+
+    /**
+     * Checks whether an entity has at least one of the given flags set.
+     *
+     * @param index The entity's index in spawn order.
+     * @param flags One or more flags.
+     * @return True if any given flag is set.
+     */
+    public boolean hasAnyFlag(int index, int flags) {
+        return (this.flags[slot(index)] & flags) != 0;
+    }
+
+    /**
+     * Sets the given flags on an entity.
+     *
+     * @param index The entity's index in spawn order.
+     * @param flag  One or more flags, such as {@link #COLLECTED}.
+     */
+    public void setFlag(int index, int flag) {
+        flags[slot(index)] |= flag;
+    }
+
+    /**
+     * Removes the oldest entity, keeping the ordering count up to date.
+     */
+    private void dropHead() {
+        if (size > 1 && x[(head + 1) & mask] < x[head]) {
+            inversions--;
+        }
+        head = (head + 1) & mask;
+        size--;
+    }
+
+    /**
+     * Counts how many of an entity's two neighbour pairs are out of x order.
+     *
+     * @param index The entity's index in spawn order.
+     * @return 0, 1 or 2.
+     */
+    private int inversionsAround(int index) {
+        int count = 0;
+        double value = x[(head + index) & mask];
+        if (index > 0 && value < x[(head + index - 1) & mask]) {
+            count++;
+        }
+        if (index < size - 1 && x[(head + index + 1) & mask] < value) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Maps an index in spawn order to an array slot.
+     *
+     * @param index The entity's index in spawn order.
+     * @return The slot in the backing arrays.
+     * @throws IndexOutOfBoundsException if the index is not a live entity.
+     */
+    private int slot(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return (head + index) & mask;
+    }
+
+    /**
+     * Doubles the capacity, unrolling the ring so the oldest entity lands in slot 0.
+     */
+    private void grow() {
+        double[] oldX = x;
+        double[] oldY = y;
+        double[] oldW = w;
+        double[] oldH = h;
+        int[] oldFlags = flags;
+        int oldCapacity = mask + 1;
+        allocate(oldCapacity << 1);
+        for (int i = 0; i < size; i++) {
+            int from = (head + i) & (oldCapacity - 1);
+            x[i] = oldX[from];
+            y[i] = oldY[from];
+            w[i] = oldW[from];
+            h[i] = oldH[from];
+            flags[i] = oldFlags[from];
+        }
+        head = 0;
+    }
+
+    /**
+     * Allocates backing arrays of the given capacity.
+     *
+     * @param capacity A power of two.
+     */
+    private void allocate(int capacity) {
+        x = new double[capacity];
+        y = new double[capacity];
+        w = new double[capacity];
+        h = new double[capacity];
+        flags = new int[capacity];
+        mask = capacity - 1;
+    }
+}
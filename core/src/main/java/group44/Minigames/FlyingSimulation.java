@@ -0,0 +1,372 @@
+package group44.Minigames;
+
+/**
+ * The rules of the flying minigame: the pet flaps to stay in the air and flies
+ * through the gaps between pipes, collecting coins placed just past some of
+ * them. Touching a pipe or the ground ends the run. {@link #petY} is the top of
+ * the pet.
+ */
+public class FlyingSimulation extends MinigameSimulation {
+
+    /** The pull of gravity on the pet per tick. */
+    public static final double GRAVITY = 0.1;
+    /** The pet's vertical velocity after a flap; negative is upwards. */
+    public static final double JUMP_FORCE = -3.0;
+    /** The width of a pipe. */
+    public static final int PIPE_WIDTH = 80;
+    /** The vertical gap between a top and a bottom pipe. */
+    public static final int PIPE_GAP = 180;
+    /** The speed pipes scroll at when a run starts. */
+    public static final int INITIAL_PIPE_SPEED = 3;
+    /** How far the pet can climb or fall in a given time, worked out from {@link #GRAVITY} and {@link #JUMP_FORCE}. */
+    public static final ReachEnvelope FLAP_ENVELOPE = new ReachEnvelope(GRAVITY, JUMP_FORCE, true, 600);
+
+    /**
+     * The pipes in play, in spawn order. Each pipe's y is the top of its gap
+     * and its height is the gap size.
+     */
+    private final EntityBuffer pipes = new EntityBuffer();
+    /** The horizontal distance between two pipes. */
+    private final int distanceBetweenPipes;
+    /** The pet's vertical velocity; positive is downwards. */
+    private double birdVelocity;
+    /** The speed pipes scroll at. */
+    private double pipeSpeed;
+
+    /**
+     * Creates a flying simulation for a play area of the given size. The pet
+     * flies a third of the way across the play area.
+     *
+     * @param width                The play area width in pixels.
+     * @param height               The play area height in pixels.
+     * @param distanceBetweenPipes The horizontal distance between two pipes;
+     *                             the tutorial spaces them further apart.
+     */
+    public FlyingSimulation(double width, double height, int distanceBetweenPipes) {
+        super(width, height);
+        this.distanceBetweenPipes = distanceBetweenPipes;
+        petX = width / 3;
+        petWidth = 60;
+        petHeight = 45;
+    }
+
+    /**
+     * Returns the name of the flying minigame, including the pipe spacing.
+     *
+     * @return "flying-" followed by the distance between pipes, and by "-endless" in endless mode.
+     */
+    @Override
+    public String getName() {
+        return "flying-" + distanceBetweenPipes + (isEndless() ? "-endless" : "");
+    }
+
+    /**
+     * Places the pet mid-air.
+     */
+    @Override
+    protected void startRun() {
+        petY = height / 2 - petHeight / 2;
+        birdVelocity = 0;
+        pipeSpeed = INITIAL_PIPE_SPEED;
+        pipes.clear();
+    }
+
+    /**
+     * Spawns the first three pipes.
+     */
+    @Override
+    protected void spawnOpening() {
+        addPipe(width);
+        addPipe(width + distanceBetweenPipes);
+        addPipe(width + distanceBetweenPipes * 2);
+    }
+
+    /**
+     * Copies another flying simulation with the same pipe spacing.
+     *
+     * @param other The simulation to copy; must be a {@code FlyingSimulation}.
+     */
+    @Override
+    public void copyFrom(MinigameSimulation other) {
+        super.copyFrom(other);
+        FlyingSimulation flying = (FlyingSimulation) other;
+        pipes.copyFrom(flying.pipes);
+        birdVelocity = flying.birdVelocity;
+        pipeSpeed = flying.pipeSpeed;
+    }
+
+    /**
+     * Returns whether the input is a flap, which works at any height.
+     *
+     * @param action The input action.
+     * @return True for {@link #INPUT_PRIMARY}.
+     */
+    @Override
+    public boolean acceptsInput(int action) {
+        return action == INPUT_PRIMARY;
+    }
+
+    /**
+     * Makes the pet flap.
+     *
+     * @param action The input action.
+     */
+    @Override
+    public void applyInput(int action) {
+        if (action == INPUT_PRIMARY) {
+            birdVelocity = JUMP_FORCE;
+        }
+    }
+
+    /**
+     * Applies gravity, stops the pet at the ceiling, ends the run at the
+     * ground, then scrolls the course and ends the run if the pet hit a pipe.
+     */
+    @Override
+    protected void update() {
+        // Apply gravity to bird
+        birdVelocity += GRAVITY;
+        petY += birdVelocity;
+
+        // Check if bird hit the ceiling or ground
+        if (petY <= 0) {
+            petY = 0;
+            birdVelocity = 0;
+        } else if (petY >= height - petHeight) {
+            endRun(); // Hit the ground
+            return;
+        }
+
+        scrollCourse();
+
+        if (hitsPipe()) {
+            endRun();
+        }
+    }
+
+    /**
+     * Scrolls pipes and coins, scores passed pipes and spawns new ones.
+     * Endless runs speed up with every level, up to twice the starting speed;
+     * {@link #maxGapShift()} keeps the gaps in reach at any speed.
+     */
+    @Override
+    protected void scrollCourse() {
+        if (isEndless()) {
+            pipeSpeed = levelSpeed(INITIAL_PIPE_SPEED, INITIAL_PIPE_SPEED * 2);
+        }
+
+        // Move pipes and check pass
+        pipes.translateX(-pipeSpeed);
+        for (int i = 0; i < pipes.size(); i++) {
+            if (!pipes.hasFlag(i, EntityBuffer.PASSED) && pipes.right(i) < petX) {
+                pipes.setFlag(i, EntityBuffer.PASSED);
+                addScore();
+            }
+        }
+
+        // Remove pipes that are fully off-screen
+        pipes.removeLeading(0, 0);
+
+        updateCoins(pipeSpeed);
+        spawnEntities();
+    }
+
+    /**
+     * Adds a new pipe once the newest one is far enough in.
+     */
+    @Override
+    protected void spawnNext() {
+        if (pipes.isEmpty() || pipes.x(pipes.size() - 1) < width - distanceBetweenPipes) {
+            addPipe(width);
+        }
+    }
+
+    /**
+     * Returns the buffer a layer's entities are spawned into.
+     *
+     * @param layer {@link #LAYER_OBSTACLES} for pipes, or {@link #LAYER_COINS}.
+     * @return The buffer.
+     */
+    @Override
+    protected EntityBuffer layer(int layer) {
+        return layer == LAYER_OBSTACLES ? pipes : super.layer(layer);
+    }
+
+    /**
+     * Adds a new pipe at the given x-coordinate with a random gap height and,
+     * every few pipes, a coin just past it. The gap is never further from the
+     * previous one than {@link #maxGapShift()}, so every course can be flown.
+     *
+     * @param x The x-coordinate of the pipe's left edge.
+     */
+    private void addPipe(double x) {
+        // Random gap position
+        int minGapY = 100;
+        int maxGapY = (int) (height - PIPE_GAP - 100);
+        if (!pipes.isEmpty()) {
+            // Keep it within reach of the previous gap
+            int previousGapY = (int) pipes.y(pipes.size() - 1);
+            int shift = maxGapShift();
+            minGapY = Math.max(minGapY, previousGapY - shift);
+            maxGapY = Math.min(maxGapY, previousGapY + shift + 1);
+        }
+        int gapY = random.nextInt(maxGapY - minGapY) + minGapY;
+
+        spawn(LAYER_OBSTACLES, x, gapY, PIPE_WIDTH, PIPE_GAP);
+
+        // Add a coin every 3-5 pipes
+        coinCounter++;
+        if (coinCounter >= 3 + random.nextInt(3)) { // 3, 4, or 5
+            coinCounter = 0;
+
+            // Place coin in the center of the gap
+            int coinY = gapY + PIPE_GAP / 2 - COIN_SIZE / 2;
+            coinY += random.nextInt(60) - 30; // random vertical offset
+
+            // Place the coin a bit after the pipe
+            addCoin(x + PIPE_WIDTH + 50 + random.nextInt(100), coinY);
+        }
+    }
+
+    /**
+     * Checks that the pet's hitbox fits through the newest pipe's gap with
+     * the flap timed best, and that the gap is within
+     * {@link #maxGapShift()} of the previous one.
+     *
+     * @param layer The layer the newest entity was spawned into.
+     * @return True if the pet can get past the entity.
+     */
+    @Override
+    protected boolean isPassable(int layer) {
+        if (layer != LAYER_OBSTACLES) {
+            return true;
+        }
+        int newest = pipes.size() - 1;
+        double hitboxWidth = petWidth - 2 * HITBOX_INSET;
+        double hitboxHeight = petHeight - 2 * HITBOX_INSET;
+        ReachEnvelope.Crossing crossing = FLAP_ENVELOPE.crossing(pipeSpeed, pipes.width(newest) + hitboxWidth, 0);
+        double bob = Double.POSITIVE_INFINITY;
+        for (int phase = crossing.getFirstPhase(); phase <= crossing.getLastPhase(); phase++) {
+            bob = Math.min(bob, crossing.lowest(phase) - crossing.highest(phase));
+        }
+        if (hitboxHeight + bob > pipes.height(newest)) {
+            return false;
+        }
+        return newest == 0 || Math.abs(pipes.y(newest) - pipes.y(newest - 1)) <= maxGapShift();
+    }
+
+    /**
+     * Returns how far one gap may be above or below the previous one at the
+     * current pipe speed. Between two pipes the pet has a few ticks to climb
+     * or fall, looked up in {@link #FLAP_ENVELOPE}; inside a gap it can also
+     * shift by whatever room is left once it bobs by a flap's height.
+     *
+     * @return The largest gap shift in pixels.
+     */
+    private int maxGapShift() {
+        double hitboxWidth = petWidth - 2 * HITBOX_INSET;
+        double hitboxHeight = petHeight - 2 * HITBOX_INSET;
+        int ticks = (int) ((distanceBetweenPipes - PIPE_WIDTH - hitboxWidth) / pipeSpeed);
+        double slack = PIPE_GAP - hitboxHeight - FLAP_ENVELOPE.getPeakHeight();
+        return (int) (slack + Math.min(FLAP_ENVELOPE.getMaxRise(ticks), FLAP_ENVELOPE.getMaxFall(ticks)));
+    }
+
+    /**
+     * Checks whether the pet touched a pipe during the latest tick. Each pipe
+     * is a column reaching past the top and bottom of the play area with a gap
+     * in it; the pet's hitbox is swept from where it started the tick, so a
+     * steep dive or fast pipes cannot carry it through a pipe edge.
+     *
+     * @return True if the pet hit a pipe.
+     */
+    private boolean hitsPipe() {
+        // Bird hitbox at the start of the tick, in the pipes' current frame
+        double birdLeft = hitboxLeft() - pipeSpeed;
+        double birdRight = hitboxRight() - pipeSpeed;
+        double birdTop = prevPetY + HITBOX_INSET;
+        double birdBottom = prevPetY + petHeight - HITBOX_INSET;
+        double dy = petY - prevPetY;
+
+        // Only the pipes level with the bird can be hit
+        int nearby = broadphase.query(pipes, birdLeft, birdRight + pipeSpeed, 0);
+        for (int k = 0; k < nearby; k++) {
+            int i = broadphase.candidate(k);
+            double pipeLeft = pipes.x(i);
+            double pipeRight = pipes.right(i);
+            double gapY = pipes.y(i);
+            // Check top pipe, then bottom pipe
+            if (broadphase.sweptIntersects(birdLeft, birdTop, birdRight, birdBottom, pipeSpeed, dy,
+                                           pipeLeft, Double.NEGATIVE_INFINITY, pipeRight, gapY)
+                && spriteHits(pipeSpeed, 0, pipeLeft, Double.NEGATIVE_INFINITY, pipeRight, gapY)) {
+                return true;
+            }
+            if (broadphase.sweptIntersects(birdLeft, birdTop, birdRight, birdBottom, pipeSpeed, dy,
+                                           pipeLeft, gapY + PIPE_GAP, pipeRight, Double.POSITIVE_INFINITY)
+                && spriteHits(pipeSpeed, 0, pipeLeft, gapY + PIPE_GAP, pipeRight, Double.POSITIVE_INFINITY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the speed pipes scroll at.
+     *
+     * @return The scroll speed in pixels per tick.
+     */
+    @Override
+    public double getScrollSpeed() {
+        return pipeSpeed;
+    }
+
+    /**
+     * Returns the pet's vertical velocity.
+     *
+     * @return The velocity in pixels per tick; positive is downwards.
+     */
+    @Override
+    public double getPetVelocity() {
+        return birdVelocity;
+    }
+
+    /**
+     * Returns the angle the pet is drawn at: nose up while climbing and
+     * further down the faster it falls.
+     *
+     * @param velocity The vertical velocity.
+     * @return The angle in degrees, from -30 to 45.
+     */
+    @Override
+    public double rotationAt(double velocity) {
+        return Math.min(Math.max(velocity * 7, -30), 45);
+    }
+
+    /**
+     * Returns the steepest climbing angle the pet is drawn at.
+     *
+     * @return -30 degrees.
+     */
+    @Override
+    protected double getMinPetRotation() {
+        return -30;
+    }
+
+    /**
+     * Returns the steepest diving angle the pet is drawn at.
+     *
+     * @return 45 degrees.
+     */
+    @Override
+    protected double getMaxPetRotation() {
+        return 45;
+    }
+
+    /**
+     * Returns the pipes in play, for drawing.
+     *
+     * @return The pipe buffer; it must not be modified.
+     */
+    public EntityBuffer getPipes() {
+        return pipes;
+    }
+}
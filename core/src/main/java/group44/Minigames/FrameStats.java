@@ -0,0 +1,161 @@
+package group44.Minigames;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-frame timings of a minigame, summarised as percentiles so a stress run
+ * shows how bad the slow frames get rather than only the average.
+ * <p>
+ * Four series are kept, each in nanoseconds: the time spent updating the
+ * simulation for a tick, the time spent drawing a frame, the time between two
+ * frames, and the time the garbage collectors ran since the previous
+ * {@link #sampleGc()}. Samples go into arrays sized up front, so recording
+ * allocates nothing; samples past the capacity are counted but not kept.
+ * </p>
+ * <p>
+ * Each series may be written by one thread, and the report read once those
+ * threads have stopped or handed their results over.
+ * </p>
+ */
+public final class FrameStats {
+
+    /** The series of simulation update times, one sample per tick. */
+    public static final int UPDATE = 0;
+    /** The series of render times, one sample per drawn frame. */
+    public static final int RENDER = 1;
+    /** The series of times between the starts of two frames. */
+    public static final int FRAME = 2;
+    /** The series of garbage collection times, one sample per {@link #sampleGc()}. */
+    public static final int GC = 3;
+
+    /** The names of the series in reports, by series. */
+    private static final String[] NAMES = {"update", "render", "frame", "gc"};
+    /** The percentiles shown in reports. */
+    private static final double[] REPORTED = {50, 90, 99, 99.9};
+
+    /** The samples of each series, in the order they were recorded. */
+    private final long[][] samples;
+    /** The number of samples recorded in each series, including dropped ones. */
+    private final int[] counts = new int[NAMES.length];
+    /** The garbage collectors of this JVM. */
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    /** The total collection time at the previous sample in milliseconds, or -1 before the first. */
+    private long lastGcMillis = -1;
+    /** The total number of collections when stats started. */
+    private final long startGcCount;
+
+    /**
+     * Creates empty stats.
+     *
+     * @param capacity The most samples kept in each series.
+     */
+    public FrameStats(int capacity) {
+        samples = new long[NAMES.length][capacity];
+        startGcCount = gcCount();
+    }
+
+    /**
+     * Adds a sample to a series.
+     *
+     * @param series The series, such as {@link #UPDATE}.
+     * @param nanos  The time taken in nanoseconds.
+     */
+    public void record(int series, long nanos) {
+        int i = counts[series]++;
+        if (i < samples[series].length) {
+            samples[series][i] = nanos;
+        }
+    }
+
+    /**
+     * Adds the garbage collection time since the previous call to the
+     * {@link #GC} series. The first call only starts the clock.
+     */
+    public void sampleGc() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        if (lastGcMillis >= 0) {
+            record(GC, (millis - lastGcMillis) * 1_000_000);
+        }
+        lastGcMillis = millis;
+    }
+
+    /**
+     * Returns the number of collections since the stats were created.
+     *
+     * @return The collection count.
+     */
+    public long getGcCount() {
+        return gcCount() - startGcCount;
+    }
+
+    /**
+     * Returns the number of samples recorded in a series, including any past
+     * the capacity that were dropped.
+     *
+     * @param series The series.
+     * @return The sample count.
+     */
+    public int getCount(int series) {
+        return counts[series];
+    }
+
+    /**
+     * Returns a percentile of a series, by the nearest-rank method.
+     *
+     * @param series     The series.
+     * @param percentile The percentile, from 0 to 100.
+     * @return The sample at that rank in nanoseconds, or 0 if the series is empty.
+     */
+    public long percentile(int series, double percentile) {
+        int kept = Math.min(counts[series], samples[series].length);
+        if (kept == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples[series], kept);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * kept);
+        return sorted[Math.max(0, Math.min(rank - 1, kept - 1))];
+    }
+
+    /**
+     * Returns a summary of every non-empty series, one line each, with times
+     * in milliseconds, followed by the number of collections.
+     *
+     * @return The report.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        for (int series = 0; series < NAMES.length; series++) {
+            if (counts[series] == 0) {
+                continue;
+            }
+            report.append(String.format("%-7s n=%-7d", NAMES[series], counts[series]));
+            for (double p : REPORTED) {
+                report.append(String.format(" p%-4s %7.3f ms", p == (int) p ? String.valueOf((int) p) : String.valueOf(p),
+                    percentile(series, p) / 1e6));
+            }
+            report.append(String.format(" max %7.3f ms%n", percentile(series, 100) / 1e6));
+        }
+        report.append("collections: ").append(getGcCount());
+        return report.toString();
+    }
+
+    /**
+     * Returns the total number of collections so far.
+     *
+     * @return The collection count over every collector.
+     */
+    private long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : collectors) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+}
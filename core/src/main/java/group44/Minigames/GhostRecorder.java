@@ -0,0 +1,139 @@
+package group44.Minigames;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Records where the pet was on every tick of a run, so the best run can be
+ * played back as a ghost with {@link GhostTrack}. Only the pet's height is
+ * kept, since it never moves across the play area.
+ * <p>
+ * Heights are stored in steps of 1/{@link #STEPS_PER_PIXEL} pixel, each as
+ * the difference from the previous tick, zigzag encoded as a {@link Varint}.
+ * The pet rarely moves more than a few pixels per tick, so a tick usually
+ * takes one byte and a minute of play about 4KB. The file layout is:
+ * </p>
+ * <pre>
+ * 4 bytes                "EGGG"
+ * varint, UTF-8 bytes    minigame name, see {@link MinigameSimulation#getName()}
+ * varint                 score the run reached
+ * varint                 number of ticks the run lasted
+ * signed varint*         the starting height, then the change after each tick
+ * </pre>
+ * <p>
+ * A recorder is reused from run to run and only touched by the thread
+ * running the simulation.
+ * </p>
+ */
+public class GhostRecorder {
+
+    /** The bytes every ghost file starts with. */
+    static final byte[] MAGIC = {'E', 'G', 'G', 'G'};
+    /** The number of steps heights are stored in per pixel. */
+    public static final int STEPS_PER_PIXEL = 4;
+
+    /** The height changes recorded so far. */
+    private final ByteArrayOutputStream track = new ByteArrayOutputStream(4096);
+    /** The minigame being recorded. */
+    private String game = "";
+    /** The latest height written, in steps. */
+    private long lastHeight;
+    /** The number of ticks recorded. */
+    private int ticks;
+    /** The score after the latest tick. */
+    private int score;
+
+    /**
+     * Starts recording a run that has just been reset, from the pet's
+     * starting height, and forgets the previous run.
+     *
+     * @param simulation The simulation at tick 0.
+     */
+    public void begin(MinigameSimulation simulation) {
+        track.reset();
+        game = simulation.getName();
+        lastHeight = 0;
+        ticks = 0;
+        score = simulation.getScore();
+        add(simulation.getPetY());
+    }
+
+    /**
+     * Records the pet's height after a tick.
+     *
+     * @param simulation The simulation after the tick.
+     */
+    public void record(MinigameSimulation simulation) {
+        add(simulation.getPetY());
+        ticks++;
+        score = simulation.getScore();
+    }
+
+    /**
+     * Appends a height as the change from the previous one.
+     *
+     * @param y The pet's height in pixels.
+     */
+    private void add(double y) {
+        long height = Math.round(y * STEPS_PER_PIXEL);
+        Varint.writeSigned(track, height - lastHeight);
+        lastHeight = height;
+    }
+
+    /**
+     * Returns the number of ticks recorded.
+     *
+     * @return The tick count.
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Returns the score the recorded run reached.
+     *
+     * @return The score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Encodes the recorded run in the file format described above.
+     *
+     * @return The file contents.
+     */
+    public byte[] toByteArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(track.size() + 64);
+        out.write(MAGIC, 0, MAGIC.length);
+        byte[] name = game.getBytes(StandardCharsets.UTF_8);
+        Varint.write(out, name.length);
+        out.write(name, 0, name.length);
+        Varint.write(out, score);
+        Varint.write(out, ticks);
+        out.writeBytes(track.toByteArray());
+        return out.toByteArray();
+    }
+
+    /**
+     * Saves the recorded run if it scored higher than the ghost already saved
+     * at the path, or if there is none. The file is written next to the old
+     * one first and then moved over it, see {@link GhostTrack#promote}.
+     *
+     * @param filePath Where the minigame's ghost is kept.
+     * @return True if the run was saved as the new ghost.
+     * @throws IOException if the file could not be written.
+     */
+    public boolean saveIfBest(String filePath) throws IOException {
+        if (score <= GhostTrack.readScore(filePath)) {
+            return false;
+        }
+        try (FileOutputStream out = new FileOutputStream(GhostTrack.pendingPath(filePath))) {
+            out.write(toByteArray());
+        }
+        GhostTrack.promote(filePath);
+        return true;
+    }
+}
@@ -0,0 +1,229 @@
+package group44.Minigames;
+
+import group44.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Plays back a ghost recorded by {@link GhostRecorder}: the pet's height on
+ * every tick of a past run, decoded a tick at a time as the current run
+ * catches up with it. Decoding reads straight from the file's bytes, which
+ * {@link #open(String)} maps into memory instead of reading in, and allocates
+ * nothing, so it can run every frame.
+ * <p>
+ * A mapped file cannot be replaced on every platform while it is still mapped.
+ * A new best run is therefore written to a pending file next to the ghost,
+ * see {@link #pendingPath(String)}, and moved over the ghost as soon as that
+ * works, at the latest the next time the ghost is opened.
+ * </p>
+ * <p>
+ * A track keeps its own read position and is not thread-safe.
+ * </p>
+ */
+public class GhostTrack {
+
+    /** The ghost file. */
+    private final ByteBuffer data;
+    /** The minigame the run belongs to. */
+    private final String game;
+    /** The score the run reached. */
+    private final int score;
+    /** The number of ticks the run lasted. */
+    private final int ticks;
+    /** Where the heights start in {@link #data}. */
+    private final int trackStart;
+
+    /** The tick whose height is in {@link #height}, or -1 before the first. */
+    private int tick;
+    /** The height after {@link #tick}, in steps of {@link GhostRecorder#STEPS_PER_PIXEL}. */
+    private long height;
+    /** The height after the tick before, in steps. */
+    private long previousHeight;
+
+    /**
+     * Parses a ghost's header.
+     *
+     * @param data The ghost file's contents; read from its current position on.
+     * @throws IOException if the data is not a valid ghost.
+     */
+    public GhostTrack(ByteBuffer data) throws IOException {
+        this.data = data;
+        try {
+            for (byte b : GhostRecorder.MAGIC) {
+                if (data.get() != b) {
+                    throw new IOException("Not a ghost file");
+                }
+            }
+            byte[] name = new byte[Varint.readInt(data)];
+            data.get(name);
+            game = new String(name, StandardCharsets.UTF_8);
+            score = Varint.readInt(data);
+            ticks = Varint.readInt(data);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupt ghost file", e);
+        }
+        trackStart = data.position();
+        rewind();
+    }
+
+    /**
+     * Maps a ghost file into memory and parses its header, first moving a
+     * pending new best over it if there is one.
+     *
+     * @param filePath The ghost's path.
+     * @return The ghost, or null if there is no ghost at the path.
+     * @throws IOException if the file cannot be read or is not a valid ghost.
+     */
+    public static GhostTrack open(String filePath) throws IOException {
+        promote(filePath);
+        Path path = Paths.get(filePath);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new GhostTrack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Returns the score of the ghost at a path, counting a pending new best.
+     *
+     * @param filePath The ghost's path.
+     * @return The score, or -1 if there is no readable ghost.
+     */
+    public static int readScore(String filePath) {
+        for (String path : new String[] {pendingPath(filePath), filePath}) {
+            if (!new File(path).exists()) {
+                continue;
+            }
+            try {
+                return new GhostTrack(ByteBuffer.wrap(Files.readAllBytes(Paths.get(path)))).getScore();
+            } catch (IOException e) {
+                Log.error("Error reading ghost {}: {}", path, e.getMessage());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns where a new best run is written before it replaces the ghost.
+     *
+     * @param filePath The ghost's path.
+     * @return The pending file's path.
+     */
+    public static String pendingPath(String filePath) {
+        return filePath + ".new";
+    }
+
+    /**
+     * Moves a pending new best over the ghost, if there is one. Leaves it
+     * pending if the ghost is still mapped somewhere that forbids replacing it.
+     *
+     * @param filePath The ghost's path.
+     */
+    static void promote(String filePath) {
+        Path pending = Paths.get(pendingPath(filePath));
+        if (!Files.exists(pending)) {
+            return;
+        }
+        try {
+            Files.move(pending, Paths.get(filePath), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            // Still mapped; try again next time
+        }
+    }
+
+    /**
+     * Goes back to before the run's first tick.
+     */
+    public void rewind() {
+        data.position(trackStart);
+        tick = -1;
+        height = 0;
+        previousHeight = 0;
+    }
+
+    /**
+     * Decodes up to a tick of the run, going back to the start first if the
+     * tick was already passed. Tick 0 is where the pet started.
+     *
+     * @param target The tick to move to.
+     * @return True if the ghost's run lasted that long; false once it ended,
+     *         or if the file is cut short before the tick.
+     */
+    public boolean seek(int target) {
+        if (target < tick) {
+            rewind();
+        }
+        if (target > ticks) {
+            return false;
+        }
+        try {
+            while (tick < target) {
+                previousHeight = tick < 0 ? Varint.readSigned(data) : height;
+                height = tick < 0 ? previousHeight : height + Varint.readSigned(data);
+                tick++;
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the pet's height after the tick sought to.
+     *
+     * @return The height in pixels.
+     */
+    public double getY() {
+        return (double) height / GhostRecorder.STEPS_PER_PIXEL;
+    }
+
+    /**
+     * Returns the pet's height after the tick before, for drawing frames
+     * between two ticks.
+     *
+     * @return The height in pixels; the same as {@link #getY()} at tick 0.
+     */
+    public double getPreviousY() {
+        return (double) previousHeight / GhostRecorder.STEPS_PER_PIXEL;
+    }
+
+    /**
+     * Returns the name of the minigame the run belongs to.
+     *
+     * @return The name from {@link MinigameSimulation#getName()}.
+     */
+    public String getGame() {
+        return game;
+    }
+
+    /**
+     * Returns the score the run reached.
+     *
+     * @return The score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the number of ticks the run lasted.
+     *
+     * @return The tick count.
+     */
+    public int getTicks() {
+        return ticks;
+    }
+}
@@ -0,0 +1,293 @@
+package group44.Minigames;
+
+import group44.Log;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Steps minigame simulations with no window, rendering or frame timing, as
+ * fast as the CPU allows. Used by tests, to check that saved replays still
+ * play out the way they were recorded, and to try out balance changes over
+ * many runs.
+ * <p>
+ * From the command line:
+ * </p>
+ * <pre>
+ * HeadlessRunner replay Replays/running.replay ...   re-simulate replays and check their end ticks
+ * HeadlessRunner bench flying-300 [runs]            time many runs with random inputs
+ * HeadlessRunner autoplay swimming-300 [seeds]      search seeds' courses for impossible ones
+ * HeadlessRunner stress running 2000,2000,0,3600    time a stress run tick by tick
+ * </pre>
+ */
+public final class HeadlessRunner {
+
+    /** The longest run {@link #main} simulates, so a run that never ends still stops. */
+    private static final int MAX_BENCH_TICKS = 1_000_000;
+
+    /**
+     * Chooses the input, if any, for the coming tick of a headless run.
+     */
+    public interface InputPolicy {
+
+        /**
+         * Returns the input to apply before the next tick.
+         *
+         * @param simulation The simulation about to be stepped.
+         * @return An action such as {@link MinigameSimulation#INPUT_PRIMARY}, or 0 for none.
+         */
+        int nextInput(MinigameSimulation simulation);
+    }
+
+    /**
+     * The outcome of one headless run.
+     */
+    public static final class Result {
+
+        /** The number of ticks simulated. */
+        private final int ticks;
+        /** The score reached. */
+        private final int score;
+        /** The number of coins collected. */
+        private final int coinsCollected;
+        /** Whether the run ended before the tick limit. */
+        private final boolean gameOver;
+
+        /**
+         * Captures the state of a finished run.
+         *
+         * @param simulation The simulation after its last tick.
+         */
+        private Result(MinigameSimulation simulation) {
+            this.ticks = simulation.getTick();
+            this.score = simulation.getScore();
+            this.coinsCollected = simulation.getCoinsCollected();
+            this.gameOver = simulation.isGameOver();
+        }
+
+        /**
+         * Returns the number of ticks simulated.
+         *
+         * @return The tick count.
+         */
+        public int getTicks() {
+            return ticks;
+        }
+
+        /**
+         * Returns the score reached.
+         *
+         * @return The score.
+         */
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * Returns the number of coins collected.
+         *
+         * @return The coin count.
+         */
+        public int getCoinsCollected() {
+            return coinsCollected;
+        }
+
+        /**
+         * Returns whether the run ended before the tick limit.
+         *
+         * @return True if the pet crashed.
+         */
+        public boolean isGameOver() {
+            return gameOver;
+        }
+
+        /**
+         * Returns a one-line summary of the run.
+         *
+         * @return The summary.
+         */
+        @Override
+        public String toString() {
+            return "score " + score + ", coins " + coinsCollected + ", " + ticks + " ticks"
+                + (gameOver ? "" : " (still running)");
+        }
+    }
+
+    /** Utility class; not instantiable. */
+    private HeadlessRunner() {
+    }
+
+    /**
+     * Creates the simulation a name from {@link MinigameSimulation#getName()}
+     * refers to, sized for the default play area.
+     *
+     * @param name The simulation's name, such as "running" or "flying-300-endless".
+     * @return A new simulation.
+     * @throws IllegalArgumentException if the name is not a known minigame.
+     */
+    public static MinigameSimulation create(String name) {
+        if (name.endsWith("-endless")) {
+            // Endless runs spawn inline here; the course is the same as a streamed one
+            MinigameSimulation simulation = create(name.substring(0, name.length() - 8));
+            simulation.setEndless(true);
+            return simulation;
+        }
+        double width = MinigameSimulation.DEFAULT_WIDTH;
+        double height = MinigameSimulation.DEFAULT_HEIGHT;
+        if (name.equals("running")) {
+            return new RunningSimulation(width, height);
+        }
+        try {
+            if (name.startsWith("flying-")) {
+                return new FlyingSimulation(width, height, Integer.parseInt(name.substring(7)));
+            }
+            if (name.startsWith("swimming-")) {
+                return new SwimmingSimulation(width, height, Integer.parseInt(name.substring(9)));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Unknown minigame: " + name, e);
+        }
+        throw new IllegalArgumentException("Unknown minigame: " + name);
+    }
+
+    /**
+     * Plays a run from the given seed, asking the policy for an input before
+     * every tick, until the run ends or the tick limit is reached.
+     *
+     * @param simulation The simulation to run; it is reset first.
+     * @param seed       The seed for the run.
+     * @param policy     Chooses the inputs.
+     * @param maxTicks   The most ticks to simulate.
+     * @return The outcome of the run.
+     */
+    public static Result run(MinigameSimulation simulation, long seed, InputPolicy policy, int maxTicks) {
+        simulation.reset(seed);
+        while (!simulation.isGameOver() && simulation.getTick() < maxTicks) {
+            int action = policy.nextInput(simulation);
+            if (action != 0) {
+                simulation.applyInput(action);
+            }
+            simulation.step();
+        }
+        return new Result(simulation);
+    }
+
+    /**
+     * Re-simulates a recorded run from its seed and inputs, on a simulation
+     * created from the replay's game name with the pet's sprite mask it was
+     * recorded with.
+     *
+     * @param reader The replay to play.
+     * @return The outcome of the run.
+     * @throws IllegalArgumentException if the replay is of an unknown minigame.
+     */
+    public static Result replay(ReplayReader reader) {
+        MinigameSimulation simulation = create(reader.getGame());
+        simulation.setPetSprite(reader.getPetSprite());
+        return replay(simulation, reader);
+    }
+
+    /**
+     * Re-simulates a recorded run from its seed and inputs. The run stops at
+     * the replay's end tick even if the simulation has not ended by then.
+     *
+     * @param simulation The simulation to run; it is reset first.
+     * @param reader     The replay to play; it is rewound first.
+     * @return The outcome of the run.
+     */
+    public static Result replay(MinigameSimulation simulation, ReplayReader reader) {
+        simulation.reset(reader.getSeed());
+        reader.seek(0);
+        int endTick = reader.getEndTick();
+        while (!simulation.isGameOver() && simulation.getTick() < endTick) {
+            int tick = simulation.getTick();
+            while (reader.hasNext() && reader.nextTick() == tick) {
+                simulation.applyInput(reader.nextAction());
+                reader.advance();
+            }
+            simulation.step();
+        }
+        return new Result(simulation);
+    }
+
+    /**
+     * Returns whether replaying a recording reproduces it: the run ends, and on
+     * exactly the tick the recording ended on.
+     *
+     * @param reader The replay to check.
+     * @return True if the replay still plays out as recorded.
+     */
+    public static boolean verify(ReplayReader reader) {
+        Result result = replay(reader);
+        return result.isGameOver() && result.getTicks() == reader.getEndTick();
+    }
+
+    /**
+     * Returns a policy that presses the primary input on a random share of ticks.
+     *
+     * @param seed   The seed for the policy's own random generator.
+     * @param chance The chance of pressing on any tick, from 0 to 1.
+     * @return The policy.
+     */
+    public static InputPolicy randomInputs(long seed, double chance) {
+        Random random = new Random(seed);
+        return simulation -> random.nextDouble() < chance ? MinigameSimulation.INPUT_PRIMARY : 0;
+    }
+
+    /**
+     * Runs the command-line tool described in the class comment.
+     *
+     * @param args The command and its arguments.
+     */
+    public static void main(String[] args) {
+        if (args.length >= 2 && args[0].equals("replay")) {
+            for (int i = 1; i < args.length; i++) {
+                try {
+                    ReplayReader reader = ReplayReader.load(args[i]);
+                    Result result = replay(reader);
+                    boolean matches = result.isGameOver() && result.getTicks() == reader.getEndTick();
+                    System.out.println(args[i] + " (" + reader.getGame() + "): " + result
+                        + (matches ? ", OK" : ", MISMATCH: recorded run ended at tick " + reader.getEndTick()));
+                } catch (IOException | IllegalArgumentException e) {
+                    Log.error("Error reading replay {}: {}", args[i], e);
+                }
+            }
+        } else if (args.length >= 2 && args[0].equals("bench")) {
+            MinigameSimulation simulation = create(args[1]);
+            int runs = args.length >= 3 ? Integer.parseInt(args[2]) : 10_000;
+            long totalTicks = 0;
+            long totalScore = 0;
+            long start = System.nanoTime();
+            for (int run = 0; run < runs; run++) {
+                Result result = HeadlessRunner.run(simulation, run, randomInputs(run, 0.05), MAX_BENCH_TICKS);
+                totalTicks += result.getTicks();
+                totalScore += result.getScore();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d runs of %s: %d ticks in %.2f s (%.0f ticks/s), mean score %.2f%n",
+                runs, simulation.getName(), totalTicks, seconds, totalTicks / seconds, (double) totalScore / runs);
+        } else if (args.length >= 2 && args[0].equals("autoplay")) {
+            int seeds = args.length >= 3 ? Integer.parseInt(args[2]) : 100_000;
+            long start = System.nanoTime();
+            CourseSurvey survey = AutoPlayer.survey(args[1], 0, seeds, ForkJoinPool.commonPool());
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d seeds of %s in %.2f s: %d impossible (%.3f%%), mean best score %.2f%n",
+                seeds, args[1], seconds, survey.getImpossibleCount(), survey.getImpossibleRate() * 100,
+                survey.getMeanBestScore());
+            long[] impossible = survey.getImpossibleSeeds();
+            for (int i = 0; i < Math.min(impossible.length, 10); i++) {
+                System.out.println("  impossible seed " + impossible[i]);
+            }
+        } else if (args.length >= 2 && args[0].equals("stress")) {
+            StressMode stress = StressMode.parse(args.length >= 3 ? args[2] : "1000,1000,0");
+            MinigameSimulation simulation = create(args[1]);
+            FrameStats stats = stress.run(simulation, 0);
+            System.out.println("Stress run of " + simulation.getName() + " with " + stress + ":");
+            System.out.println(stats.report());
+        } else {
+            System.out.println("Usage: HeadlessRunner replay <file>... | bench <game> [runs] | autoplay <game> [seeds]"
+                + " | stress <game> [obstacles,coins,clouds[,ticks]]");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package group44.Minigames;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed-size queue of input actions from one producer thread to one
+ * consumer thread, such as from the JavaFX thread to a {@link SimulationLoop}.
+ * Neither side locks or allocates: each only writes its own counter, and the
+ * counters are published with ordered stores.
+ */
+public final class InputRing {
+
+    /** The queued actions; the capacity is a power of two. */
+    private final int[] actions;
+    /** Masks a counter down to an index into {@link #actions}. */
+    private final int mask;
+    /** The number of actions taken so far; only written by the consumer. */
+    private final AtomicLong head = new AtomicLong();
+    /** The number of actions queued so far; only written by the producer. */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Creates a ring holding at least the given number of actions.
+     *
+     * @param capacity The minimum capacity; rounded up to a power of two.
+     */
+    public InputRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        actions = new int[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Queues an action. Only the producer may call this.
+     *
+     * @param action The action; must not be 0.
+     * @return False if the ring was full and the action was dropped.
+     * @throws IllegalArgumentException if the action is 0.
+     */
+    public boolean offer(int action) {
+        if (action == 0) {
+            throw new IllegalArgumentException("0 means no input and cannot be queued");
+        }
+        long t = tail.get();
+        if (t - head.get() == actions.length) {
+            return false;
+        }
+        actions[(int) t & mask] = action;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Takes the oldest queued action. Only the consumer may call this.
+     *
+     * @return The action, or 0 if the ring is empty.
+     */
+    public int poll() {
+        long h = head.get();
+        if (h == tail.get()) {
+            return 0;
+        }
+        int action = actions[(int) h & mask];
+        head.lazySet(h + 1);
+        return action;
+    }
+
+    /**
+     * Drops every queued action. Only call this while the consumer is not running.
+     */
+    public void clear() {
+        head.set(tail.get());
+    }
+}
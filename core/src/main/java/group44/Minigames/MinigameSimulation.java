@@ -0,0 +1,844 @@
+package group44.Minigames;
+
+/**
+ * The rules of a minigame, with no dependency on JavaFX. A simulation owns the
+ * pet's position, the scrolling entities, the score and the random generator,
+ * and advances them one fixed tick at a time through {@link #step()}. Screens
+ * drive a simulation from their game loop and draw its state; the
+ * {@link HeadlessRunner} drives it with no screen at all, many times faster
+ * than real time.
+ * <p>
+ * Instead of touching labels or playing sounds, a tick reports what happened
+ * through {@link #getEvents()}, which the screen turns into feedback.
+ * </p>
+ * <p>
+ * The pet's hitbox is a box centred on {@link #petX}, {@link #petWidth} wide and
+ * {@link #petHeight} tall from {@link #petY} down, shrunk by
+ * {@link #HITBOX_INSET} on every side so near misses feel fair. When the pet's
+ * sprite is known, {@link #setPetSprite(SpriteMask)} adds a pixel test after
+ * the box test: a hit then needs the box and a solid pixel of the sprite, as
+ * drawn at {@link #getPetRotation()}, to both touch the entity.
+ * </p>
+ * <p>
+ * In {@link #setEndless(boolean) endless mode} a run never runs out of course
+ * and gets faster every {@link #LEVEL_TICKS} ticks. A simulation given a
+ * {@link CourseStreamer} then takes its spawns from chunks generated ahead on
+ * another thread instead of spawning them itself; either way the course is
+ * the same for the same seed.
+ * </p>
+ */
+public abstract class MinigameSimulation {
+
+    /** Input action for the main control: jump, flap or swim up. */
+    public static final int INPUT_PRIMARY = 1;
+    /** Input action for the secondary control, such as diving. */
+    public static final int INPUT_SECONDARY = 2;
+
+    /** Event bit set on a tick where the pet passed an obstacle. */
+    public static final int EVENT_SCORED = 1;
+    /** Event bit set on a tick where the pet collected a coin. */
+    public static final int EVENT_COIN = 1 << 1;
+    /** Event bit set on the tick the run ended. */
+    public static final int EVENT_GAME_OVER = 1 << 2;
+
+    /** The width of the play area the minigames are designed for. */
+    public static final double DEFAULT_WIDTH = 800;
+    /** The height of the play area the minigames are designed for. */
+    public static final double DEFAULT_HEIGHT = 600;
+    /** The size of a coin in pixels. */
+    public static final int COIN_SIZE = 25;
+    /** How far the pet's hitbox is shrunk on every side. */
+    public static final double HITBOX_INSET = 5;
+
+    /** The layer coins are spawned into. */
+    public static final int LAYER_COINS = 0;
+    /** The layer a minigame's main obstacles, such as pipes, are spawned into. */
+    public static final int LAYER_OBSTACLES = 1;
+    /** The layer a minigame's second kind of obstacle, such as rising obstacles, is spawned into. */
+    public static final int LAYER_HAZARDS = 2;
+
+    /** How many ticks an endless run stays at each level of difficulty: fifteen seconds. */
+    public static final int LEVEL_TICKS = 15 * 60;
+    /** How much faster than at the start an endless run scrolls at each further level. */
+    public static final double LEVEL_SPEEDUP = 0.1;
+
+    /** The width of the play area. */
+    protected final double width;
+    /** The height of the play area. */
+    protected final double height;
+
+    /** The run's random generator, reseeded by {@link #reset(long)}. */
+    protected final SimulationRandom random = new SimulationRandom();
+    /** Finds the entities near the pet before exact collision tests. */
+    protected final Broadphase broadphase = new Broadphase();
+    /** The coins in play; collected coins are flagged {@link EntityBuffer#COLLECTED}. */
+    protected final EntityBuffer coins = new EntityBuffer();
+
+    /** The inputs a player can give, other than doing nothing. */
+    private static final int[] DEFAULT_INPUTS = {INPUT_PRIMARY};
+
+    /** The horizontal centre of the pet. */
+    protected double petX;
+    /** The width of the pet's bounding box. */
+    protected double petWidth;
+    /** The height of the pet's bounding box. */
+    protected double petHeight;
+    /** The pet's vertical position; each minigame documents which edge it means. */
+    protected double petY;
+    /** {@link #petY} at the start of the latest tick. */
+    protected double prevPetY;
+
+    /** A counter controlling how often coins appear. */
+    protected int coinCounter;
+    /** The number of obstacles passed in this run. */
+    protected int score;
+    /** The number of coins collected in this run. */
+    protected int coinsCollected;
+    /** The number of ticks simulated in this run. */
+    protected int tick;
+    /** Whether the run has ended. */
+    protected boolean gameOver;
+
+    /** The events raised by the latest tick. */
+    private int events;
+    /** The seed of the current run. */
+    private long seed;
+
+    /** Whether runs go on forever, getting harder, instead of at a fixed pace. */
+    private boolean endless;
+    /** Generates endless courses ahead of the run, or null to spawn inline. */
+    private CourseStreamer streamer;
+    /** Records this simulation's spawns, or null unless it generates a course. */
+    private CourseGenerator spawnRecorder;
+    /** The spawn time of entities spawned now; see {@link CourseChunk#getStartTime()}. */
+    private int spawnTime;
+    /** The pet's sprite at every angle it is drawn at, or null to only test boxes. */
+    private SpriteMask.Rotations petMasks;
+    /** The settings of a stress run, or null for a normal run. */
+    private StressMode stress;
+    /** The chunk spawns are being taken from, or null while spawning inline or before a streamed run's first tick. */
+    private CourseChunk chunk;
+    /** The index in {@link #chunk} of the next entity to spawn. */
+    private int chunkCursor;
+
+    /**
+     * Creates a simulation for a play area of the given size.
+     *
+     * @param width  The play area width in pixels.
+     * @param height The play area height in pixels.
+     */
+    protected MinigameSimulation(double width, double height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Returns a short name identifying this minigame and its settings, used to
+     * label replays and to rebuild the simulation with {@link HeadlessRunner#create(String)}.
+     *
+     * @return The simulation's name.
+     */
+    public abstract String getName();
+
+    /**
+     * Switches endless mode on or off from the next {@link #reset(long)}.
+     *
+     * @param endless True for runs that go on forever and get harder.
+     */
+    public void setEndless(boolean endless) {
+        this.endless = endless;
+    }
+
+    /**
+     * Returns whether runs go on forever, getting harder.
+     *
+     * @return True in endless mode.
+     */
+    public boolean isEndless() {
+        return endless;
+    }
+
+    /**
+     * Gives this simulation a streamer to generate its endless courses ahead
+     * of time. Runs in endless mode start the streamer with their seed and
+     * take their spawns from it; other runs spawn inline as before.
+     *
+     * @param streamer The streamer, or null to always spawn inline.
+     */
+    public void setCourseStreamer(CourseStreamer streamer) {
+        this.streamer = streamer;
+    }
+
+    /**
+     * Returns the streamer generating this simulation's endless courses.
+     *
+     * @return The streamer, or null if there is none.
+     */
+    public CourseStreamer getCourseStreamer() {
+        return streamer;
+    }
+
+    /**
+     * Makes every following run a stress run, or a normal one again. In a
+     * stress run the course is kept full, the pet follows the stress mode's
+     * script on top of any inputs it is given and cannot crash, and the run
+     * ends on the stress mode's last tick.
+     *
+     * @param stress The stress settings, or null for normal runs.
+     */
+    public void setStress(StressMode stress) {
+        this.stress = stress;
+    }
+
+    /**
+     * Returns the stress settings of the runs.
+     *
+     * @return The settings, or null for normal runs.
+     */
+    public StressMode getStress() {
+        return stress;
+    }
+
+    /**
+     * Gives the pet a sprite mask for pixel-accurate hits, pre-rotated to
+     * every angle this minigame tilts the pet to. Replays must be played back
+     * with the same mask to end the same way; {@link ReplayRecorder} stores it.
+     *
+     * @param sprite The upright mask, at the size the sprite is drawn at, or
+     *               null to go back to box tests alone.
+     */
+    public void setPetSprite(SpriteMask sprite) {
+        petMasks = sprite == null ? null : sprite.rotations(getMinPetRotation(), getMaxPetRotation());
+    }
+
+    /**
+     * Returns the pet's upright sprite mask.
+     *
+     * @return The mask given to {@link #setPetSprite(SpriteMask)}, or null.
+     */
+    public SpriteMask getPetSprite() {
+        return petMasks == null ? null : petMasks.getUpright();
+    }
+
+    /**
+     * Starts a new run from the given seed. The same seed and the same inputs on
+     * the same ticks always produce the same run.
+     *
+     * @param seed The seed for the run's random generator.
+     */
+    public void reset(long seed) {
+        this.seed = seed;
+        random.setSeed(seed);
+        coins.clear();
+        coinCounter = 0;
+        score = 0;
+        coinsCollected = 0;
+        tick = 0;
+        events = 0;
+        gameOver = false;
+        spawnTime = 0;
+        chunk = null;
+        chunkCursor = 0;
+        startRun();
+        prevPetY = petY;
+        if (endless && streamer != null) {
+            // Only start generating here; the first tick takes the opening chunk
+            streamer.start(seed);
+        } else {
+            spawnOpening();
+        }
+    }
+
+    /**
+     * Places the pet and spawns the opening entities of a new run. Called by
+     * {@link #reset(long)} after the shared state has been cleared.
+     */
+    protected abstract void startRun();
+
+    /**
+     * Spawns the entities a run starts with. Called by {@link #reset(long)}
+     * after {@link #startRun()}, unless the spawns are streamed in.
+     */
+    protected void spawnOpening() {
+        // Minigames without a course spawn nothing
+    }
+
+    /**
+     * Spawns whatever this tick calls for. Called through
+     * {@link #spawnEntities()}, unless the spawns are streamed in. A
+     * minigame's spawns may only depend on its random generator, the tick and
+     * the entities in play, never on the pet, so that a {@link CourseGenerator}
+     * can make them without one.
+     */
+    protected void spawnNext() {
+        // Minigames without a course spawn nothing
+    }
+
+    /**
+     * Scrolls the course by one tick: moves the entities, scores the ones
+     * passed, drops the ones gone and spawns new ones through
+     * {@link #spawnEntities()}. Minigames with a course call this from
+     * {@link #update()} and a {@link CourseGenerator} calls it alone.
+     */
+    protected void scrollCourse() {
+        // Minigames without a course have nothing to scroll
+    }
+
+    /**
+     * Returns the buffer a layer's entities are spawned into.
+     *
+     * @param layer A layer such as {@link #LAYER_OBSTACLES}.
+     * @return The buffer.
+     * @throws IllegalArgumentException if the minigame has no such layer.
+     */
+    protected EntityBuffer layer(int layer) {
+        if (layer == LAYER_COINS) {
+            return coins;
+        }
+        throw new IllegalArgumentException("No layer " + layer + " in " + getName());
+    }
+
+    /**
+     * Makes this simulation an exact copy of another one of the same minigame
+     * and settings, so that both continue identically from here. Lets a search
+     * try several inputs from the same moment without replaying the run.
+     * Subclasses copy their own state and call this method.
+     *
+     * @param other The simulation to copy; it must be of the same class.
+     */
+    public void copyFrom(MinigameSimulation other) {
+        random.copyFrom(other.random);
+        coins.copyFrom(other.coins);
+        petY = other.petY;
+        prevPetY = other.prevPetY;
+        coinCounter = other.coinCounter;
+        score = other.score;
+        coinsCollected = other.coinsCollected;
+        tick = other.tick;
+        gameOver = other.gameOver;
+        events = other.events;
+        seed = other.seed;
+        endless = other.endless;
+        petMasks = other.petMasks;
+        stress = other.stress;
+        spawnTime = other.spawnTime;
+        chunk = other.chunk;
+        chunkCursor = other.chunkCursor;
+    }
+
+    /**
+     * Returns the inputs that do something in this minigame. Doing nothing is
+     * always possible as well and is not included.
+     *
+     * @return The input actions; the array must not be modified.
+     */
+    public int[] getInputActions() {
+        return DEFAULT_INPUTS;
+    }
+
+    /**
+     * Returns whether an input would do anything right now. Inputs that make
+     * no sense at the moment, such as jumping in mid-air, are ignored by
+     * {@link #applyInput(int)}; a search can skip trying them.
+     *
+     * @param action The action, such as {@link #INPUT_PRIMARY}.
+     * @return True if applying the input would change the run.
+     */
+    public boolean acceptsInput(int action) {
+        return true;
+    }
+
+    /**
+     * Applies one input before the next tick. Inputs that make no sense at the
+     * moment, such as jumping in mid-air, are ignored.
+     *
+     * @param action The action, such as {@link #INPUT_PRIMARY}.
+     */
+    public abstract void applyInput(int action);
+
+    /**
+     * Advances the run by one tick. Does nothing once the run is over.
+     */
+    public void step() {
+        events = 0;
+        if (gameOver) {
+            return;
+        }
+        prevPetY = petY;
+        takeOpeningChunk();
+        spawnTime = tick + 1;
+        if (stress != null) {
+            int action = stress.nextInput(this);
+            if (action != 0) {
+                applyInput(action);
+            }
+        }
+        update();
+        tick++;
+        if (stress != null) {
+            stress.fill(this);
+            if (tick >= stress.getTicks()) {
+                gameOver = true;
+                events |= EVENT_GAME_OVER;
+            }
+        }
+    }
+
+    /**
+     * Advances only the course by one tick, leaving out the pet. Used by a
+     * {@link CourseGenerator} to record the spawns.
+     */
+    void advanceCourse() {
+        takeOpeningChunk();
+        spawnTime = tick + 1;
+        scrollCourse();
+        tick++;
+    }
+
+    /**
+     * Spawns this tick's entities: inline through {@link #spawnNext()}, or
+     * from the streamed chunk in endless mode with a {@link CourseStreamer}.
+     */
+    protected void spawnEntities() {
+        if (chunk != null) {
+            streamSpawns();
+        } else {
+            spawnNext();
+        }
+    }
+
+    /**
+     * Takes the first chunk of a streamed course and spawns its opening
+     * entities, if this run has not yet. {@link #reset(long)} only starts the
+     * streamer, so whichever thread sets up a run never waits for the course;
+     * the wait, if any, falls on the first tick instead. The opening entities
+     * spawn off-screen, so taking them a tick late shows nothing different.
+     */
+    private void takeOpeningChunk() {
+        if (chunk == null && endless && streamer != null) {
+            chunk = streamer.next();
+            streamSpawns();
+        }
+    }
+
+    /**
+     * Adds the entities the streamed course spawns at the current spawn time,
+     * moving on to the next chunk when this one is used up.
+     */
+    private void streamSpawns() {
+        if (spawnTime >= chunk.getEndTime()) {
+            chunk = streamer.next();
+            chunkCursor = 0;
+        }
+        while (chunkCursor < chunk.size() && chunk.time(chunkCursor) == spawnTime) {
+            int i = chunkCursor++;
+            layer(chunk.layer(i)).add(chunk.x(i), chunk.y(i), chunk.width(i), chunk.height(i));
+        }
+    }
+
+    /**
+     * Spawns an entity into a layer, recording it if this simulation
+     * generates a course.
+     *
+     * @param layer  A layer such as {@link #LAYER_OBSTACLES}.
+     * @param x      The entity's left edge.
+     * @param y      The entity's top edge or game-specific y value.
+     * @param width  The entity's width.
+     * @param height The entity's height.
+     */
+    protected void spawn(int layer, double x, double y, double width, double height) {
+        layer(layer).add(x, y, width, height);
+        if (spawnRecorder != null) {
+            spawnRecorder.record(spawnTime, layer, x, y, width, height);
+        }
+    }
+
+    /**
+     * Checks that the pet can get past the entity just spawned into a layer
+     * at the current scroll speed, against the minigame's
+     * {@link ReachEnvelope}. A {@link CourseGenerator} checks every spawn this
+     * way and generates a chunk again if one fails; the minigame's own
+     * spawning rules should never fail it. Layers with nothing to check pass.
+     *
+     * @param layer The layer the newest entity was spawned into.
+     * @return True if the pet can get past the entity.
+     */
+    protected boolean isPassable(int layer) {
+        return true;
+    }
+
+    /**
+     * Makes this simulation record its spawns for a course generator.
+     *
+     * @param generator The generator to record into.
+     */
+    void recordSpawns(CourseGenerator generator) {
+        spawnRecorder = generator;
+    }
+
+    /**
+     * Returns the difficulty level of the current tick: 0 for the first
+     * {@link #LEVEL_TICKS} ticks of an endless run and always 0 otherwise.
+     *
+     * @return The level.
+     */
+    public int getLevel() {
+        return endless ? tick / LEVEL_TICKS : 0;
+    }
+
+    /**
+     * Returns the scroll speed for the current level, {@link #LEVEL_SPEEDUP}
+     * faster per level but never above a limit.
+     *
+     * @param initial  The speed at level 0.
+     * @param maxSpeed The speed the minigame is still passable at.
+     * @return The scroll speed.
+     */
+    protected double levelSpeed(double initial, double maxSpeed) {
+        return Math.min(initial * (1 + LEVEL_SPEEDUP * getLevel()), Math.max(initial, maxSpeed));
+    }
+
+    /**
+     * Runs the minigame's rules for one tick.
+     */
+    protected abstract void update();
+
+    /**
+     * Returns the horizontal speed the world scrolls at, in pixels per tick.
+     *
+     * @return The scroll speed.
+     */
+    public abstract double getScrollSpeed();
+
+    /**
+     * Ends the run, unless this is a stress run, which goes on to its last tick.
+     */
+    protected void endRun() {
+        if (stress != null) {
+            return;
+        }
+        gameOver = true;
+        events |= EVENT_GAME_OVER;
+    }
+
+    /**
+     * Counts an obstacle the pet has passed.
+     */
+    protected void addScore() {
+        score++;
+        events |= EVENT_SCORED;
+    }
+
+    /**
+     * Adds a coin with its top-left corner at the given position.
+     *
+     * @param x The x-coordinate of the coin.
+     * @param y The y-coordinate of the coin.
+     */
+    protected void addCoin(double x, double y) {
+        spawn(LAYER_COINS, x, y, COIN_SIZE, COIN_SIZE);
+    }
+
+    /**
+     * Scrolls the coins left by one tick, collects any the pet touched during
+     * the tick and drops coins that are collected or off-screen.
+     *
+     * @param speed The distance coins move this tick.
+     */
+    protected void updateCoins(double speed) {
+        coins.translateX(-speed);
+        double left = hitboxLeft() - speed;
+        double right = hitboxRight() - speed;
+        double top = prevPetY + HITBOX_INSET;
+        double bottom = prevPetY + petHeight - HITBOX_INSET;
+        double dy = petY - prevPetY;
+
+        int nearby = broadphase.query(coins, left, right + speed, EntityBuffer.COLLECTED);
+        for (int k = 0; k < nearby; k++) {
+            int i = broadphase.candidate(k);
+            // Relative to the coin the pet moved right by speed and down by its own fall
+            if (broadphase.sweptIntersects(coins, i, left, top, right, bottom, speed, dy)
+                && spriteHits(coins, i, speed, 0)) {
+                coins.setFlag(i, EntityBuffer.COLLECTED);
+                coinsCollected++;
+                events |= EVENT_COIN;
+            }
+        }
+        coins.removeLeading(0, EntityBuffer.COLLECTED);
+    }
+
+    /**
+     * Checks whether the pet touched any entity in the buffer during the latest
+     * tick. The pet's hitbox is swept from where it started the tick along its
+     * motion relative to the entities, so nothing thinner than one tick's travel
+     * is skipped over.
+     *
+     * @param buffer    The entities to test.
+     * @param speedX    How far the entities moved left this tick.
+     * @param speedY    How far the entities moved up this tick.
+     * @param skipFlags Entities with any of these flags are ignored.
+     * @return True if the pet hit one of them.
+     */
+    protected boolean hitsAny(EntityBuffer buffer, double speedX, double speedY, int skipFlags) {
+        // Where the pet started the tick, in the entities' current frame
+        double left = hitboxLeft() - speedX;
+        double right = hitboxRight() - speedX;
+        double top = prevPetY + HITBOX_INSET - speedY;
+        double bottom = prevPetY + petHeight - HITBOX_INSET - speedY;
+        double dy = petY - prevPetY + speedY;
+
+        int nearby = broadphase.query(buffer, left, right + speedX, skipFlags);
+        for (int k = 0; k < nearby; k++) {
+            int i = broadphase.candidate(k);
+            if (broadphase.sweptIntersects(buffer, i, left, top, right, bottom, speedX, dy)
+                && spriteHits(buffer, i, speedX, speedY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks an entity against the pet's sprite mask over the latest tick.
+     *
+     * @param buffer The buffer holding the entity.
+     * @param index  The entity's index in spawn order.
+     * @param speedX How far the entity moved left this tick.
+     * @param speedY How far the entity moved up this tick.
+     * @return True if a solid pixel touched the entity, or if there is no mask.
+     */
+    protected boolean spriteHits(EntityBuffer buffer, int index, double speedX, double speedY) {
+        double y = buffer.y(index);
+        return spriteHits(speedX, speedY, buffer.x(index), y, buffer.right(index), y + buffer.height(index));
+    }
+
+    /**
+     * Checks a box against the pet's sprite mask over the latest tick. The
+     * sprite is moved along its path relative to the box a pixel at a time,
+     * so a hit found by the swept box test is confirmed or ruled out without
+     * skipping over thin parts of the sprite.
+     *
+     * @param speedX      How far the box moved left this tick.
+     * @param speedY      How far the box moved up this tick.
+     * @param otherLeft   The box's left edge now.
+     * @param otherTop    The box's top edge now.
+     * @param otherRight  The box's right edge now.
+     * @param otherBottom The box's bottom edge now.
+     * @return True if a solid pixel touched the box, or if there is no mask.
+     */
+    protected boolean spriteHits(double speedX, double speedY,
+                                 double otherLeft, double otherTop, double otherRight, double otherBottom) {
+        if (petMasks == null) {
+            return true;
+        }
+        SpriteMask mask = petMasks.at(getPetRotation());
+        // The mask's top-left corner at the start of the tick, in the box's current frame
+        double startX = petX - speedX - mask.getWidth() / 2.0;
+        double startY = spriteCenterY(prevPetY) - speedY - mask.getHeight() / 2.0;
+        double dy = petY - prevPetY + speedY;
+        int steps = Math.max(1, (int) Math.ceil(Math.max(Math.abs(speedX), Math.abs(dy))));
+        for (int s = 1; s <= steps; s++) {
+            double t = (double) s / steps;
+            double x = startX + speedX * t;
+            double y = startY + dy * t;
+            if (mask.overlaps(otherLeft - x, otherTop - y, otherRight - x, otherBottom - y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the y-coordinate of the middle of the pet's sprite for a pet
+     * position. Minigames whose {@link #petY} is the top of the pet, which is
+     * most of them, need not override this.
+     *
+     * @param y A value of {@link #petY}.
+     * @return The sprite's vertical centre.
+     */
+    protected double spriteCenterY(double y) {
+        return y + petHeight / 2;
+    }
+
+    /**
+     * Returns the angle the pet is drawn tilted at, clockwise in degrees.
+     *
+     * @return The angle; 0 unless the minigame tilts the pet.
+     */
+    public double getPetRotation() {
+        return rotationAt(getPetVelocity());
+    }
+
+    /**
+     * Returns the angle a pet moving at a vertical velocity is drawn tilted
+     * at. Also used to tilt ghosts, whose velocity is only known from how far
+     * they moved.
+     *
+     * @param velocity The vertical velocity in pixels per tick; positive is downwards.
+     * @return The angle in degrees; 0 unless the minigame tilts the pet.
+     */
+    public double rotationAt(double velocity) {
+        return 0;
+    }
+
+    /**
+     * Returns the smallest angle {@link #getPetRotation()} can return.
+     *
+     * @return The angle in degrees.
+     */
+    protected double getMinPetRotation() {
+        return 0;
+    }
+
+    /**
+     * Returns the largest angle {@link #getPetRotation()} can return.
+     *
+     * @return The angle in degrees.
+     */
+    protected double getMaxPetRotation() {
+        return 0;
+    }
+
+    /**
+     * Returns the left edge of the pet's hitbox.
+     *
+     * @return The hitbox's left edge.
+     */
+    protected double hitboxLeft() {
+        return petX - petWidth / 2 + HITBOX_INSET;
+    }
+
+    /**
+     * Returns the right edge of the pet's hitbox.
+     *
+     * @return The hitbox's right edge.
+     */
+    protected double hitboxRight() {
+        return petX + petWidth / 2 - HITBOX_INSET;
+    }
+
+    /**
+     * Returns the events raised by the latest tick, as a combination of bits
+     * such as {@link #EVENT_SCORED}. Cleared at the start of every tick.
+     *
+     * @return The event bits.
+     */
+    public int getEvents() {
+        return events;
+    }
+
+    /**
+     * Returns whether the run has ended.
+     *
+     * @return True once the pet has crashed.
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Returns the number of ticks simulated in this run.
+     *
+     * @return The tick count.
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Returns the seed of the current run.
+     *
+     * @return The seed passed to {@link #reset(long)}.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the number of obstacles passed in this run.
+     *
+     * @return The score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the number of coins collected in this run.
+     *
+     * @return The coin count.
+     */
+    public int getCoinsCollected() {
+        return coinsCollected;
+    }
+
+    /**
+     * Returns the coins in play, for drawing.
+     *
+     * @return The coin buffer; it must not be modified.
+     */
+    public EntityBuffer getCoins() {
+        return coins;
+    }
+
+    /**
+     * Returns the collision counters, for watching collision cost.
+     *
+     * @return The simulation's broadphase.
+     */
+    public Broadphase getBroadphase() {
+        return broadphase;
+    }
+
+    /**
+     * Returns the horizontal centre of the pet.
+     *
+     * @return The pet's x.
+     */
+    public double getPetX() {
+        return petX;
+    }
+
+    /**
+     * Returns the pet's vertical position after the latest tick.
+     *
+     * @return The pet's y.
+     */
+    public double getPetY() {
+        return petY;
+    }
+
+    /**
+     * Returns the pet's vertical position at the start of the latest tick.
+     *
+     * @return The previous y, for interpolated drawing.
+     */
+    public double getPrevPetY() {
+        return prevPetY;
+    }
+
+    /**
+     * Returns the pet's vertical velocity.
+     *
+     * @return The velocity in pixels per tick; positive is downwards.
+     */
+    public abstract double getPetVelocity();
+
+    /**
+     * Returns the width of the pet's bounding box.
+     *
+     * @return The pet's width.
+     */
+    public double getPetWidth() {
+        return petWidth;
+    }
+
+    /**
+     * Returns the height of the pet's bounding box.
+     *
+     * @return The pet's height.
+     */
+    public double getPetHeight() {
+        return petHeight;
+    }
+}
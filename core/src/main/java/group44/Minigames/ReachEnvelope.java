@@ -0,0 +1,338 @@
+package group44.Minigames;
+
+import java.util.Arrays;
+
+/**
+ * How far the pet can move up or down in a given number of ticks, worked out
+ * once from a minigame's jump physics so that course generators can check a
+ * spawn against it in constant time instead of hoping the course is passable.
+ * <p>
+ * All heights are in pixels and all offsets are in screen coordinates, so an
+ * offset is negative above the take-off point. Three tables are kept:
+ * </p>
+ * <ul>
+ *   <li>the arc of a single jump left alone until it lands back at the
+ *       take-off height, as {@link #getArcOffset(int)};</li>
+ *   <li>the furthest the pet can climb in a number of ticks from rest, jumping
+ *       again as often as the game allows, as {@link #getMaxRise(int)};</li>
+ *   <li>the furthest it falls in a number of ticks from rest with no input, as
+ *       {@link #getMaxFall(int)}.</li>
+ * </ul>
+ * <p>
+ * Generators that need to know where the pet is while an entity passes it use
+ * a {@link Crossing} table, built once for each scroll speed and cached.
+ * Envelopes are immutable apart from that cache, which is thread-safe, so one
+ * envelope can be shared by every simulation of a minigame.
+ * </p>
+ */
+public final class ReachEnvelope {
+
+    /** How many ticks either side of the expected phase a crossing table also covers. */
+    public static final int PHASE_SLACK = 2;
+
+    /** The pet's offset from its take-off height after each tick of a jump; ends with the landing at 0. */
+    private final double[] arc;
+    /** The tick of the jump's highest point. */
+    private final int apexTick;
+    /** The tick the jump lands on. */
+    private final int airTicks;
+    /** The furthest the pet can climb in each number of ticks, jumping whenever allowed. */
+    private final double[] rise;
+    /** The furthest the pet falls in each number of ticks from rest. */
+    private final double[] fall;
+    /**
+     * The crossing tables built so far. Only ever replaced by a longer copy, so
+     * lookups can scan it without locking or allocating.
+     */
+    private volatile Crossing[] crossings = new Crossing[0];
+
+    /**
+     * Works out the envelope of a pet that jumps by setting its vertical
+     * velocity to {@code jumpForce} and is pulled back by {@code gravity}
+     * every tick, replaying the minigames' own update order: the velocity
+     * changes first, then the position.
+     *
+     * @param gravity    The pull back towards the take-off height per tick; positive.
+     * @param jumpForce  The vertical velocity a jump starts with; negative is upwards.
+     * @param airJumps   True if the pet may jump again in mid-air, like flapping;
+     *                   false if it must land first.
+     * @param maxTicks   The longest stretch {@link #getMaxRise(int)} and
+     *                   {@link #getMaxFall(int)} are asked about; longer ones are clamped.
+     * @throws IllegalArgumentException if the jump would never come back down.
+     */
+    public ReachEnvelope(double gravity, double jumpForce, boolean airJumps, int maxTicks) {
+        if (gravity <= 0 || jumpForce >= 0) {
+            throw new IllegalArgumentException("A jump must go up and come back down");
+        }
+
+        // A single jump, until it lands back at the take-off height
+        int longest = (int) Math.ceil(-2 * jumpForce / gravity) + 1;
+        arc = new double[longest + 1];
+        double velocity = jumpForce;
+        double offset = 0;
+        int peak = 0;
+        int landing = longest;
+        for (int k = 1; k <= longest; k++) {
+            velocity += gravity;
+            offset += velocity;
+            if (velocity > 0 && offset >= 0) {
+                landing = k; // The rest of the table stays at 0
+                break;
+            }
+            arc[k] = offset;
+            if (offset < arc[peak]) {
+                peak = k;
+            }
+        }
+        apexTick = peak;
+        airTicks = landing;
+
+        rise = new double[maxTicks + 1];
+        fall = new double[maxTicks + 1];
+        double riseVelocity = 0;
+        double riseOffset = 0;
+        double fallVelocity = 0;
+        double fallOffset = 0;
+        for (int n = 1; n <= maxTicks; n++) {
+            if (airJumps) {
+                // Jumping on every tick climbs fastest
+                riseVelocity = jumpForce + gravity;
+                riseOffset += riseVelocity;
+                rise[n] = -riseOffset;
+            } else {
+                // One jump is all it gets before landing
+                rise[n] = Math.max(rise[n - 1], -arc[Math.min(n, arc.length - 1)]);
+            }
+            fallVelocity += gravity;
+            fallOffset += fallVelocity;
+            fall[n] = fallOffset;
+        }
+    }
+
+    /**
+     * Returns the pet's offset from its take-off height a number of ticks
+     * after a jump started.
+     *
+     * @param tick The ticks since the jump input.
+     * @return The offset; negative above the take-off height, 0 before the jump and after landing.
+     */
+    public double getArcOffset(int tick) {
+        return tick <= 0 || tick >= arc.length ? 0 : arc[tick];
+    }
+
+    /**
+     * Returns how many ticks after the jump input the pet is highest.
+     *
+     * @return The apex tick.
+     */
+    public int getApexTick() {
+        return apexTick;
+    }
+
+    /**
+     * Returns how many ticks a jump lasts before it lands.
+     *
+     * @return The number of ticks.
+     */
+    public int getAirTicks() {
+        return airTicks;
+    }
+
+    /**
+     * Returns how high a single jump takes the pet.
+     *
+     * @return The peak height in pixels; positive.
+     */
+    public double getPeakHeight() {
+        return -arc[apexTick];
+    }
+
+    /**
+     * Returns the furthest the pet can climb from rest within a number of ticks.
+     *
+     * @param ticks The number of ticks.
+     * @return The height in pixels; positive.
+     */
+    public double getMaxRise(int ticks) {
+        return rise[Math.max(0, Math.min(ticks, rise.length - 1))];
+    }
+
+    /**
+     * Returns the furthest the pet falls from rest within a number of ticks
+     * with no input, as if nothing were below it.
+     *
+     * @param ticks The number of ticks.
+     * @return The distance in pixels; positive.
+     */
+    public double getMaxFall(int ticks) {
+        return fall[Math.max(0, Math.min(ticks, fall.length - 1))];
+    }
+
+    /**
+     * Returns the crossing table for entities passing the pet at a scroll
+     * speed, building it the first time a speed is asked for.
+     *
+     * @param speed The scroll speed in pixels per tick.
+     * @param span  How far an entity scrolls while it overlaps the pet: its
+     *              width plus the width of the pet's hitbox.
+     * @param drift How far the entity moves down per tick; negative if it rises.
+     * @return The crossing table.
+     */
+    public Crossing crossing(double speed, double span, double drift) {
+        int window = (int) Math.ceil(span / speed);
+        long key = ((long) window << 32) | (Float.floatToIntBits((float) drift) & 0xFFFFFFFFL);
+        for (Crossing crossing : crossings) {
+            if (crossing.key == key) {
+                return crossing;
+            }
+        }
+        return addCrossing(key, window, drift);
+    }
+
+    /**
+     * Builds and caches a crossing table, unless another thread got there first.
+     *
+     * @param key    The table's key, from its window length and drift.
+     * @param window The number of ticks the entity overlaps the pet horizontally.
+     * @param drift  How far the entity moves down per tick.
+     * @return The crossing table.
+     */
+    private synchronized Crossing addCrossing(long key, int window, double drift) {
+        Crossing[] built = crossings;
+        for (Crossing crossing : built) {
+            if (crossing.key == key) {
+                return crossing;
+            }
+        }
+        Crossing crossing = new Crossing(key, window, drift);
+        Crossing[] grown = Arrays.copyOf(built, built.length + 1);
+        grown[built.length] = crossing;
+        crossings = grown;
+        return crossing;
+    }
+
+    /**
+     * Where the pet is relative to an entity that scrolls past it, for each
+     * moment the pet's jump could have started. Every entry covers the whole
+     * time the two overlap horizontally, the pet's sweep within each tick,
+     * and {@link #PHASE_SLACK} ticks of error in the phase either way.
+     */
+    public final class Crossing {
+
+        /** The table's key in the envelope's cache, from its window length and drift. */
+        private final long key;
+        /** The number of ticks the entity overlaps the pet horizontally. */
+        private final int window;
+        /** The phase of entry 0 of the tables. */
+        private final int firstPhase;
+        /** The highest relative offset, the pet's least offset minus the entity's drift, for each phase. */
+        private final double[] highest;
+        /** The lowest relative offset for each phase. */
+        private final double[] lowest;
+
+        /**
+         * Builds the tables for every phase at which the jump could overlap the window.
+         *
+         * @param key    The table's key in the envelope's cache.
+         * @param window The number of ticks the entity overlaps the pet horizontally.
+         * @param drift  How far the entity moves down per tick.
+         */
+        private Crossing(long key, int window, double drift) {
+            this.key = key;
+            this.window = window;
+            firstPhase = -window - PHASE_SLACK - 1;
+            int lastPhase = arc.length + PHASE_SLACK;
+            highest = new double[lastPhase - firstPhase + 1];
+            lowest = new double[highest.length];
+            for (int i = 0; i < highest.length; i++) {
+                double high = Double.POSITIVE_INFINITY;
+                double low = Double.NEGATIVE_INFINITY;
+                int phase = firstPhase + i;
+                for (int p = phase - PHASE_SLACK; p <= phase + PHASE_SLACK; p++) {
+                    for (int u = 0; u <= window; u++) {
+                        // The hitbox is swept from where the pet started the tick
+                        double relative = Math.min(getArcOffset(p + u - 1), getArcOffset(p + u)) - drift * u;
+                        double relativeLow = Math.max(getArcOffset(p + u - 1), getArcOffset(p + u)) - drift * u;
+                        high = Math.min(high, relative);
+                        low = Math.max(low, relativeLow);
+                    }
+                }
+                highest[i] = high;
+                lowest[i] = low;
+            }
+        }
+
+        /**
+         * Returns the number of ticks the entity overlaps the pet horizontally.
+         *
+         * @return The window length.
+         */
+        public int getWindow() {
+            return window;
+        }
+
+        /**
+         * Returns the earliest phase with an entry of its own; earlier phases
+         * mean the pet rests throughout, like this one.
+         *
+         * @return The first phase.
+         */
+        public int getFirstPhase() {
+            return firstPhase;
+        }
+
+        /**
+         * Returns the latest phase with an entry of its own; later phases mean
+         * the pet rests throughout, like this one.
+         *
+         * @return The last phase.
+         */
+        public int getLastPhase() {
+            return firstPhase + highest.length - 1;
+        }
+
+        /**
+         * Returns whether the jump is under way at some point while the entity
+         * overlaps the pet; otherwise the pet rests throughout.
+         *
+         * @param phase The ticks from the jump input to the start of the overlap.
+         * @return True if the jump matters to the entity.
+         */
+        public boolean overlapsJump(int phase) {
+            return phase + PHASE_SLACK + window >= 1 && phase - PHASE_SLACK <= airTicks;
+        }
+
+        /**
+         * Returns the highest the pet gets relative to the entity while they
+         * overlap, as the pet's offset from its take-off height minus how far
+         * the entity has drifted since the overlap began.
+         *
+         * @param phase The ticks from the jump input to the start of the overlap.
+         * @return The least relative offset; 0 or less.
+         */
+        public double highest(int phase) {
+            return highest[index(phase)];
+        }
+
+        /**
+         * Returns the lowest the pet gets relative to the entity while they overlap.
+         *
+         * @param phase The ticks from the jump input to the start of the overlap.
+         * @return The greatest relative offset.
+         */
+        public double lowest(int phase) {
+            return lowest[index(phase)];
+        }
+
+        /**
+         * Returns the table entry for a phase; phases before or after the jump
+         * mean the pet rests throughout, like the first and last entries.
+         *
+         * @param phase The phase.
+         * @return The index into the tables.
+         */
+        private int index(int phase) {
+            return Math.max(0, Math.min(phase - firstPhase, highest.length - 1));
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package group44.Minigames;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+/**
+ * Reads a replay written by {@link ReplayRecorder} and hands its inputs back in
+ * tick order. A player restarts the run with {@link #getSeed()} and, on every
+ * tick, applies the inputs stamped with that tick:
+ * <pre>
+ * while (reader.hasNext() &amp;&amp; reader.nextTick() == tick) {
+ *     applyInput(reader.nextAction());
+ *     reader.advance();
+ * }
+ * </pre>
+ * {@link #seek(int)} uses the keyframe index to jump to the inputs from a
+ * given tick onwards without decoding everything before it.
+ */
+public class ReplayReader {
+
+    /** The whole replay file. */
+    private final ByteBuffer data;
+    /** The minigame the run belongs to. */
+    private final String game;
+    /** The seed the run's random generator started from. */
+    private final long seed;
+    /** The tick the run ended on. */
+    private final int endTick;
+    /** The number of input events. */
+    private final int eventCount;
+    /** Where the event block starts in {@link #data}. */
+    private final int eventsStart;
+    /** The absolute tick of each keyframe. */
+    private final int[] keyframeTicks;
+    /** The offset of each keyframe within the event block. */
+    private final int[] keyframeOffsets;
+    /** The pet's sprite mask the run was played with, or null. */
+    private final SpriteMask petSprite;
+
+    /** The index of the event held in {@link #tick} and {@link #action}. */
+    private int eventIndex;
+    /** The tick of the next event. */
+    private int tick;
+    /** The action of the next event. */
+    private int action;
+
+    /**
+     * Parses a replay.
+     *
+     * @param bytes The replay file contents.
+     * @throws IOException if the data is not a valid replay.
+     */
+    public ReplayReader(byte[] bytes) throws IOException {
+        data = ByteBuffer.wrap(bytes);
+        try {
+            for (byte b : ReplayRecorder.MAGIC) {
+                if (data.get() != b) {
+                    throw new IOException("Not a replay file");
+                }
+            }
+            byte[] name = new byte[Varint.readInt(data)];
+            data.get(name);
+            game = new String(name, StandardCharsets.UTF_8);
+            seed = data.getLong();
+            endTick = Varint.readInt(data);
+            eventCount = Varint.readInt(data);
+            int eventsLength = Varint.readInt(data);
+            eventsStart = data.position();
+            data.position(eventsStart + eventsLength);
+
+            int count = Varint.readInt(data);
+            keyframeTicks = new int[count];
+            keyframeOffsets = new int[count];
+            for (int i = 0; i < count; i++) {
+                keyframeTicks[i] = Varint.readInt(data);
+                keyframeOffsets[i] = Varint.readInt(data);
+            }
+
+            if (data.hasRemaining()) {
+                int width = Varint.readInt(data);
+                int height = Varint.readInt(data);
+                long[] rows = new long[((width + 63) >>> 6) * height];
+                for (int i = 0; i < rows.length; i++) {
+                    rows[i] = data.getLong();
+                }
+                petSprite = new SpriteMask(width, height, rows);
+            } else {
+                petSprite = null;
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Corrupt replay file", e);
+        }
+        seek(0);
+    }
+
+    /**
+     * Reads a replay file.
+     *
+     * @param filePath The file to read.
+     * @return A reader positioned at the first input.
+     * @throws IOException if the file cannot be read or is not a valid replay.
+     */
+    public static ReplayReader load(String filePath) throws IOException {
+        return new ReplayReader(Files.readAllBytes(Paths.get(filePath)));
+    }
+
+    /**
+     * Returns the name of the minigame the run belongs to.
+     *
+     * @return The game name.
+     */
+    public String getGame() {
+        return game;
+    }
+
+    /**
+     * Returns the seed the run's random generator started from.
+     *
+     * @return The seed.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the number of ticks the run lasted.
+     *
+     * @return The tick the run ended on.
+     */
+    public int getEndTick() {
+        return endTick;
+    }
+
+    /**
+     * Returns the number of inputs in the replay.
+     *
+     * @return The event count.
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Returns the pet's sprite mask the run was played with.
+     *
+     * @return The mask, or null if the run only tested boxes.
+     */
+    public SpriteMask getPetSprite() {
+        return petSprite;
+    }
+
+    /**
+     * Returns whether any inputs are left.
+     *
+     * @return True if {@link #nextTick()} and {@link #nextAction()} are valid.
+     */
+    public boolean hasNext() {
+        return eventIndex < eventCount;
+    }
+
+    /**
+     * Returns the tick of the next input.
+     *
+     * @return The tick the input was applied on.
+     */
+    public int nextTick() {
+        return tick;
+    }
+
+    /**
+     * Returns the action of the next input.
+     *
+     * @return The game-specific action code.
+     */
+    public int nextAction() {
+        return action;
+    }
+
+    /**
+     * Moves on to the following input.
+     */
+    public void advance() {
+        if (eventIndex < eventCount) {
+            eventIndex++;
+            decode();
+        }
+    }
+
+    /**
+     * Positions the reader at the first input on or after the given tick.
+     *
+     * @param target The tick to seek to.
+     */
+    public void seek(int target) {
+        // Find the last keyframe at or before the target
+        int low = 0;
+        int high = keyframeTicks.length - 1;
+        int keyframe = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (keyframeTicks[mid] <= target) {
+                keyframe = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        eventIndex = keyframe * ReplayRecorder.KEYFRAME_INTERVAL;
+        data.position(eventsStart + (keyframeOffsets.length > 0 ? keyframeOffsets[keyframe] : 0));
+        decode();
+        while (hasNext() && tick < target) {
+            advance();
+        }
+    }
+
+    /**
+     * Decodes the event at {@link #eventIndex}, if there is one.
+     */
+    private void decode() {
+        if (eventIndex >= eventCount) {
+            return;
+        }
+        int delta = Varint.readInt(data);
+        tick = eventIndex % ReplayRecorder.KEYFRAME_INTERVAL == 0 ? delta : tick + delta;
+        action = data.get() & 0xFF;
+    }
+}
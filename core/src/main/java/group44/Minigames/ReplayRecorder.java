@@ -0,0 +1,161 @@
+package group44.Minigames;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Records one minigame run as a replay: the seed its random generator started
+ * from plus every input, stamped with the simulation tick it was applied on.
+ * Because a run's spawns come only from the seeded generator and its movement
+ * only from fixed ticks, this is enough to play the run back exactly.
+ * <p>
+ * The file layout is:
+ * </p>
+ * <pre>
+ * "EGR1"                 magic and format version
+ * varint, bytes          game name length and UTF-8 name
+ * 8 bytes                seed, big-endian
+ * varint                 tick the run ended on
+ * varint                 number of input events
+ * varint, bytes          length of the event block, then the block
+ * varint                 number of keyframes
+ * (varint, varint)*      tick and event block offset of each keyframe
+ * [varint, varint,       optional: the pet's sprite mask width and height,
+ *  8 bytes*]             then its rows, see {@link SpriteMask#getBits()}
+ * </pre>
+ * <p>
+ * Each event is a varint tick delta followed by one action byte. Every
+ * {@link #KEYFRAME_INTERVAL}th event stores its absolute tick instead of a
+ * delta and gets a keyframe entry, so a {@link ReplayReader} can jump close to
+ * any tick without decoding the events before it.
+ * </p>
+ */
+public class ReplayRecorder {
+
+    /** The magic bytes every replay file starts with. */
+    static final byte[] MAGIC = {'E', 'G', 'R', '1'};
+
+    /** The number of events between two keyframes. */
+    public static final int KEYFRAME_INTERVAL = 64;
+
+    /** The minigame the run belongs to. */
+    private final String game;
+    /** The seed the run's random generator started from. */
+    private final long seed;
+
+    /** The encoded events. */
+    private final ByteArrayOutputStream events = new ByteArrayOutputStream(256);
+    /** The encoded keyframe entries. */
+    private final ByteArrayOutputStream keyframes = new ByteArrayOutputStream();
+    /** The number of events recorded so far. */
+    private int eventCount;
+    /** The tick of the latest event. */
+    private int lastTick;
+    /** The pet's sprite mask the run was played with, or null for box hits alone. */
+    private SpriteMask petSprite;
+
+    /**
+     * Starts recording a run.
+     *
+     * @param game The name of the minigame, stored so replays are not mixed up.
+     * @param seed The seed the run's random generator was started from.
+     */
+    public ReplayRecorder(String game, long seed) {
+        this.game = game;
+        this.seed = seed;
+    }
+
+    /**
+     * Records an input.
+     *
+     * @param tick   The simulation tick the input was applied on, counted from 0.
+     * @param action The game-specific action code, from 0 to 255.
+     * @throws IllegalArgumentException if the tick is earlier than the previous
+     *                                  input's or the action does not fit a byte.
+     */
+    public void record(int tick, int action) {
+        if (tick < lastTick || tick < 0) {
+            throw new IllegalArgumentException("Tick " + tick + " is before the previous input at " + lastTick);
+        }
+        if (action < 0 || action > 0xFF) {
+            throw new IllegalArgumentException("Action out of range: " + action);
+        }
+        int base = lastTick;
+        if (eventCount % KEYFRAME_INTERVAL == 0) {
+            Varint.write(keyframes, tick);
+            Varint.write(keyframes, events.size());
+            base = 0;
+        }
+        Varint.write(events, tick - base);
+        events.write(action);
+        lastTick = tick;
+        eventCount++;
+    }
+
+    /**
+     * Stores the pet's sprite mask with the run, since pixel-accurate hits
+     * decide how it ends.
+     *
+     * @param petSprite The mask from {@link MinigameSimulation#getPetSprite()}, or null.
+     */
+    public void setPetSprite(SpriteMask petSprite) {
+        this.petSprite = petSprite;
+    }
+
+    /**
+     * Returns the number of inputs recorded so far.
+     *
+     * @return The event count.
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Encodes the finished run.
+     *
+     * @param endTick The number of ticks the run lasted.
+     * @return The replay file contents.
+     */
+    public byte[] toByteArray(int endTick) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(events.size() + keyframes.size() + 64);
+        out.write(MAGIC, 0, MAGIC.length);
+        byte[] name = game.getBytes(StandardCharsets.UTF_8);
+        Varint.write(out, name.length);
+        out.write(name, 0, name.length);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (seed >>> shift));
+        }
+        Varint.write(out, Math.max(endTick, lastTick));
+        Varint.write(out, eventCount);
+        Varint.write(out, events.size());
+        out.writeBytes(events.toByteArray());
+        Varint.write(out, (eventCount + KEYFRAME_INTERVAL - 1) / KEYFRAME_INTERVAL);
+        out.writeBytes(keyframes.toByteArray());
+        if (petSprite != null) {
+            Varint.write(out, petSprite.getWidth());
+            Varint.write(out, petSprite.getHeight());
+            for (long word : petSprite.getBits()) {
+                for (int shift = 56; shift >= 0; shift -= 8) {
+                    out.write((int) (word >>> shift));
+                }
+            }
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Writes the finished run to a file, replacing any previous contents.
+     *
+     * @param filePath The file to write.
+     * @param endTick  The number of ticks the run lasted.
+     * @throws IOException if the file cannot be written.
+     */
+    public void save(String filePath, int endTick) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(filePath)) {
+            out.write(toByteArray(endTick));
+        }
+    }
+}
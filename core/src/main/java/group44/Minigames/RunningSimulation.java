@@ -0,0 +1,283 @@
+package group44.Minigames;
+
+/**
+ * The rules of the running minigame: the pet runs along the ground and jumps
+ * over obstacles scrolling towards it, collecting the coins placed above some
+ * of them. {@link #petY} is the pet's vertical centre.
+ */
+public class RunningSimulation extends MinigameSimulation {
+
+    /** The pull of gravity on the pet per tick. */
+    public static final double GRAVITY = 0.18;
+    /** The pet's vertical velocity at the start of a jump. */
+    public static final double JUMP_FORCE = -7.0;
+    /** The distance from the bottom of the play area to the ground. */
+    public static final double GROUND_OFFSET = 65;
+    /** The width of an obstacle. */
+    public static final double OBSTACLE_WIDTH = 40;
+    /** The height of an obstacle. */
+    public static final double OBSTACLE_HEIGHT = 60;
+    /** The speed obstacles scroll at when a run starts. */
+    public static final double INITIAL_OBSTACLE_SPEED = 3.0;
+    /** The horizontal distance between two obstacles. */
+    public static final double OBSTACLE_GAP_DISTANCE = 300;
+    /** How high a jump carries the pet, worked out from {@link #GRAVITY} and {@link #JUMP_FORCE}. */
+    public static final ReachEnvelope JUMP_ENVELOPE = new ReachEnvelope(GRAVITY, JUMP_FORCE, false, 0);
+
+    /** The obstacles in play, in spawn order. */
+    private final EntityBuffer obstacles = new EntityBuffer();
+    /** The pet's vertical velocity. */
+    private double petVelocity;
+    /** The speed obstacles scroll at. */
+    private double obstacleSpeed;
+
+    /**
+     * Creates a running simulation for a play area of the given size.
+     *
+     * @param width  The play area width in pixels.
+     * @param height The play area height in pixels.
+     */
+    public RunningSimulation(double width, double height) {
+        super(width, height);
+        petX = 100;
+        petWidth = 60;
+        petHeight = 45;
+    }
+
+    /**
+     * Returns the name of the running minigame.
+     *
+     * @return "running", followed by "-endless" in endless mode.
+     */
+    @Override
+    public String getName() {
+        return isEndless() ? "running-endless" : "running";
+    }
+
+    /**
+     * Places the pet on the ground.
+     */
+    @Override
+    protected void startRun() {
+        petY = groundY() - petHeight / 2;
+        petVelocity = 0;
+        obstacleSpeed = INITIAL_OBSTACLE_SPEED;
+        obstacles.clear();
+    }
+
+    /**
+     * Spawns the first two obstacles.
+     */
+    @Override
+    protected void spawnOpening() {
+        addObstacle(width + 200);
+        addObstacle(width + 200 + OBSTACLE_GAP_DISTANCE);
+    }
+
+    /**
+     * Copies another running simulation.
+     *
+     * @param other The simulation to copy; must be a {@code RunningSimulation}.
+     */
+    @Override
+    public void copyFrom(MinigameSimulation other) {
+        super.copyFrom(other);
+        RunningSimulation running = (RunningSimulation) other;
+        obstacles.copyFrom(running.obstacles);
+        petVelocity = running.petVelocity;
+        obstacleSpeed = running.obstacleSpeed;
+    }
+
+    /**
+     * Returns whether the input is a jump and the pet is near enough the ground to jump.
+     *
+     * @param action The input action.
+     * @return True if the pet would jump.
+     */
+    @Override
+    public boolean acceptsInput(int action) {
+        return action == INPUT_PRIMARY && petY >= groundY() - petHeight / 2 - 1;
+    }
+
+    /**
+     * Makes the pet jump if it is near the ground.
+     *
+     * @param action The input action.
+     */
+    @Override
+    public void applyInput(int action) {
+        if (acceptsInput(action)) {
+            petVelocity = JUMP_FORCE;
+        }
+    }
+
+    /**
+     * Applies gravity, scrolls the course and ends the run if the pet hit an obstacle.
+     */
+    @Override
+    protected void update() {
+        // Apply gravity to pet
+        petVelocity += GRAVITY;
+        petY += petVelocity;
+
+        // Reset pet position if it hits the ground
+        if (petY > groundY() - petHeight / 2) {
+            petY = groundY() - petHeight / 2;
+            petVelocity = 0;
+        }
+
+        scrollCourse();
+
+        if (hitsAny(obstacles, obstacleSpeed, 0, 0)) {
+            endRun();
+        }
+    }
+
+    /**
+     * Scrolls obstacles and coins, scores passed obstacles and spawns new ones.
+     * Endless runs speed up with every level, up to the fastest the pet can
+     * still land and jump again between two obstacles.
+     */
+    @Override
+    protected void scrollCourse() {
+        if (isEndless()) {
+            obstacleSpeed = levelSpeed(INITIAL_OBSTACLE_SPEED,
+                                       OBSTACLE_GAP_DISTANCE / (JUMP_ENVELOPE.getAirTicks() + 4));
+        }
+
+        // Move obstacles and update score
+        obstacles.translateX(-obstacleSpeed);
+        for (int i = 0; i < obstacles.size(); i++) {
+            if (!obstacles.hasFlag(i, EntityBuffer.PASSED) && obstacles.x(i) + OBSTACLE_WIDTH / 2 < petX) {
+                obstacles.setFlag(i, EntityBuffer.PASSED);
+                addScore();
+            }
+        }
+
+        // Remove obstacles off-screen
+        obstacles.removeLeading(0, 0);
+
+        updateCoins(obstacleSpeed);
+        spawnEntities();
+    }
+
+    /**
+     * Adds a new obstacle once the newest one is far enough in.
+     */
+    @Override
+    protected void spawnNext() {
+        if (obstacles.isEmpty() || obstacles.x(obstacles.size() - 1) < width - OBSTACLE_GAP_DISTANCE) {
+            addObstacle(width);
+        }
+    }
+
+    /**
+     * Returns the buffer a layer's entities are spawned into.
+     *
+     * @param layer {@link #LAYER_OBSTACLES} or {@link #LAYER_COINS}.
+     * @return The buffer.
+     */
+    @Override
+    protected EntityBuffer layer(int layer) {
+        return layer == LAYER_OBSTACLES ? obstacles : super.layer(layer);
+    }
+
+    /**
+     * Checks that the best-timed jump carries the pet's hitbox over the newest
+     * obstacle, and that the pet lands from the jump over the previous
+     * obstacle before it has to take off for this one.
+     *
+     * @param layer The layer the newest entity was spawned into.
+     * @return True if the pet can get past the entity.
+     */
+    @Override
+    protected boolean isPassable(int layer) {
+        if (layer != LAYER_OBSTACLES) {
+            return true;
+        }
+        int newest = obstacles.size() - 1;
+        double hitboxWidth = petWidth - 2 * HITBOX_INSET;
+        ReachEnvelope.Crossing crossing = JUMP_ENVELOPE.crossing(obstacleSpeed, obstacles.width(newest) + hitboxWidth, 0);
+        double lowest = Double.POSITIVE_INFINITY;
+        for (int phase = crossing.getFirstPhase(); phase <= crossing.getLastPhase(); phase++) {
+            lowest = Math.min(lowest, crossing.lowest(phase));
+        }
+        // The hitbox's bottom while resting, raised by the jump
+        double bottom = groundY() + petHeight / 2 - HITBOX_INSET + lowest;
+        if (bottom >= obstacles.y(newest)) {
+            return false;
+        }
+        return newest == 0
+            || (obstacles.x(newest) - obstacles.x(newest - 1)) / obstacleSpeed >= JUMP_ENVELOPE.getAirTicks();
+    }
+
+    /**
+     * Adds a new obstacle at the given x-coordinate and, every few obstacles,
+     * a coin above it where the pet is at the peak of a jump over it.
+     *
+     * @param x The x-coordinate of the obstacle's left edge.
+     */
+    private void addObstacle(double x) {
+        spawn(LAYER_OBSTACLES, x, groundY() - OBSTACLE_HEIGHT, OBSTACLE_WIDTH, OBSTACLE_HEIGHT);
+
+        // Add a coin every few obstacles
+        coinCounter++;
+        if (coinCounter >= 2 + random.nextInt(3)) { // 2-4 obstacles
+            coinCounter = 0;
+
+            // Centre coins within 15 pixels of the pet's centre at the top of its jump, so they are always in reach
+            double peakY = groundY() - petHeight / 2 - JUMP_ENVELOPE.getPeakHeight();
+            double coinY = peakY - COIN_SIZE / 2.0 - 15 + random.nextInt(30);
+            addCoin(x + OBSTACLE_WIDTH / 2 - COIN_SIZE / 2, coinY);
+        }
+    }
+
+    /**
+     * Returns the middle of the pet's sprite, which is {@link #petY} itself here.
+     *
+     * @param y A value of {@link #petY}.
+     * @return The same value.
+     */
+    @Override
+    protected double spriteCenterY(double y) {
+        return y;
+    }
+
+    /**
+     * Returns the y-coordinate of the ground's surface.
+     *
+     * @return The ground's y.
+     */
+    public double groundY() {
+        return height - GROUND_OFFSET;
+    }
+
+    /**
+     * Returns the speed obstacles scroll at.
+     *
+     * @return The scroll speed in pixels per tick.
+     */
+    @Override
+    public double getScrollSpeed() {
+        return obstacleSpeed;
+    }
+
+    /**
+     * Returns the pet's vertical velocity.
+     *
+     * @return The velocity in pixels per tick; positive is downwards.
+     */
+    @Override
+    public double getPetVelocity() {
+        return petVelocity;
+    }
+
+    /**
+     * Returns the obstacles in play, for drawing.
+     *
+     * @return The obstacle buffer; it must not be modified.
+     */
+    public EntityBuffer getObstacles() {
+        return obstacles;
+    }
+}
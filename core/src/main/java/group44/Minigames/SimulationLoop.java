@@ -0,0 +1,365 @@
+package group44.Minigames;
+
+import group44.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Runs a minigame simulation on a thread of its own at a fixed tick rate, so
+ * that a slow frame on the JavaFX thread cannot slow the game down and a slow
+ * tick cannot drop a frame.
+ * <p>
+ * The screen hands inputs over through an {@link InputRing} and, on every
+ * pulse, draws the latest {@link Snapshot} taken from a {@link TripleBuffer}.
+ * After each tick the simulation thread copies the whole simulation into a
+ * snapshot with {@link MinigameSimulation#copyFrom(MinigameSimulation)} and
+ * publishes it; once published a snapshot is never written again until the
+ * screen has moved on to a newer one. The live simulation is only ever
+ * touched by the simulation thread while a run is in progress.
+ * </p>
+ * <p>
+ * The loop also records the run's inputs, or plays back a replay instead,
+ * and saves the replay when the run ends, after which the thread stops. Live
+ * runs can also record a {@link GhostRecorder ghost}, kept when it is the
+ * best run so far.
+ * Endless runs get a {@link CourseStreamer} generating their course on a
+ * second thread, which stops with the run.
+ * </p>
+ *
+ * @param <S> The type of simulation run.
+ */
+public final class SimulationLoop<S extends MinigameSimulation> {
+
+    /**
+     * Simulation ticks per second. Gravity, jump forces and scroll speeds in every
+     * minigame are per-tick values tuned for this rate.
+     */
+    public static final int TICKS_PER_SECOND = 60;
+    /** The length of one simulation tick in nanoseconds. */
+    public static final long TICK_NANOS = 1_000_000_000L / TICKS_PER_SECOND;
+    /**
+     * The most ticks run back to back to catch up after the thread was held up.
+     * Any further backlog is dropped instead of being caught up.
+     */
+    private static final int MAX_CATCH_UP_TICKS = 5;
+    /** The number of inputs that can wait for the next tick. */
+    private static final int INPUT_CAPACITY = 64;
+
+    /** The live simulation. */
+    private final S simulation;
+    /** The snapshots passed to the screen. */
+    private final TripleBuffer<Snapshot<S>> snapshots;
+    /** The inputs passed from the screen. */
+    private final InputRing inputs = new InputRing(INPUT_CAPACITY);
+
+    /** The thread running the current run, or null when stopped. */
+    private Thread thread;
+    /** Cleared to ask the thread to stop. */
+    private volatile boolean running;
+    /** Records the current run's inputs, or null while a replay is playing. */
+    private ReplayRecorder recorder;
+    /** The replay supplying the current run's inputs, or null for a live run. */
+    private ReplayReader replay;
+    /** Where the current run's replay is saved, or null to not save it. */
+    private String replayPath;
+    /** Times every tick of the current run, or null to not time them. */
+    private volatile FrameStats stats;
+    /** Records the pet's track for the ghost; reused between runs. */
+    private final GhostRecorder ghost = new GhostRecorder();
+    /** Where the current run's ghost is saved if it is the best, or null to not record one. */
+    private String ghostPath;
+
+    /**
+     * A copy of the simulation taken after a tick, for drawing.
+     *
+     * @param <S> The type of simulation copied.
+     */
+    public static final class Snapshot<S extends MinigameSimulation> {
+
+        /** The copy of the simulation. */
+        private final S world;
+        /** The {@link System#nanoTime()} at which the tick was due. */
+        private long time;
+
+        /**
+         * Creates a snapshot holding a simulation to copy into.
+         *
+         * @param world An unused simulation of the right minigame and settings.
+         */
+        private Snapshot(S world) {
+            this.world = world;
+        }
+
+        /**
+         * Returns the copy of the simulation. It must not be modified.
+         *
+         * @return The simulation as it was after the tick.
+         */
+        public S getWorld() {
+            return world;
+        }
+
+        /**
+         * Returns when the tick was due, on the {@link System#nanoTime()} clock.
+         * A frame drawn that long after it is exactly one tick behind.
+         *
+         * @return The tick's due time in nanoseconds.
+         */
+        public long getTime() {
+            return time;
+        }
+    }
+
+    /**
+     * Creates a loop for a simulation.
+     *
+     * @param simulation The simulation to run.
+     * @param factory    Creates simulations of the same minigame and settings to hold snapshots.
+     */
+    public SimulationLoop(S simulation, Supplier<S> factory) {
+        this.simulation = simulation;
+        snapshots = new TripleBuffer<>(() -> new Snapshot<>(factory.get()));
+        simulation.setCourseStreamer(new CourseStreamer(factory, CourseStreamer.DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Starts a new run on a new simulation thread, stopping any run in
+     * progress first. The starting state is published before this returns.
+     *
+     * @param seed       The run's seed; ignored while playing a replay.
+     * @param replay     The replay to play instead of taking inputs, or null for a live run.
+     * @param replayPath Where to save the run's replay when it ends, or null to not save it.
+     */
+    public void start(long seed, ReplayReader replay, String replayPath) {
+        start(seed, replay, replayPath, null);
+    }
+
+    /**
+     * Starts a new run like {@link #start(long, ReplayReader, String)}, also
+     * recording the pet's track as a ghost for a live run.
+     *
+     * @param seed       The run's seed; ignored while playing a replay.
+     * @param replay     The replay to play instead of taking inputs, or null for a live run.
+     * @param replayPath Where to save the run's replay when it ends, or null to not save it.
+     * @param ghostPath  Where the minigame's ghost is kept; the run replaces it
+     *                   if it scores higher. Null to not record a ghost.
+     */
+    public void start(long seed, ReplayReader replay, String replayPath, String ghostPath) {
+        stop();
+        this.replay = replay;
+        this.replayPath = replayPath;
+        this.ghostPath = replay == null ? ghostPath : null;
+        if (replay != null) {
+            seed = replay.getSeed();
+            replay.seek(0);
+            recorder = null;
+        } else {
+            recorder = new ReplayRecorder(simulation.getName(), seed);
+            recorder.setPetSprite(simulation.getPetSprite());
+        }
+        inputs.clear();
+        simulation.reset(seed);
+        if (this.ghostPath != null) {
+            ghost.begin(simulation);
+        }
+        long now = System.nanoTime();
+        publish(now);
+
+        running = true;
+        final long firstTick = now + TICK_NANOS;
+        thread = new Thread(() -> run(firstTick), "minigame-" + simulation.getName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the run in progress, if any, and waits for the thread to finish.
+     */
+    public void stop() {
+        running = false;
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+        simulation.getCourseStreamer().stop();
+    }
+
+    /**
+     * Opens a minigame's ghost for the next run. Any run in progress is
+     * stopped first and, if it has already ended, its thread is waited for
+     * until it has finished saving, so the ghost is never read while the last
+     * run's new best is still being written.
+     *
+     * @param ghostPath The ghost's path.
+     * @return The ghost, or null if there is none yet.
+     * @throws IOException if the ghost cannot be read or is not a valid ghost.
+     */
+    public GhostTrack openGhost(String ghostPath) throws IOException {
+        stop();
+        return GhostTrack.open(ghostPath);
+    }
+
+    /**
+     * Times the simulation update of every tick from now on into the
+     * {@link FrameStats#UPDATE} series, for stress runs. Set it while no run is
+     * in progress; the stats may be read once the run has ended.
+     *
+     * @param stats The stats to record into, or null to stop timing.
+     */
+    public void setFrameStats(FrameStats stats) {
+        this.stats = stats;
+    }
+
+    /**
+     * Queues an input for the next tick. Inputs are ignored while a replay plays.
+     * Only one thread may queue inputs.
+     *
+     * @param action The action, such as {@link MinigameSimulation#INPUT_PRIMARY}.
+     * @return False if too many inputs were waiting and this one was dropped.
+     */
+    public boolean queueInput(int action) {
+        return inputs.offer(action);
+    }
+
+    /**
+     * Returns the newest snapshot. It stays untouched until the next call, so
+     * a frame should call this once and draw everything from the result. Only
+     * one thread may read snapshots.
+     *
+     * @return The newest snapshot.
+     */
+    public Snapshot<S> latest() {
+        return snapshots.read();
+    }
+
+    /**
+     * Returns the live simulation. Only safe to look at while no run is in progress.
+     *
+     * @return The simulation.
+     */
+    public S getSimulation() {
+        return simulation;
+    }
+
+    /**
+     * Runs ticks when they are due until the run ends or the loop is stopped.
+     *
+     * @param firstTick When the first tick is due, on the {@link System#nanoTime()} clock.
+     */
+    private void run(long firstTick) {
+        long due = firstTick;
+        while (running) {
+            long now = System.nanoTime();
+            if (now < due) {
+                LockSupport.parkNanos(due - now);
+                continue;
+            }
+            int ticks = 0;
+            while (now >= due && ticks < MAX_CATCH_UP_TICKS) {
+                tick(due);
+                due += TICK_NANOS;
+                ticks++;
+                if (simulation.isGameOver()) {
+                    finishRun();
+                    return;
+                }
+            }
+            if (now >= due) {
+                // Too far behind to catch up; drop the backlog
+                due = now + TICK_NANOS;
+            }
+        }
+    }
+
+    /**
+     * Applies this tick's inputs, steps the simulation and publishes a snapshot.
+     *
+     * @param due When the tick was due.
+     */
+    private void tick(long due) {
+        simulation.getBroadphase().beginFrame();
+        int tick = simulation.getTick();
+        if (replay != null) {
+            while (replay.hasNext() && replay.nextTick() == tick) {
+                simulation.applyInput(replay.nextAction());
+                replay.advance();
+            }
+        }
+        for (int action = inputs.poll(); action != 0; action = inputs.poll()) {
+            if (replay == null) {
+                if (recorder != null) {
+                    recorder.record(tick, action);
+                }
+                simulation.applyInput(action);
+            }
+        }
+        FrameStats timing = stats;
+        if (timing != null) {
+            long start = System.nanoTime();
+            simulation.step();
+            timing.record(FrameStats.UPDATE, System.nanoTime() - start);
+        } else {
+            simulation.step();
+        }
+        if (ghostPath != null) {
+            ghost.record(simulation);
+        }
+        publish(due);
+    }
+
+    /**
+     * Copies the simulation into the next snapshot and publishes it.
+     *
+     * @param time When the state became current.
+     */
+    private void publish(long time) {
+        Snapshot<S> snapshot = snapshots.getWriteBuffer();
+        snapshot.world.copyFrom(simulation);
+        snapshot.time = time;
+        snapshots.publish();
+    }
+
+    /**
+     * Saves the replay of the run that just ended, overwriting the previous
+     * one, so a reported problem can be reproduced exactly, and its ghost if
+     * it beat the saved one.
+     */
+    private void finishRun() {
+        running = false;
+        simulation.getCourseStreamer().stop();
+        if (recorder != null && replayPath != null) {
+            try {
+                File folder = new File(replayPath).getParentFile();
+                if (folder != null) {
+                    folder.mkdirs();
+                }
+                recorder.save(replayPath, simulation.getTick());
+            } catch (IOException e) {
+                Log.error("Error saving replay: {}", e.getMessage());
+            }
+        }
+        if (ghostPath != null) {
+            try {
+                File folder = new File(ghostPath).getParentFile();
+                if (folder != null) {
+                    folder.mkdirs();
+                }
+                ghost.saveIfBest(ghostPath);
+            } catch (IOException e) {
+                Log.error("Error saving ghost: {}", e.getMessage());
+            }
+            ghostPath = null;
+        }
+        recorder = null;
+        replay = null;
+    }
+}
@@ -0,0 +1,65 @@
+package group44.Minigames;
+
+import java.util.Random;
+
+/**
+ * A random generator for simulations whose state can be copied. It produces
+ * exactly the same numbers as {@link java.util.Random} for the same seed, so
+ * existing replays are unaffected, but keeps its 48-bit state in a field of
+ * its own so a simulation can be branched with
+ * {@link MinigameSimulation#copyFrom(MinigameSimulation)}. Not thread-safe.
+ */
+public final class SimulationRandom extends Random {
+
+    /** Version of the serialized form inherited from {@link java.util.Random}. */
+    private static final long serialVersionUID = 1L;
+
+    /** The multiplier of {@link java.util.Random}'s linear congruential generator. */
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    /** The increment of {@link java.util.Random}'s linear congruential generator. */
+    private static final long ADDEND = 0xBL;
+    /** The generator keeps 48 bits of state. */
+    private static final long MASK = (1L << 48) - 1;
+
+    /** The generator's current state; set by {@link #setSeed(long)} from the superclass constructor. */
+    private long state;
+
+    /**
+     * Creates a generator seeded with 0; simulations reseed it for every run.
+     */
+    public SimulationRandom() {
+        super(0);
+    }
+
+    /**
+     * Reseeds the generator, scrambling the seed the same way {@link java.util.Random} does.
+     *
+     * @param seed The new seed.
+     */
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    /**
+     * Makes this generator continue exactly where another one is.
+     *
+     * @param other The generator to copy.
+     */
+    public void copyFrom(SimulationRandom other) {
+        state = other.state;
+    }
+
+    /**
+     * Advances the state and returns its top bits.
+     *
+     * @param bits The number of random bits to return.
+     * @return The random bits.
+     */
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+}
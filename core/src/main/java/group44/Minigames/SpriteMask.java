@@ -0,0 +1,284 @@
+package group44.Minigames;
+
+/**
+ * Which pixels of a sprite are solid, one bit per pixel, for collision tests
+ * that follow the sprite's outline instead of its bounding box. Each row is
+ * stored as whole {@code long} words, so testing a box against the mask ANDs
+ * a few words per row instead of looking at pixels one by one.
+ * <p>
+ * Masks are built once, when a sprite is loaded, at the size the sprite is
+ * drawn at. Sprites that are drawn tilted also get a {@link Rotations set of
+ * pre-rotated masks}. A mask never changes once built, so one can be shared
+ * by any number of simulations.
+ * </p>
+ */
+public final class SpriteMask {
+
+    /** The lowest alpha, from 0 to 255, at which a pixel counts as solid. */
+    public static final int ALPHA_THRESHOLD = 128;
+
+    /** The width in pixels. */
+    private final int width;
+    /** The height in pixels. */
+    private final int height;
+    /** The number of words in each row. */
+    private final int wordsPerRow;
+    /** The rows, top first; bit {@code x % 64} of word {@code x / 64} is pixel x. */
+    private final long[] bits;
+
+    /**
+     * Creates an empty mask.
+     *
+     * @param width  The width in pixels.
+     * @param height The height in pixels.
+     */
+    private SpriteMask(int width, int height) {
+        this.width = width;
+        this.height = height;
+        wordsPerRow = (width + 63) >>> 6;
+        bits = new long[wordsPerRow * height];
+    }
+
+    /**
+     * Creates a mask from stored rows, as written by {@link #getBits()}.
+     *
+     * @param width  The width in pixels.
+     * @param height The height in pixels.
+     * @param bits   The rows; copied.
+     * @throws IllegalArgumentException if there are not exactly enough words for the size.
+     */
+    public SpriteMask(int width, int height, long[] bits) {
+        this(width, height);
+        if (width < 0 || height < 0 || bits.length != this.bits.length) {
+            throw new IllegalArgumentException("Expected " + this.bits.length + " words for "
+                + width + "x" + height + ", got " + bits.length);
+        }
+        System.arraycopy(bits, 0, this.bits, 0, bits.length);
+    }
+
+    /**
+     * Builds the mask of a sprite drawn scaled to the given size, sampling the
+     * source pixel under the centre of each drawn pixel.
+     *
+     * @param argb         The sprite's pixels as ARGB, row by row.
+     * @param sourceWidth  The sprite's width in pixels.
+     * @param sourceHeight The sprite's height in pixels.
+     * @param width        The width the sprite is drawn at.
+     * @param height       The height the sprite is drawn at.
+     * @return The mask.
+     */
+    public static SpriteMask fromArgb(int[] argb, int sourceWidth, int sourceHeight, int width, int height) {
+        SpriteMask mask = new SpriteMask(width, height);
+        for (int y = 0; y < height; y++) {
+            int sourceY = Math.min(sourceHeight - 1, (int) ((y + 0.5) * sourceHeight / height));
+            for (int x = 0; x < width; x++) {
+                int sourceX = Math.min(sourceWidth - 1, (int) ((x + 0.5) * sourceWidth / width));
+                if (argb[sourceY * sourceWidth + sourceX] >>> 24 >= ALPHA_THRESHOLD) {
+                    mask.set(x, y);
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Returns this mask turned about its centre, the way a canvas turns a
+     * sprite: positive angles are clockwise on screen. The result is just big
+     * enough to hold the turned sprite and has the same centre.
+     *
+     * @param degrees The angle to turn by.
+     * @return The turned mask.
+     */
+    public SpriteMask rotated(double degrees) {
+        // StrictMath so every machine builds the same mask and replays stay exact
+        double radians = StrictMath.toRadians(degrees);
+        double cos = StrictMath.cos(radians);
+        double sin = StrictMath.sin(radians);
+        int turnedWidth = (int) Math.ceil(Math.abs(width * cos) + Math.abs(height * sin) - 1e-9);
+        int turnedHeight = (int) Math.ceil(Math.abs(width * sin) + Math.abs(height * cos) - 1e-9);
+        SpriteMask turned = new SpriteMask(turnedWidth, turnedHeight);
+        for (int y = 0; y < turnedHeight; y++) {
+            double v = y + 0.5 - turnedHeight / 2.0;
+            for (int x = 0; x < turnedWidth; x++) {
+                double u = x + 0.5 - turnedWidth / 2.0;
+                // Turn the drawn pixel back to find where it came from
+                int sourceX = (int) Math.floor(u * cos + v * sin + width / 2.0);
+                int sourceY = (int) Math.floor(-u * sin + v * cos + height / 2.0);
+                if (sourceX >= 0 && sourceX < width && sourceY >= 0 && sourceY < height && get(sourceX, sourceY)) {
+                    turned.set(x, y);
+                }
+            }
+        }
+        return turned;
+    }
+
+    /**
+     * Checks whether any solid pixel overlaps a box, in the mask's own
+     * coordinates, where pixel (x, y) covers the square from (x, y) to
+     * (x + 1, y + 1). Touching only along an edge does not count. The box may
+     * have infinite edges.
+     *
+     * @param left   The box's left edge.
+     * @param top    The box's top edge.
+     * @param right  The box's right edge.
+     * @param bottom The box's bottom edge.
+     * @return True if a solid pixel is inside the box.
+     */
+    public boolean overlaps(double left, double top, double right, double bottom) {
+        int firstX = (int) Math.max(0, Math.floor(left));
+        int lastX = (int) Math.min(width - 1, Math.ceil(right) - 1);
+        int firstY = (int) Math.max(0, Math.floor(top));
+        int lastY = (int) Math.min(height - 1, Math.ceil(bottom) - 1);
+        if (firstX > lastX || firstY > lastY) {
+            return false;
+        }
+        int firstWord = firstX >>> 6;
+        int lastWord = lastX >>> 6;
+        long firstBits = -1L << (firstX & 63);
+        long lastBits = -1L >>> (63 - (lastX & 63));
+        for (int y = firstY; y <= lastY; y++) {
+            int row = y * wordsPerRow;
+            if (firstWord == lastWord) {
+                if ((bits[row + firstWord] & firstBits & lastBits) != 0) {
+                    return true;
+                }
+                continue;
+            }
+            if ((bits[row + firstWord] & firstBits) != 0 || (bits[row + lastWord] & lastBits) != 0) {
+                return true;
+            }
+            for (int w = firstWord + 1; w < lastWord; w++) {
+                if (bits[row + w] != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether a pixel is solid.
+     *
+     * @param x The pixel's column.
+     * @param y The pixel's row.
+     * @return True if solid; false outside the mask.
+     */
+    public boolean get(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return false;
+        }
+        return (bits[y * wordsPerRow + (x >>> 6)] & (1L << (x & 63))) != 0;
+    }
+
+    /**
+     * Marks a pixel as solid.
+     *
+     * @param x The pixel's column.
+     * @param y The pixel's row.
+     */
+    private void set(int x, int y) {
+        bits[y * wordsPerRow + (x >>> 6)] |= 1L << (x & 63);
+    }
+
+    /**
+     * Returns the width of the mask.
+     *
+     * @return The width in pixels.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the height of the mask.
+     *
+     * @return The height in pixels.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the number of solid pixels.
+     *
+     * @return The pixel count.
+     */
+    public int getSolidCount() {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns a copy of the rows, for saving the mask.
+     *
+     * @return The rows; see {@link #SpriteMask(int, int, long[])}.
+     */
+    public long[] getBits() {
+        return bits.clone();
+    }
+
+    /**
+     * A mask turned to every angle a sprite is drawn at, a few degrees apart,
+     * so the tilted mask for a frame is a lookup instead of a rotation.
+     */
+    public final class Rotations {
+
+        /** The angle between two pre-rotated masks, in degrees. */
+        public static final double STEP_DEGREES = 2.5;
+
+        /** The smallest angle covered. */
+        private final double minDegrees;
+        /** The masks, from {@link #minDegrees} up in steps of {@link #STEP_DEGREES}. */
+        private final SpriteMask[] masks;
+
+        /**
+         * Turns the mask to every step between two angles.
+         *
+         * @param minDegrees The smallest angle the sprite is drawn at.
+         * @param maxDegrees The largest angle the sprite is drawn at.
+         */
+        private Rotations(double minDegrees, double maxDegrees) {
+            this.minDegrees = minDegrees;
+            int steps = (int) Math.ceil((maxDegrees - minDegrees) / STEP_DEGREES);
+            masks = new SpriteMask[steps + 1];
+            for (int i = 0; i <= steps; i++) {
+                double degrees = Math.min(maxDegrees, minDegrees + i * STEP_DEGREES);
+                masks[i] = degrees == 0 ? SpriteMask.this : rotated(degrees);
+            }
+        }
+
+        /**
+         * Returns the mask closest to an angle, clamped to the angles covered.
+         *
+         * @param degrees The angle the sprite is drawn at.
+         * @return The pre-rotated mask.
+         */
+        public SpriteMask at(double degrees) {
+            int i = (int) Math.round((degrees - minDegrees) / STEP_DEGREES);
+            return masks[Math.max(0, Math.min(i, masks.length - 1))];
+        }
+
+        /**
+         * Returns the upright mask the rotations were made from.
+         *
+         * @return The unturned mask.
+         */
+        public SpriteMask getUpright() {
+            return SpriteMask.this;
+        }
+    }
+
+    /**
+     * Pre-rotates this mask to every angle in a range.
+     *
+     * @param minDegrees The smallest angle the sprite is drawn at.
+     * @param maxDegrees The largest angle the sprite is drawn at.
+     * @return The rotations.
+     */
+    public Rotations rotations(double minDegrees, double maxDegrees) {
+        return new Rotations(minDegrees, maxDegrees);
+    }
+}
@@ -0,0 +1,218 @@
+package group44.Minigames;
+
+import group44.Log;
+
+/**
+ * A stress run of a minigame: the course is kept packed with a set number of
+ * obstacles and coins, the pet is steered by a fixed script and cannot crash,
+ * and the run ends after a set number of ticks. Timing the same stress run on
+ * different machines, rendering pipelines or builds shows where the minigame
+ * loop falls over and catches regressions.
+ * <p>
+ * A stress mode is given to a simulation with
+ * {@link MinigameSimulation#setStress(StressMode)}. Extra obstacles copy the
+ * size and height of the newest obstacle already in play, so they are the
+ * minigame's own kind of obstacle, and are spread over two widths of the play
+ * area ahead of the pet so about half of them are on screen at a time. While
+ * they keep the course full the minigame's own spawning stops.
+ * </p>
+ * <p>
+ * On screen, stress runs are switched on with the {@value #PROPERTY} system
+ * property, for example {@code -Dminigame.stress=2000,2000,200}; headless,
+ * with {@code HeadlessRunner stress}. Both print a {@link FrameStats} report
+ * when the run ends. A stress mode never changes once created, so one can be
+ * shared by any number of simulations.
+ * </p>
+ */
+public final class StressMode {
+
+    /**
+     * The system property that starts every minigame in a stress run, as
+     * "obstacles,coins,clouds" with an optional ",ticks".
+     */
+    public static final String PROPERTY = "minigame.stress";
+    /** The length of a stress run when none is given: one minute of play. */
+    public static final int DEFAULT_TICKS = 60 * SimulationLoop.TICKS_PER_SECOND;
+
+    /** The number of obstacles kept in play. */
+    private final int obstacles;
+    /** The number of coins kept in play. */
+    private final int coins;
+    /** The number of background clouds drawn, for minigames that have them. */
+    private final int clouds;
+    /** The tick the run ends on. */
+    private final int ticks;
+
+    /**
+     * Creates a stress mode.
+     *
+     * @param obstacles The number of obstacles to keep in play.
+     * @param coins     The number of coins to keep in play.
+     * @param clouds    The number of background clouds to draw.
+     * @param ticks     The tick the run ends on.
+     * @throws IllegalArgumentException if a count is negative or the run would not last a tick.
+     */
+    public StressMode(int obstacles, int coins, int clouds, int ticks) {
+        if (obstacles < 0 || coins < 0 || clouds < 0 || ticks < 1) {
+            throw new IllegalArgumentException("Stress counts must not be negative and the run must last a tick");
+        }
+        this.obstacles = obstacles;
+        this.coins = coins;
+        this.clouds = clouds;
+        this.ticks = ticks;
+    }
+
+    /**
+     * Parses a stress mode written as "obstacles,coins,clouds" with an
+     * optional ",ticks".
+     *
+     * @param spec The settings.
+     * @return The stress mode.
+     * @throws IllegalArgumentException if the settings cannot be read.
+     */
+    public static StressMode parse(String spec) {
+        String[] parts = spec.split(",");
+        if (parts.length < 3 || parts.length > 4) {
+            throw new IllegalArgumentException("Expected obstacles,coins,clouds[,ticks] but got " + spec);
+        }
+        try {
+            int ticks = parts.length == 4 ? Integer.parseInt(parts[3].trim()) : DEFAULT_TICKS;
+            return new StressMode(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()),
+                                  Integer.parseInt(parts[2].trim()), ticks);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Expected obstacles,coins,clouds[,ticks] but got " + spec, e);
+        }
+    }
+
+    /**
+     * Returns the stress mode set by the {@value #PROPERTY} system property.
+     *
+     * @return The stress mode, or null if the property is not set or cannot be read.
+     */
+    public static StressMode fromSystemProperty() {
+        String spec = System.getProperty(PROPERTY);
+        if (spec == null || spec.isBlank()) {
+            return null;
+        }
+        try {
+            return parse(spec);
+        } catch (IllegalArgumentException e) {
+            Log.warn("Ignoring {}: {}", PROPERTY, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns the number of obstacles kept in play.
+     *
+     * @return The obstacle count.
+     */
+    public int getObstacles() {
+        return obstacles;
+    }
+
+    /**
+     * Returns the number of coins kept in play.
+     *
+     * @return The coin count.
+     */
+    public int getCoins() {
+        return coins;
+    }
+
+    /**
+     * Returns the number of background clouds to draw.
+     *
+     * @return The cloud count.
+     */
+    public int getClouds() {
+        return clouds;
+    }
+
+    /**
+     * Returns the tick the run ends on.
+     *
+     * @return The run's length in ticks.
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Returns the scripted input for the coming tick: the primary input
+     * whenever the pet is in the lower half of the play area, not already
+     * rising and able to use it. This keeps the pet bobbing around the middle
+     * in every minigame, the same way on every run.
+     *
+     * @param simulation The simulation about to be stepped.
+     * @return {@link MinigameSimulation#INPUT_PRIMARY} or 0.
+     */
+    int nextInput(MinigameSimulation simulation) {
+        boolean low = simulation.getPetY() > simulation.height / 2;
+        return low && simulation.getPetVelocity() >= 0 && simulation.acceptsInput(MinigameSimulation.INPUT_PRIMARY)
+            ? MinigameSimulation.INPUT_PRIMARY : 0;
+    }
+
+    /**
+     * Adds obstacles and coins past the newest ones until the set numbers are
+     * in play. Called after every tick of a stress run.
+     *
+     * @param simulation The simulation to fill.
+     */
+    void fill(MinigameSimulation simulation) {
+        EntityBuffer layer = simulation.layer(MinigameSimulation.LAYER_OBSTACLES);
+        if (!layer.isEmpty()) {
+            int newest = layer.size() - 1;
+            double y = layer.y(newest);
+            double w = layer.width(newest);
+            double h = layer.height(newest);
+            double spacing = 2 * simulation.width / Math.max(1, obstacles);
+            while (layer.size() < obstacles) {
+                double x = Math.max(simulation.width, layer.x(layer.size() - 1)) + spacing;
+                layer.add(x, y, w, h);
+            }
+        }
+
+        EntityBuffer coinLayer = simulation.layer(MinigameSimulation.LAYER_COINS);
+        double spacing = 2 * simulation.width / Math.max(1, coins);
+        double range = simulation.height - MinigameSimulation.COIN_SIZE;
+        while (coinLayer.size() < coins) {
+            double x = Math.max(simulation.width,
+                                coinLayer.isEmpty() ? 0 : coinLayer.x(coinLayer.size() - 1)) + spacing;
+            // Scatter them over the whole height, the same way every run
+            double y = (coinLayer.size() * 0.618034 % 1) * range;
+            coinLayer.add(x, y, MinigameSimulation.COIN_SIZE, MinigameSimulation.COIN_SIZE);
+        }
+    }
+
+    /**
+     * Plays a stress run with no window and times every tick.
+     *
+     * @param simulation The simulation to run; it is reset first and left in stress mode.
+     * @param seed       The seed for the run.
+     * @return The timings, with an {@link FrameStats#UPDATE} and a {@link FrameStats#GC} sample per tick.
+     */
+    public FrameStats run(MinigameSimulation simulation, long seed) {
+        FrameStats stats = new FrameStats(ticks);
+        simulation.setStress(this);
+        simulation.reset(seed);
+        stats.sampleGc();
+        while (!simulation.isGameOver()) {
+            long start = System.nanoTime();
+            simulation.step();
+            stats.record(FrameStats.UPDATE, System.nanoTime() - start);
+            stats.sampleGc();
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the settings in the form {@link #parse(String)} reads.
+     *
+     * @return "obstacles,coins,clouds,ticks".
+     */
+    @Override
+    public String toString() {
+        return obstacles + "," + coins + "," + clouds + "," + ticks;
+    }
+}
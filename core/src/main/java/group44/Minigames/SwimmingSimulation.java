@@ -0,0 +1,674 @@
+package group44.Minigames;
+
+import java.util.Arrays;
+
+/**
+ * The rules of the swimming minigame: the pet floats on the water's surface
+ * and jumps above or dives below the obstacles drifting towards it, while red
+ * obstacles rise through the water. {@link #petY} is the top of the pet.
+ * <p>
+ * Courses are generated so that one way through always exists: jumping from
+ * the surface so the pet peaks over the middle of each standard obstacle and
+ * resting in between. {@link #JUMP_ENVELOPE} says where that leaves the pet
+ * at any moment, and rising obstacles are only spawned where they miss it.
+ * </p>
+ */
+public class SwimmingSimulation extends MinigameSimulation {
+
+    /** The pull back down to the surface while jumping, per tick. */
+    public static final double GRAVITY = 0.3;
+    /** The pull back up to the surface while diving, per tick. */
+    public static final double DIVE_GRAVITY = -0.3;
+    /** The pet's vertical velocity at the start of a jump. */
+    public static final double UP_JUMP_FORCE = -10.5;
+    /** The pet's vertical velocity at the start of a dive. */
+    public static final double DOWN_JUMP_FORCE = 12.0;
+    /** The width of standard (green) obstacles. */
+    public static final int OBSTACLE_WIDTH = 50;
+    /** The vertical gap in standard obstacles. */
+    public static final int OBSTACLE_GAP = 100;
+    /** The speed obstacles drift left at when a run starts. */
+    public static final int INITIAL_OBSTACLE_SPEED = 3;
+    /** The width of rising (red) obstacles. */
+    public static final int RISING_OBSTACLE_WIDTH = 50;
+    /** The height of rising (red) obstacles. */
+    public static final int RISING_OBSTACLE_HEIGHT = 80;
+    /** The speed rising obstacles move up at, per tick. */
+    public static final double RISING_OBSTACLE_VERTICAL_SPEED = 1.0;
+    /** Where a jump carries the pet, worked out from {@link #GRAVITY} and {@link #UP_JUMP_FORCE}. */
+    public static final ReachEnvelope JUMP_ENVELOPE = new ReachEnvelope(GRAVITY, UP_JUMP_FORCE, false, 0);
+
+    /** The inputs that do something: jumping and diving. */
+    private static final int[] INPUTS = {INPUT_PRIMARY, INPUT_SECONDARY};
+
+    /** Standard, green obstacles; each one's y is the top of the obstacle below its gap. */
+    private final EntityBuffer obstacles = new EntityBuffer();
+    /** Rising, red obstacles. */
+    private final EntityBuffer risingObstacles = new EntityBuffer();
+    /** The horizontal distance between two standard obstacles. */
+    private final int distanceBetweenObstacles;
+
+    /** Whether the pet is in the middle of a jump or dive. */
+    private boolean jumping;
+    /** -1 while jumping above the surface, +1 while diving below it. */
+    private int jumpMode;
+    /** The pet's vertical velocity while jumping or diving. */
+    private double swimVelocity;
+    /** The speed obstacles drift left at. */
+    private double obstacleSpeed;
+
+    /** The tops of the heights a new rising obstacle must not start at; scratch space for {@link #risingObstacleY}. */
+    private int[] blockedFrom = new int[8];
+    /** The bottoms of the heights a new rising obstacle must not start at. */
+    private int[] blockedTo = new int[8];
+
+    /**
+     * Creates a swimming simulation for a play area of the given size. The
+     * water's surface is half way down and the pet swims a third of the way
+     * across.
+     *
+     * @param width                    The play area width in pixels.
+     * @param height                   The play area height in pixels.
+     * @param distanceBetweenObstacles The horizontal distance between two
+     *                                 obstacles; the tutorial spaces them further apart.
+     */
+    public SwimmingSimulation(double width, double height, int distanceBetweenObstacles) {
+        super(width, height);
+        this.distanceBetweenObstacles = distanceBetweenObstacles;
+        petX = width / 3.0;
+        petWidth = 30;
+        petHeight = 30;
+    }
+
+    /**
+     * Returns the name of the swimming minigame, including the obstacle spacing.
+     *
+     * @return "swimming-" followed by the distance between obstacles, and by "-endless" in endless mode.
+     */
+    @Override
+    public String getName() {
+        return "swimming-" + distanceBetweenObstacles + (isEndless() ? "-endless" : "");
+    }
+
+    /**
+     * Places the pet at the surface.
+     */
+    @Override
+    protected void startRun() {
+        petY = surfaceY();
+        swimVelocity = 0;
+        jumping = false;
+        jumpMode = 0;
+        obstacleSpeed = INITIAL_OBSTACLE_SPEED;
+        obstacles.clear();
+        risingObstacles.clear();
+    }
+
+    /**
+     * Spawns the opening obstacles.
+     */
+    @Override
+    protected void spawnOpening() {
+        // Add some initial obstacles so that they come in from the right
+        addObstacle(width);
+        addObstacle(width + distanceBetweenObstacles);
+        addObstacle(width + distanceBetweenObstacles * 2);
+
+        // Add one initial rising obstacle
+        addRisingObstacle(width + distanceBetweenObstacles * 0.75);
+    }
+
+    /**
+     * Copies another swimming simulation with the same obstacle spacing.
+     *
+     * @param other The simulation to copy; must be a {@code SwimmingSimulation}.
+     */
+    @Override
+    public void copyFrom(MinigameSimulation other) {
+        super.copyFrom(other);
+        SwimmingSimulation swimming = (SwimmingSimulation) other;
+        obstacles.copyFrom(swimming.obstacles);
+        risingObstacles.copyFrom(swimming.risingObstacles);
+        jumping = swimming.jumping;
+        jumpMode = swimming.jumpMode;
+        swimVelocity = swimming.swimVelocity;
+        obstacleSpeed = swimming.obstacleSpeed;
+    }
+
+    /**
+     * Returns the inputs that do something: jumping and diving.
+     *
+     * @return {@link #INPUT_PRIMARY} and {@link #INPUT_SECONDARY}.
+     */
+    @Override
+    public int[] getInputActions() {
+        return INPUTS;
+    }
+
+    /**
+     * Returns whether the input is a jump or dive and the pet is resting at the surface.
+     *
+     * @param action The input action.
+     * @return True if the pet would start a jump or dive.
+     */
+    @Override
+    public boolean acceptsInput(int action) {
+        return (action == INPUT_PRIMARY || action == INPUT_SECONDARY)
+            && !jumping && petY + petHeight >= height / 2;
+    }
+
+    /**
+     * Starts a jump ({@link #INPUT_PRIMARY}) or a dive ({@link #INPUT_SECONDARY})
+     * if the pet is resting at the water's surface.
+     *
+     * @param action The input action.
+     */
+    @Override
+    public void applyInput(int action) {
+        if (!acceptsInput(action)) {
+            return;
+        }
+        if (action == INPUT_PRIMARY) {
+            jumping = true;
+            jumpMode = -1;
+            swimVelocity = UP_JUMP_FORCE;
+        } else if (action == INPUT_SECONDARY) {
+            jumping = true;
+            jumpMode = 1;
+            swimVelocity = DOWN_JUMP_FORCE;
+        }
+    }
+
+    /**
+     * Moves the pet through its jump or dive, scrolls the course and ends the
+     * run if the pet hit an obstacle or dived to the bottom.
+     */
+    @Override
+    protected void update() {
+        // Vertical movement (jump/dive)
+        if (jumping) {
+            if (jumpMode == 1) { // diving
+                swimVelocity += DIVE_GRAVITY;
+                petY += swimVelocity;
+
+                // If diving upward or reaching the top boundary of water
+                if (swimVelocity < 0 && petY <= surfaceY()) {
+                    petY = surfaceY();
+                    swimVelocity = 0;
+                    jumping = false;
+                }
+
+                // If we go below the bottom, game ends
+                if (petY > height - petHeight) {
+                    endRun();
+                    return;
+                }
+            } else if (jumpMode == -1) { // jumping upward
+                swimVelocity += GRAVITY;
+                petY += swimVelocity;
+
+                // If falling back down to water surface
+                if (swimVelocity > 0 && petY >= surfaceY()) {
+                    petY = surfaceY();
+                    swimVelocity = 0;
+                    jumping = false;
+                }
+            }
+        } else {
+            // If not jumping, keep pet at water surface
+            petY = surfaceY();
+            swimVelocity = 0;
+        }
+
+        scrollCourse();
+
+        if (hitsObstacle() || hitsAny(risingObstacles, obstacleSpeed, RISING_OBSTACLE_VERTICAL_SPEED,
+                                      EntityBuffer.DESPAWNED)) {
+            endRun();
+        }
+    }
+
+    /**
+     * Scrolls obstacles and coins, scores passed obstacles and spawns new ones.
+     * Endless runs speed up with every level, up to the fastest the pet can
+     * still land and jump again between two obstacles, and send up more
+     * rising obstacles.
+     */
+    @Override
+    protected void scrollCourse() {
+        if (isEndless()) {
+            obstacleSpeed = levelSpeed(INITIAL_OBSTACLE_SPEED,
+                                       distanceBetweenObstacles / (JUMP_ENVELOPE.getAirTicks() + 4.0));
+        }
+
+        // Move obstacles
+        obstacles.translateX(-obstacleSpeed);
+        for (int i = 0; i < obstacles.size(); i++) {
+            if (!obstacles.hasFlag(i, EntityBuffer.PASSED) && obstacles.right(i) < petX) {
+                obstacles.setFlag(i, EntityBuffer.PASSED);
+                addScore();
+            }
+        }
+
+        // Remove off-screen obstacles
+        obstacles.removeLeading(0, 0);
+
+        // Move rising obstacles
+        risingObstacles.translateX(-obstacleSpeed);
+        risingObstacles.translateY(-RISING_OBSTACLE_VERTICAL_SPEED);
+        for (int i = 0; i < risingObstacles.size(); i++) {
+            // Retire obstacles that have risen out through the top
+            if (risingObstacles.y(i) + RISING_OBSTACLE_HEIGHT < 0) {
+                risingObstacles.setFlag(i, EntityBuffer.DESPAWNED);
+            }
+        }
+        risingObstacles.removeLeading(0, EntityBuffer.DESPAWNED);
+
+        updateCoins(obstacleSpeed);
+        spawnEntities();
+    }
+
+    /**
+     * Adds a new obstacle once the newest one is far enough in, and sometimes
+     * a rising obstacle between two standard ones.
+     */
+    @Override
+    protected void spawnNext() {
+        // Spawn new obstacles if needed
+        if (obstacles.isEmpty()
+            || obstacles.x(obstacles.size() - 1) < width - distanceBetweenObstacles) {
+            addObstacle(width);
+        }
+
+        // Spawn new rising obstacles if needed, with a 50% chance to prevent overcrowding
+        if (risingObstacles.isEmpty()
+            || (obstacles.size() >= 2
+                && risingObstacles.x(risingObstacles.size() - 1) < obstacles.x(obstacles.size() - 2))) {
+            if (random.nextDouble() < risingChance()) {
+                addRisingObstacle(width);
+            }
+        }
+    }
+
+    /**
+     * Returns the chance of a rising obstacle between two standard ones: even,
+     * rising by a twentieth each level of an endless run up to three in four.
+     *
+     * @return The chance, from 0 to 1.
+     */
+    private double risingChance() {
+        return Math.min(0.5 + 0.05 * getLevel(), 0.75);
+    }
+
+    /**
+     * Returns the buffer a layer's entities are spawned into.
+     *
+     * @param layer {@link #LAYER_OBSTACLES} for standard obstacles,
+     *              {@link #LAYER_HAZARDS} for rising ones, or {@link #LAYER_COINS}.
+     * @return The buffer.
+     */
+    @Override
+    protected EntityBuffer layer(int layer) {
+        if (layer == LAYER_OBSTACLES) {
+            return obstacles;
+        }
+        return layer == LAYER_HAZARDS ? risingObstacles : super.layer(layer);
+    }
+
+    /**
+     * Adds a standard obstacle at the given x-coordinate, leaving a gap near
+     * the water's surface, and a coin half way to the next obstacle. The
+     * obstacle is never taller than a jump peaking over its middle clears.
+     *
+     * @param x The x-coordinate of the obstacle's left edge.
+     */
+    private void addObstacle(double x) {
+        // The lowest the pet gets while it passes over the obstacle at the top of its jump
+        ReachEnvelope.Crossing crossing = JUMP_ENVELOPE.crossing(obstacleSpeed, OBSTACLE_WIDTH + hitboxWidth(), 0);
+        double clearance = surfaceY() + crossing.lowest(jumpPhase(x, x)) + petHeight - HITBOX_INSET;
+        int maxObstacleTop = (int) Math.ceil(clearance) + 1;
+
+        // The obstacle's top ends up 40 pixels plus the gap above gapY
+        int minGapY = Math.max((int) (height / 2.0 + 20), maxObstacleTop + OBSTACLE_GAP + 40);
+        int maxGapY = (int) (height / 2.0 + OBSTACLE_GAP);
+
+        // Raise obstacle slightly
+        int gapY = random.nextInt(maxGapY - minGapY + 1) + minGapY - 40;
+        int obstacleTopY = gapY - OBSTACLE_GAP;
+
+        spawn(LAYER_OBSTACLES, x, obstacleTopY, OBSTACLE_WIDTH, height - obstacleTopY);
+
+        // Increase coin frequency
+        coinCounter++;
+        if (coinCounter >= 1) {
+            coinCounter = 0;
+
+            // The midpoint between this obstacle and the next one
+            double nextObstacleX = x + distanceBetweenObstacles;
+            double midpointX = x + (nextObstacleX - x) / 2;
+            double coinX = midpointX + random.nextInt(60) - 30;
+            int coinY = (int) (height / 2.0) + random.nextInt((int) (height / 2.0 - COIN_SIZE));
+
+            addCoin(coinX, coinY);
+        }
+    }
+
+    /**
+     * Checks that the pet can get past the newest standard obstacle by
+     * jumping to peak over its middle, and that the newest rising obstacle
+     * starts outside every band of heights that would hit the pet as it
+     * follows those jumps.
+     *
+     * @param layer The layer the newest entity was spawned into.
+     * @return True if the pet can get past the entity.
+     */
+    @Override
+    protected boolean isPassable(int layer) {
+        if (layer == LAYER_OBSTACLES) {
+            double x = obstacles.x(obstacles.size() - 1);
+            ReachEnvelope.Crossing crossing = JUMP_ENVELOPE.crossing(obstacleSpeed, OBSTACLE_WIDTH + hitboxWidth(), 0);
+            double clearance = surfaceY() + crossing.lowest(jumpPhase(x, x)) + petHeight - HITBOX_INSET;
+            return obstacles.y(obstacles.size() - 1) > clearance;
+        }
+        if (layer == LAYER_HAZARDS) {
+            int newest = risingObstacles.size() - 1;
+            int y = (int) risingObstacles.y(newest);
+            int merged = blockedBands(risingObstacles.x(newest), (int) (height - RISING_OBSTACLE_HEIGHT));
+            for (int i = 0; i < merged; i++) {
+                if (y >= blockedFrom[i] && y <= blockedTo[i]) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a rising obstacle off the right edge, staggered behind the rightmost
+     * standard obstacle when one is still off-screen.
+     *
+     * @param x The approximate x-coordinate for the obstacle.
+     */
+    private void addRisingObstacle(double x) {
+        double risingObstacleX = Math.max(width + 20, x);
+
+        if (!obstacles.isEmpty()) {
+            // find the rightmost obstacle
+            double rightmostX = -1;
+            for (int i = 0; i < obstacles.size(); i++) {
+                if (obstacles.x(i) > rightmostX) {
+                    rightmostX = obstacles.x(i);
+                }
+            }
+
+            if (rightmostX > width) {
+                risingObstacleX = rightmostX + distanceBetweenObstacles / 2;
+                risingObstacleX += random.nextInt(40) - 20;
+            }
+        }
+
+        int initialY = risingObstacleY(risingObstacleX);
+        if (initialY >= 0) {
+            spawn(LAYER_HAZARDS, risingObstacleX, initialY, RISING_OBSTACLE_WIDTH, RISING_OBSTACLE_HEIGHT);
+        }
+    }
+
+    /**
+     * Picks a random starting height for a rising obstacle that will miss the
+     * pet as it follows the jumps over the standard obstacles: over those in
+     * play and the next one to spawn. Each jump whose arc overlaps the time the
+     * rising obstacle passes the pet rules out one band of heights, looked up
+     * in a {@link ReachEnvelope.Crossing} table; with no such jump the pet is
+     * resting at the surface and that rules out the band around it.
+     *
+     * @param x The x-coordinate the rising obstacle will spawn at.
+     * @return The starting y-coordinate, or -1 if every height would hit the pet.
+     */
+    private int risingObstacleY(double x) {
+        int range = (int) (height - RISING_OBSTACLE_HEIGHT);
+        int merged = blockedBands(x, range);
+        int free = range;
+        for (int i = 0; i < merged; i++) {
+            free -= blockedTo[i] - blockedFrom[i] + 1;
+        }
+        if (free <= 0) {
+            return -1;
+        }
+        int y = random.nextInt(free);
+        // Step over every band at or below the pick
+        for (int i = 0; i < merged && y >= blockedFrom[i]; i++) {
+            y += blockedTo[i] - blockedFrom[i] + 1;
+        }
+        return y;
+    }
+
+    /**
+     * Works out the bands of starting heights at which a rising obstacle
+     * would hit the pet, sorted and merged into {@link #blockedFrom} and
+     * {@link #blockedTo}.
+     *
+     * @param x     The x-coordinate the rising obstacle will spawn at.
+     * @param range The number of heights a rising obstacle can spawn at.
+     * @return The number of bands.
+     */
+    private int blockedBands(double x, int range) {
+        ReachEnvelope.Crossing crossing = JUMP_ENVELOPE.crossing(
+            obstacleSpeed, RISING_OBSTACLE_WIDTH + hitboxWidth(), -RISING_OBSTACLE_VERTICAL_SPEED);
+
+        int blocked = 0;
+        for (int i = 0; i < obstacles.size(); i++) {
+            blocked = blockJump(crossing, x, obstacles.x(i), blocked, range);
+        }
+        if (!obstacles.isEmpty()) {
+            // The next obstacle spawns one spacing after the newest
+            double nextX = obstacles.x(obstacles.size() - 1) + distanceBetweenObstacles;
+            blocked = blockJump(crossing, x, nextX, blocked, range);
+        }
+        if (blocked == 0) {
+            // No jump is under way, so the pet rests at the surface throughout
+            blocked = block(crossing, x, Integer.MIN_VALUE, blocked, range);
+        }
+
+        // Insertion sort and merge the bands; there are only one or two
+        for (int i = 1; i < blocked; i++) {
+            int from = blockedFrom[i];
+            int to = blockedTo[i];
+            int j = i - 1;
+            while (j >= 0 && blockedFrom[j] > from) {
+                blockedFrom[j + 1] = blockedFrom[j];
+                blockedTo[j + 1] = blockedTo[j];
+                j--;
+            }
+            blockedFrom[j + 1] = from;
+            blockedTo[j + 1] = to;
+        }
+        int merged = 0;
+        for (int i = 0; i < blocked; i++) {
+            if (merged > 0 && blockedFrom[i] <= blockedTo[merged - 1] + 1) {
+                blockedTo[merged - 1] = Math.max(blockedTo[merged - 1], blockedTo[i]);
+            } else {
+                blockedFrom[merged] = blockedFrom[i];
+                blockedTo[merged] = blockedTo[i];
+                merged++;
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Records the band of starting heights ruled out by the pet's jump for a
+     * standard obstacle, if that jump is under way while the rising obstacle
+     * passes the pet.
+     *
+     * @param crossing  The crossing table for rising obstacles.
+     * @param x         The x-coordinate the rising obstacle will spawn at.
+     * @param obstacleX The x-coordinate of the standard obstacle's left edge.
+     * @param blocked   The number of bands recorded so far.
+     * @param range     The number of heights a rising obstacle can spawn at.
+     * @return The new number of bands.
+     */
+    private int blockJump(ReachEnvelope.Crossing crossing, double x, double obstacleX, int blocked, int range) {
+        int phase = jumpPhase(x, obstacleX);
+        return crossing.overlapsJump(phase) ? block(crossing, x, phase, blocked, range) : blocked;
+    }
+
+    /**
+     * Records the band of starting heights at which a rising obstacle would
+     * touch the pet while they overlap, clamped to the heights it can spawn at.
+     *
+     * @param crossing The crossing table for rising obstacles.
+     * @param x        The x-coordinate the rising obstacle will spawn at.
+     * @param phase    The ticks from the pet's jump input to the start of the overlap.
+     * @param blocked  The number of bands recorded so far.
+     * @param range    The number of heights a rising obstacle can spawn at.
+     * @return The new number of bands.
+     */
+    private int block(ReachEnvelope.Crossing crossing, double x, int phase, int blocked, int range) {
+        // How far the obstacle rises before it reaches the pet
+        double rise = RISING_OBSTACLE_VERTICAL_SPEED * Math.max(0, (x - hitboxRight()) / obstacleSpeed);
+        double top = surfaceY() + crossing.highest(phase) + HITBOX_INSET - RISING_OBSTACLE_HEIGHT + rise;
+        double bottom = surfaceY() + crossing.lowest(phase) + petHeight - HITBOX_INSET + rise;
+        int from = Math.max(0, (int) Math.floor(top));
+        int to = Math.min(range - 1, (int) Math.ceil(bottom));
+        if (from <= to) {
+            if (blocked == blockedFrom.length) {
+                // A packed stress course can have more jumps under way than usual
+                blockedFrom = Arrays.copyOf(blockedFrom, blocked * 2);
+                blockedTo = Arrays.copyOf(blockedTo, blocked * 2);
+            }
+            blockedFrom[blocked] = from;
+            blockedTo[blocked] = to;
+            blocked++;
+        }
+        return blocked;
+    }
+
+    /**
+     * Returns how many ticks before an entity starts to overlap the pet the
+     * pet jumps for a standard obstacle, if it times the jump to peak over the
+     * obstacle's middle.
+     *
+     * @param entityX   The x-coordinate of the entity's left edge.
+     * @param obstacleX The x-coordinate of the standard obstacle's left edge.
+     * @return The phase in whole ticks; it may be negative.
+     */
+    private int jumpPhase(double entityX, double obstacleX) {
+        double overlapTick = (entityX - hitboxRight()) / obstacleSpeed;
+        double jumpTick = (obstacleX + OBSTACLE_WIDTH / 2.0 - petX) / obstacleSpeed - JUMP_ENVELOPE.getApexTick();
+        return (int) Math.round(overlapTick - jumpTick);
+    }
+
+    /**
+     * Returns the width of the pet's hitbox.
+     *
+     * @return The width in pixels.
+     */
+    private double hitboxWidth() {
+        return petWidth - 2 * HITBOX_INSET;
+    }
+
+    /**
+     * Checks whether the pet touched a standard obstacle during the latest
+     * tick, sweeping it from its start-of-tick position so a fast dive cannot
+     * pass through an obstacle's top edge.
+     *
+     * @return True if the pet hit an obstacle.
+     */
+    private boolean hitsObstacle() {
+        // Where the pet started the tick, in the obstacles' current frame
+        double petLeft = hitboxLeft() - obstacleSpeed;
+        double petRight = hitboxRight() - obstacleSpeed;
+        double petBottom = prevPetY + petHeight - HITBOX_INSET;
+        double dy = petY - prevPetY;
+
+        int nearby = broadphase.query(obstacles, petLeft, petRight + obstacleSpeed, 0);
+        for (int k = 0; k < nearby; k++) {
+            // Obstacles rise from the bottom of the play area, so only their top edge matters
+            int i = broadphase.candidate(k);
+            if (broadphase.sweptIntersects(petLeft, Double.NEGATIVE_INFINITY, petRight, petBottom, obstacleSpeed, dy,
+                                           obstacles.x(i), obstacles.y(i), obstacles.right(i), Double.POSITIVE_INFINITY)
+                && spriteHits(obstacleSpeed, 0, obstacles.x(i), obstacles.y(i), obstacles.right(i), Double.POSITIVE_INFINITY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the y-coordinate of the pet's top while it rests at the surface.
+     *
+     * @return The resting y.
+     */
+    private double surfaceY() {
+        return height / 2.0 - petHeight;
+    }
+
+    /**
+     * Returns the speed obstacles drift left at.
+     *
+     * @return The scroll speed in pixels per tick.
+     */
+    @Override
+    public double getScrollSpeed() {
+        return obstacleSpeed;
+    }
+
+    /**
+     * Returns the pet's vertical velocity.
+     *
+     * @return The velocity in pixels per tick; positive is downwards.
+     */
+    @Override
+    public double getPetVelocity() {
+        return swimVelocity;
+    }
+
+    /**
+     * Returns the angle the pet is drawn at, tilting with its swim velocity.
+     *
+     * @param velocity The vertical velocity.
+     * @return The angle in degrees, from -20 to 20.
+     */
+    @Override
+    public double rotationAt(double velocity) {
+        return Math.min(Math.max(velocity * 5, -20), 20);
+    }
+
+    /**
+     * Returns the furthest the pet tilts one way.
+     *
+     * @return -20 degrees.
+     */
+    @Override
+    protected double getMinPetRotation() {
+        return -20;
+    }
+
+    /**
+     * Returns the furthest the pet tilts the other way.
+     *
+     * @return 20 degrees.
+     */
+    @Override
+    protected double getMaxPetRotation() {
+        return 20;
+    }
+
+    /**
+     * Returns the standard obstacles in play, for drawing.
+     *
+     * @return The obstacle buffer; it must not be modified.
+     */
+    public EntityBuffer getObstacles() {
+        return obstacles;
+    }
+
+    /**
+     * Returns the rising obstacles in play, for drawing.
+     *
+     * @return The rising obstacle buffer; it must not be modified.
+     */
+    public EntityBuffer getRisingObstacles() {
+        return risingObstacles;
+    }
+}
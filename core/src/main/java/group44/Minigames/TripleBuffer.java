@@ -0,0 +1,81 @@
+package group44.Minigames;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hands the latest of a stream of values from one producer thread to one
+ * consumer thread without locks and without allocating. There are three
+ * slots: the producer fills one, the consumer reads another, and the third
+ * holds the newest finished value. Publishing swaps the producer's slot with
+ * the shared one and reading swaps the shared one with the consumer's, each
+ * with a single atomic exchange, so neither side ever waits for the other
+ * and a value is never changed while the consumer holds it.
+ * <p>
+ * If the producer publishes several values between two reads, the consumer
+ * only sees the newest; values must therefore be complete states rather than
+ * changes.
+ * </p>
+ *
+ * @param <T> The type of value passed.
+ */
+public final class TripleBuffer<T> {
+
+    /** Set in {@link #shared} when the shared slot holds a value the consumer has not taken yet. */
+    private static final int FRESH = 4;
+    /** Masks the slot index out of {@link #shared}. */
+    private static final int INDEX = 3;
+
+    /** The three slots. */
+    private final Object[] slots = new Object[3];
+    /** The index of the shared slot, plus {@link #FRESH} if it is new. */
+    private final AtomicInteger shared = new AtomicInteger(2);
+    /** The index of the slot the producer fills; only touched by the producer. */
+    private int writing = 0;
+    /** The index of the slot the consumer reads; only touched by the consumer. */
+    private int reading = 1;
+
+    /**
+     * Creates a triple buffer, filling the three slots from a factory.
+     *
+     * @param factory Creates the value for each slot.
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = factory.get();
+        }
+    }
+
+    /**
+     * Returns the slot the producer fills next. Only the producer may call this.
+     *
+     * @return The value to overwrite.
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) slots[writing];
+    }
+
+    /**
+     * Makes the producer's slot the newest value and gives the producer the
+     * old shared slot to fill next. Only the producer may call this.
+     */
+    public void publish() {
+        writing = shared.getAndSet(writing | FRESH) & INDEX;
+    }
+
+    /**
+     * Takes the newest published value if there is one the consumer has not
+     * seen, and returns the consumer's slot. The value stays untouched until
+     * the next call. Only the consumer may call this.
+     *
+     * @return The newest value, or the same one as last time if nothing new was published.
+     */
+    @SuppressWarnings("unchecked")
+    public T read() {
+        if ((shared.get() & FRESH) != 0) {
+            reading = shared.getAndSet(reading) & INDEX;
+        }
+        return (T) slots[reading];
+    }
+}
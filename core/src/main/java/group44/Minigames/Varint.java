@@ -0,0 +1,92 @@
+package group44.Minigames;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Variable-length integer encoding used by the minigame replay and ghost
+ * files. Each byte carries seven bits of the value, lowest bits first, with
+ * the top bit set on every byte except the last. Small values such as the few
+ * ticks between two inputs take a single byte. Signed values are zigzag
+ * encoded first, so small negative values are short too.
+ */
+public final class Varint {
+
+    /** Utility class; not instantiable. */
+    private Varint() {
+    }
+
+    /**
+     * Appends a non-negative value.
+     *
+     * @param out   The stream to append to.
+     * @param value The value to write; treated as unsigned.
+     */
+    public static void write(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Reads a value written by {@link #write}, advancing the buffer's position.
+     *
+     * @param in The buffer to read from.
+     * @return The decoded value.
+     * @throws IllegalArgumentException if the encoding is longer than any long.
+     * @throws BufferUnderflowException if the buffer ends mid-value.
+     */
+    public static long read(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Appends a value that may be negative, zigzag encoded so that 0, -1, 1,
+     * -2, 2 and so on become 0, 1, 2, 3, 4.
+     *
+     * @param out   The stream to append to.
+     * @param value The value to write.
+     */
+    public static void writeSigned(ByteArrayOutputStream out, long value) {
+        write(out, (value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Reads a value written by {@link #writeSigned}, advancing the buffer's position.
+     *
+     * @param in The buffer to read from.
+     * @return The decoded value.
+     * @throws IllegalArgumentException if the encoding is longer than any long.
+     * @throws BufferUnderflowException if the buffer ends mid-value.
+     */
+    public static long readSigned(ByteBuffer in) {
+        long value = read(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads a value that must fit in an int.
+     *
+     * @param in The buffer to read from.
+     * @return The decoded value.
+     * @throws IllegalArgumentException if the value is negative or too large for an int.
+     */
+    public static int readInt(ByteBuffer in) {
+        long value = read(in);
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Varint out of range: " + value);
+        }
+        return (int) value;
+    }
+}
@@ -1,10 +1,9 @@
 package group44;
 
-import javafx.scene.image.Image;
-
 /**
  * Represents a virtual pet with various attributes (health, happiness, fullness, etc.),
- * inventory tracking, and associated images.
+ * inventory tracking, and associated images. Images are referred to by id, the
+ * image's resource path, and loaded by the user interface.
  */
 public class Pet {
 
@@ -14,16 +13,6 @@ public class Pet {
      */
     private String spriteFileNameBase;
 
-    /**
-     * The pet's default image.
-     */
-    private Image petImage;
-
-    /**
-     * The pet's flying image.
-     */
-    private Image petFlyingImage;
-
     /**
      * The pet's name.
      */
@@ -151,14 +140,6 @@ public class Pet {
         this.spriteFileNameBase = spriteFileNameBase;
         this.name = name;
 
-        try {
-            this.petImage = new Image(spriteFileNameBase + ".png");
-            this.petFlyingImage = new Image(spriteFileNameBase + "_flying.png");
-        } catch (Exception e) {
-            System.out.println("Error loading image: " + e.getMessage());
-            this.petImage = this.petFlyingImage = null;
-        }
-
         this.sleepiness = Math.max(0, Math.min(sleepiness, MAX_STAT_VALUE));
         this.happiness = Math.max(0, Math.min(happiness, MAX_STAT_VALUE));
         this.fullness = Math.max(0, Math.min(fullness, MAX_STAT_VALUE));
@@ -508,19 +489,19 @@ public class Pet {
     }
 
     /**
-     * Gets the default image for this pet.
-     * @return The pet's default image.
+     * Gets the id of the default image for this pet.
+     * @return The image's resource path, such as "blue.png".
      */
-    public Image getPetImage() {
-        return petImage;
+    public String getImageId() {
+        return spriteFileNameBase + ".png";
     }
 
     /**
-     * Gets the flying image for this pet.
-     * @return The flying pet image.
+     * Gets the id of the flying image for this pet.
+     * @return The image's resource path, such as "blue_flying.png".
      */
-    public Image getPetFlyingImage() {
-        return petFlyingImage;
+    public String getFlyingImageId() {
+        return spriteFileNameBase + "_flying.png";
     }
 
     /**
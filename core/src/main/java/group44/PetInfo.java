@@ -1,10 +1,8 @@
 package group44;
 
-import javafx.scene.image.Image;
-
 /**
  * Represents the basic information about a pet type.
- * Contains pet name, image, description, and sprite file name.
+ * Contains pet name, image id, description, and sprite file name.
  */
 public class PetInfo {
 
@@ -14,9 +12,9 @@ public class PetInfo {
     private String name;
 
     /**
-     * The image representing the pet type.
+     * The id of the image representing the pet type, its resource path.
      */
-    private Image image;
+    private String imageId;
 
     /**
      * A short description of the pet type.
@@ -32,13 +30,13 @@ public class PetInfo {
      * Constructs a new PetInfo object with the specified parameters.
      *
      * @param name The pet type name
-     * @param image The pet's image representation
+     * @param imageId The id of the pet's image representation
      * @param description A short description of the pet
      * @param spriteFileName The base filename for the pet's sprites
      */
-    public PetInfo(String name, Image image, String description, String spriteFileName) {
+    public PetInfo(String name, String imageId, String description, String spriteFileName) {
         this.name = name;
-        this.image = image;
+        this.imageId = imageId;
         this.description = description;
         this.spriteFileName = spriteFileName;
     }
@@ -62,21 +60,21 @@ public class PetInfo {
     }
 
     /**
-     * Gets the image representation of the pet.
+     * Gets the id of the image representation of the pet.
      *
-     * @return The pet's image
+     * @return The image's resource path
      */
-    public Image getImage() {
-        return image;
+    public String getImageId() {
+        return imageId;
     }
 
     /**
-     * Sets the image representation of the pet.
+     * Sets the id of the image representation of the pet.
      *
-     * @param image The image to set
+     * @param imageId The image's resource path
      */
-    public void setImage(Image image) {
-        this.image = image;
+    public void setImageId(String imageId) {
+        this.imageId = imageId;
     }
 
     /**
@@ -0,0 +1,115 @@
+package group44;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Reads and writes the game's save slots. Each slot is a CSV file holding one
+ * line with the pet's sixteen values in the order of the {@link Pet}
+ * constructor: sprite file name base, name, sleepiness, happiness, fullness,
+ * health, stamina, score, run level, run experience, swim level, swim
+ * experience, fly level, fly experience, state and coins.
+ */
+public final class SaveFile {
+
+    /** The folder the save slots are kept in, relative to the working directory. */
+    public static final String FOLDER = "GameSaves";
+    /** The number of save slots, numbered from 1. */
+    public static final int SLOTS = 3;
+    /** The number of values on a save line. */
+    private static final int FIELDS = 16;
+
+    /** Utility class; not instantiable. */
+    private SaveFile() {
+    }
+
+    /**
+     * Returns the path of a save slot's file.
+     *
+     * @param slot The slot number, from 1 to {@link #SLOTS}.
+     * @return The file's path, such as "GameSaves/LoadGameSlot1.csv".
+     */
+    public static String path(int slot) {
+        return FOLDER + "/LoadGameSlot" + slot + ".csv";
+    }
+
+    /**
+     * Writes a pet to a save file, replacing what was there.
+     *
+     * @param pet      The pet to save.
+     * @param filePath The save file's path.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(Pet pet, String filePath) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filePath))) {
+            writer.write(format(pet));
+        }
+    }
+
+    /**
+     * Formats a pet as a save line.
+     *
+     * @param pet The pet to save.
+     * @return The line, without a line break.
+     */
+    public static String format(Pet pet) {
+        return pet.getSpriteFileNameBase() + "," +
+               pet.getName() + "," +
+               pet.getSleepiness() + "," +
+               pet.getHappiness() + "," +
+               pet.getFullness() + "," +
+               pet.getHealth() + "," +
+               pet.getStamina() + "," +
+               pet.getScore() + "," +
+               pet.getRunLevel() + "," +
+               pet.getRunExperience() + "," +
+               pet.getSwimLevel() + "," +
+               pet.getSwimExperience() + "," +
+               pet.getFlyLevel() + "," +
+               pet.getFlyExperience() + "," +
+               pet.getState() + "," +
+               pet.getCoins();
+    }
+
+    /**
+     * Reads the pet from a save file.
+     *
+     * @param filePath The save file's path.
+     * @return The saved pet, or null if the file is empty.
+     * @throws IOException if the file cannot be read or is not a valid save.
+     */
+    public static Pet read(String filePath) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(filePath))) {
+            String line = reader.readLine();
+            return line == null ? null : parse(line);
+        }
+    }
+
+    /**
+     * Parses a save line.
+     *
+     * @param line The line, as written by {@link #format(Pet)}.
+     * @return The pet it describes.
+     * @throws IOException if the line is not a valid save.
+     */
+    public static Pet parse(String line) throws IOException {
+        String[] attributes = line.split(",");
+        if (attributes.length != FIELDS) {
+            throw new IOException("Expected " + FIELDS + " values in save but found " + attributes.length);
+        }
+        int[] values = new int[FIELDS];
+        try {
+            for (int i = 2; i < FIELDS; i++) {
+                values[i] = Integer.parseInt(attributes[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException("Corrupt save: " + e.getMessage(), e);
+        }
+        return new Pet(attributes[0], attributes[1], values[2], values[3], values[4], values[5],
+                       values[6], values[7], values[8], values[9], values[10], values[11],
+                       values[12], values[13], values[14], values[15]);
+    }
+}
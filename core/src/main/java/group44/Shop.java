@@ -0,0 +1,213 @@
+package group44;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The shop's stock, prices and item effects, and the rules for buying and
+ * gifting. Items are either food, which raises the pet's fullness when
+ * gifted, or gifts, which raise its happiness.
+ *
+ * Effects:
+ * Food Items:
+ *   - Apple: +5 fullness
+ *   - Orange: +7 fullness
+ *   - Banana: +10 fullness
+ * Gift Items:
+ *   - Ball: +10 happiness
+ *   - Teddy Bear: +15 happiness
+ *   - Pirate Hat: +30 happiness
+ *   - Lollipop: +5 happiness
+ *   - Balloon: +12 happiness
+ */
+public final class Shop {
+
+    /** The category of items that are eaten and raise fullness. */
+    public static final String FOOD = "food";
+    /** The category of items that are given as presents and raise happiness. */
+    public static final String GIFT = "gift";
+    /** The highest value gifting can raise a stat to. */
+    private static final int MAX_STAT = 100;
+
+    /** Food items available in the shop. */
+    private static final String[] foodItems = {"Apple", "Banana", "Orange"};
+    /** Gift items available in the shop. */
+    private static final String[] giftItems = {"Ball", "Teddy Bear", "Pirate Hat", "Lollipop", "Balloon"};
+
+    /** A map of item names to their prices. */
+    private static final Map<String, Integer> shopPrices = new HashMap<>();
+    static {
+        shopPrices.put("Apple", 10);
+        shopPrices.put("Banana", 15);
+        shopPrices.put("Orange", 12);
+        shopPrices.put("Ball", 20);
+        shopPrices.put("Teddy Bear", 25);
+        shopPrices.put("Pirate Hat", 30);
+        shopPrices.put("Lollipop", 5);
+        shopPrices.put("Balloon", 7);
+    }
+
+    /** A map of item names to resource paths for their icons. */
+    private static final Map<String, String> itemIcons = new HashMap<>();
+    static {
+        itemIcons.put("Apple", "/images/apple.png");
+        itemIcons.put("Banana", "/images/banana.png");
+        itemIcons.put("Orange", "/images/orange.png");
+        itemIcons.put("Ball", "/images/ball.png");
+        itemIcons.put("Teddy Bear", "/images/teddybear.png");
+        itemIcons.put("Pirate Hat", "/images/piratehat.png");
+        itemIcons.put("Lollipop", "/images/lollipop.png");
+        itemIcons.put("Balloon", "/images/balloon.png");
+    }
+
+    /** A map mapping food items to their fullness increase value. */
+    private static final Map<String, Integer> foodEffects = new HashMap<>();
+    static {
+        foodEffects.put("Apple", 5);
+        foodEffects.put("Orange", 7);
+        foodEffects.put("Banana", 10);
+    }
+
+    /** A map mapping gift items to their happiness increase value. */
+    private static final Map<String, Integer> giftEffects = new HashMap<>();
+    static {
+        giftEffects.put("Ball", 10);
+        giftEffects.put("Teddy Bear", 15);
+        giftEffects.put("Pirate Hat", 30);
+        giftEffects.put("Lollipop", 5);
+        giftEffects.put("Balloon", 12);
+    }
+
+    /** Utility class; not instantiable. */
+    private Shop() {
+    }
+
+    /**
+     * Returns the food items the shop sells, in display order.
+     *
+     * @return A new array of item names.
+     */
+    public static String[] getFoodItems() {
+        return foodItems.clone();
+    }
+
+    /**
+     * Returns the gift items the shop sells, in display order.
+     *
+     * @return A new array of item names.
+     */
+    public static String[] getGiftItems() {
+        return giftItems.clone();
+    }
+
+    /**
+     * Returns the price of an item.
+     *
+     * @param itemName The item's name.
+     * @return Its price in coins, or 0 if the shop does not sell it.
+     */
+    public static int getPrice(String itemName) {
+        return shopPrices.getOrDefault(itemName, 0);
+    }
+
+    /**
+     * Returns the resource path of an item's icon.
+     *
+     * @param itemName The item's name.
+     * @return The icon's path, such as "/images/apple.png", or null if it has none.
+     */
+    public static String getIcon(String itemName) {
+        return itemIcons.get(itemName);
+    }
+
+    /**
+     * Returns how much gifting an item raises the pet's fullness or happiness.
+     *
+     * @param itemName The item's name.
+     * @param category Either {@link #FOOD} or {@link #GIFT}.
+     * @return The increase, or 0 if the item has no effect.
+     */
+    public static int getEffect(String itemName, String category) {
+        Map<String, Integer> effects = FOOD.equals(category) ? foodEffects : giftEffects;
+        return effects.getOrDefault(itemName, 0);
+    }
+
+    /**
+     * Makes sure an inventory holds at least one of every item the shop sells.
+     *
+     * @param inventory The inventory to stock.
+     */
+    public static void stock(Inventory inventory) {
+        for (String food : foodItems) {
+            if (!inventory.getFoodItems().containsKey(food)) {
+                inventory.addFood(food, 1);
+            }
+        }
+        for (String gift : giftItems) {
+            if (!inventory.getGiftItems().containsKey(gift)) {
+                inventory.addGift(gift, 1);
+            }
+        }
+    }
+
+    /**
+     * Returns how many of an item the pet holds.
+     *
+     * @param pet      The pet.
+     * @param itemName The item's name.
+     * @param category Either {@link #FOOD} or {@link #GIFT}.
+     * @return The quantity in the pet's inventory.
+     */
+    public static int getQuantity(Pet pet, String itemName, String category) {
+        Inventory inventory = pet.getInventory();
+        Map<String, Integer> items = FOOD.equals(category) ? inventory.getFoodItems() : inventory.getGiftItems();
+        return items.getOrDefault(itemName, 0);
+    }
+
+    /**
+     * Buys one of an item for the pet, if it has enough coins.
+     *
+     * @param pet      The pet paying for the item.
+     * @param itemName The item's name.
+     * @param category Either {@link #FOOD} or {@link #GIFT}.
+     * @return True if the item was bought, false if the pet could not afford it.
+     */
+    public static boolean buy(Pet pet, String itemName, String category) {
+        int price = getPrice(itemName);
+        if (pet.getCoins() < price) {
+            return false;
+        }
+        pet.setCoins(pet.getCoins() - price);
+        if (FOOD.equals(category)) {
+            pet.getInventory().addFood(itemName, 1);
+        } else {
+            pet.getInventory().addGift(itemName, 1);
+        }
+        return true;
+    }
+
+    /**
+     * Gifts one of an item from the pet's inventory, raising its fullness for
+     * food or its happiness for gifts, up to 100.
+     *
+     * @param pet      The pet receiving the item.
+     * @param itemName The item's name.
+     * @param category Either {@link #FOOD} or {@link #GIFT}.
+     * @return True if the item was gifted, false if the pet had none.
+     */
+    public static boolean gift(Pet pet, String itemName, String category) {
+        int effect = getEffect(itemName, category);
+        if (FOOD.equals(category)) {
+            if (!pet.getInventory().useFood(itemName, 1)) {
+                return false;
+            }
+            pet.setFullness(Math.min(MAX_STAT, pet.getFullness() + effect));
+        } else {
+            if (!pet.getInventory().useGift(itemName, 1)) {
+                return false;
+            }
+            pet.setHappiness(Math.min(MAX_STAT, pet.getHappiness() + effect));
+        }
+        return true;
+    }
+}
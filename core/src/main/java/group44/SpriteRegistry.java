@@ -0,0 +1,182 @@
+package group44;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Shares images between everything that shows them, such as pets of the same
+ * colour, without the model knowing what an image is. The user interface
+ * supplies the loader; this class only counts who is using which image.
+ * <p>
+ * {@link #acquire(String)} hands out the one {@link Handle} for an image id
+ * and counts the reference. Acquiring costs no image memory: the image is
+ * loaded the first time {@link Handle#get()} is called, usually when it is
+ * first drawn. Once every reference has been released the handle and its
+ * image are dropped, and the next acquire starts afresh.
+ * </p>
+ * <p>
+ * A registry may be used from any thread; releases often come from a
+ * cleaner thread once the pet holding a handle is gone.
+ * </p>
+ *
+ * @param <T> The type of image loaded.
+ */
+public final class SpriteRegistry<T> {
+
+    /** Loads an image by id; returns null if there is no such image. */
+    private final Function<String, T> loader;
+    /** The handles with at least one reference, by image id. */
+    private final Map<String, Handle<T>> handles = new HashMap<>();
+
+    /**
+     * A counted reference to a shared image, loaded on first use.
+     *
+     * @param <T> The type of image loaded.
+     */
+    public static final class Handle<T> {
+
+        /** The registry the handle belongs to. */
+        private final SpriteRegistry<T> registry;
+        /** The image's id. */
+        private final String id;
+        /** The number of references not yet released; 0 once dropped. */
+        private int references;
+        /** Whether the loader has been called. */
+        private boolean loaded;
+        /** The image, or null before it is loaded, after it is dropped, or if it failed to load. */
+        private T image;
+
+        /**
+         * Creates a handle with no references.
+         *
+         * @param registry The registry the handle belongs to.
+         * @param id       The image's id.
+         */
+        private Handle(SpriteRegistry<T> registry, String id) {
+            this.registry = registry;
+            this.id = id;
+        }
+
+        /**
+         * Returns the image, loading it the first time. The loader runs
+         * without holding the registry's lock, so a slow decode does not hold
+         * up other images; if two threads load at once, the first image
+         * published is kept.
+         *
+         * @return The image, or null if it could not be loaded.
+         * @throws IllegalStateException if every reference has been released.
+         */
+        public T get() {
+            synchronized (registry) {
+                checkReferenced();
+                if (loaded) {
+                    return image;
+                }
+            }
+            T decoded = registry.loader.apply(id);
+            synchronized (registry) {
+                checkReferenced();
+                if (!loaded) {
+                    image = decoded;
+                    loaded = true;
+                }
+                return image;
+            }
+        }
+
+        /**
+         * Checks that the handle still has references. Called with the registry's lock held.
+         *
+         * @throws IllegalStateException if every reference has been released.
+         */
+        private void checkReferenced() {
+            if (references == 0) {
+                throw new IllegalStateException("Sprite " + id + " has been released");
+            }
+        }
+
+        /**
+         * Gives up one reference. The last release drops the image.
+         *
+         * @throws IllegalStateException if every reference has already been released.
+         */
+        public void release() {
+            synchronized (registry) {
+                checkReferenced();
+                if (--references == 0) {
+                    image = null;
+                    registry.handles.remove(id);
+                }
+            }
+        }
+
+        /**
+         * Returns the image's id.
+         *
+         * @return The id the handle was acquired with.
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Returns the number of references not yet released.
+         *
+         * @return The reference count.
+         */
+        public int getReferences() {
+            synchronized (registry) {
+                return references;
+            }
+        }
+    }
+
+    /**
+     * Creates a registry.
+     *
+     * @param loader Loads an image by id, returning null if there is none.
+     *               Called once per image while it is in use, unless threads
+     *               race to load it; must be safe to call from any thread.
+     */
+    public SpriteRegistry(Function<String, T> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the shared handle for an image and counts a reference to it.
+     * Every acquire must be matched by one {@link Handle#release()}.
+     *
+     * @param id The image's id.
+     * @return The handle; the same one for every acquire until it is released.
+     */
+    public synchronized Handle<T> acquire(String id) {
+        Handle<T> handle = handles.computeIfAbsent(id, key -> new Handle<>(this, key));
+        handle.references++;
+        return handle;
+    }
+
+    /**
+     * Returns the number of images in use, loaded or not.
+     *
+     * @return The number of handles with references.
+     */
+    public synchronized int size() {
+        return handles.size();
+    }
+
+    /**
+     * Returns the number of images in use that have been loaded.
+     *
+     * @return The number of handles whose image was loaded.
+     */
+    public synchronized int loaded() {
+        int count = 0;
+        for (Handle<T> handle : handles.values()) {
+            if (handle.loaded) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,93 @@
+package group44;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures the heap memory the current thread allocates while running a
+ * piece of code, so tests can hold per-frame and per-tick code paths to an
+ * allocation budget. Uses the HotSpot extension of the thread management
+ * bean; on JVMs without it, tests calling {@link #assumeSupported()} are
+ * skipped rather than failed.
+ * <p>
+ * A budget is a number of bytes per call plus a fixed allowance for the whole
+ * measurement. The allowance covers one-off growth, such as a buffer passing
+ * its high-water mark on a new course, so that a per-call budget of 0 still
+ * catches a single object allocated every call.
+ * </p>
+ */
+public final class AllocationBudget {
+
+    /** The bean measuring allocation, or null if this JVM cannot. */
+    private static final com.sun.management.ThreadMXBean THREADS = threads();
+
+    /** Utility class; not instantiable. */
+    private AllocationBudget() {
+    }
+
+    /**
+     * Finds the HotSpot thread bean and switches allocation counting on.
+     *
+     * @return The bean, or null if allocation cannot be measured.
+     */
+    private static com.sun.management.ThreadMXBean threads() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    /**
+     * Skips the calling test if this JVM cannot measure allocation.
+     */
+    public static void assumeSupported() {
+        assumeTrue(THREADS != null, "Thread allocation counting is not available on this JVM");
+    }
+
+    /**
+     * Returns the bytes the current thread has allocated since it started.
+     *
+     * @return The running total.
+     */
+    public static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Runs some code and returns the bytes it allocated on the current thread.
+     *
+     * @param action The code to measure.
+     * @return The bytes allocated.
+     */
+    public static long measure(Runnable action) {
+        long before = allocatedBytes();
+        action.run();
+        return allocatedBytes() - before;
+    }
+
+    /**
+     * Fails if a measurement went over its budget.
+     *
+     * @param what         What was measured, for the failure message, such as "running frames".
+     * @param bytes        The bytes allocated.
+     * @param calls        The number of calls measured, such as frames or ticks.
+     * @param bytesPerCall The budget for each call.
+     * @param allowance    The budget for one-off allocations over the whole measurement.
+     */
+    public static void assertWithin(String what, long bytes, long calls, long bytesPerCall, long allowance) {
+        long budget = calls * bytesPerCall + allowance;
+        if (bytes > budget) {
+            fail(String.format("%s allocated %d bytes over %d calls (%.1f per call); the budget is %d per call plus %d",
+                               what, bytes, calls, (double) bytes / calls, bytesPerCall, allowance));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package group44.Audio;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the VoicePool class.
+ * Tests capping overlapping plays and dropping repeated triggers.
+ */
+public class VoicePoolTest {
+
+    /**
+     * Test that once every voice is sounding further triggers are dropped
+     * until the oldest play ends.
+     */
+    @Test
+    public void testCapsOverlappingPlays() {
+        VoicePool pool = new VoicePool(3, 0, 100);
+        assertTrue(pool.trigger(0));
+        assertTrue(pool.trigger(10));
+        assertTrue(pool.trigger(10), "Triggers at the same time should still each play");
+        assertFalse(pool.trigger(50), "Every voice is still sounding");
+        assertFalse(pool.trigger(99));
+        assertTrue(pool.trigger(100), "The oldest play has ended");
+        assertFalse(pool.trigger(100), "The next oldest is still sounding");
+        assertTrue(pool.trigger(110));
+        assertEquals(3, pool.getVoices());
+    }
+
+    /**
+     * Test that triggers closer together than the interval are dropped.
+     */
+    @Test
+    public void testMinInterval() {
+        VoicePool pool = new VoicePool(2, 100, 0);
+        assertTrue(pool.trigger(1_000), "The first trigger should always play");
+        assertFalse(pool.trigger(1_050));
+        assertFalse(pool.trigger(1_099));
+        assertTrue(pool.trigger(1_100), "Dropped triggers should not count as plays");
+        assertTrue(pool.trigger(Long.MAX_VALUE));
+    }
+
+    /**
+     * Test that clearing forgets the plays still sounding.
+     */
+    @Test
+    public void testClear() {
+        VoicePool pool = new VoicePool(1, 0, 1_000);
+        assertTrue(pool.trigger(0));
+        assertFalse(pool.trigger(10));
+        pool.clear();
+        assertTrue(pool.trigger(10), "A stopped sound should free its voices");
+    }
+
+    /**
+     * Test that invalid settings are rejected.
+     */
+    @Test
+    public void testInvalidInput() {
+        assertThrows(IllegalArgumentException.class, () -> new VoicePool(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new VoicePool(1, -1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new VoicePool(1, 0, -1));
+    }
+}
@@ -1,6 +1,5 @@
 package group44;
 
-import javafx.scene.image.Image;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -16,7 +15,7 @@ public class FoodTest {
     private final int TEST_NUTRITION = 20;
     private final int TEST_TASTY_BONUS = 10;
     private final int TEST_COST = 5;
-    private final String TEST_ICON_PATH = "nonexistent_path.png"; // Using a non-existent path to test exception handling
+    private final String TEST_ICON_PATH = "nonexistent_path.png"; // Icons are only loaded by the user interface
     
     @BeforeEach
     public void setUp() {
@@ -32,7 +31,7 @@ public class FoodTest {
         assertEquals(TEST_NUTRITION, food.getNutrition(), "Nutrition value should be initialized correctly");
         assertEquals(TEST_TASTY_BONUS, food.getTastyBonus(), "Tasty bonus should be initialized correctly");
         assertEquals(TEST_COST, food.getCost(), "Cost should be initialized correctly");
-        assertNull(food.getIcon(), "Icon should be null for invalid path");
+        assertEquals(TEST_ICON_PATH, food.getIconId(), "Icon id should be kept without loading the image");
     }
     
     /**
@@ -136,11 +135,11 @@ public class FoodTest {
     }
     
     /**
-     * Helper method to create a mock Image object.
-     * @return A mock Image object
+     * Test setting and getting the icon id.
      */
-    private Image createMockImage() {
-        // Return a placeholder 1x1 pixel transparent image
-        return new Image("data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNk+M9QDwADhgGAWjR9awAAAABJRU5ErkJggg==");
+    @Test
+    public void testSetGetIconId() {
+        food.setIconId("apple.png");
+        assertEquals("apple.png", food.getIconId(), "getIconId should return the updated icon id");
     }
 }
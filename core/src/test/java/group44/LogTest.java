@@ -0,0 +1,200 @@
+package group44;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * JUnit tests for the Log class.
+ * Tests message formatting, level filtering, dropping messages when the
+ * writer falls behind, and logging from several threads at once.
+ */
+public class LogTest {
+
+    /** Collects written messages. */
+    private static final class ListSink implements Log.Sink {
+
+        /** The messages written. */
+        final List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        /** The levels of the messages written. */
+        final List<Integer> levels = Collections.synchronizedList(new ArrayList<>());
+        /** The number of batches flushed. */
+        volatile int flushes;
+
+        @Override
+        public void write(int level, CharSequence line) {
+            lines.add(line.toString());
+            levels.add(level);
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+
+    private Log log;
+
+    @AfterEach
+    public void tearDown() {
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    /**
+     * Returns the message part of a written line, after the time, level and thread.
+     *
+     * @param line The written line.
+     * @return The message.
+     */
+    private static String message(String line) {
+        return line.substring(line.indexOf("] ") + 2);
+    }
+
+    /**
+     * Test that placeholders are filled in order and the line carries the level and thread.
+     */
+    @Test
+    public void testFormatting() {
+        ListSink sink = new ListSink();
+        log = new Log(16, Log.DEBUG, sink);
+        log.log(Log.INFO, "Now playing: {}", "main.mp3", null);
+        log.log(Log.WARN, "{} and {}", "first", 2);
+        log.log(Log.INFO, "Loaded {} effects", 12L);
+        log.log(Log.INFO, "No placeholders", null, null);
+        log.log(Log.INFO, "Too {} {} {}", "many", "placeholders");
+        log.flush();
+
+        assertEquals(5, sink.lines.size());
+        assertTrue(sink.lines.get(0).matches("\\d\\d:\\d\\d:\\d\\d\\.\\d{3} INFO  \\[.+\\] Now playing: main\\.mp3"),
+                   sink.lines.get(0));
+        assertEquals("first and 2", message(sink.lines.get(1)));
+        assertEquals(Log.WARN, (int) sink.levels.get(1));
+        assertEquals("Loaded 12 effects", message(sink.lines.get(2)));
+        assertEquals("No placeholders", message(sink.lines.get(3)));
+        assertEquals("Too many placeholders {}", message(sink.lines.get(4)));
+        assertTrue(sink.lines.get(0).contains("[" + Thread.currentThread().getName() + "]"));
+        assertTrue(sink.flushes > 0, "The sink should be flushed after a batch");
+    }
+
+    /**
+     * Test that a throwable with no placeholder gets its stack trace written.
+     */
+    @Test
+    public void testThrowable() {
+        ListSink sink = new ListSink();
+        log = new Log(16, Log.DEBUG, sink);
+        log.log(Log.ERROR, "Error saving {}", "slot 1", new IllegalStateException("disk full"));
+        log.log(Log.ERROR, "Error: {}", new IllegalStateException("shown inline"), null);
+        log.flush();
+
+        String[] traced = sink.lines.get(0).split("\\R");
+        assertEquals("Error saving slot 1", message(traced[0]));
+        assertEquals("java.lang.IllegalStateException: disk full", traced[1]);
+        assertTrue(traced[2].trim().startsWith("at group44.LogTest.testThrowable"), traced[2]);
+        assertEquals("Error: java.lang.IllegalStateException: shown inline", message(sink.lines.get(1)));
+    }
+
+    /**
+     * Test that messages below the level are not written.
+     */
+    @Test
+    public void testLevel() {
+        ListSink sink = new ListSink();
+        log = new Log(16, Log.WARN, sink);
+        assertFalse(log.log(Log.INFO, "hidden", null, null));
+        assertTrue(log.log(Log.ERROR, "shown", null, null));
+        log.setLevel(Log.DEBUG);
+        assertTrue(log.log(Log.DEBUG, "now shown", null, null));
+        log.flush();
+        assertEquals(List.of("shown", "now shown"), sink.lines.stream().map(LogTest::message).toList());
+
+        assertEquals(Log.DEBUG, Log.parseLevel("debug"));
+        assertEquals(Log.ERROR, Log.parseLevel(" ERROR "));
+        assertEquals(Log.INFO, Log.parseLevel("loud"));
+        assertEquals(Log.INFO, Log.parseLevel(null));
+    }
+
+    /**
+     * Test that messages are dropped and the drop reported, rather than the
+     * caller waiting, when the writer is held up.
+     */
+    @Test
+    public void testDropsWhenFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> lines = Collections.synchronizedList(new ArrayList<>());
+        log = new Log(8, Log.DEBUG, new Log.Sink() {
+            @Override
+            public void write(int level, CharSequence line) throws java.io.IOException {
+                lines.add(line.toString());
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new java.io.IOException(e);
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+        });
+        log.log(Log.INFO, "first", null, null);
+        started.await();
+        // The writer is stuck on the first message, so only the 8 slots can fill
+        int accepted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (log.log(Log.INFO, "message {}", i)) {
+                accepted++;
+            }
+        }
+        assertEquals(8, accepted);
+        assertEquals(12, log.getDropped());
+        release.countDown();
+        log.flush();
+
+        assertEquals(10, lines.size(), "Every accepted message and one report should be written");
+        assertEquals("message 7", message(lines.get(8)));
+        assertEquals("12 log messages were dropped because the log fell behind", message(lines.get(9)));
+        assertTrue(lines.get(9).contains("WARN  [log-writer]"), lines.get(9));
+    }
+
+    /**
+     * Test that messages from several threads all arrive, each thread's in order.
+     */
+    @Test
+    public void testManyThreads() throws InterruptedException {
+        ListSink sink = new ListSink();
+        log = new Log(1 << 16, Log.DEBUG, sink);
+        int threads = 4;
+        int perThread = 5000;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    log.log(Log.INFO, "{}", i);
+                }
+            }, "worker-" + t);
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        log.flush();
+
+        assertEquals(0, log.getDropped());
+        assertEquals(threads * perThread, sink.lines.size());
+        int[] next = new int[threads];
+        for (String line : sink.lines) {
+            int t = line.charAt(line.indexOf("[worker-") + 8) - '0';
+            assertEquals(next[t]++, Integer.parseInt(message(line)), "Messages from a thread should stay in order");
+        }
+    }
+}
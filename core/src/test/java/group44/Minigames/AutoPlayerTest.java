@@ -0,0 +1,154 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * JUnit tests for the AutoPlayer and CourseSurvey classes.
+ * Tests that the search finds the one input that saves a run, reports courses
+ * nothing can survive as impossible, and gives the same answers in parallel.
+ */
+public class AutoPlayerTest {
+
+    /**
+     * A course that ends at tick 30 unless the player pressed during ticks 10 to 19.
+     */
+    private static class GateSimulation extends MinigameSimulation {
+
+        private boolean pressed;
+
+        GateSimulation() {
+            super(DEFAULT_WIDTH, DEFAULT_HEIGHT);
+        }
+
+        @Override
+        public String getName() {
+            return "gate";
+        }
+
+        @Override
+        protected void startRun() {
+            pressed = false;
+            petY = 0;
+        }
+
+        @Override
+        public void copyFrom(MinigameSimulation other) {
+            super.copyFrom(other);
+            pressed = ((GateSimulation) other).pressed;
+        }
+
+        @Override
+        public void applyInput(int action) {
+            if (tick >= 10 && tick < 20) {
+                pressed = true;
+                petY = 100;
+            }
+        }
+
+        @Override
+        protected void update() {
+            if (tick == 30 && !pressed) {
+                endRun();
+            } else if (tick % 10 == 9) {
+                addScore();
+            }
+        }
+
+        @Override
+        public double getScrollSpeed() {
+            return 0;
+        }
+
+        @Override
+        public double getPetVelocity() {
+            return 0;
+        }
+    }
+
+    /**
+     * A course that always ends at tick 10.
+     */
+    private static class WallSimulation extends GateSimulation {
+
+        @Override
+        protected void update() {
+            if (tick == 10) {
+                endRun();
+            }
+        }
+    }
+
+    /**
+     * Test that the search finds the input a course needs.
+     */
+    @Test
+    public void testFindsRequiredInput() {
+        AutoPlayer player = new AutoPlayer(GateSimulation::new, 4, 1, 100);
+        AutoPlayer.Outcome outcome = player.play(0);
+
+        assertTrue(outcome.isPassable(), "Pressing during the window should be found");
+        assertEquals(100, outcome.getTicks());
+        assertEquals(10, outcome.getBestScore(), "Every tenth tick should score");
+    }
+
+    /**
+     * Test that the search gives up on a course nothing survives.
+     */
+    @Test
+    public void testReportsImpossibleCourse() {
+        AutoPlayer player = new AutoPlayer(WallSimulation::new, 4, 3, 100);
+        AutoPlayer.Outcome outcome = player.play(0);
+
+        assertFalse(outcome.isPassable(), "No input should get past the wall");
+        assertTrue(outcome.getTicks() <= 12, "Search should stop once every branch has crashed");
+    }
+
+    /**
+     * Test that running courses, which only need well-timed jumps, are all passable.
+     */
+    @Test
+    public void testRunningCoursesArePassable() {
+        AutoPlayer player = new AutoPlayer("running");
+        for (long seed = 0; seed < 5; seed++) {
+            AutoPlayer.Outcome outcome = player.play(seed);
+            assertTrue(outcome.isPassable(), "Running seed " + seed + " should be passable");
+            assertTrue(outcome.getBestScore() > 0, "Some obstacles should be cleared");
+        }
+    }
+
+    /**
+     * Test that a parallel survey matches playing the same seeds one by one.
+     */
+    @Test
+    public void testSurveyMatchesSequentialPlay() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            CourseSurvey survey = AutoPlayer.survey("flying-600", 100, 150, pool);
+
+            assertEquals(150, survey.getSeedCount());
+            assertEquals(100, survey.getFirstSeed());
+            AutoPlayer player = new AutoPlayer("flying-600");
+            for (int i = 0; i < 150; i += 37) {
+                AutoPlayer.Outcome outcome = player.play(100 + i);
+                assertEquals(outcome.isPassable(), survey.isPassable(i), "Seed " + (100 + i) + " passability");
+                assertEquals(outcome.getBestScore(), survey.getBestScore(i), "Seed " + (100 + i) + " best score");
+            }
+            assertEquals(survey.getImpossibleCount(), survey.getImpossibleSeeds().length);
+            assertEquals((double) survey.getImpossibleCount() / 150, survey.getImpossibleRate(), 1e-12);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Test that unknown games and bad settings are rejected.
+     */
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> AutoPlayer.survey("golf", 0, 1, ForkJoinPool.commonPool()));
+        assertThrows(IllegalArgumentException.class, () -> new AutoPlayer(GateSimulation::new, 0, 1, 10));
+    }
+}
@@ -0,0 +1,123 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the Broadphase class.
+ * Tests candidate queries, the narrowphase box test and per-frame counters.
+ */
+public class BroadphaseTest {
+
+    private Broadphase broadphase;
+    private EntityBuffer buffer;
+
+    @BeforeEach
+    public void setUp() {
+        broadphase = new Broadphase();
+        buffer = new EntityBuffer();
+        // Entities every 100px, 40px wide: [0,40], [100,140], ... [900,940]
+        for (int i = 0; i < 10; i++) {
+            buffer.add(i * 100, 0, 40, 40);
+        }
+    }
+
+    /**
+     * Test that a sorted query returns only entities overlapping the x range.
+     */
+    @Test
+    public void testQueryFindsOverlappingEntities() {
+        int found = broadphase.query(buffer, 350, 420, 0);
+
+        assertEquals(1, found, "Only the entity at 400 should overlap [350, 420]");
+        assertEquals(4, broadphase.candidate(0));
+
+        found = broadphase.query(buffer, 120, 310, 0);
+        assertEquals(3, found, "Entities at 100, 200 and 300 should overlap [120, 310]");
+        assertEquals(1, broadphase.candidate(0));
+        assertEquals(3, broadphase.candidate(2));
+    }
+
+    /**
+     * Test that an entity starting left of the range but reaching into it is found.
+     */
+    @Test
+    public void testQueryFindsWideEntityStartingLeftOfRange() {
+        buffer.clear();
+        buffer.add(0, 0, 500, 10);
+        buffer.add(600, 0, 10, 10);
+
+        assertEquals(1, broadphase.query(buffer, 450, 460, 0), "The wide entity reaches the range");
+        assertEquals(0, broadphase.candidate(0));
+    }
+
+    /**
+     * Test that flagged entities are skipped.
+     */
+    @Test
+    public void testQuerySkipsFlaggedEntities() {
+        buffer.setFlag(2, EntityBuffer.COLLECTED);
+
+        int found = broadphase.query(buffer, 150, 350, EntityBuffer.COLLECTED);
+
+        assertEquals(1, found, "The collected entity at 200 should be skipped");
+        assertEquals(3, broadphase.candidate(0));
+    }
+
+    /**
+     * Test that an unsorted buffer gives the same results through the fallback scan.
+     */
+    @Test
+    public void testQueryUnsortedFallback() {
+        buffer.setX(1, 710);
+        assertFalse(buffer.isSortedByX());
+
+        int found = broadphase.query(buffer, 690, 720, 0);
+
+        assertEquals(2, found, "Both the moved entity and the one at 700 should be found");
+        assertEquals(1, broadphase.candidate(0));
+        assertEquals(7, broadphase.candidate(1));
+    }
+
+    /**
+     * Test the narrowphase box test, including boxes that only touch.
+     */
+    @Test
+    public void testIntersects() {
+        assertTrue(broadphase.intersects(0, 0, 10, 10, 5, 5, 15, 15), "Overlapping boxes");
+        assertFalse(broadphase.intersects(0, 0, 10, 10, 10, 0, 20, 10), "Boxes touching along an edge");
+        assertFalse(broadphase.intersects(0, 0, 10, 10, 0, 20, 10, 30), "Boxes apart vertically");
+        assertTrue(broadphase.intersects(buffer, 1, 130, 30, 150, 50), "Box overlapping entity 1's corner");
+    }
+
+    /**
+     * Test that counters are reported for the previous frame and then reset.
+     */
+    @Test
+    public void testFrameCounters() {
+        int found = broadphase.query(buffer, 100, 240, 0);
+        for (int k = 0; k < found; k++) {
+            broadphase.intersects(buffer, broadphase.candidate(k), 110, 0, 120, 10);
+        }
+        broadphase.beginFrame();
+
+        assertEquals(1, broadphase.getQueries());
+        assertEquals(2, broadphase.getCandidates());
+        assertEquals(2, broadphase.getNarrowphaseTests());
+        assertEquals(1, broadphase.getHits());
+
+        broadphase.beginFrame();
+        assertEquals(0, broadphase.getQueries(), "An idle frame should report no queries");
+        assertEquals(0, broadphase.getNarrowphaseTests());
+    }
+
+    /**
+     * Test that asking for a result past the end of the last query throws.
+     */
+    @Test
+    public void testCandidateOutOfBounds() {
+        broadphase.query(buffer, 100, 110, 0);
+        assertThrows(IndexOutOfBoundsException.class, () -> broadphase.candidate(1));
+    }
+}
@@ -0,0 +1,236 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the CourseGenerator, CourseChunk and CourseStreamer classes.
+ * Tests that endless courses streamed in from a background thread are the
+ * same as the ones spawned inline, and that endless runs get harder.
+ */
+public class CourseStreamerTest {
+
+    /** The minigames that have endless courses. */
+    private static final String[] GAMES = {"running", "flying-300", "swimming-300"};
+
+    /**
+     * Asserts that two simulations have the same entities in a layer.
+     *
+     * @param expected The simulation spawning inline.
+     * @param actual   The simulation taking its spawns from a stream.
+     * @param layer    The layer to compare.
+     */
+    private static void assertSameLayer(MinigameSimulation expected, MinigameSimulation actual, int layer) {
+        EntityBuffer a = expected.layer(layer);
+        EntityBuffer b = actual.layer(layer);
+        assertEquals(a.size(), b.size(), expected.getName() + " layer " + layer + " at tick " + expected.getTick());
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(a.x(i), b.x(i));
+            assertEquals(a.y(i), b.y(i));
+            assertEquals(a.width(i), b.width(i));
+            assertEquals(a.height(i), b.height(i));
+        }
+    }
+
+    /**
+     * Test that a streamed course spawns exactly what the same course spawns
+     * inline, over many chunks and several levels.
+     */
+    @Test
+    public void testStreamedCourseMatchesInline() {
+        for (String game : GAMES) {
+            MinigameSimulation inline = HeadlessRunner.create(game + "-endless");
+            MinigameSimulation streamed = HeadlessRunner.create(game);
+            streamed.setEndless(true);
+            CourseStreamer streamer = new CourseStreamer(() -> HeadlessRunner.create(game), 2);
+            streamed.setCourseStreamer(streamer);
+            try {
+                inline.reset(17);
+                streamed.reset(17);
+                for (int t = 0; t < MinigameSimulation.LEVEL_TICKS * 4; t++) {
+                    inline.advanceCourse();
+                    streamed.advanceCourse();
+                    assertSameLayer(inline, streamed, MinigameSimulation.LAYER_OBSTACLES);
+                    assertSameLayer(inline, streamed, MinigameSimulation.LAYER_COINS);
+                }
+                if (game.startsWith("swimming")) {
+                    assertSameLayer(inline, streamed, MinigameSimulation.LAYER_HAZARDS);
+                }
+                assertEquals(inline.getScore(), streamed.getScore());
+            } finally {
+                streamer.stop();
+            }
+        }
+    }
+
+    /**
+     * Test that a played run is the same whether its course is streamed or spawned inline.
+     */
+    @Test
+    public void testStreamedRunMatchesInline() {
+        MinigameSimulation inline = HeadlessRunner.create("flying-300-endless");
+        MinigameSimulation streamed = HeadlessRunner.create("flying-300");
+        streamed.setEndless(true);
+        CourseStreamer streamer = new CourseStreamer(() -> HeadlessRunner.create("flying-300"), 2);
+        streamed.setCourseStreamer(streamer);
+        try {
+            HeadlessRunner.Result expected = HeadlessRunner.run(inline, 4, HeadlessRunner.randomInputs(4, 0.05), 5000);
+            HeadlessRunner.Result actual = HeadlessRunner.run(streamed, 4, HeadlessRunner.randomInputs(4, 0.05), 5000);
+            assertEquals(expected.getTicks(), actual.getTicks());
+            assertEquals(expected.getScore(), actual.getScore());
+            assertEquals(expected.getCoinsCollected(), actual.getCoinsCollected());
+            assertEquals("flying-300-endless", streamed.getName());
+        } finally {
+            streamer.stop();
+        }
+    }
+
+    /**
+     * Test that chunks follow on from each other and are the same for the same seed.
+     */
+    @Test
+    public void testChunksAreConsecutiveAndRepeatable() {
+        CourseGenerator first = new CourseGenerator(() -> HeadlessRunner.create("swimming-300"));
+        CourseGenerator second = new CourseGenerator(() -> HeadlessRunner.create("swimming-300"));
+        first.start(9);
+        second.start(9);
+
+        int entities = 0;
+        for (int k = 0; k < 30; k++) {
+            CourseChunk a = first.next();
+            CourseChunk b = second.next();
+            assertEquals(k, a.getIndex());
+            assertEquals(k * CourseGenerator.CHUNK_TICKS, a.getStartTime());
+            assertEquals(a.getStartTime() + CourseGenerator.CHUNK_TICKS, a.getEndTime());
+            assertEquals(a.size(), b.size());
+            for (int i = 0; i < a.size(); i++) {
+                assertTrue(a.time(i) >= a.getStartTime() && a.time(i) < a.getEndTime(), "Spawns should fall in their chunk");
+                assertEquals(a.time(i), b.time(i));
+                assertEquals(a.layer(i), b.layer(i));
+                assertEquals(a.y(i), b.y(i));
+            }
+            entities += a.size();
+        }
+        assertTrue(entities > 30, "A minute of course should hold plenty of entities");
+
+        first.start(10);
+        CourseChunk other = first.next();
+        second.start(9);
+        CourseChunk again = second.next();
+        assertNotEquals(other.y(0), again.y(0), "Another seed should make another course");
+    }
+
+    /**
+     * Test that every spawn of long endless courses passes the feasibility
+     * check, so no chunk is generated again, including at top speed.
+     */
+    @Test
+    public void testCoursesArePassable() {
+        for (String game : GAMES) {
+            CourseGenerator generator = new CourseGenerator(() -> HeadlessRunner.create(game));
+            for (long seed = 1; seed <= 3; seed++) {
+                generator.start(seed);
+                for (int k = 0; k < 60; k++) {
+                    generator.next();
+                }
+                assertEquals(0, generator.getRejected(), game + " seed " + seed);
+            }
+        }
+    }
+
+    /**
+     * Test that a chunk failing the feasibility check is generated again
+     * from a seed of its own, leaving the chunks around it alone, and that
+     * one that keeps failing is kept after the last attempt.
+     */
+    @Test
+    public void testImpassableChunkIsGeneratedAgain() {
+        int[] failures = {1};
+        CourseGenerator plain = new CourseGenerator(() -> HeadlessRunner.create("flying-300"));
+        CourseGenerator checked = new CourseGenerator(() -> new FlyingSimulation(
+                MinigameSimulation.DEFAULT_WIDTH, MinigameSimulation.DEFAULT_HEIGHT, 300) {
+            @Override
+            protected boolean isPassable(int layer) {
+                // Fail the first spawns from the third chunk on
+                if (getTick() + 1 >= 2 * CourseGenerator.CHUNK_TICKS && failures[0] > 0) {
+                    failures[0]--;
+                    return false;
+                }
+                return super.isPassable(layer);
+            }
+        });
+        plain.start(5);
+        checked.start(5);
+
+        for (int k = 0; k < 2; k++) {
+            CourseChunk a = plain.next();
+            CourseChunk b = checked.next();
+            assertEquals(a.size(), b.size());
+            for (int i = 0; i < a.size(); i++) {
+                assertEquals(a.y(i), b.y(i), "Chunks before the rejected one should not change");
+            }
+        }
+        assertEquals(0, checked.getRejected());
+
+        CourseChunk again = checked.next();
+        assertEquals(1, checked.getRejected());
+        assertEquals(2, again.getIndex());
+        CourseChunk original = plain.next();
+        boolean differs = again.size() != original.size();
+        for (int i = 0; i < Math.min(again.size(), original.size()); i++) {
+            assertTrue(again.time(i) >= again.getStartTime() && again.time(i) < again.getEndTime());
+            differs |= again.y(i) != original.y(i);
+        }
+        assertTrue(differs, "The chunk should be generated from another seed");
+        assertEquals(3, checked.next().getIndex());
+
+        failures[0] = Integer.MAX_VALUE;
+        CourseChunk kept = checked.next();
+        assertEquals(4, kept.getIndex(), "A chunk that keeps failing should still be handed out");
+        assertEquals(1 + CourseGenerator.MAX_ATTEMPTS, checked.getRejected());
+    }
+
+    /**
+     * Test that endless runs speed up each level up to a limit, and other runs never do.
+     */
+    @Test
+    public void testEndlessRunsSpeedUp() {
+        MinigameSimulation endless = HeadlessRunner.create("running-endless");
+        MinigameSimulation classic = HeadlessRunner.create("running");
+        endless.reset(1);
+        classic.reset(1);
+        double previous = 0;
+        for (int level = 0; level < 6; level++) {
+            for (int t = 0; t < MinigameSimulation.LEVEL_TICKS; t++) {
+                endless.advanceCourse();
+                classic.advanceCourse();
+            }
+            assertTrue(endless.getScrollSpeed() >= previous, "Speed should never drop");
+            previous = endless.getScrollSpeed();
+        }
+        assertEquals(6, endless.getLevel());
+        assertEquals(0, classic.getLevel());
+        assertTrue(previous > RunningSimulation.INITIAL_OBSTACLE_SPEED, "Endless runs should get faster");
+        double jumpsBetweenObstacles = RunningSimulation.OBSTACLE_GAP_DISTANCE / previous;
+        assertTrue(jumpsBetweenObstacles > RunningSimulation.JUMP_ENVELOPE.getAirTicks(),
+            "The pet should still land between obstacles");
+        assertEquals(RunningSimulation.INITIAL_OBSTACLE_SPEED, classic.getScrollSpeed());
+    }
+
+    /**
+     * Test that a streamer must be started before chunks are taken, and can be restarted.
+     */
+    @Test
+    public void testStartAndStop() {
+        CourseStreamer streamer = new CourseStreamer(() -> HeadlessRunner.create("running"), 1);
+        assertThrows(IllegalStateException.class, streamer::next);
+        assertThrows(IllegalArgumentException.class, () -> new CourseStreamer(() -> HeadlessRunner.create("running"), 0));
+
+        streamer.start(3);
+        assertEquals(0, streamer.next().getIndex());
+        assertEquals(1, streamer.next().getIndex());
+        streamer.start(3);
+        assertEquals(0, streamer.next().getIndex(), "A restart should begin the course again");
+        streamer.stop();
+    }
+}
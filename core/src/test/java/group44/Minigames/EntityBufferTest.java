@@ -0,0 +1,221 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the EntityBuffer class.
+ * Tests ring ordering, growth, flags, front removal and x-order tracking.
+ */
+public class EntityBufferTest {
+
+    private EntityBuffer buffer;
+
+    @BeforeEach
+    public void setUp() {
+        buffer = new EntityBuffer(4);
+    }
+
+    /**
+     * Test that a new buffer is empty and rounds its capacity up to a power of two.
+     */
+    @Test
+    public void testNewBufferIsEmpty() {
+        assertTrue(buffer.isEmpty(), "New buffer should be empty");
+        assertEquals(0, buffer.size(), "New buffer should have size 0");
+        assertEquals(4, buffer.capacity(), "Capacity should be 4");
+        assertEquals(8, new EntityBuffer(5).capacity(), "Capacity should round up to 8");
+    }
+
+    /**
+     * Test that added entities keep their values and spawn order.
+     */
+    @Test
+    public void testAddKeepsOrder() {
+        assertEquals(0, buffer.add(10, 20, 30, 40), "First entity should have index 0");
+        assertEquals(1, buffer.add(50, 60, 70, 80), "Second entity should have index 1");
+
+        assertEquals(2, buffer.size(), "Should have 2 entities");
+        assertEquals(10, buffer.x(0));
+        assertEquals(20, buffer.y(0));
+        assertEquals(30, buffer.width(0));
+        assertEquals(40, buffer.height(0));
+        assertEquals(40, buffer.right(0), "Right edge should be x + width");
+        assertEquals(50, buffer.x(1));
+    }
+
+    /**
+     * Test that removing from the front shifts indices and wraps around the ring.
+     */
+    @Test
+    public void testRemoveFirstWrapsAround() {
+        for (int i = 0; i < 4; i++) {
+            buffer.add(i, 0, 1, 1);
+        }
+        buffer.removeFirst();
+        buffer.removeFirst();
+        buffer.add(4, 0, 1, 1);
+        buffer.add(5, 0, 1, 1);
+
+        assertEquals(4, buffer.capacity(), "Reusing freed slots should not grow the buffer");
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i + 2, buffer.x(i), "Entity " + i + " should be in spawn order");
+        }
+    }
+
+    /**
+     * Test that growing a wrapped buffer keeps every entity in spawn order.
+     */
+    @Test
+    public void testGrowPreservesOrder() {
+        for (int i = 0; i < 4; i++) {
+            buffer.add(i, 0, 1, 1);
+        }
+        buffer.removeFirst();
+        buffer.setFlag(0, EntityBuffer.PASSED);
+        for (int i = 4; i < 10; i++) {
+            buffer.add(i, 0, 1, 1);
+        }
+
+        assertEquals(9, buffer.size(), "Should have 9 entities");
+        assertEquals(16, buffer.capacity(), "Capacity should have doubled twice");
+        for (int i = 0; i < 9; i++) {
+            assertEquals(i + 1, buffer.x(i), "Entity " + i + " should be in spawn order");
+        }
+        assertTrue(buffer.hasFlag(0, EntityBuffer.PASSED), "Flags should survive growth");
+    }
+
+    /**
+     * Test setting and checking flags, and that reused slots start with no flags.
+     */
+    @Test
+    public void testFlags() {
+        buffer.add(0, 0, 1, 1);
+        buffer.setFlag(0, EntityBuffer.PASSED);
+
+        assertTrue(buffer.hasFlag(0, EntityBuffer.PASSED));
+        assertFalse(buffer.hasFlag(0, EntityBuffer.COLLECTED));
+        assertFalse(buffer.hasFlag(0, EntityBuffer.PASSED | EntityBuffer.COLLECTED),
+            "hasFlag should require every flag");
+        assertTrue(buffer.hasAnyFlag(0, EntityBuffer.PASSED | EntityBuffer.COLLECTED),
+            "hasAnyFlag should accept any flag");
+
+        buffer.clear();
+        buffer.add(0, 0, 1, 1);
+        assertFalse(buffer.hasFlag(0, EntityBuffer.PASSED), "New entities should have no flags");
+    }
+
+    /**
+     * Test that moving all entities shifts their positions.
+     */
+    @Test
+    public void testTranslate() {
+        buffer.add(100, 50, 10, 10);
+        buffer.add(200, 60, 10, 10);
+        buffer.translateX(-3);
+        buffer.translateY(-1);
+
+        assertEquals(97, buffer.x(0));
+        assertEquals(197, buffer.x(1));
+        assertEquals(49, buffer.y(0));
+        assertEquals(59, buffer.y(1));
+    }
+
+    /**
+     * Test that only leading off-screen or flagged entities are removed.
+     */
+    @Test
+    public void testRemoveLeading() {
+        buffer.add(-30, 0, 20, 10);   // off-screen
+        buffer.add(5, 0, 20, 10);     // flagged
+        buffer.add(50, 0, 20, 10);    // on-screen
+        buffer.add(90, 0, 20, 10);    // flagged, but behind an on-screen entity
+        buffer.setFlag(1, EntityBuffer.COLLECTED);
+        buffer.setFlag(3, EntityBuffer.COLLECTED);
+
+        buffer.removeLeading(0, EntityBuffer.COLLECTED);
+
+        assertEquals(2, buffer.size(), "Only the two leading entities should be removed");
+        assertEquals(50, buffer.x(0));
+        assertEquals(90, buffer.x(1));
+    }
+
+    /**
+     * Test that x order is tracked through adds, moves and removals.
+     */
+    @Test
+    public void testSortedByX() {
+        buffer.add(10, 0, 5, 1);
+        buffer.add(20, 0, 30, 1);
+        buffer.add(40, 0, 5, 1);
+        assertTrue(buffer.isSortedByX(), "Entities added left to right should be sorted");
+        assertEquals(30, buffer.maxWidth(), "Widest entity should be tracked");
+
+        buffer.setX(1, 50);
+        assertFalse(buffer.isSortedByX(), "Moving an entity past its neighbour should unsort");
+        buffer.setX(1, 30);
+        assertTrue(buffer.isSortedByX(), "Moving it back should restore the order");
+
+        buffer.add(0, 0, 5, 1);
+        assertFalse(buffer.isSortedByX(), "Adding behind the last entity should unsort");
+        buffer.clear();
+        assertTrue(buffer.isSortedByX(), "An empty buffer should be sorted");
+        assertEquals(0, buffer.maxWidth(), "Clearing should reset the widest entity");
+    }
+
+    /**
+     * Test the binary search for the first entity at or right of an x value.
+     */
+    @Test
+    public void testFirstIndexAtOrRightOf() {
+        for (int i = 0; i < 6; i++) {
+            buffer.add(i * 10, 0, 5, 1);
+        }
+        buffer.removeFirst();   // entities now start at 10, 20, 30, 40, 50
+
+        assertEquals(0, buffer.firstIndexAtOrRightOf(-100));
+        assertEquals(0, buffer.firstIndexAtOrRightOf(10));
+        assertEquals(2, buffer.firstIndexAtOrRightOf(25));
+        assertEquals(4, buffer.firstIndexAtOrRightOf(50));
+        assertEquals(5, buffer.firstIndexAtOrRightOf(51), "Past the last entity should give size()");
+    }
+
+    /**
+     * Test that copying a wrapped buffer gives an independent copy in the same order.
+     */
+    @Test
+    public void testCopyFrom() {
+        for (int i = 0; i < 4; i++) {
+            buffer.add(i * 10, i, 5, 1);
+        }
+        buffer.removeFirst();
+        buffer.add(40, 4, 5, 1);   // wraps around the ring
+        buffer.setFlag(1, EntityBuffer.PASSED);
+
+        EntityBuffer copy = new EntityBuffer(2);
+        copy.copyFrom(buffer);
+
+        assertEquals(buffer.size(), copy.size(), "Copy should have the same size");
+        for (int i = 0; i < buffer.size(); i++) {
+            assertEquals(buffer.x(i), copy.x(i), "Copy should keep spawn order");
+            assertEquals(buffer.y(i), copy.y(i));
+        }
+        assertTrue(copy.hasFlag(1, EntityBuffer.PASSED), "Flags should be copied");
+        assertTrue(copy.isSortedByX());
+
+        copy.translateX(100);
+        assertEquals(10, buffer.x(0), "Changing the copy should not change the original");
+    }
+
+    /**
+     * Test that invalid accesses throw.
+     */
+    @Test
+    public void testInvalidAccess() {
+        assertThrows(IllegalStateException.class, () -> buffer.removeFirst());
+        buffer.add(0, 0, 1, 1);
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.x(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> buffer.x(-1));
+    }
+}
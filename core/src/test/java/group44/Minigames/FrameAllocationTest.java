@@ -0,0 +1,109 @@
+package group44.Minigames;
+
+import group44.AllocationBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Allocation-regression tests for the minigames' update loops.
+ * Holds each minigame's frames to a budget of no garbage in steady play,
+ * both in normal runs and in stress runs with a packed course, so the
+ * collector never has to pause a frame.
+ */
+public class FrameAllocationTest {
+
+    /** The minigames checked, in normal and endless mode. */
+    private static final String[] GAMES = {
+        "running", "swimming-300", "flying-300", "running-endless", "swimming-300-endless", "flying-300-endless"
+    };
+    /** The bytes a frame may allocate once the game is warmed up. */
+    private static final long FRAME_BUDGET = 0;
+    /** One-off allocations allowed per measurement, such as a buffer growing on a longer course. */
+    private static final long ALLOWANCE = 1024;
+    /** Frames stepped before measuring, so buffers reach their working size. */
+    private static final int WARMUP_FRAMES = 3000;
+    /** Frames measured in a stress run. */
+    private static final int FRAMES = 5000;
+    /** Seeds played before measuring normal runs. */
+    private static final int WARMUP_RUNS = 10;
+    /** Seeds measured in normal runs. */
+    private static final int RUNS = 30;
+
+    @BeforeEach
+    public void setUp() {
+        AllocationBudget.assumeSupported();
+    }
+
+    /**
+     * Test that stress runs step without allocating, with the course holding
+     * a hundred and a thousand obstacles and coins.
+     */
+    @Test
+    public void testStressFramesAllocateNothing() {
+        for (String name : GAMES) {
+            for (int entities : new int[] {100, 1000}) {
+                MinigameSimulation simulation = HeadlessRunner.create(name);
+                simulation.setStress(new StressMode(entities, entities, 0, Integer.MAX_VALUE));
+                simulation.reset(1);
+                step(simulation, WARMUP_FRAMES);
+
+                long bytes = AllocationBudget.measure(() -> step(simulation, FRAMES));
+                AllocationBudget.assertWithin(name + " stress frames with " + entities + " entities",
+                                              bytes, FRAMES, FRAME_BUDGET, ALLOWANCE);
+            }
+        }
+    }
+
+    /**
+     * Test that normal runs, from the first frame to the crash, step without
+     * allocating; resetting between runs is not counted.
+     */
+    @Test
+    public void testRunFramesAllocateNothing() {
+        for (String name : GAMES) {
+            MinigameSimulation simulation = HeadlessRunner.create(name);
+            HeadlessRunner.InputPolicy policy = HeadlessRunner.randomInputs(1, 0.05);
+            for (int seed = 1; seed <= WARMUP_RUNS; seed++) {
+                simulation.reset(seed);
+                play(simulation, policy);
+            }
+
+            long bytes = 0;
+            long frames = 0;
+            for (int seed = WARMUP_RUNS + 1; seed <= WARMUP_RUNS + RUNS; seed++) {
+                simulation.reset(seed);
+                bytes += AllocationBudget.measure(() -> play(simulation, policy));
+                frames += simulation.getTick();
+            }
+            AllocationBudget.assertWithin(name + " run frames", bytes, frames, FRAME_BUDGET, ALLOWANCE);
+        }
+    }
+
+    /**
+     * Steps a simulation a set number of frames.
+     *
+     * @param simulation The simulation.
+     * @param frames     The number of frames.
+     */
+    private static void step(MinigameSimulation simulation, int frames) {
+        for (int i = 0; i < frames; i++) {
+            simulation.step();
+        }
+    }
+
+    /**
+     * Plays a run to its end.
+     *
+     * @param simulation The simulation, already reset.
+     * @param policy     Chooses the inputs.
+     */
+    private static void play(MinigameSimulation simulation, HeadlessRunner.InputPolicy policy) {
+        while (!simulation.isGameOver()) {
+            int action = policy.nextInput(simulation);
+            if (action != 0) {
+                simulation.applyInput(action);
+            }
+            simulation.step();
+        }
+    }
+}
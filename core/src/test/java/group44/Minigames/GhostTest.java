@@ -0,0 +1,170 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * JUnit tests for the GhostRecorder and GhostTrack classes.
+ * Tests that tracks round-trip compactly, seeking in both directions, that
+ * only better runs replace the saved ghost, and that a quick restart waits
+ * for the ghost to be saved.
+ */
+public class GhostTest {
+
+    /**
+     * Plays a run with random inputs, recording its ghost and the heights it
+     * should hold.
+     *
+     * @param recorder The recorder to record into.
+     * @param heights  Filled with the pet's height after each tick, from tick 0.
+     * @param seed     The run's seed.
+     * @return The number of ticks the run lasted.
+     */
+    private static int record(GhostRecorder recorder, double[] heights, long seed) {
+        MinigameSimulation simulation = HeadlessRunner.create("flying-300");
+        HeadlessRunner.InputPolicy inputs = HeadlessRunner.randomInputs(seed, 0.05);
+        simulation.reset(seed);
+        recorder.begin(simulation);
+        heights[0] = simulation.getPetY();
+        while (!simulation.isGameOver() && simulation.getTick() < heights.length - 1) {
+            int action = inputs.nextInput(simulation);
+            if (action != 0) {
+                simulation.applyInput(action);
+            }
+            simulation.step();
+            recorder.record(simulation);
+            heights[simulation.getTick()] = simulation.getPetY();
+        }
+        return simulation.getTick();
+    }
+
+    /**
+     * Test that every tick's height survives encoding to within the step size,
+     * and that a tick usually takes a single byte.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        GhostRecorder recorder = new GhostRecorder();
+        double[] heights = new double[5001];
+        int ticks = record(recorder, heights, 3);
+        byte[] bytes = recorder.toByteArray();
+
+        GhostTrack track = new GhostTrack(ByteBuffer.wrap(bytes));
+        assertEquals("flying-300", track.getGame());
+        assertEquals(ticks, track.getTicks());
+        assertEquals(recorder.getScore(), track.getScore());
+        double tolerance = 0.5 / GhostRecorder.STEPS_PER_PIXEL;
+        for (int tick = 0; tick <= ticks; tick++) {
+            assertTrue(track.seek(tick));
+            assertEquals(heights[tick], track.getY(), tolerance, "Height at tick " + tick);
+            assertEquals(heights[Math.max(0, tick - 1)], track.getPreviousY(), tolerance);
+        }
+        assertFalse(track.seek(ticks + 1), "The ghost should be gone after its run ended");
+        assertTrue(bytes.length < ticks * 1.2 + 32, ticks + " ticks should take about a byte each, was " + bytes.length);
+    }
+
+    /**
+     * Test that seeking back goes back to the start and decodes the same heights again.
+     */
+    @Test
+    public void testSeekBack() throws IOException {
+        GhostRecorder recorder = new GhostRecorder();
+        double[] heights = new double[601];
+        record(recorder, heights, 8);
+        GhostTrack track = new GhostTrack(ByteBuffer.wrap(recorder.toByteArray()));
+
+        assertTrue(track.seek(50));
+        double at50 = track.getY();
+        track.seek(60);
+        assertTrue(track.seek(50));
+        assertEquals(at50, track.getY(), "Seeking back should land on the same height");
+        track.rewind();
+        assertTrue(track.seek(0));
+        assertEquals(heights[0], track.getY(), 0.125);
+    }
+
+    /**
+     * Test that a ghost is only replaced by a run that scores higher, and
+     * that opening a ghost moves a pending new best over it.
+     */
+    @Test
+    public void testSaveIfBest(@TempDir Path folder) throws IOException {
+        String path = folder.resolve("LoadGameSlot1_flying-300.ghost").toString();
+        assertNull(GhostTrack.open(path), "There should be no ghost yet");
+        assertEquals(-1, GhostTrack.readScore(path));
+
+        // Find runs with different scores
+        GhostRecorder low = null;
+        GhostRecorder high = null;
+        for (long seed = 1; high == null || low == null || high.getScore() <= low.getScore(); seed++) {
+            GhostRecorder recorder = new GhostRecorder();
+            record(recorder, new double[20_001], seed);
+            if (low == null || recorder.getScore() < low.getScore()) {
+                low = recorder;
+            } else if (high == null || recorder.getScore() > high.getScore()) {
+                high = recorder;
+            }
+        }
+
+        assertTrue(low.saveIfBest(path), "The first run should become the ghost");
+        assertTrue(high.saveIfBest(path), "A higher score should replace the ghost");
+        assertFalse(low.saveIfBest(path), "A lower score should not replace the ghost");
+        GhostTrack ghost = GhostTrack.open(path);
+        assertEquals(high.getScore(), ghost.getScore());
+        assertEquals(high.getTicks(), ghost.getTicks());
+
+        Files.write(Path.of(GhostTrack.pendingPath(path)), low.toByteArray());
+        assertEquals(low.getScore(), GhostTrack.readScore(path), "A pending ghost should count as the newest");
+        assertEquals(low.getScore(), GhostTrack.open(path).getScore(), "Opening should move the pending ghost in");
+        assertFalse(Files.exists(Path.of(GhostTrack.pendingPath(path))));
+    }
+
+    /**
+     * Test that restarting the moment a run ends, before its thread has saved
+     * the new best, still reads the whole ghost and leaves nothing pending.
+     */
+    @Test
+    public void testRestartRightAfterGameOver(@TempDir Path folder) throws Exception {
+        String path = folder.resolve("LoadGameSlot1_flying-300.ghost").toString();
+        SimulationLoop<FlyingSimulation> loop = new SimulationLoop<>(
+            new FlyingSimulation(MinigameSimulation.DEFAULT_WIDTH, MinigameSimulation.DEFAULT_HEIGHT, 300),
+            () -> new FlyingSimulation(MinigameSimulation.DEFAULT_WIDTH, MinigameSimulation.DEFAULT_HEIGHT, 300));
+        try {
+            loop.start(1, null, null, path);
+            long deadline = System.currentTimeMillis() + 10_000;
+            FlyingSimulation world = loop.latest().getWorld();
+            while (!world.isGameOver()) {
+                assertTrue(System.currentTimeMillis() < deadline, "Falling without flapping should end the run");
+                Thread.onSpinWait();
+                world = loop.latest().getWorld();
+            }
+
+            // Restart as soon as the game over is drawn, as a quick player would
+            GhostTrack ghost = loop.openGhost(path);
+            assertNotNull(ghost, "The finished run should have become the ghost");
+            assertEquals(world.getTick(), ghost.getTicks());
+            assertEquals(world.getScore(), ghost.getScore());
+            assertFalse(Files.exists(Path.of(GhostTrack.pendingPath(path))));
+            assertTrue(ghost.seek(ghost.getTicks()), "The whole track should have been written");
+            assertEquals(world.getPetY(), ghost.getY(), 1.0);
+            loop.start(2, null, null, path);
+        } finally {
+            loop.stop();
+        }
+    }
+
+    /**
+     * Test that other files are rejected.
+     */
+    @Test
+    public void testInvalidInput() {
+        assertThrows(IOException.class, () -> new GhostTrack(ByteBuffer.wrap(new byte[] {'E', 'G', 'G'})));
+        assertThrows(IOException.class, () -> new GhostTrack(ByteBuffer.wrap(new byte[] {'N', 'O', 'P', 'E', 0})));
+    }
+}
@@ -0,0 +1,78 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+
+/**
+ * JUnit tests for the HeadlessRunner class.
+ * Tests creating simulations by name, tick limits, and that recorded runs
+ * replay to the same outcome.
+ */
+public class HeadlessRunnerTest {
+
+    /**
+     * Test that every minigame can be rebuilt from its name.
+     */
+    @Test
+    public void testCreateFromName() {
+        for (String name : new String[] {"running", "flying-300", "flying-600", "swimming-300", "swimming-600"}) {
+            assertEquals(name, HeadlessRunner.create(name).getName());
+        }
+        assertThrows(IllegalArgumentException.class, () -> HeadlessRunner.create("TrainRunningScreen"));
+        assertThrows(IllegalArgumentException.class, () -> HeadlessRunner.create("flying-wide"));
+    }
+
+    /**
+     * Test that a run stops at the tick limit if the pet survives that long.
+     */
+    @Test
+    public void testTickLimit() {
+        HeadlessRunner.Result result = HeadlessRunner.run(HeadlessRunner.create("running"), 1, simulation -> 0, 10);
+
+        assertEquals(10, result.getTicks());
+        assertFalse(result.isGameOver(), "Run should still be going");
+    }
+
+    /**
+     * Test that replaying a recorded run reaches the same outcome on the same tick.
+     */
+    @Test
+    public void testReplayReproducesRun() throws IOException {
+        for (String name : new String[] {"running", "flying-300", "swimming-300"}) {
+            MinigameSimulation simulation = HeadlessRunner.create(name);
+            ReplayRecorder recorder = new ReplayRecorder(name, 2024);
+            HeadlessRunner.InputPolicy inputs = HeadlessRunner.randomInputs(7, 0.04);
+            HeadlessRunner.Result recorded = HeadlessRunner.run(simulation, 2024, sim -> {
+                int action = inputs.nextInput(sim);
+                if (action != 0) {
+                    recorder.record(sim.getTick(), action);
+                }
+                return action;
+            }, 100_000);
+            assertTrue(recorded.isGameOver(), name + " run should end");
+
+            ReplayReader reader = new ReplayReader(recorder.toByteArray(recorded.getTicks()));
+            HeadlessRunner.Result replayed = HeadlessRunner.replay(reader);
+
+            assertEquals(recorded.getTicks(), replayed.getTicks(), name + " replay should end on the same tick");
+            assertEquals(recorded.getScore(), replayed.getScore(), name + " replay score should match");
+            assertEquals(recorded.getCoinsCollected(), replayed.getCoinsCollected(), name + " replay coins should match");
+            assertTrue(HeadlessRunner.verify(reader), name + " replay should verify");
+        }
+    }
+
+    /**
+     * Test that a replay whose run no longer ends on the recorded tick fails verification.
+     */
+    @Test
+    public void testReplayWithWrongEndTickFails() throws IOException {
+        HeadlessRunner.Result result = HeadlessRunner.run(HeadlessRunner.create("flying-300"), 10, simulation -> 0, 100_000);
+        ReplayRecorder recorder = new ReplayRecorder("flying-300", 10);
+
+        assertTrue(HeadlessRunner.verify(new ReplayReader(recorder.toByteArray(result.getTicks()))));
+        assertFalse(HeadlessRunner.verify(new ReplayReader(recorder.toByteArray(result.getTicks() + 5))),
+                    "A run that ends earlier than recorded should not verify");
+    }
+}
@@ -0,0 +1,63 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the InputRing class.
+ * Tests ordering, capacity and handing inputs between threads.
+ */
+public class InputRingTest {
+
+    /**
+     * Test that actions come out in order and that a full ring drops new ones.
+     */
+    @Test
+    public void testOrderAndCapacity() {
+        InputRing ring = new InputRing(3);
+        for (int i = 1; i <= 4; i++) {
+            assertTrue(ring.offer(i), "The capacity should be rounded up to 4");
+        }
+        assertFalse(ring.offer(5), "A full ring should drop the action");
+
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, ring.poll());
+        }
+        assertEquals(0, ring.poll(), "An empty ring should return 0");
+
+        ring.offer(7);
+        ring.clear();
+        assertEquals(0, ring.poll(), "Cleared actions should be gone");
+        assertThrows(IllegalArgumentException.class, () -> ring.offer(0));
+    }
+
+    /**
+     * Test that every action offered on one thread arrives once, in order, on another.
+     */
+    @Test
+    public void testConcurrentHandOff() throws InterruptedException {
+        InputRing ring = new InputRing(8);
+        final int count = 20_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 1; i <= count; i++) {
+                while (!ring.offer(i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+
+        int expected = 1;
+        while (expected <= count) {
+            int action = ring.poll();
+            if (action != 0) {
+                assertEquals(expected, action, "Actions should arrive in order");
+                expected++;
+            } else {
+                Thread.yield();
+            }
+        }
+        producer.join();
+        assertEquals(0, ring.poll());
+    }
+}
@@ -0,0 +1,193 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the MinigameSimulation classes.
+ * Tests the running, flying and swimming rules without any screen attached.
+ */
+public class MinigameSimulationTest {
+
+    private RunningSimulation running;
+    private FlyingSimulation flying;
+    private SwimmingSimulation swimming;
+
+    @BeforeEach
+    public void setUp() {
+        running = new RunningSimulation(MinigameSimulation.DEFAULT_WIDTH, MinigameSimulation.DEFAULT_HEIGHT);
+        flying = new FlyingSimulation(MinigameSimulation.DEFAULT_WIDTH, MinigameSimulation.DEFAULT_HEIGHT, 300);
+        swimming = new SwimmingSimulation(MinigameSimulation.DEFAULT_WIDTH, MinigameSimulation.DEFAULT_HEIGHT, 300);
+    }
+
+    /**
+     * Test that a new run starts with the pet on the ground and nothing scored.
+     */
+    @Test
+    public void testResetStartsOnGround() {
+        running.reset(1);
+
+        assertEquals(running.groundY() - running.getPetHeight() / 2, running.getPetY(), "Pet should stand on the ground");
+        assertEquals(running.getPetY(), running.getPrevPetY(), "Pet should not be moving");
+        assertEquals(0, running.getScore());
+        assertEquals(0, running.getTick());
+        assertFalse(running.isGameOver());
+        assertEquals(2, running.getObstacles().size(), "Two obstacles should be queued up");
+    }
+
+    /**
+     * Test that a jump lifts the pet and gravity brings it back to the ground.
+     */
+    @Test
+    public void testJumpLandsAgain() {
+        running.reset(1);
+        double ground = running.getPetY();
+
+        running.applyInput(MinigameSimulation.INPUT_PRIMARY);
+        running.step();
+        assertTrue(running.getPetY() < ground, "Pet should leave the ground");
+
+        // A jump in mid-air is ignored
+        double height = running.getPetY();
+        running.applyInput(MinigameSimulation.INPUT_PRIMARY);
+        running.step();
+        assertTrue(running.getPetY() < height, "Pet should still be rising, not jump again");
+
+        for (int i = 0; i < 100; i++) {
+            running.step();
+        }
+        assertEquals(ground, running.getPetY(), "Pet should have landed");
+    }
+
+    /**
+     * Test that a runner who never jumps crashes into the first obstacle.
+     */
+    @Test
+    public void testRunningEndsWithoutInput() {
+        running.reset(42);
+        int raised = 0;
+        while (!running.isGameOver() && running.getTick() < 10_000) {
+            running.step();
+            raised |= running.getEvents();
+        }
+
+        assertTrue(running.isGameOver(), "Run should end at the first obstacle");
+        assertEquals(0, running.getScore(), "No obstacle should have been passed");
+        assertEquals(MinigameSimulation.EVENT_GAME_OVER, raised & MinigameSimulation.EVENT_GAME_OVER);
+    }
+
+    /**
+     * Test that a bird that never flaps falls to the ground.
+     */
+    @Test
+    public void testFlyingFallsWithoutInput() {
+        flying.reset(42);
+        while (!flying.isGameOver() && flying.getTick() < 10_000) {
+            flying.step();
+        }
+
+        assertTrue(flying.isGameOver(), "Bird should hit the ground");
+        assertTrue(flying.getTick() < 200, "Falling from mid-air should take a few seconds at most");
+    }
+
+    /**
+     * Test that the swimmer can only start a jump or dive from the surface.
+     */
+    @Test
+    public void testSwimmingOnlyJumpsFromSurface() {
+        swimming.reset(3);
+        double surface = swimming.getPetY();
+
+        swimming.applyInput(MinigameSimulation.INPUT_SECONDARY);
+        swimming.step();
+        assertTrue(swimming.getPetY() > surface, "Pet should dive below the surface");
+
+        // A jump while diving is ignored
+        double velocity = swimming.getPetVelocity();
+        swimming.applyInput(MinigameSimulation.INPUT_PRIMARY);
+        swimming.step();
+        assertEquals(velocity + SwimmingSimulation.DIVE_GRAVITY, swimming.getPetVelocity(), 1e-9,
+                     "Dive should carry on unchanged");
+    }
+
+    /**
+     * Test that events only describe the latest tick, and that a finished run stays finished.
+     */
+    @Test
+    public void testEventsClearedEachTick() {
+        flying.reset(5);
+        while (!flying.isGameOver()) {
+            flying.step();
+        }
+        assertNotEquals(0, flying.getEvents() & MinigameSimulation.EVENT_GAME_OVER);
+        int ticks = flying.getTick();
+
+        flying.step();
+        assertEquals(0, flying.getEvents(), "No events should be raised after the run ended");
+        assertEquals(ticks, flying.getTick(), "A finished run should not advance");
+    }
+
+    /**
+     * Test that a copy taken mid-run continues exactly like the original.
+     */
+    @Test
+    public void testCopyFromBranchesIdentically() {
+        for (MinigameSimulation original : new MinigameSimulation[] {running, flying, swimming}) {
+            MinigameSimulation copy = HeadlessRunner.create(original.getName());
+            HeadlessRunner.InputPolicy inputs = HeadlessRunner.randomInputs(11, 0.05);
+            original.reset(8);
+            for (int i = 0; i < 500 && !original.isGameOver(); i++) {
+                int action = inputs.nextInput(original);
+                if (action != 0) {
+                    original.applyInput(action);
+                }
+                original.step();
+            }
+            copy.copyFrom(original);
+
+            for (int i = 0; i < 300; i++) {
+                original.applyInput(MinigameSimulation.INPUT_PRIMARY);
+                copy.applyInput(MinigameSimulation.INPUT_PRIMARY);
+                original.step();
+                copy.step();
+                assertEquals(original.getPetY(), copy.getPetY(), original.getName() + " pet should move the same");
+                assertEquals(original.getEvents(), copy.getEvents(), original.getName() + " events should match");
+            }
+            assertEquals(original.getScore(), copy.getScore());
+            assertEquals(original.getCoinsCollected(), copy.getCoinsCollected());
+            assertEquals(original.isGameOver(), copy.isGameOver());
+        }
+    }
+
+    /**
+     * Test that inputs are only accepted when they would do something.
+     */
+    @Test
+    public void testAcceptsInput() {
+        running.reset(1);
+        assertTrue(running.acceptsInput(MinigameSimulation.INPUT_PRIMARY), "Pet on the ground can jump");
+        running.applyInput(MinigameSimulation.INPUT_PRIMARY);
+        running.step();
+        assertFalse(running.acceptsInput(MinigameSimulation.INPUT_PRIMARY), "Pet in the air cannot jump");
+
+        swimming.reset(1);
+        assertTrue(swimming.acceptsInput(MinigameSimulation.INPUT_SECONDARY), "Pet at the surface can dive");
+        assertEquals(2, swimming.getInputActions().length, "Swimming has a jump and a dive");
+    }
+
+    /**
+     * Test that the same seed and inputs play out identically, even on a reused simulation.
+     */
+    @Test
+    public void testSameSeedSameRun() {
+        for (MinigameSimulation simulation : new MinigameSimulation[] {running, flying, swimming}) {
+            HeadlessRunner.Result first = HeadlessRunner.run(simulation, 99, HeadlessRunner.randomInputs(1, 0.05), 20_000);
+            HeadlessRunner.Result second = HeadlessRunner.run(simulation, 99, HeadlessRunner.randomInputs(1, 0.05), 20_000);
+
+            assertEquals(first.getTicks(), second.getTicks(), simulation.getName() + " run length should match");
+            assertEquals(first.getScore(), second.getScore(), simulation.getName() + " score should match");
+            assertEquals(first.getCoinsCollected(), second.getCoinsCollected(), simulation.getName() + " coins should match");
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the ReachEnvelope class and the course generators that use it.
+ * Tests that the tables match the minigames' physics and that generated
+ * courses always leave a way through.
+ */
+public class ReachEnvelopeTest {
+
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Test that the jump arc matches a jump played out in the running simulation.
+     */
+    @Test
+    public void testArcMatchesSimulation() {
+        RunningSimulation running = new RunningSimulation(MinigameSimulation.DEFAULT_WIDTH, MinigameSimulation.DEFAULT_HEIGHT);
+        ReachEnvelope envelope = RunningSimulation.JUMP_ENVELOPE;
+        running.reset(1);
+        double restY = running.getPetY();
+
+        running.applyInput(MinigameSimulation.INPUT_PRIMARY);
+        for (int k = 1; k < envelope.getAirTicks(); k++) {
+            running.step();
+            assertEquals(envelope.getArcOffset(k), running.getPetY() - restY, EPSILON, "Offset after " + k + " ticks");
+        }
+        running.step();
+        assertEquals(restY, running.getPetY(), EPSILON, "Pet should land on the last tick of the arc");
+        assertEquals(-envelope.getArcOffset(envelope.getApexTick()), envelope.getPeakHeight(), EPSILON);
+    }
+
+    /**
+     * Test the climb and fall tables for a pet that can flap in mid-air.
+     */
+    @Test
+    public void testRiseAndFall() {
+        ReachEnvelope envelope = new ReachEnvelope(0.1, -3.0, true, 100);
+
+        assertEquals(0, envelope.getMaxRise(0), EPSILON);
+        assertEquals(2.9 * 50, envelope.getMaxRise(50), 1e-6, "Flapping every tick climbs 2.9 pixels a tick");
+        assertEquals(0.05 * 50 * 51, envelope.getMaxFall(50), 1e-6, "Falling from rest accelerates by 0.1 a tick");
+        assertEquals(envelope.getMaxFall(100), envelope.getMaxFall(500), EPSILON, "Longer stretches should be clamped");
+
+        ReachEnvelope grounded = new ReachEnvelope(0.1, -3.0, false, 100);
+        assertEquals(grounded.getPeakHeight(), grounded.getMaxRise(100), EPSILON, "Without air jumps one jump is the limit");
+    }
+
+    /**
+     * Test that crossing tables are cached per speed and treat far-off jumps as resting.
+     */
+    @Test
+    public void testCrossingTables() {
+        ReachEnvelope envelope = new ReachEnvelope(0.3, -10.5, false, 0);
+        ReachEnvelope.Crossing crossing = envelope.crossing(3, 70, 0);
+
+        assertSame(crossing, envelope.crossing(3, 70, 0), "The same speed should reuse the table");
+        assertNotSame(crossing, envelope.crossing(6, 70, 0), "A faster speed needs its own table");
+        assertEquals(24, crossing.getWindow());
+
+        assertFalse(crossing.overlapsJump(-1000));
+        assertEquals(0, crossing.highest(-1000), EPSILON, "Before the jump the pet rests");
+        assertEquals(0, crossing.lowest(1000), EPSILON, "After the jump the pet rests");
+
+        int centred = envelope.getApexTick() - crossing.getWindow() / 2;
+        assertTrue(crossing.overlapsJump(centred));
+        assertEquals(-envelope.getPeakHeight(), crossing.highest(centred), EPSILON, "The window spans the apex");
+        assertTrue(crossing.lowest(centred) < -100, "The pet stays high around the apex");
+
+        ReachEnvelope.Crossing rising = envelope.crossing(3, 70, -1);
+        assertEquals(crossing.getWindow(), rising.lowest(-1000), EPSILON, "A rising entity moves away from a resting pet");
+    }
+
+    /**
+     * Test that jumps peaking over the middle of every standard obstacle get
+     * through swimming courses, rising obstacles and all.
+     */
+    @Test
+    public void testSwimmingCoursesArePassable() {
+        for (int distance : new int[] {300, 600}) {
+            SwimmingSimulation swimming = new SwimmingSimulation(MinigameSimulation.DEFAULT_WIDTH,
+                                                                 MinigameSimulation.DEFAULT_HEIGHT, distance);
+            int apexTick = SwimmingSimulation.JUMP_ENVELOPE.getApexTick();
+            for (long seed = 0; seed < 100; seed++) {
+                swimming.reset(seed);
+                while (swimming.getTick() < 1800 && !swimming.isGameOver()) {
+                    EntityBuffer obstacles = swimming.getObstacles();
+                    for (int i = 0; i < obstacles.size(); i++) {
+                        double centre = obstacles.x(i) + SwimmingSimulation.OBSTACLE_WIDTH / 2.0;
+                        if (Math.round((centre - swimming.getPetX()) / swimming.getScrollSpeed()) == apexTick) {
+                            swimming.applyInput(MinigameSimulation.INPUT_PRIMARY);
+                        }
+                    }
+                    swimming.step();
+                }
+                assertFalse(swimming.isGameOver(), swimming.getName() + " seed " + seed + " should be passable");
+            }
+        }
+    }
+
+    /**
+     * Test that consecutive pipe gaps never move further than the pet can climb or fall between them.
+     */
+    @Test
+    public void testFlyingGapsStayInReach() {
+        FlyingSimulation flying = new FlyingSimulation(MinigameSimulation.DEFAULT_WIDTH, MinigameSimulation.DEFAULT_HEIGHT, 300);
+        ReachEnvelope envelope = FlyingSimulation.FLAP_ENVELOPE;
+        int ticks = (int) ((300 - FlyingSimulation.PIPE_WIDTH - 50) / (double) FlyingSimulation.INITIAL_PIPE_SPEED);
+        double shift = FlyingSimulation.PIPE_GAP - 35 - envelope.getPeakHeight()
+            + Math.min(envelope.getMaxRise(ticks), envelope.getMaxFall(ticks));
+        assertTrue(shift < 299, "The limit should be tighter than the spawn range");
+
+        for (long seed = 0; seed < 50; seed++) {
+            flying.reset(seed);
+            double previous = flying.getPipes().y(0);
+            for (int i = 1; i < flying.getPipes().size(); i++) {
+                double gapY = flying.getPipes().y(i);
+                assertTrue(Math.abs(gapY - previous) <= shift, "Seed " + seed + " gap moved too far");
+                previous = gapY;
+            }
+        }
+    }
+
+    /**
+     * Test that running coins sit where the pet's hitbox passes at the top of its jump.
+     */
+    @Test
+    public void testRunningCoinsInReach() {
+        RunningSimulation running = new RunningSimulation(MinigameSimulation.DEFAULT_WIDTH, MinigameSimulation.DEFAULT_HEIGHT);
+        double peakCentre = running.groundY() - running.getPetHeight() / 2 - RunningSimulation.JUMP_ENVELOPE.getPeakHeight();
+        double reach = running.getPetHeight() / 2 - MinigameSimulation.HITBOX_INSET + MinigameSimulation.COIN_SIZE / 2.0;
+        int checked = 0;
+        for (long seed = 0; seed < 50; seed++) {
+            running.reset(seed);
+            EntityBuffer coins = running.getCoins();
+            for (int i = 0; i < coins.size(); i++) {
+                double coinCentre = coins.y(i) + MinigameSimulation.COIN_SIZE / 2.0;
+                assertTrue(Math.abs(coinCentre - peakCentre) < reach, "Coin should overlap the pet at the apex");
+                checked++;
+            }
+        }
+        assertTrue(checked > 0, "Some runs should start with a coin");
+    }
+}
@@ -0,0 +1,112 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+
+/**
+ * JUnit tests for the ReplayRecorder and ReplayReader classes.
+ * Tests that runs round-trip, that seeking uses the keyframe index correctly,
+ * and that bad files are rejected.
+ */
+public class ReplayTest {
+
+    /**
+     * Test that the header and every input survive encoding.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        ReplayRecorder recorder = new ReplayRecorder("TrainRunningScreen", -1234567890123L);
+        recorder.record(0, 1);
+        recorder.record(5, 2);
+        recorder.record(5, 1);
+        recorder.record(400, 255);
+
+        ReplayReader reader = new ReplayReader(recorder.toByteArray(900));
+
+        assertEquals("TrainRunningScreen", reader.getGame());
+        assertEquals(-1234567890123L, reader.getSeed());
+        assertEquals(900, reader.getEndTick());
+        assertEquals(4, reader.getEventCount());
+
+        int[][] expected = {{0, 1}, {5, 2}, {5, 1}, {400, 255}};
+        for (int[] event : expected) {
+            assertTrue(reader.hasNext());
+            assertEquals(event[0], reader.nextTick(), "Tick should match");
+            assertEquals(event[1], reader.nextAction(), "Action should match");
+            reader.advance();
+        }
+        assertFalse(reader.hasNext(), "All inputs should have been read");
+    }
+
+    /**
+     * Test that inputs a few ticks apart cost about two bytes each.
+     */
+    @Test
+    public void testEncodingIsCompact() {
+        ReplayRecorder recorder = new ReplayRecorder("Game", 0);
+        for (int i = 0; i < 1000; i++) {
+            recorder.record(i * 30, 1);
+        }
+        byte[] bytes = recorder.toByteArray(30_000);
+
+        assertTrue(bytes.length < 2_200, "1000 inputs should fit in about 2KB, was " + bytes.length);
+    }
+
+    /**
+     * Test seeking across several keyframes, including to ticks with no input.
+     */
+    @Test
+    public void testSeek() throws IOException {
+        ReplayRecorder recorder = new ReplayRecorder("Game", 42);
+        int count = ReplayRecorder.KEYFRAME_INTERVAL * 3 + 10;
+        for (int i = 0; i < count; i++) {
+            recorder.record(i * 10, i % 3);
+        }
+        ReplayReader reader = new ReplayReader(recorder.toByteArray(count * 10));
+
+        reader.seek(1000);
+        assertEquals(1000, reader.nextTick(), "Seeking to an input's tick should land on it");
+        assertEquals(100 % 3, reader.nextAction());
+
+        reader.seek(1285);
+        assertEquals(1290, reader.nextTick(), "Seeking between inputs should land on the next one");
+        reader.advance();
+        assertEquals(1300, reader.nextTick(), "Deltas after a keyframe should decode correctly");
+
+        reader.seek(0);
+        assertEquals(0, reader.nextTick(), "Seeking back to the start should work");
+
+        reader.seek(count * 10);
+        assertFalse(reader.hasNext(), "Seeking past the last input should leave nothing to read");
+    }
+
+    /**
+     * Test that an empty run round-trips.
+     */
+    @Test
+    public void testEmptyRun() throws IOException {
+        ReplayReader reader = new ReplayReader(new ReplayRecorder("Game", 7).toByteArray(60));
+
+        assertFalse(reader.hasNext(), "A run with no inputs should have nothing to read");
+        assertEquals(60, reader.getEndTick());
+        reader.seek(30);
+        assertFalse(reader.hasNext());
+    }
+
+    /**
+     * Test that out-of-order inputs and bad files are rejected.
+     */
+    @Test
+    public void testInvalidInput() {
+        ReplayRecorder recorder = new ReplayRecorder("Game", 0);
+        recorder.record(10, 1);
+        assertThrows(IllegalArgumentException.class, () -> recorder.record(9, 1), "Ticks must not go backwards");
+        assertThrows(IllegalArgumentException.class, () -> recorder.record(11, 256), "Actions must fit a byte");
+
+        assertThrows(IOException.class, () -> new ReplayReader(new byte[] {'N', 'O', 'P', 'E'}));
+        byte[] truncated = java.util.Arrays.copyOf(recorder.toByteArray(20), 10);
+        assertThrows(IOException.class, () -> new ReplayReader(truncated));
+    }
+}
@@ -0,0 +1,119 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.nio.file.Path;
+
+/**
+ * JUnit tests for the SimulationLoop class.
+ * Tests that a run ticks on its own thread, takes queued inputs, records
+ * them, and stops when the run ends or the loop is stopped.
+ */
+public class SimulationLoopTest {
+
+    /** How long a test waits for the simulation thread before failing, in milliseconds. */
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    /**
+     * Waits until the newest snapshot satisfies a condition.
+     *
+     * @param loop    The loop to watch.
+     * @param minTick The tick the snapshot must have reached.
+     * @return The snapshot's simulation.
+     */
+    private static FlyingSimulation awaitTick(SimulationLoop<FlyingSimulation> loop, int minTick)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        FlyingSimulation world = loop.latest().getWorld();
+        while (world.getTick() < minTick && !world.isGameOver()) {
+            assertTrue(System.currentTimeMillis() < deadline, "The simulation thread should keep ticking");
+            Thread.sleep(5);
+            world = loop.latest().getWorld();
+        }
+        return world;
+    }
+
+    /**
+     * Creates a loop running the flying minigame.
+     *
+     * @return The loop.
+     */
+    private static SimulationLoop<FlyingSimulation> flyingLoop() {
+        return new SimulationLoop<>(new FlyingSimulation(MinigameSimulation.DEFAULT_WIDTH, MinigameSimulation.DEFAULT_HEIGHT, 300),
+            () -> new FlyingSimulation(MinigameSimulation.DEFAULT_WIDTH, MinigameSimulation.DEFAULT_HEIGHT, 300));
+    }
+
+    /**
+     * Test that starting publishes the first state and that the run then ticks by itself.
+     */
+    @Test
+    public void testTicksOnItsOwn() throws InterruptedException {
+        SimulationLoop<FlyingSimulation> loop = flyingLoop();
+        loop.start(3, null, null);
+        try {
+            assertEquals(0, loop.latest().getWorld().getTick(), "The starting state should be ready at once");
+            assertEquals(3, loop.latest().getWorld().getSeed());
+
+            FlyingSimulation world = awaitTick(loop, 10);
+            assertTrue(world.getTick() >= 10);
+            assertNotSame(loop.getSimulation(), world, "Snapshots should be copies of the live simulation");
+        } finally {
+            loop.stop();
+        }
+    }
+
+    /**
+     * Test that a run with no input ends by itself and saves a replay that
+     * plays back identically, and a ghost of the whole run.
+     */
+    @Test
+    public void testRunEndsAndSavesReplay(@TempDir Path folder) throws Exception {
+        SimulationLoop<FlyingSimulation> loop = flyingLoop();
+        String path = folder.resolve("sub/flying.replay").toString();
+        String ghostPath = folder.resolve("saves/flying.ghost").toString();
+        loop.start(5, null, path, ghostPath);
+        loop.queueInput(MinigameSimulation.INPUT_PRIMARY);
+
+        FlyingSimulation world = awaitTick(loop, Integer.MAX_VALUE);
+        assertTrue(world.isGameOver(), "Falling without flapping should end the run");
+        loop.stop();
+
+        assertTrue(new File(path).isFile(), "The replay should be saved when the run ends");
+        ReplayReader replay = ReplayReader.load(path);
+        assertEquals(5, replay.getSeed());
+        assertEquals(1, replay.getEventCount(), "The queued flap should be recorded");
+        HeadlessRunner.Result result = HeadlessRunner.replay(replay);
+        assertEquals(world.getTick(), result.getTicks(), "The replay should end on the same tick");
+
+        GhostTrack ghost = GhostTrack.open(ghostPath);
+        assertNotNull(ghost, "The first finished run should be saved as the ghost");
+        assertEquals(world.getTick(), ghost.getTicks());
+        assertTrue(ghost.seek(world.getTick()));
+        assertEquals(world.getPetY(), ghost.getY(), 0.125, "The ghost should end where the pet did");
+    }
+
+    /**
+     * Test that stopping ends the thread and that the loop can start again.
+     */
+    @Test
+    public void testStopAndRestart() throws InterruptedException {
+        SimulationLoop<FlyingSimulation> loop = flyingLoop();
+        loop.start(1, null, null);
+        awaitTick(loop, 2);
+        loop.stop();
+        int stoppedAt = loop.latest().getWorld().getTick();
+        Thread.sleep(50);
+        assertEquals(stoppedAt, loop.latest().getWorld().getTick(), "A stopped loop should not tick");
+
+        loop.start(2, null, null);
+        try {
+            assertEquals(0, loop.latest().getWorld().getTick(), "A new run should start from tick 0");
+            assertEquals(2, awaitTick(loop, 1).getSeed());
+        } finally {
+            loop.stop();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * JUnit tests for the SimulationRandom class.
+ * Tests that it matches java.util.Random and that copies continue identically.
+ */
+public class SimulationRandomTest {
+
+    /**
+     * Test that the same seed gives the same numbers as java.util.Random, so old replays still play.
+     */
+    @Test
+    public void testMatchesJavaRandom() {
+        SimulationRandom random = new SimulationRandom();
+        for (long seed : new long[] {0, 1, -42, 0x123456789ABCDEFL}) {
+            random.setSeed(seed);
+            Random expected = new Random(seed);
+            for (int i = 0; i < 100; i++) {
+                assertEquals(expected.nextInt(300), random.nextInt(300), "nextInt(bound) should match");
+                assertEquals(expected.nextDouble(), random.nextDouble(), "nextDouble should match");
+                assertEquals(expected.nextLong(), random.nextLong(), "nextLong should match");
+            }
+        }
+    }
+
+    /**
+     * Test that a copy continues the sequence from the same point.
+     */
+    @Test
+    public void testCopyContinuesSequence() {
+        SimulationRandom original = new SimulationRandom();
+        original.setSeed(7);
+        original.nextInt(10);
+
+        SimulationRandom copy = new SimulationRandom();
+        copy.copyFrom(original);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(original.nextInt(), copy.nextInt(), "Copy should produce the same numbers");
+        }
+    }
+}
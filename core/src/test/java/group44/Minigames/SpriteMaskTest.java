@@ -0,0 +1,184 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+
+/**
+ * JUnit tests for the SpriteMask class.
+ * Tests building masks from pixels, box overlaps across word boundaries,
+ * rotation, and that masks only ever take hits away from the box test.
+ */
+public class SpriteMaskTest {
+
+    /**
+     * Builds the mask of a solid disc filling a square.
+     *
+     * @param size The width and height.
+     * @return The mask.
+     */
+    private static SpriteMask disc(int size) {
+        int[] argb = new int[size * size];
+        double r = size / 2.0;
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                double dx = x + 0.5 - r;
+                double dy = y + 0.5 - r;
+                argb[y * size + x] = dx * dx + dy * dy <= r * r ? 0xFF000000 : 0;
+            }
+        }
+        return SpriteMask.fromArgb(argb, size, size, size, size);
+    }
+
+    /**
+     * Test that pixels count as solid from the alpha threshold up, and that
+     * scaling samples the source pixel under each drawn pixel.
+     */
+    @Test
+    public void testFromArgb() {
+        int[] argb = {
+            0xFF000000, 0x00FFFFFF,
+            0x7FFFFFFF, (SpriteMask.ALPHA_THRESHOLD << 24) | 0x123456,
+        };
+        SpriteMask mask = SpriteMask.fromArgb(argb, 2, 2, 2, 2);
+        assertTrue(mask.get(0, 0), "Opaque pixels should be solid");
+        assertFalse(mask.get(1, 0), "Transparent pixels should not be solid");
+        assertFalse(mask.get(0, 1), "Pixels below the threshold should not be solid");
+        assertTrue(mask.get(1, 1), "Pixels at the threshold should be solid");
+        assertEquals(2, mask.getSolidCount());
+
+        SpriteMask scaled = SpriteMask.fromArgb(argb, 2, 2, 4, 6);
+        assertEquals(4, scaled.getWidth());
+        assertEquals(6, scaled.getHeight());
+        assertEquals(12, scaled.getSolidCount(), "Each source pixel should cover a 2x3 block");
+        assertTrue(scaled.get(1, 2));
+        assertFalse(scaled.get(2, 2));
+        assertTrue(scaled.get(3, 5));
+        assertFalse(scaled.get(-1, 0), "Pixels outside the mask should not be solid");
+    }
+
+    /**
+     * Test box overlaps within a word, across word boundaries and at edges.
+     */
+    @Test
+    public void testOverlaps() {
+        int width = 150;
+        long[] bits = new long[3 * 2];
+        // Row 1, pixels 63 and 64, either side of the first word boundary, and pixel 149
+        bits[3] = 1L << 63;
+        bits[4] = 1L;
+        bits[5] = 1L << (149 - 128);
+        SpriteMask mask = new SpriteMask(width, 2, bits);
+
+        assertTrue(mask.overlaps(63, 1, 64, 2), "A box over one pixel should hit it");
+        assertTrue(mask.overlaps(64, 1, 65, 2), "A box just past a word boundary should hit");
+        assertFalse(mask.overlaps(65, 0, 149, 2), "A box between solid pixels should miss");
+        assertTrue(mask.overlaps(0, 0, 150, 2), "A box over the whole mask should hit");
+        assertTrue(mask.overlaps(10, 1.5, 130, 1.6), "A box spanning three words should hit the middle one");
+        assertFalse(mask.overlaps(0, 0, 150, 1), "The row above should be empty");
+        assertFalse(mask.overlaps(62, 1, 63, 2), "Touching a pixel's edge should not count");
+        assertTrue(mask.overlaps(149.5, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 1.5),
+            "Infinite edges should be clamped to the mask");
+        assertFalse(mask.overlaps(-10, -10, 0, 10), "A box outside the mask should miss");
+    }
+
+    /**
+     * Test that a quarter turn moves pixels clockwise and swaps the size.
+     */
+    @Test
+    public void testRotated() {
+        // A 4x2 mask with only its top-left pixel solid
+        SpriteMask mask = new SpriteMask(4, 2, new long[] {1L, 0L});
+        SpriteMask turned = mask.rotated(90);
+
+        assertEquals(2, turned.getWidth());
+        assertEquals(4, turned.getHeight());
+        assertEquals(1, turned.getSolidCount());
+        assertTrue(turned.get(1, 0), "Turning clockwise should carry the top-left pixel to the top-right");
+
+        SpriteMask upright = disc(20).rotated(0);
+        assertEquals(disc(20).getSolidCount(), upright.getSolidCount(), "Turning by nothing should change nothing");
+    }
+
+    /**
+     * Test that rotations are looked up by the nearest step and clamped to their range.
+     */
+    @Test
+    public void testRotations() {
+        SpriteMask mask = new SpriteMask(40, 10, new long[10]);
+        SpriteMask.Rotations rotations = mask.rotations(-30, 45);
+
+        assertSame(mask, rotations.getUpright());
+        assertSame(mask, rotations.at(0.4), "Angles near 0 should use the upright mask");
+        assertSame(rotations.at(45), rotations.at(90), "Angles past the range should be clamped");
+        assertSame(rotations.at(-30), rotations.at(-80));
+        assertNotSame(rotations.at(-30), rotations.at(45));
+        assertTrue(rotations.at(45).getHeight() > mask.getHeight(), "A tilted mask should be taller");
+    }
+
+    /**
+     * Test that a bad number of words is rejected.
+     */
+    @Test
+    public void testInvalidBits() {
+        assertThrows(IllegalArgumentException.class, () -> new SpriteMask(65, 2, new long[2]));
+    }
+
+    /**
+     * Test that a masked pet never hits anything the box test would not, so
+     * a masked run lasts at least as long as the same run with boxes alone.
+     */
+    @Test
+    public void testMaskOnlyRemovesHits() {
+        int longer = 0;
+        for (String name : new String[] {"running", "flying-300", "swimming-300"}) {
+            for (long seed = 1; seed <= 10; seed++) {
+                MinigameSimulation boxed = HeadlessRunner.create(name);
+                MinigameSimulation masked = HeadlessRunner.create(name);
+                masked.setPetSprite(disc((int) boxed.getPetHeight()));
+
+                HeadlessRunner.Result boxResult = HeadlessRunner.run(boxed, seed,
+                    HeadlessRunner.randomInputs(seed, 0.04), 20_000);
+                HeadlessRunner.Result maskResult = HeadlessRunner.run(masked, seed,
+                    HeadlessRunner.randomInputs(seed, 0.04), 20_000);
+
+                assertTrue(maskResult.getTicks() >= boxResult.getTicks(),
+                    name + " seed " + seed + " should not end sooner with a mask");
+                if (maskResult.getTicks() > boxResult.getTicks()) {
+                    longer++;
+                }
+            }
+        }
+        assertTrue(longer > 0, "A round sprite should survive some corner clips the box would not");
+    }
+
+    /**
+     * Test that a replay keeps the mask and plays back to the same outcome.
+     */
+    @Test
+    public void testReplayKeepsMask() throws IOException {
+        MinigameSimulation simulation = HeadlessRunner.create("flying-300");
+        SpriteMask sprite = disc(45);
+        simulation.setPetSprite(sprite);
+        ReplayRecorder recorder = new ReplayRecorder(simulation.getName(), 99);
+        recorder.setPetSprite(simulation.getPetSprite());
+        HeadlessRunner.InputPolicy inputs = HeadlessRunner.randomInputs(3, 0.05);
+        HeadlessRunner.Result recorded = HeadlessRunner.run(simulation, 99, sim -> {
+            int action = inputs.nextInput(sim);
+            if (action != 0) {
+                recorder.record(sim.getTick(), action);
+            }
+            return action;
+        }, 100_000);
+
+        ReplayReader reader = new ReplayReader(recorder.toByteArray(recorded.getTicks()));
+        assertNotNull(reader.getPetSprite());
+        assertEquals(45, reader.getPetSprite().getWidth());
+        assertArrayEquals(sprite.getBits(), reader.getPetSprite().getBits());
+
+        HeadlessRunner.Result replayed = HeadlessRunner.replay(reader);
+        assertEquals(recorded.getTicks(), replayed.getTicks(), "Replay should end on the same tick");
+        assertEquals(recorded.getScore(), replayed.getScore());
+    }
+}
@@ -0,0 +1,110 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the StressMode and FrameStats classes.
+ * Tests parsing stress settings, that stress runs keep the course full and
+ * last their whole length the same way every time, and the percentiles.
+ */
+public class StressModeTest {
+
+    /**
+     * Test reading settings with and without a run length, and rejecting bad ones.
+     */
+    @Test
+    public void testParse() {
+        StressMode stress = StressMode.parse("2000, 1500,200");
+        assertEquals(2000, stress.getObstacles());
+        assertEquals(1500, stress.getCoins());
+        assertEquals(200, stress.getClouds());
+        assertEquals(StressMode.DEFAULT_TICKS, stress.getTicks());
+        assertEquals(600, StressMode.parse("1,2,3,600").getTicks());
+        assertEquals("1,2,3,600", StressMode.parse("1,2,3,600").toString());
+
+        assertThrows(IllegalArgumentException.class, () -> StressMode.parse("1,2"));
+        assertThrows(IllegalArgumentException.class, () -> StressMode.parse("1,two,3"));
+        assertThrows(IllegalArgumentException.class, () -> StressMode.parse("1,-2,3"));
+        assertThrows(IllegalArgumentException.class, () -> StressMode.parse("1,2,3,0"));
+    }
+
+    /**
+     * Test that a stress run keeps the set numbers of entities in play and
+     * ends on its last tick, however often the pet runs into something.
+     */
+    @Test
+    public void testRunKeepsCourseFull() {
+        StressMode stress = new StressMode(500, 300, 0, 600);
+        for (String name : new String[] {"running", "flying-300", "swimming-300"}) {
+            MinigameSimulation simulation = HeadlessRunner.create(name);
+            FrameStats stats = stress.run(simulation, 5);
+
+            assertTrue(simulation.isGameOver());
+            assertEquals(600, simulation.getTick(), name + " stress run should last to its last tick");
+            assertEquals(600, stats.getCount(FrameStats.UPDATE), "Every tick should be timed");
+            assertEquals(600, stats.getCount(FrameStats.GC), "GC should be sampled after every tick");
+            assertEquals(500, simulation.layer(MinigameSimulation.LAYER_OBSTACLES).size(),
+                name + " should have the set number of obstacles");
+            assertTrue(simulation.getCoins().size() >= 300, name + " should have the set number of coins");
+        }
+    }
+
+    /**
+     * Test that the script plays a stress run the same way every time.
+     */
+    @Test
+    public void testRunIsRepeatable() {
+        StressMode stress = new StressMode(200, 200, 0, 900);
+        MinigameSimulation first = HeadlessRunner.create("flying-300");
+        MinigameSimulation second = HeadlessRunner.create("flying-300");
+        stress.run(first, 11);
+        stress.run(second, 11);
+
+        assertEquals(first.getScore(), second.getScore());
+        assertEquals(first.getCoinsCollected(), second.getCoinsCollected());
+        assertEquals(first.getPetY(), second.getPetY());
+        assertTrue(first.getCoinsCollected() > 0, "The script should run into some of the coins");
+    }
+
+    /**
+     * Test that a normal run can crash again once stress mode is switched off,
+     * and that snapshots copy the stress settings.
+     */
+    @Test
+    public void testSwitchingOff() {
+        MinigameSimulation simulation = HeadlessRunner.create("flying-300");
+        StressMode stress = new StressMode(10, 10, 0, 60);
+        simulation.setStress(stress);
+        MinigameSimulation copy = HeadlessRunner.create("flying-300");
+        copy.copyFrom(simulation);
+        assertSame(stress, copy.getStress());
+
+        simulation.setStress(null);
+        HeadlessRunner.Result result = HeadlessRunner.run(simulation, 1, sim -> 0, 100_000);
+        assertTrue(result.isGameOver());
+        assertTrue(result.getTicks() < 1000, "A pet that never flaps should hit the ground");
+    }
+
+    /**
+     * Test nearest-rank percentiles and that samples past the capacity are
+     * counted but not kept.
+     */
+    @Test
+    public void testPercentiles() {
+        FrameStats stats = new FrameStats(100);
+        assertEquals(0, stats.percentile(FrameStats.RENDER, 50), "An empty series should report 0");
+        for (int i = 100; i >= 1; i--) {
+            stats.record(FrameStats.RENDER, i * 1000L);
+        }
+        assertEquals(50_000, stats.percentile(FrameStats.RENDER, 50));
+        assertEquals(99_000, stats.percentile(FrameStats.RENDER, 99));
+        assertEquals(100_000, stats.percentile(FrameStats.RENDER, 100));
+        assertEquals(1_000, stats.percentile(FrameStats.RENDER, 0));
+
+        stats.record(FrameStats.RENDER, 1_000_000_000L);
+        assertEquals(101, stats.getCount(FrameStats.RENDER));
+        assertEquals(100_000, stats.percentile(FrameStats.RENDER, 100), "Samples past the capacity should be dropped");
+        assertTrue(stats.report().startsWith("render "), "Only series with samples should be reported");
+    }
+}
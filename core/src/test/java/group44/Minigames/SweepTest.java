@@ -0,0 +1,79 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the Sweep class.
+ * Tests time of impact for moving boxes, including moves that would tunnel
+ * through a thin obstacle if only the end positions were checked.
+ */
+public class SweepTest {
+
+    private static final double EPSILON = 1e-9;
+
+    /**
+     * Test that a fast box passing through a thin wall is caught part-way.
+     */
+    @Test
+    public void testFastMoveThroughThinWallHits() {
+        // 10px box moving 100px right past a 5px wall at x = 50
+        double t = Sweep.timeOfImpact(0, 0, 10, 10, 100, 0, 50, 0, 55, 10);
+
+        assertEquals(0.4, t, EPSILON, "The box's right edge reaches the wall 40% of the way");
+        assertFalse(new Broadphase().intersects(100, 0, 110, 10, 50, 0, 55, 10),
+            "A discrete check at the end of the move misses the wall");
+    }
+
+    /**
+     * Test that a box that already overlaps reports an impact at the start.
+     */
+    @Test
+    public void testStartingOverlapHitsImmediately() {
+        assertEquals(0, Sweep.timeOfImpact(0, 0, 10, 10, 5, 5, 5, 5, 20, 20), EPSILON);
+    }
+
+    /**
+     * Test that moves that stop short, pass beside, or only touch report no hit.
+     */
+    @Test
+    public void testMisses() {
+        assertEquals(Sweep.NO_HIT, Sweep.timeOfImpact(0, 0, 10, 10, 20, 0, 50, 0, 60, 10),
+            "Stopping short of the box");
+        assertEquals(Sweep.NO_HIT, Sweep.timeOfImpact(0, 0, 10, 10, 100, 0, 50, 20, 60, 30),
+            "Passing underneath the box");
+        assertEquals(Sweep.NO_HIT, Sweep.timeOfImpact(0, 0, 10, 10, 40, 0, 50, 0, 60, 10),
+            "Ending exactly against the box's edge");
+        assertEquals(Sweep.NO_HIT, Sweep.timeOfImpact(0, 0, 10, 10, 0, 0, 10, 0, 20, 10),
+            "Standing still next to the box");
+    }
+
+    /**
+     * Test a diagonal move that clips a corner, and one that slips past it.
+     */
+    @Test
+    public void testDiagonalMoves() {
+        // Falling and moving right onto the top of a box
+        double t = Sweep.timeOfImpact(0, 0, 10, 10, 40, 40, 20, 30, 60, 60);
+        assertEquals(0.5, t, EPSILON, "The bottom edge reaches the box's top at the halfway point");
+
+        // Moving right and up past the box's bottom-left corner without touching it
+        assertEquals(Sweep.NO_HIT, Sweep.timeOfImpact(0, 50, 10, 60, 40, -40, 20, 0, 30, 15));
+    }
+
+    /**
+     * Test that boxes with infinite edges, like obstacles reaching the bottom of
+     * the play area, are handled.
+     */
+    @Test
+    public void testInfiniteEdges() {
+        // Diving fast past the top edge of an obstacle that reaches down forever
+        double t = Sweep.timeOfImpact(0, Double.NEGATIVE_INFINITY, 10, 0, 0, 100,
+            0, 30, 10, Double.POSITIVE_INFINITY);
+        assertEquals(0.3, t, EPSILON);
+
+        // Rising into a pipe that reaches up forever
+        t = Sweep.timeOfImpact(0, 50, 10, 60, 0, -40, 0, Double.NEGATIVE_INFINITY, 10, 20);
+        assertEquals(0.75, t, EPSILON);
+    }
+}
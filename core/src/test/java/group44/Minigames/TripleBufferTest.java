@@ -0,0 +1,82 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the TripleBuffer class.
+ * Tests that the consumer sees the newest published value and never one the
+ * producer is still writing.
+ */
+public class TripleBufferTest {
+
+    /**
+     * A value with two fields the producer always sets to the same number,
+     * so a torn read shows up as a mismatch.
+     */
+    private static class Pair {
+        long first;
+        long second;
+    }
+
+    /**
+     * Test that reads return the newest value and repeat it until something new is published.
+     */
+    @Test
+    public void testReadsNewestValue() {
+        TripleBuffer<Pair> buffer = new TripleBuffer<>(Pair::new);
+        for (long i = 1; i <= 3; i++) {
+            buffer.getWriteBuffer().first = i;
+            buffer.publish();
+        }
+
+        assertEquals(3, buffer.read().first, "Only the newest value should be seen");
+        assertEquals(3, buffer.read().first, "Without a publish the same value is read again");
+
+        buffer.getWriteBuffer().first = 4;
+        assertEquals(3, buffer.read().first, "An unpublished value should not be seen");
+        buffer.publish();
+        assertEquals(4, buffer.read().first);
+    }
+
+    /**
+     * Test that the producer never writes into the value the consumer holds.
+     */
+    @Test
+    public void testWriterNeverGetsReadersValue() {
+        TripleBuffer<Pair> buffer = new TripleBuffer<>(Pair::new);
+        buffer.publish();
+        Pair held = buffer.read();
+        for (int i = 0; i < 10; i++) {
+            assertNotSame(held, buffer.getWriteBuffer(), "The held value must stay untouched");
+            buffer.publish();
+        }
+    }
+
+    /**
+     * Test that a consumer on another thread only ever sees whole values, in order.
+     */
+    @Test
+    public void testConcurrentReadsAreConsistent() throws InterruptedException {
+        TripleBuffer<Pair> buffer = new TripleBuffer<>(Pair::new);
+        final long count = 200_000;
+        Thread producer = new Thread(() -> {
+            for (long i = 1; i <= count; i++) {
+                Pair pair = buffer.getWriteBuffer();
+                pair.first = i;
+                pair.second = i;
+                buffer.publish();
+            }
+        });
+        producer.start();
+
+        long last = 0;
+        while (last < count) {
+            Pair pair = buffer.read();
+            assertEquals(pair.first, pair.second, "A value should never be read half written");
+            assertTrue(pair.first >= last, "Values should never go backwards");
+            last = pair.first;
+        }
+        producer.join();
+    }
+}
@@ -0,0 +1,85 @@
+package group44.Minigames;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * JUnit tests for the Varint class.
+ * Tests encoded sizes and round trips of small, large and truncated values.
+ */
+public class VarintTest {
+
+    /**
+     * Test that values round-trip and small values take a single byte.
+     */
+    @Test
+    public void testRoundTrip() {
+        long[] values = {0, 1, 127, 128, 300, 16_383, 16_384, Integer.MAX_VALUE, Long.MAX_VALUE, -1};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (long value : values) {
+            Varint.write(out, value);
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(out.toByteArray());
+        for (long value : values) {
+            assertEquals(value, Varint.read(in), "Value should survive encoding");
+        }
+        assertFalse(in.hasRemaining(), "Nothing should be left over");
+    }
+
+    /**
+     * Test that signed values round-trip and small ones of either sign take a single byte.
+     */
+    @Test
+    public void testSignedRoundTrip() {
+        long[] values = {0, -1, 1, -64, 63, -65, 64, Long.MIN_VALUE, Long.MAX_VALUE};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (long value : values) {
+            Varint.writeSigned(out, value);
+        }
+        ByteBuffer in = ByteBuffer.wrap(out.toByteArray());
+        for (long value : values) {
+            assertEquals(value, Varint.readSigned(in), "Value should survive encoding");
+        }
+        assertFalse(in.hasRemaining(), "Nothing should be left over");
+
+        out.reset();
+        Varint.writeSigned(out, -64);
+        Varint.writeSigned(out, 63);
+        assertEquals(2, out.size(), "Values from -64 to 63 should take one byte each");
+    }
+
+    /**
+     * Test the encoded sizes at the seven-bit boundaries.
+     */
+    @Test
+    public void testEncodedSizes() {
+        assertEquals(1, encodedSize(127));
+        assertEquals(2, encodedSize(128));
+        assertEquals(2, encodedSize(16_383));
+        assertEquals(3, encodedSize(16_384));
+        assertEquals(10, encodedSize(-1), "Negative values use all 64 bits");
+    }
+
+    /**
+     * Test that truncated and out-of-range values are rejected.
+     */
+    @Test
+    public void testInvalidInput() {
+        assertThrows(BufferUnderflowException.class, () -> Varint.read(ByteBuffer.wrap(new byte[] {(byte) 0x80})));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Varint.write(out, Integer.MAX_VALUE + 1L);
+        assertThrows(IllegalArgumentException.class, () -> Varint.readInt(ByteBuffer.wrap(out.toByteArray())));
+    }
+
+    private static int encodedSize(long value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Varint.write(out, value);
+        return out.size();
+    }
+}
@@ -0,0 +1,83 @@
+package group44;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Allocation-regression tests for the pet's stat updates.
+ * Holds the per-tick stat and experience updates the game makes to a budget
+ * of no garbage.
+ */
+public class PetAllocationTest {
+
+    /** The bytes a pet tick may allocate. */
+    private static final long TICK_BUDGET = 0;
+    /** One-off allocations allowed per measurement. */
+    private static final long ALLOWANCE = 1024;
+    /** Ticks run before measuring. */
+    private static final int WARMUP_TICKS = 10_000;
+    /** Ticks measured. */
+    private static final int TICKS = 100_000;
+
+    private Pet pet;
+
+    @BeforeEach
+    public void setUp() {
+        AllocationBudget.assumeSupported();
+        pet = new Pet("blue", "Bubbles", 80, 80, 80, 100, 100, 0, 1, 0, 1, 0, 1, 0, 0, 0);
+    }
+
+    /**
+     * Test that ticking the pet's stats, as the game screen's timers do,
+     * allocates nothing.
+     */
+    @Test
+    public void testStatTicksAllocateNothing() {
+        tick(WARMUP_TICKS);
+        long bytes = AllocationBudget.measure(() -> tick(TICKS));
+        AllocationBudget.assertWithin("pet stat ticks", bytes, TICKS, TICK_BUDGET, ALLOWANCE);
+    }
+
+    /**
+     * Test that paying out training experience, levelling up as it goes,
+     * allocates nothing.
+     */
+    @Test
+    public void testExperienceAllocatesNothing() {
+        train(WARMUP_TICKS);
+        long bytes = AllocationBudget.measure(() -> train(TICKS));
+        AllocationBudget.assertWithin("pet experience payouts", bytes, TICKS, TICK_BUDGET, ALLOWANCE);
+    }
+
+    /**
+     * Runs the stat updates of a number of game screen ticks: decay, then the
+     * clamped setters the hunger and sleep timers use.
+     *
+     * @param ticks The number of ticks.
+     */
+    private void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            pet.decrementStats();
+            pet.setSleepiness(Math.max(0, pet.getSleepiness() - 1) + 3);
+            pet.setFullness(pet.getFullness() + 2);
+            pet.setHappiness(pet.getHappiness() + 1);
+            if (pet.getFullness() < 10) {
+                pet.setStamina(Math.max(0, pet.getStamina() - 1));
+            }
+            pet.setHealth(pet.getHealth() - (pet.getFullness() <= 0 ? 1 : 0));
+        }
+    }
+
+    /**
+     * Pays out a number of small experience rewards in each skill.
+     *
+     * @param payouts The number of payouts.
+     */
+    private void train(int payouts) {
+        for (int i = 0; i < payouts; i++) {
+            pet.addRunExperience(3);
+            pet.addSwimExperience(2);
+            pet.addFlyExperience(1);
+        }
+    }
+}
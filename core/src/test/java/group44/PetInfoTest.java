@@ -1,6 +1,5 @@
 package group44;
 
-import javafx.scene.image.Image;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -16,12 +15,12 @@ public class PetInfoTest {
     private static final String TEST_NAME = "Mallard";
     private static final String TEST_DESCRIPTION = "A classic duck breed";
     private static final String TEST_SPRITE_FILENAME = "mallard_sprite";
+    private static final String TEST_IMAGE_ID = "mallard_sprite.png";
     
     @BeforeEach
     public void setUp() {
         // Initialize a new PetInfo object before each test
-        // Using null for the Image since it's difficult to create a real Image in a unit test
-        petInfo = new PetInfo(TEST_NAME, null, TEST_DESCRIPTION, TEST_SPRITE_FILENAME);
+        petInfo = new PetInfo(TEST_NAME, TEST_IMAGE_ID, TEST_DESCRIPTION, TEST_SPRITE_FILENAME);
     }
     
     /**
@@ -31,7 +30,7 @@ public class PetInfoTest {
     public void testConstructor() {
         assertNotNull(petInfo, "PetInfo object should be created successfully");
         assertEquals(TEST_NAME, petInfo.getName(), "Name should be set correctly");
-        assertNull(petInfo.getImage(), "Image should be null as we passed null");
+        assertEquals(TEST_IMAGE_ID, petInfo.getImageId(), "Image id should be set correctly");
         assertEquals(TEST_DESCRIPTION, petInfo.getDescription(), "Description should be set correctly");
         assertEquals(TEST_SPRITE_FILENAME, petInfo.getSpriteFileName(), "Sprite filename should be set correctly");
     }
@@ -47,18 +46,14 @@ public class PetInfoTest {
     }
     
     /**
-     * Test setting and getting the pet's image.
+     * Test setting and getting the pet's image id.
      */
     @Test
-    public void testSetGetImage() {
-        // Since we can't easily create a real Image in a unit test environment,
-        // we'll just test setting it to null and back
-        Image origImage = petInfo.getImage();
-        petInfo.setImage(null);
-        assertNull(petInfo.getImage(), "Image should be null after setting to null");
-        
-        // Set back to original value for completeness
-        petInfo.setImage(origImage);
+    public void testSetGetImageId() {
+        petInfo.setImageId("pekin_sprite.png");
+        assertEquals("pekin_sprite.png", petInfo.getImageId(), "getImageId should return the image id that was set");
+        petInfo.setImageId(null);
+        assertNull(petInfo.getImageId(), "Image id should be null after setting to null");
     }
     
     /**
@@ -1,6 +1,5 @@
 package group44;
 
-import javafx.scene.image.Image;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -22,7 +21,6 @@ public class PetTest {
      */
     @BeforeEach
     public void setUp() {
-        // Mock the Image creation by using a try-catch
         pet = new Pet(TEST_SPRITE_BASE, TEST_NAME, 50, 50, 50, 50, 50, 
                     100, 2, 0, 2, 0, 2, 0, 0, 50);
     }
@@ -34,6 +32,8 @@ public class PetTest {
     public void testConstructorAndGetters() {
         assertEquals(TEST_NAME, pet.getName(), "Name should be initialized correctly");
         assertEquals(TEST_SPRITE_BASE, pet.getSpriteFileNameBase(), "Sprite filename should be initialized correctly");
+        assertEquals(TEST_SPRITE_BASE + ".png", pet.getImageId(), "Image id should be the sprite's resource path");
+        assertEquals(TEST_SPRITE_BASE + "_flying.png", pet.getFlyingImageId(), "Flying image id should be the sprite's resource path");
         
         assertEquals(50, pet.getSleepiness(), "Sleepiness should be initialized to 50");
         assertEquals(50, pet.getHappiness(), "Happiness should be initialized to 50");
@@ -0,0 +1,74 @@
+package group44;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * JUnit tests for the SaveFile class.
+ * Tests that pets survive a save and load, and that broken saves are rejected.
+ */
+public class SaveFileTest {
+
+    @TempDir
+    Path folder;
+
+    /**
+     * Test that every value of a pet is written and read back.
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        Pet pet = new Pet("green", "Quackers", 80, 70, 60, 50, 40, 123, 3, 4, 5, 6, 7, 8, 1, 99);
+        String path = folder.resolve("slot.csv").toString();
+        SaveFile.write(pet, path);
+
+        Pet loaded = SaveFile.read(path);
+        assertEquals("green", loaded.getSpriteFileNameBase());
+        assertEquals("Quackers", loaded.getName());
+        assertEquals(80, loaded.getSleepiness());
+        assertEquals(70, loaded.getHappiness());
+        assertEquals(60, loaded.getFullness());
+        assertEquals(50, loaded.getHealth());
+        assertEquals(40, loaded.getStamina());
+        assertEquals(123, loaded.getScore());
+        assertEquals(3, loaded.getRunLevel());
+        assertEquals(4, loaded.getRunExperience());
+        assertEquals(5, loaded.getSwimLevel());
+        assertEquals(6, loaded.getSwimExperience());
+        assertEquals(7, loaded.getFlyLevel());
+        assertEquals(8, loaded.getFlyExperience());
+        assertEquals(1, loaded.getState());
+        assertEquals(99, loaded.getCoins());
+    }
+
+    /**
+     * Test that an empty save reads as no pet.
+     */
+    @Test
+    public void testEmptyFile() throws IOException {
+        Path path = Files.createFile(folder.resolve("empty.csv"));
+        assertNull(SaveFile.read(path.toString()), "An empty save should hold no pet");
+    }
+
+    /**
+     * Test that short or corrupt saves are rejected with an IOException.
+     */
+    @Test
+    public void testCorruptSave() {
+        assertThrows(IOException.class, () -> SaveFile.parse("green,Quackers,80,70"));
+        assertThrows(IOException.class, () -> SaveFile.parse("green,Quackers,x,70,60,50,40,1,1,0,1,0,1,0,0,0"));
+        assertThrows(IOException.class, () -> SaveFile.read(folder.resolve("missing.csv").toString()));
+    }
+
+    /**
+     * Test the slot file paths.
+     */
+    @Test
+    public void testPath() {
+        assertEquals("GameSaves/LoadGameSlot2.csv", SaveFile.path(2));
+    }
+}
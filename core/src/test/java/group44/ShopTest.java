@@ -0,0 +1,68 @@
+package group44;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit tests for the Shop class.
+ * Tests stocking, buying and gifting items.
+ */
+public class ShopTest {
+
+    private Pet pet;
+
+    @BeforeEach
+    public void setUp() {
+        pet = new Pet("blue", "Bubbles", 50, 50, 50, 100, 100, 0, 1, 0, 1, 0, 1, 0, 0, 40);
+    }
+
+    /**
+     * Test that stocking gives one of every item without topping up items already held.
+     */
+    @Test
+    public void testStock() {
+        pet.getInventory().addFood("Apple", 4);
+        Shop.stock(pet.getInventory());
+
+        assertEquals(4, Shop.getQuantity(pet, "Apple", Shop.FOOD), "Held items should be left alone");
+        for (String food : Shop.getFoodItems()) {
+            assertTrue(Shop.getQuantity(pet, food, Shop.FOOD) >= 1, food + " should be stocked");
+        }
+        for (String gift : Shop.getGiftItems()) {
+            assertEquals(1, Shop.getQuantity(pet, gift, Shop.GIFT), gift + " should be stocked");
+        }
+    }
+
+    /**
+     * Test that buying takes the price and adds the item, and fails when the pet cannot afford it.
+     */
+    @Test
+    public void testBuy() {
+        assertTrue(Shop.buy(pet, "Ball", Shop.GIFT));
+        assertEquals(20, pet.getCoins(), "The ball's price should be taken");
+        assertEquals(1, Shop.getQuantity(pet, "Ball", Shop.GIFT));
+
+        assertFalse(Shop.buy(pet, "Pirate Hat", Shop.GIFT), "The pet cannot afford a pirate hat");
+        assertEquals(20, pet.getCoins(), "A failed purchase should cost nothing");
+        assertEquals(0, Shop.getQuantity(pet, "Pirate Hat", Shop.GIFT));
+    }
+
+    /**
+     * Test that gifting uses one item, applies its effect and caps the stat at 100.
+     */
+    @Test
+    public void testGift() {
+        assertFalse(Shop.gift(pet, "Banana", Shop.FOOD), "There is no banana to gift");
+
+        pet.getInventory().addFood("Banana", 1);
+        assertTrue(Shop.gift(pet, "Banana", Shop.FOOD));
+        assertEquals(60, pet.getFullness(), "A banana should add 10 fullness");
+        assertEquals(0, Shop.getQuantity(pet, "Banana", Shop.FOOD));
+
+        pet.setHappiness(90);
+        pet.getInventory().addGift("Pirate Hat", 1);
+        assertTrue(Shop.gift(pet, "Pirate Hat", Shop.GIFT));
+        assertEquals(100, pet.getHappiness(), "Happiness should be capped at 100");
+    }
+}
@@ -0,0 +1,127 @@
+package group44;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JUnit tests for the SpriteRegistry class.
+ * Tests that images are shared, loaded lazily and dropped with their last reference.
+ */
+public class SpriteRegistryTest {
+
+    private List<String> loads;
+    private SpriteRegistry<String> registry;
+
+    @BeforeEach
+    public void setUp() {
+        loads = new ArrayList<>();
+        registry = new SpriteRegistry<>(id -> {
+            loads.add(id);
+            return id.startsWith("missing") ? null : "image:" + id;
+        });
+    }
+
+    /**
+     * Test that acquiring handles loads nothing, however many there are.
+     */
+    @Test
+    public void testAcquireIsFree() {
+        for (int i = 0; i < 10000; i++) {
+            registry.acquire(i % 2 == 0 ? "blue.png" : "red.png");
+        }
+        assertTrue(loads.isEmpty(), "No image should load until it is drawn");
+        assertEquals(2, registry.size(), "Pets of the same colour should share a handle");
+        assertEquals(0, registry.loaded());
+    }
+
+    /**
+     * Test that an image is loaded once, on first use, and shared.
+     */
+    @Test
+    public void testSharedAndLoadedOnce() {
+        SpriteRegistry.Handle<String> first = registry.acquire("blue.png");
+        SpriteRegistry.Handle<String> second = registry.acquire("blue.png");
+        assertSame(first, second, "The same id should give the same handle");
+        assertEquals(2, first.getReferences());
+
+        assertEquals("image:blue.png", first.get());
+        assertEquals("image:blue.png", second.get());
+        assertEquals(List.of("blue.png"), loads, "The image should load exactly once");
+        assertEquals(1, registry.loaded());
+    }
+
+    /**
+     * Test that the last release drops the image and the next acquire reloads it.
+     */
+    @Test
+    public void testLastReleaseDrops() {
+        SpriteRegistry.Handle<String> first = registry.acquire("blue.png");
+        SpriteRegistry.Handle<String> second = registry.acquire("blue.png");
+        first.get();
+
+        first.release();
+        assertEquals(1, registry.size(), "One reference should keep the image");
+        assertEquals("image:blue.png", second.get());
+
+        second.release();
+        assertEquals(0, registry.size(), "The last release should drop the image");
+        assertThrows(IllegalStateException.class, second::get);
+        assertThrows(IllegalStateException.class, second::release);
+
+        SpriteRegistry.Handle<String> again = registry.acquire("blue.png");
+        assertNotSame(first, again, "A dropped handle should not be reused");
+        again.get();
+        assertEquals(List.of("blue.png", "blue.png"), loads);
+    }
+
+    /**
+     * Test that an image that fails to load is reported as null and not retried.
+     */
+    @Test
+    public void testMissingImage() {
+        SpriteRegistry.Handle<String> handle = registry.acquire("missing.png");
+        assertNull(handle.get());
+        assertNull(handle.get());
+        assertEquals(1, loads.size(), "A failed load should not be retried while in use");
+    }
+
+    /**
+     * Test that a slow load does not hold up the rest of the registry, and
+     * that the image loaded is published to the handle.
+     */
+    @Test
+    public void testLoadDoesNotBlockRegistry() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        SpriteRegistry<String> slow = new SpriteRegistry<>(id -> {
+            loading.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "image:" + id;
+        });
+        SpriteRegistry.Handle<String> handle = slow.acquire("blue.png");
+        FutureTask<String> load = new FutureTask<>(handle::get);
+        new Thread(load).start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // The loader is still running; the registry must stay usable meanwhile
+        SpriteRegistry.Handle<String> other = slow.acquire("red.png");
+        assertEquals(2, slow.size());
+        assertEquals(0, slow.loaded());
+        other.release();
+
+        finish.countDown();
+        assertEquals("image:blue.png", load.get(5, TimeUnit.SECONDS));
+        assertEquals(1, slow.loaded());
+    }
+}